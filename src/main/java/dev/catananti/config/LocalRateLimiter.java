@@ -0,0 +1,135 @@
+package dev.catananti.config;
+
+import dev.catananti.util.FastHash;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-node rate limit pre-filter: a fixed-size, lock-free table of token buckets keyed by a hash of the
+ * rate limit key (i.e. of the client IP).
+ * <p>
+ * Each bucket is one {@code long} — a 24-bit key fingerprint and the GCRA "theoretical arrival time" in
+ * milliseconds — updated with CAS, so nothing is allocated per request and memory never grows. A key maps
+ * to a set of {@value #WAYS} slots; a new key takes the slot whose bucket is emptiest (oldest arrival time),
+ * which is how idle clients are evicted. Two keys sharing a slot set and a fingerprint would share a bucket;
+ * at 2<sup>24</sup> fingerprints that is rare and only ever makes a limit stricter.
+ * </p>
+ * Buckets hold {@code limit} tokens refilled over {@code window}. {@link #reconcile} tightens a bucket to
+ * the cluster-wide budget reported by Redis, so a client over the shared limit is then rejected here
+ * without another Redis call.
+ */
+final class LocalRateLimiter {
+
+    static final int WAYS = 2;
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    /** Outcome of one request: whether it may proceed, tokens left, and how long until the next one. */
+    record Decision(boolean allowed, long remaining, long retryAfterMs) {
+    }
+
+    private final AtomicLongArray slots;
+    private final int setMask;
+    private final LongSupplier clock;
+    private final long epoch;
+
+    LocalRateLimiter(int capacity, LongSupplier clock) {
+        int size = Integer.highestOneBit(Math.max(WAYS, capacity - 1) << 1);
+        this.slots = new AtomicLongArray(size);
+        this.setMask = size / WAYS - 1;
+        this.clock = clock;
+        // Arrival times are stored relative to this, 0 meaning "empty slot"
+        this.epoch = clock.getAsLong() - 1;
+    }
+
+    /**
+     * Take one token for {@code key}, or report how long until one is available.
+     */
+    Decision tryAcquire(String key, int limit, long windowMs) {
+        long hash = hash(key);
+        long fingerprint = fingerprint(hash);
+        long interval = interval(limit, windowMs);
+        while (true) {
+            long now = now();
+            int slot = find(hash, fingerprint);
+            long state = slots.get(slot);
+            long tat = Math.max(fingerprint(state) == fingerprint ? time(state) : 0, now);
+            long next = tat + interval;
+            if (next - now > windowMs) {
+                return new Decision(false, 0, next - now - windowMs);
+            }
+            if (slots.compareAndSet(slot, state, pack(fingerprint, next))) {
+                return new Decision(true, (windowMs - (next - now)) / interval, 0);
+            }
+        }
+    }
+
+    /**
+     * Align the bucket of {@code key} with the shared budget: {@code remaining} requests left, or, when
+     * {@code retryAfterMs} is positive, none until then. Only ever lowers the tokens.
+     */
+    void reconcile(String key, int limit, long windowMs, long remaining, long retryAfterMs) {
+        long hash = hash(key);
+        long fingerprint = fingerprint(hash);
+        long interval = interval(limit, windowMs);
+        while (true) {
+            long now = now();
+            long target = retryAfterMs > 0
+                    ? now + retryAfterMs + windowMs - interval
+                    : now + windowMs - Math.max(0, Math.min(remaining, limit)) * interval;
+            int slot = find(hash, fingerprint);
+            long state = slots.get(slot);
+            long tat = fingerprint(state) == fingerprint ? time(state) : 0;
+            if (tat >= target || slots.compareAndSet(slot, state, pack(fingerprint, target))) {
+                return;
+            }
+        }
+    }
+
+    /** The slot holding {@code fingerprint}, else the one to evict: the bucket that refilled longest ago. */
+    private int find(long hash, long fingerprint) {
+        int base = (int) (hash & setMask) * WAYS;
+        int victim = base;
+        long oldest = Long.MAX_VALUE;
+        for (int i = base; i < base + WAYS; i++) {
+            long state = slots.get(i);
+            if (state != 0 && fingerprint(state) == fingerprint) {
+                return i;
+            }
+            long tat = time(state);
+            if (tat < oldest) {
+                oldest = tat;
+                victim = i;
+            }
+        }
+        return victim;
+    }
+
+    private long now() {
+        return Math.min(clock.getAsLong() - epoch, TIME_MASK);
+    }
+
+    private static long interval(int limit, long windowMs) {
+        return Math.max(1, windowMs / Math.max(1, limit));
+    }
+
+    private static long pack(long fingerprint, long time) {
+        return fingerprint << TIME_BITS | Math.min(time, TIME_MASK);
+    }
+
+    private static long time(long state) {
+        return state & TIME_MASK;
+    }
+
+    private static long fingerprint(long value) {
+        return value >>> TIME_BITS;
+    }
+
+    /** {@link FastHash#hash64}, so slot and fingerprint bits are independent. */
+    static long hash(String key) {
+        long h = FastHash.hash64(key);
+        // Fingerprint 0 is reserved for empty slots
+        return fingerprint(h) == 0 ? h | 1L << TIME_BITS : h;
+    }
+}
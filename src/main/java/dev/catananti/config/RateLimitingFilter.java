@@ -2,15 +2,16 @@ package dev.catananti.config;
 
 import dev.catananti.security.JwtTokenProvider;
 import dev.catananti.util.IpAddressExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -18,16 +19,55 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @Slf4j
 @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
 public class RateLimitingFilter implements WebFilter {
 
+    /**
+     * F-025: Sliding window counter, evaluated atomically in Redis in one round trip.
+     * <p>
+     * Each key is a hash of three fields — the current fixed window's index ({@code w}), its count ({@code c})
+     * and the previous window's count ({@code p}) — so memory per client is constant. The estimate weights the
+     * previous window by how much of it still overlaps the sliding window. Rejected requests are not counted,
+     * and the clock is Redis' own, so every instance agrees on window boundaries.
+     * </p>
+     * KEYS[1] = rate limit key, ARGV[1] = window in ms, ARGV[2] = limit; returns {count, reset-after ms}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final RedisScript<List<Long>> SLIDING_WINDOW_SCRIPT = (RedisScript) RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            local limit = tonumber(ARGV[2])
+            local index = math.floor(now / window)
+            local state = redis.call('HMGET', KEYS[1], 'w', 'c', 'p')
+            local stored = tonumber(state[1])
+            local current = tonumber(state[2]) or 0
+            local previous = tonumber(state[3]) or 0
+            if stored ~= index then
+                if stored == index - 1 then previous = current else previous = 0 end
+                current = 0
+            end
+            local elapsed = now - index * window
+            local count = math.floor(previous * (window - elapsed) / window) + current + 1
+            if count > limit then
+                local wait
+                if current >= limit then
+                    wait = window - elapsed + math.floor(window - window * limit / current) + 1
+                else
+                    wait = math.floor(window - window * (limit - current) / previous) + 1 - elapsed
+                end
+                return {count, math.max(wait, 1)}
+            end
+            redis.call('HSET', KEYS[1], 'w', index, 'c', current + 1, 'p', previous)
+            redis.call('PEXPIRE', KEYS[1], window * 2)
+            return {count, window - elapsed}
+            """, List.class);
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final JwtTokenProvider tokenProvider;
     
@@ -37,23 +77,44 @@ public class RateLimitingFilter implements WebFilter {
     private final int maxRequestsLogin;
     private final Duration windowDuration;
 
-    // In-memory fallback rate limiter when Redis is unavailable
-    private record RateLimitEntry(AtomicLong count, Instant expiresAt) {}
-    private final ConcurrentHashMap<String, RateLimitEntry> inMemoryRateLimits = new ConcurrentHashMap<>();
+    /**
+     * Requests counted against a key in the current sliding window, this one included (above the limit when it
+     * was rejected), and milliseconds until the window resets — or, once rejected, until a request would pass.
+     */
+    public record Usage(long count, long resetAfterMs) {}
+
+    // Per-node buckets: shed clients known to be over the limit before Redis, and decide alone while it is down
+    private final LocalRateLimiter localLimiter;
+    private final Counter shedLocally;
+    private final Counter checkedRemotely;
+    private final Counter decidedLocally;
 
     public RateLimitingFilter(
             @Qualifier("reactiveRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate, 
             JwtTokenProvider tokenProvider,
+            MeterRegistry meterRegistry,
             @Value("${rate-limit.authenticated:100}") int maxRequestsAuthenticated,
             @Value("${rate-limit.anonymous:30}") int maxRequestsAnonymous,
             @Value("${rate-limit.login:10}") int maxRequestsLogin,
-            @Value("${rate-limit.window-seconds:60}") int windowSeconds) {
+            @Value("${rate-limit.window-seconds:60}") int windowSeconds,
+            @Value("${rate-limit.local.slots:65536}") int localSlots) {
         this.redisTemplate = redisTemplate;
         this.tokenProvider = tokenProvider;
         this.maxRequestsAuthenticated = maxRequestsAuthenticated;
         this.maxRequestsAnonymous = maxRequestsAnonymous;
         this.maxRequestsLogin = maxRequestsLogin;
         this.windowDuration = Duration.ofSeconds(windowSeconds);
+        this.localLimiter = new LocalRateLimiter(localSlots, System::currentTimeMillis);
+        this.shedLocally = requestCounter(meterRegistry, "shed_local", "Requests rejected by the local pre-filter without a Redis call");
+        this.checkedRemotely = requestCounter(meterRegistry, "checked_remote", "Requests checked against the shared Redis limit");
+        this.decidedLocally = requestCounter(meterRegistry, "fallback_local", "Requests decided by local buckets alone because Redis failed");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String decision, String description) {
+        return Counter.builder("blog.ratelimit.requests")
+                .description(description)
+                .tag("decision", decision)
+                .register(meterRegistry);
     }
 
     @Override
@@ -70,88 +131,67 @@ public class RateLimitingFilter implements WebFilter {
         String rateLimitKey = buildRateLimitKey(clientIp, path);
 
         // BUG-CRÍTICO-01: Determine rate limit reactively (removed .block() call)
-        // F-025: Sliding window log — uses Redis sorted sets for accurate per-window counting
         return determineRateLimit(exchange, path)
                 .flatMap(maxRequests -> {
-                    long nowMs = Instant.now().toEpochMilli();
-                    double windowStartMs = (double) (nowMs - windowDuration.toMillis());
-                    String member = nowMs + ":" + UUID.randomUUID().toString().substring(0, 8);
-
-                    return redisTemplate.opsForZSet()
-                            .removeRangeByScore(rateLimitKey,
-                                    Range.closed(0.0, windowStartMs))
-                            .flatMap(removed -> redisTemplate.opsForZSet().add(rateLimitKey, member, (double) nowMs))
-                            .flatMap(added -> redisTemplate.opsForZSet().size(rateLimitKey))
-                            .flatMap(count -> redisTemplate.expire(rateLimitKey, windowDuration.plusSeconds(10))
-                                    .thenReturn(count))
-                            .flatMap(count -> {
-                                HttpHeaders headers = exchange.getResponse().getHeaders();
-                                
-                                if (count > maxRequests) {
-                                    log.warn("Rate limit exceeded for IP: {}, path: {}, count: {}", clientIp, path, count);
-                                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                                    headers.set("X-RateLimit-Limit", String.valueOf(maxRequests));
-                                    headers.set("X-RateLimit-Remaining", "0");
-                                    headers.set("X-RateLimit-Reset", 
-                                            String.valueOf(Instant.now().plus(windowDuration).toEpochMilli()));
-                                    headers.set("Retry-After", String.valueOf(windowDuration.toSeconds()));
-                                    return exchange.getResponse().setComplete();
-                                }
-                                
-                                headers.set("X-RateLimit-Limit", String.valueOf(maxRequests));
-                                headers.set("X-RateLimit-Remaining", 
-                                        String.valueOf(Math.max(0, maxRequests - count)));
-                                
-                                return chain.filter(exchange);
-                            })
+                    long windowMs = windowDuration.toMillis();
+                    LocalRateLimiter.Decision local = localLimiter.tryAcquire(rateLimitKey, maxRequests, windowMs);
+                    if (!local.allowed()) {
+                        shedLocally.increment();
+                        log.debug("Rate limit exceeded (local) for IP: {}, path: {}", clientIp, path);
+                        return reject(exchange, maxRequests, local.retryAfterMs());
+                    }
+                    checkedRemotely.increment();
+                    return consume(rateLimitKey, maxRequests)
+                            .map(Optional::of)
                             .onErrorResume(e -> {
-                                // Redis unavailable — use in-memory fallback
+                                // Redis unavailable — the local bucket decides alone
                                 log.warn("Rate limiting Redis unavailable ({}), using in-memory fallback: {}",
                                         e.getClass().getSimpleName(), e.getMessage());
-                                return handleInMemoryRateLimit(exchange, chain, rateLimitKey, maxRequests, clientIp, path);
+                                return Mono.just(Optional.<Usage>empty());
+                            })
+                            .flatMap(usage -> {
+                                if (usage.isEmpty()) {
+                                    decidedLocally.increment();
+                                    return allow(exchange, chain, maxRequests, local.remaining());
+                                }
+                                long count = usage.get().count();
+                                long resetAfterMs = usage.get().resetAfterMs();
+                                if (count > maxRequests) {
+                                    localLimiter.reconcile(rateLimitKey, maxRequests, windowMs, 0, resetAfterMs);
+                                    log.warn("Rate limit exceeded for IP: {}, path: {}, count: {}", clientIp, path, count);
+                                    return reject(exchange, maxRequests, resetAfterMs);
+                                }
+                                localLimiter.reconcile(rateLimitKey, maxRequests, windowMs, maxRequests - count, 0);
+                                return allow(exchange, chain, maxRequests, maxRequests - count);
                             });
                 });
     }
 
-    /**
-     * In-memory fallback rate limiting when Redis is unavailable.
-     */
-    private Mono<Void> handleInMemoryRateLimit(ServerWebExchange exchange, WebFilterChain chain,
-                                                String key, int maxRequests, String clientIp, String path) {
-        Instant now = Instant.now();
-        RateLimitEntry entry = inMemoryRateLimits.compute(key, (k, existing) -> {
-            if (existing == null || existing.expiresAt().isBefore(now)) {
-                return new RateLimitEntry(new AtomicLong(1), now.plus(windowDuration));
-            }
-            existing.count().incrementAndGet();
-            return existing;
-        });
-
-        long count = entry.count().get();
+    private Mono<Void> allow(ServerWebExchange exchange, WebFilterChain chain, int maxRequests, long remaining) {
         HttpHeaders headers = exchange.getResponse().getHeaders();
-
-        if (count > maxRequests) {
-            log.warn("Rate limit exceeded (in-memory) for IP: {}, path: {}, count: {}", clientIp, path, count);
-            exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-            headers.set("X-RateLimit-Limit", String.valueOf(maxRequests));
-            headers.set("X-RateLimit-Remaining", "0");
-            headers.set("Retry-After", String.valueOf(windowDuration.toSeconds()));
-            return exchange.getResponse().setComplete();
-        }
-
         headers.set("X-RateLimit-Limit", String.valueOf(maxRequests));
-        headers.set("X-RateLimit-Remaining",
-                String.valueOf(Math.max(0, maxRequests - count)));
+        headers.set("X-RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
         return chain.filter(exchange);
     }
 
+    private Mono<Void> reject(ServerWebExchange exchange, int maxRequests, long retryAfterMs) {
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        headers.set("X-RateLimit-Limit", String.valueOf(maxRequests));
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() + retryAfterMs));
+        headers.set("Retry-After", String.valueOf(Math.max(1, (retryAfterMs + 999) / 1000)));
+        return exchange.getResponse().setComplete();
+    }
+
     /**
-     * Periodically clean up expired in-memory rate limit entries (every 5 minutes).
+     * Count one request against {@code key} in a single script call, see {@link #SLIDING_WINDOW_SCRIPT}.
      */
-    @Scheduled(fixedRate = 300000)
-    public void cleanupExpiredInMemoryEntries() {
-        Instant now = Instant.now();
-        inMemoryRateLimits.entrySet().removeIf(entry -> entry.getValue().expiresAt().isBefore(now));
+    public Mono<Usage> consume(String key, int maxRequests) {
+        return redisTemplate.execute(SLIDING_WINDOW_SCRIPT, List.of(key),
+                        List.of(String.valueOf(windowDuration.toMillis()), String.valueOf(maxRequests)))
+                .next()
+                .map(result -> new Usage(result.get(0), result.get(1)));
     }
 
     /**
@@ -1,5 +1,6 @@
 package dev.catananti.controller;
 
+import dev.catananti.dto.PageResponse;
 import dev.catananti.entity.AuditLog;
 import dev.catananti.repository.AuditLogRepository;
 import dev.catananti.service.AuditService;
@@ -9,6 +10,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -58,6 +60,16 @@ public class AdminAuditController {
         return log;
     }
 
+    @GetMapping
+    @Operation(summary = "Browse audit logs", description = "Cursor-paginated audit log, newest first (no total count)")
+    public Mono<PageResponse<AuditLog>> getLogs(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page") @RequestParam(required = false) @Size(max = 200) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") @Min(1) @Max(200) int size) {
+        log.debug("Fetching audit log page: cursor={}, size={}", cursor, size);
+        return auditService.getLogsPage(cursor, size)
+                .doOnNext(page -> page.getContent().forEach(this::sanitizeAuditLog));
+    }
+
     @GetMapping("/recent")
     @Operation(summary = "Get recent audit logs", description = "Retrieve the most recent audit log entries")
     public Flux<AuditLog> getRecentLogs(
@@ -6,6 +6,7 @@ import dev.catananti.service.CommentService;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -30,8 +31,12 @@ public class AdminCommentController {
     public Mono<PageResponse<CommentResponse>> getCommentsByStatus(
             @RequestParam(defaultValue = "ALL") @Pattern(regexp = "^(ALL|PENDING|APPROVED|REJECTED|SPAM)$", message = "Invalid status. Must be ALL, PENDING, APPROVED, REJECTED, or SPAM") String status,
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
-        log.debug("Fetching comments: status={}, page={}, size={}", status, page, size);
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(required = false) @Size(max = 200) String cursor) {
+        log.debug("Fetching comments: status={}, page={}, size={}, cursor={}", status, page, size, cursor);
+        if (cursor != null) {
+            return commentService.getAdminCommentsByStatusAfter(status, cursor, size);
+        }
         return commentService.getAdminCommentsByStatus(status, page, size);
     }
 
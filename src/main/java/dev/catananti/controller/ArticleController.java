@@ -1,6 +1,7 @@
 package dev.catananti.controller;
 
 import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.service.ArticleService;
 import dev.catananti.service.InteractionDeduplicationService;
@@ -43,14 +44,22 @@ public class ArticleController {
             @ApiResponse(responseCode = "200", description = "Articles retrieved successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid pagination parameters")
     })
-    public Mono<PageResponse<ArticleResponse>> getPublishedArticles(
+    public Mono<PageResponse<ArticleSummary>> getPublishedArticles(
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
             @RequestParam(required = false) String locale,
             @RequestParam(required = false) String sort,
             @RequestParam(required = false) LocalDate dateFrom,
-            @RequestParam(required = false) LocalDate dateTo) {
-        log.debug("Fetching published articles: page={}, size={}, locale={}", page, size, locale);
+            @RequestParam(required = false) LocalDate dateTo,
+            @Parameter(description = "Cursor mode: nextCursor of the previous page, or empty for the first page. Date order only, no totals")
+            @RequestParam(required = false) @Size(max = 200) String cursor) {
+        log.debug("Fetching published articles: page={}, size={}, locale={}, cursor={}", page, size, locale, cursor);
+        if (cursor != null) {
+            if ((sort != null && sort.startsWith("viewCount")) || dateFrom != null || dateTo != null) {
+                throw new IllegalArgumentException("Cursor pagination supports only the default date ordering without date filters");
+            }
+            return articleService.getPublishedArticlesAfter(cursor, size, locale);
+        }
         return articleService.getPublishedArticles(page, size, locale, sort, dateFrom, dateTo);
     }
 
@@ -68,8 +77,8 @@ public class ArticleController {
     }
 
     @GetMapping("/{slug}/related")
-    @Operation(summary = "Get related articles", description = "Get articles related to the given article by shared tags")
-    public Mono<List<ArticleResponse>> getRelatedArticles(
+    @Operation(summary = "Get related articles", description = "Get articles related to the given article by shared tags and content")
+    public Mono<List<ArticleSummary>> getRelatedArticles(
             @PathVariable @Size(min = 1, max = 255) @Pattern(regexp = "^[a-z0-9-]+$", message = "Invalid slug format") String slug,
             @Parameter(description = "Maximum number of related articles to return")
             @RequestParam(defaultValue = "4") @Min(1) @Max(20) int limit) {
@@ -108,7 +117,7 @@ public class ArticleController {
     @Operation(summary = "Get articles by tag", description = "Get published articles with a specific tag")
     // F-068: Multi-tag filtering is supported via the /api/v1/search endpoint (SearchRequest.tags).
     // Single-tag filtering uses a clean RESTful path variable pattern.
-    public Mono<PageResponse<ArticleResponse>> getArticlesByTag(
+    public Mono<PageResponse<ArticleSummary>> getArticlesByTag(
             @PathVariable @Size(min = 1, max = 100) @Pattern(regexp = "^[a-z0-9-]+$", message = "Invalid slug format") String tagSlug,
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
@@ -1,6 +1,6 @@
 package dev.catananti.controller;
 
-import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.dto.SearchRequest;
 import dev.catananti.service.SearchService;
@@ -32,7 +32,7 @@ public class SearchController {
 
     @GetMapping
     @Operation(summary = "Search articles", description = "Search published articles with filters and pagination")
-    public Mono<PageResponse<ArticleResponse>> search(
+    public Mono<PageResponse<ArticleSummary>> search(
             @RequestParam(required = false) @Size(max = 500, message = "Query too long") String q,
             @RequestParam(required = false) @Size(max = 10, message = "Maximum 10 tags") List<String> tags,
             @RequestParam(defaultValue = "date") @Pattern(regexp = "^(date|title|viewCount|views|likes)$", message = "Invalid sortBy value") String sortBy,
@@ -41,7 +41,8 @@ public class SearchController {
             @RequestParam(defaultValue = "10") @Min(1) @Max(50) int size,
             @RequestParam(required = false) String locale,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) @Size(max = 200) String cursor) {
         log.info("Search request: query='{}', page={}, size={}", q, page, size);
         log.info("[search-analytics] term='{}' tags={} sortBy={} page={}", q, tags, sortBy, page);
 
@@ -55,6 +56,7 @@ public class SearchController {
                 .locale(locale)
                 .dateFrom(dateFrom)
                 .dateTo(dateTo)
+                .cursor(cursor)
                 .build();
 
         return searchService.searchArticles(request);
@@ -9,12 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.Set;
 
-// Design decision: ArticleResponse is used as both summary and detail. A sealed interface
-// can be introduced when the two views diverge significantly.
+// Design decision: ArticleResponse is the detail view; list endpoints serve ArticleSummary,
+// which drops the markdown body and SEO metadata.
 // Trade-off: Converting to a record would provide immutability but breaks Lombok @Builder/@Data
 // which is used extensively. The Lombok approach is retained for builder ergonomics.
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
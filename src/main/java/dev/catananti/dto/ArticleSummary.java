@@ -1,15 +1,41 @@
 package dev.catananti.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
- * Lightweight summary projection for article list views.
- * Use instead of full Article entity when only summary fields are needed.
+ * Lightweight projection for article list views (listings, tag pages, related articles, search).
+ * Field names match {@link ArticleResponse} so list consumers are unaffected; the markdown body and
+ * SEO metadata are only served by the slug detail endpoint.
  */
-public record ArticleSummary(
-        Long id,
-        String slug,
-        String title,
-        String status,
-        LocalDateTime publishedAt
-) {}
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleSummary {
+    private String id;
+    private String slug;
+    private String title;
+    private String subtitle;
+    private String excerpt;
+    private String coverImageUrl;
+    private ArticleResponse.AuthorInfo author;
+    private String status;
+    private LocalDateTime publishedAt;
+    private Integer readingTimeMinutes;
+    private Integer viewCount;
+    private Integer likeCount;
+    private Integer commentCount;
+    private Set<TagResponse> tags;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    /** Search results from the in-memory engine only: HTML-escaped content excerpt with matches in {@code <mark>}. */
+    private String highlight;
+}
@@ -0,0 +1,44 @@
+package dev.catananti.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for cursor pagination: the sort key and id of the last row of the previous page.
+ * <p>
+ * Lists ordered by the time-ordered Snowflake id alone (comments, audit logs) leave {@code at} null;
+ * article lists seek on {@code (published_at, id)}. Clients only ever echo {@link #encode()} back.
+ */
+public record PageCursor(LocalDateTime at, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PageCursor ofId(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = (at != null ? at.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a client-supplied cursor. A null or blank cursor means the first page and returns null.
+     *
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String at = raw.substring(0, separator);
+            return new PageCursor(at.isEmpty() ? null : LocalDateTime.parse(at), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+}
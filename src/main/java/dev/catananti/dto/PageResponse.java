@@ -1,17 +1,23 @@
 package dev.catananti.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PageResponse<T> {
+
+    /** {@code totalElements}/{@code totalPages} value in cursor mode, where nothing is counted. */
+    public static final int UNKNOWN_TOTAL = -1;
+
     private List<T> content;
     private int page;
     private int size;
@@ -20,6 +26,10 @@ public class PageResponse<T> {
     private boolean first;
     private boolean last;
 
+    /** Cursor for the next page in cursor mode; absent in offset mode and on the last page. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     /**
      * Creates a PageResponse from a list of content items and pagination parameters.
      * Centralises the duplicated pagination calculation pattern across all services.
@@ -36,4 +46,28 @@ public class PageResponse<T> {
                 .last(page >= totalPages - 1)
                 .build();
     }
+
+    /**
+     * Creates a cursor-mode PageResponse. Callers fetch {@code size + 1} rows: the extra row only signals that
+     * another page exists and is dropped. No total is counted, so {@code totalElements} and {@code totalPages}
+     * are {@link #UNKNOWN_TOTAL}.
+     *
+     * @param rows      up to {@code size + 1} rows in seek order
+     * @param firstPage whether the request carried no cursor
+     * @param keyOf     extracts the keyset position of a row
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> rows, int size, boolean firstPage, Function<T, PageCursor> keyOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return PageResponse.<T>builder()
+                .content(content)
+                .page(0)
+                .size(size)
+                .totalElements(UNKNOWN_TOTAL)
+                .totalPages(UNKNOWN_TOTAL)
+                .first(firstPage)
+                .last(!hasNext)
+                .nextCursor(hasNext ? keyOf.apply(content.getLast()).encode() : null)
+                .build();
+    }
 }
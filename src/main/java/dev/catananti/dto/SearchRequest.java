@@ -45,4 +45,8 @@ public class SearchRequest {
 
     private LocalDate dateFrom;
     private LocalDate dateTo;
+
+    /** Cursor mode: {@code nextCursor} of the previous page, or empty for the first page. Null means offset mode. */
+    @Size(max = 200, message = "Cursor must be at most 200 characters")
+    private String cursor;
 }
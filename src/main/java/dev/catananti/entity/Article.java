@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Column;
@@ -103,7 +104,9 @@ public class Article implements Persistable<Long>, NewRecordAware {
     @Builder.Default
     private Set<Tag> tags = new HashSet<>();
 
-    @Transient
+    // Maintained by CommentService moderation through atomic UPDATEs; never written by article saves
+    @ReadOnlyProperty
+    @Column("approved_comment_count")
     @Builder.Default
     private Integer commentCount = 0;
     
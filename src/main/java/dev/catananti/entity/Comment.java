@@ -56,6 +56,9 @@ public class Comment implements Persistable<Long>, NewRecordAware {
     @Column("parent_id")
     private Long parentId;
 
+    /** Ids from the top-level comment down to this one, {@code /}-separated; null on rows predating the column. */
+    private String path;
+
     @Column("created_at")
     private LocalDateTime createdAt;
 
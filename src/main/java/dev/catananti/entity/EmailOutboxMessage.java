@@ -0,0 +1,76 @@
+package dev.catananti.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting in the outbox for the dispatcher to deliver it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("email_outbox")
+public class EmailOutboxMessage implements Persistable<Long>, NewRecordAware {
+
+    @Id
+    private Long id;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @Column("recipient")
+    private String recipient;
+
+    @Column("subject")
+    private String subject;
+
+    @Column("body")
+    private String body;
+
+    @Column("html")
+    @Builder.Default
+    private boolean html = true;
+
+    @Column("status")
+    @Builder.Default
+    private String status = EmailOutboxStatus.PENDING.name();
+
+    @Column("attempts")
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column("claimed_by")
+    private String claimedBy;
+
+    @Column("last_error")
+    private String lastError;
+
+    /** Set when the email is part of a newsletter campaign. */
+    @Column("campaign_id")
+    private Long campaignId;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,23 @@
+package dev.catananti.entity;
+
+/**
+ * Delivery states of a queued email in {@code email_outbox}.
+ * Entity fields remain as String for R2DBC compatibility.
+ * <p>
+ * {@code PENDING} waits for its {@code next_attempt_at}; {@code SENDING} is claimed by a dispatcher until its
+ * lease ({@code next_attempt_at}) runs out; {@code SENT} and {@code DEAD} are final.
+ * </p>
+ */
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD;
+
+    /**
+     * Check if the given status string matches this enum value.
+     */
+    public boolean matches(String status) {
+        return this.name().equals(status);
+    }
+}
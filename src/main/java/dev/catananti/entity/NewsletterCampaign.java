@@ -0,0 +1,73 @@
+package dev.catananti.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fan-out of one new-article notification to every confirmed subscriber.
+ * The body is rendered once; {@code lastSubscriberId} is the checkpoint the fan-out resumes from.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("newsletter_campaigns")
+public class NewsletterCampaign implements Persistable<Long>, NewRecordAware {
+
+    @Id
+    private Long id;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @Column("article_id")
+    private Long articleId;
+
+    @Column("subject")
+    private String subject;
+
+    @Column("body_template")
+    private String bodyTemplate;
+
+    @Column("locale")
+    private String locale;
+
+    @Column("status")
+    @Builder.Default
+    private String status = NewsletterCampaignStatus.RUNNING.name();
+
+    @Column("last_subscriber_id")
+    @Builder.Default
+    private long lastSubscriberId = 0;
+
+    @Column("queued_count")
+    @Builder.Default
+    private int queuedCount = 0;
+
+    @Column("claimed_by")
+    private String claimedBy;
+
+    @Column("lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,17 @@
+package dev.catananti.entity;
+
+/**
+ * Status values for newsletter campaigns.
+ * Entity fields remain as String for R2DBC compatibility.
+ */
+public enum NewsletterCampaignStatus {
+    RUNNING,
+    COMPLETED;
+
+    /**
+     * Check if the given status string matches this enum value.
+     */
+    public boolean matches(String status) {
+        return this.name().equals(status);
+    }
+}
@@ -0,0 +1,34 @@
+package dev.catananti.health;
+
+import dev.catananti.service.CacheWarmingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.ReactiveHealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports OUT_OF_SERVICE until startup cache warming has finished, so a new instance
+ * only joins the load balancer once its caches hold the hot read paths.
+ * Included in the readiness group; always UP when warming is disabled.
+ */
+@Component("cacheWarming")
+@RequiredArgsConstructor
+public class CacheWarmingHealthIndicator implements ReactiveHealthIndicator {
+
+    private final CacheWarmingService cacheWarmingService;
+
+    @Override
+    public Mono<Health> health() {
+        CacheWarmingService.WarmingStatus status = cacheWarmingService.getStatus();
+        Health.Builder builder = !status.enabled() || status.startupComplete()
+                ? Health.up()
+                : Health.outOfService();
+        return Mono.just(builder
+                .withDetail("enabled", status.enabled())
+                .withDetail("startupComplete", status.startupComplete())
+                .withDetail("progress", status.progress())
+                .withDetail("entriesWarmed", status.entriesWarmed())
+                .build());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Repository
@@ -18,14 +19,16 @@ public interface AnalyticsRepository extends ReactiveCrudRepository<AnalyticsEve
     @Query("SELECT COUNT(*) FROM analytics_events WHERE article_id = :articleId AND event_type = :eventType")
     Mono<Long> countByArticleIdAndEventType(Long articleId, String eventType);
 
-    @Query("SELECT COUNT(*) FROM analytics_events WHERE event_type = :eventType AND created_at >= :since")
-    Mono<Long> countByEventTypeSince(String eventType, LocalDateTime since);
+    // Dashboard totals read the daily rollups (see AnalyticsRollupService), not the raw events
+    @Query("SELECT COALESCE(SUM(event_count), 0) FROM analytics_daily_rollup " +
+           "WHERE event_type = :eventType AND stat_date >= :since")
+    Mono<Long> sumRollupByEventTypeSince(String eventType, LocalDate since);
 
     // Author-scoped analytics queries (for DEV/EDITOR dashboard)
-    @Query("SELECT COUNT(*) FROM analytics_events ae " +
-           "JOIN articles a ON ae.article_id = a.id " +
-           "WHERE a.author_id = :authorId AND ae.event_type = :eventType AND ae.created_at >= :since")
-    Mono<Long> countByAuthorIdAndEventTypeSince(Long authorId, String eventType, LocalDateTime since);
+    @Query("SELECT COALESCE(SUM(r.event_count), 0) FROM analytics_daily_rollup r " +
+           "JOIN articles a ON r.article_id = a.id " +
+           "WHERE a.author_id = :authorId AND r.event_type = :eventType AND r.stat_date >= :since")
+    Mono<Long> sumRollupByAuthorIdAndEventTypeSince(Long authorId, String eventType, LocalDate since);
 
     // BUG-12: Removed Flux<Object[]> methods — R2DBC does not support Object[] projections.
     // Aggregate queries are now handled via DatabaseClient in AnalyticsService.
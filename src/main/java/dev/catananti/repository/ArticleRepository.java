@@ -1,6 +1,7 @@
 package dev.catananti.repository;
 
 import dev.catananti.entity.Article;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -8,18 +9,43 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Repository
 public interface ArticleRepository extends ReactiveCrudRepository<Article, Long> {
 
+    /**
+     * Columns needed to render an article card. List queries select only these so the markdown body
+     * and SEO fields stay on the slug detail query; unselected properties map to null.
+     */
+    String SUMMARY_COLUMNS = "id, slug, title, subtitle, excerpt, cover_image_url, author_id, status, published_at, "
+            + "reading_time_minutes, views_count, likes_count, approved_comment_count, original_locale, created_at, updated_at";
+
+    /** {@link #SUMMARY_COLUMNS} qualified with the {@code a} alias used by joined queries. */
+    String SUMMARY_COLUMNS_A = "a.id, a.slug, a.title, a.subtitle, a.excerpt, a.cover_image_url, a.author_id, a.status, "
+            + "a.published_at, a.reading_time_minutes, a.views_count, a.likes_count, a.approved_comment_count, a.original_locale, "
+            + "a.created_at, a.updated_at";
+
+    /**
+     * Case-insensitive substring match on {@code :query} (already LIKE-escaped). ILIKE rather than
+     * {@code LOWER(..) LIKE} so the pg_trgm GIN indexes on title, excerpt and content can serve it.
+     */
+    String TEXT_MATCH = "(title ILIKE CONCAT('%', :query, '%') OR content ILIKE CONCAT('%', :query, '%') "
+            + "OR excerpt ILIKE CONCAT('%', :query, '%'))";
+
     Mono<Article> findBySlug(String slug);
 
     Mono<Article> findBySlugAndStatus(String slug, String status);
 
-    @Query("SELECT * FROM articles WHERE status = :status ORDER BY published_at DESC LIMIT :limit OFFSET :offset")
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = :status ORDER BY published_at DESC, id DESC LIMIT :limit OFFSET :offset")
     Flux<Article> findByStatusOrderByPublishedAtDesc(String status, int limit, int offset);
 
-    @Query("SELECT * FROM articles WHERE status = :status ORDER BY views_count DESC NULLS LAST LIMIT :limit OFFSET :offset")
+    // Keyset page: rows after (cursorAt, cursorId) in (published_at DESC, id DESC) order
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = :status AND (published_at, id) < (:cursorAt, :cursorId) " +
+           "ORDER BY published_at DESC, id DESC LIMIT :limit")
+    Flux<Article> findByStatusPublishedBefore(String status, LocalDateTime cursorAt, Long cursorId, int limit);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = :status ORDER BY views_count DESC NULLS LAST LIMIT :limit OFFSET :offset")
     Flux<Article> findByStatusOrderByViewsCountDesc(String status, int limit, int offset);
 
     @Query("SELECT * FROM articles ORDER BY created_at DESC LIMIT :limit OFFSET :offset")
@@ -34,20 +60,22 @@ public interface ArticleRepository extends ReactiveCrudRepository<Article, Long>
     @Query("SELECT COUNT(*) FROM articles WHERE status = :status")
     Mono<Long> countByStatus(String status);
 
-    @Query("SELECT * FROM articles WHERE status = :status AND " +
-           "(LOWER(title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(content) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(excerpt) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-           "ORDER BY published_at DESC LIMIT :limit OFFSET :offset")
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = :status AND " + TEXT_MATCH + " " +
+           "ORDER BY published_at DESC, id DESC LIMIT :limit OFFSET :offset")
     Flux<Article> searchByStatusAndQuery(String status, String query, int limit, int offset);
 
-    @Query("SELECT COUNT(*) FROM articles WHERE status = :status AND " +
-           "(LOWER(title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(content) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(excerpt) LIKE LOWER(CONCAT('%', :query, '%')))")
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = :status AND " + TEXT_MATCH + " " +
+           "AND (published_at, id) < (:cursorAt, :cursorId) " +
+           "ORDER BY published_at DESC, id DESC LIMIT :limit")
+    Flux<Article> searchByStatusAndQueryBefore(String status, String query, LocalDateTime cursorAt, Long cursorId, int limit);
+
+    @Query("SELECT COUNT(*) FROM articles WHERE status = :status AND " + TEXT_MATCH)
     Mono<Long> countSearchByStatusAndQuery(String status, String query);
 
-    @Query("SELECT a.* FROM articles a " +
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE id IN (:ids) AND status = 'PUBLISHED'")
+    Flux<Article> findPublishedSummariesByIds(Collection<Long> ids);
+
+    @Query("SELECT " + SUMMARY_COLUMNS_A + " FROM articles a " +
            "JOIN article_tags at ON a.id = at.article_id " +
            "JOIN tags t ON at.tag_id = t.id " +
            "WHERE t.slug = :tagSlug AND a.status = :status " +
@@ -66,25 +94,21 @@ public interface ArticleRepository extends ReactiveCrudRepository<Article, Long>
     Mono<Boolean> existsBySlug(String slug);
 
     // Related articles - articles that share tags with the given article
-    @Query("""
-            SELECT DISTINCT a.* FROM articles a
-            JOIN article_tags at ON a.id = at.article_id
-            WHERE a.id != :articleId
-            AND a.status = 'PUBLISHED'
-            AND at.tag_id IN (
-                SELECT tag_id FROM article_tags WHERE article_id = :articleId
-            )
-            ORDER BY a.published_at DESC
-            LIMIT :limit
-            """)
+    @Query("SELECT DISTINCT " + SUMMARY_COLUMNS_A + " FROM articles a " +
+           "JOIN article_tags at ON a.id = at.article_id " +
+           "WHERE a.id != :articleId " +
+           "AND a.status = 'PUBLISHED' " +
+           "AND at.tag_id IN (SELECT tag_id FROM article_tags WHERE article_id = :articleId) " +
+           "ORDER BY a.published_at DESC " +
+           "LIMIT :limit")
     Flux<Article> findRelatedArticles(Long articleId, int limit);
 
     // Find recent published articles excluding specific article
-    @Query("SELECT * FROM articles WHERE id != :excludeId AND status = 'PUBLISHED' ORDER BY published_at DESC LIMIT :limit")
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE id != :excludeId AND status = 'PUBLISHED' ORDER BY published_at DESC LIMIT :limit")
     Flux<Article> findRecentPublishedExcluding(Long excludeId, int limit);
 
     // Date-range filtered queries
-    @Query("SELECT * FROM articles WHERE status = :status AND published_at >= :dateFrom AND published_at <= :dateTo ORDER BY published_at DESC LIMIT :limit OFFSET :offset")
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = :status AND published_at >= :dateFrom AND published_at <= :dateTo ORDER BY published_at DESC LIMIT :limit OFFSET :offset")
     Flux<Article> findByStatusAndDateRangeOrderByPublishedAtDesc(String status, LocalDateTime dateFrom, LocalDateTime dateTo, int limit, int offset);
 
     @Query("SELECT COUNT(*) FROM articles WHERE status = :status AND published_at >= :dateFrom AND published_at <= :dateTo")
@@ -114,6 +138,29 @@ public interface ArticleRepository extends ReactiveCrudRepository<Article, Long>
     @Query("UPDATE articles SET likes_count = COALESCE(likes_count, 0) + 1 WHERE slug = :slug")
     Mono<Void> incrementLikesBySlug(String slug);
 
+    // Approved comment count, moved by comment moderation (+1 on approval, -1 when an approved comment leaves)
+    @Modifying
+    @Query("UPDATE articles SET approved_comment_count = GREATEST(COALESCE(approved_comment_count, 0) + :delta, 0) WHERE id = :id")
+    Mono<Integer> adjustApprovedCommentCount(Long id, int delta);
+
+    // Articles whose stored approved comment count drifted from the comments table
+    @Query("""
+            SELECT id FROM articles
+            WHERE approved_comment_count IS DISTINCT FROM
+                (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id AND c.status = 'APPROVED')
+            """)
+    Flux<Long> findIdsWithDriftedApprovedCommentCount();
+
+    // Recounts the given articles, skipping any that are consistent again by now
+    @Modifying
+    @Query("""
+            UPDATE articles SET approved_comment_count =
+                (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id AND c.status = 'APPROVED')
+            WHERE id IN (:ids) AND approved_comment_count IS DISTINCT FROM
+                (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id AND c.status = 'APPROVED')
+            """)
+    Mono<Integer> reconcileApprovedCommentCounts(Collection<Long> ids);
+
     // Aggregate queries for dashboard stats (avoid loading all articles into memory)
     @Query("SELECT COALESCE(SUM(views_count), 0) FROM articles")
     Mono<Long> sumViewsCount();
@@ -26,10 +26,6 @@ public class ArticleTagRepositoryImpl implements ArticleTagRepository {
     private static final String DELETE_BY_ARTICLE_ID =
             "DELETE FROM article_tags WHERE article_id = :articleId";
 
-    private static final String COMMENT_COUNT_BY_ARTICLE_IDS =
-            "SELECT article_id, COUNT(*) as cnt FROM comments " +
-            "WHERE article_id = ANY(:ids) AND status = 'APPROVED' GROUP BY article_id";
-
     @Override
     public Flux<long[]> findTagIdsByArticleIds(Long[] articleIds) {
         return r2dbcTemplate.getDatabaseClient()
@@ -22,6 +22,10 @@ public interface AuditLogRepository extends ReactiveCrudRepository<AuditLog, Lon
     @Query("SELECT * FROM audit_logs WHERE created_at >= :since ORDER BY created_at DESC LIMIT :limit")
     Flux<AuditLog> findRecentLogs(LocalDateTime since, int limit);
 
+    // Keyset page over the time-ordered Snowflake id, newest first
+    @Query("SELECT * FROM audit_logs WHERE id < :beforeId ORDER BY id DESC LIMIT :limit")
+    Flux<AuditLog> findPageBeforeId(Long beforeId, int limit);
+
     @Query("SELECT * FROM audit_logs WHERE action = :action AND created_at >= :since ORDER BY created_at DESC")
     Flux<AuditLog> findByActionSince(String action, LocalDateTime since);
 
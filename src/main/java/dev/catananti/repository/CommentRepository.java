@@ -10,14 +10,31 @@ import reactor.core.publisher.Mono;
 @Repository
 public interface CommentRepository extends ReactiveCrudRepository<Comment, Long> {
 
-    @Query("SELECT * FROM comments WHERE article_id = :articleId AND status = 'APPROVED' AND parent_id IS NULL ORDER BY created_at DESC")
-    Flux<Comment> findApprovedByArticleId(Long articleId);
-
-    @Query("SELECT * FROM comments WHERE article_id = :articleId AND status = 'APPROVED' AND parent_id IS NULL ORDER BY created_at DESC LIMIT :limit OFFSET :offset")
-    Flux<Comment> findApprovedByArticleIdPaginated(Long articleId, int limit, int offset);
-
-    @Query("SELECT * FROM comments WHERE parent_id = :parentId AND status = 'APPROVED' ORDER BY created_at ASC")
-    Flux<Comment> findApprovedRepliesByParentId(Long parentId);
+    // Approved threads: the approved top-level comments plus every reply reachable from them through approved
+    // comments, at any depth, in one round trip. Oldest first, so a tree assembled in row order lists replies in order.
+    @Query("""
+            WITH RECURSIVE thread(id) AS (
+                SELECT id FROM comments WHERE article_id = :articleId AND status = 'APPROVED' AND parent_id IS NULL
+                UNION ALL
+                SELECT c.id FROM comments c JOIN thread t ON c.parent_id = t.id WHERE c.status = 'APPROVED'
+            )
+            SELECT c.* FROM comments c JOIN thread t ON c.id = t.id ORDER BY c.created_at ASC, c.id ASC
+            """)
+    Flux<Comment> findApprovedThreadsByArticleId(Long articleId);
+
+    // Same, for one page of top-level comments (newest first, as the page is numbered)
+    @Query("""
+            WITH RECURSIVE thread(id) AS (
+                SELECT id FROM (
+                    SELECT id FROM comments WHERE article_id = :articleId AND status = 'APPROVED' AND parent_id IS NULL
+                    ORDER BY created_at DESC LIMIT :limit OFFSET :offset
+                ) roots
+                UNION ALL
+                SELECT c.id FROM comments c JOIN thread t ON c.parent_id = t.id WHERE c.status = 'APPROVED'
+            )
+            SELECT c.* FROM comments c JOIN thread t ON c.id = t.id ORDER BY c.created_at ASC, c.id ASC
+            """)
+    Flux<Comment> findApprovedThreadsByArticleIdPaginated(Long articleId, int limit, int offset);
 
     @Query("SELECT * FROM comments WHERE article_id = :articleId ORDER BY created_at DESC LIMIT 100")
     Flux<Comment> findAllByArticleId(Long articleId);
@@ -28,16 +45,29 @@ public interface CommentRepository extends ReactiveCrudRepository<Comment, Long>
     @Query("SELECT COUNT(*) FROM comments WHERE status = :status")
     Mono<Long> countByStatus(String status);
 
+    // Keyset pages: Snowflake ids are time-ordered, so id DESC is newest first and seeks on the primary key
+    @Query("SELECT * FROM comments WHERE id < :beforeId ORDER BY id DESC LIMIT :limit")
+    Flux<Comment> findAllBeforeId(Long beforeId, int limit);
+
+    @Query("SELECT * FROM comments WHERE status = :status AND id < :beforeId ORDER BY id DESC LIMIT :limit")
+    Flux<Comment> findByStatusBeforeId(String status, Long beforeId, int limit);
+
     @Query("SELECT * FROM comments ORDER BY created_at DESC LIMIT :limit OFFSET :offset")
     Flux<Comment> findAllPaginated(int limit, int offset);
 
-    @Query("SELECT COUNT(*) FROM comments WHERE article_id = :articleId AND status = 'APPROVED'")
-    Mono<Long> countApprovedByArticleId(Long articleId);
+    // A comment and every reply below it, whatever their status, deepest first so they can be deleted in order
+    @Query("""
+            WITH RECURSIVE subtree(id, depth) AS (
+                SELECT id, 0 FROM comments WHERE id = :id
+                UNION ALL
+                SELECT c.id, s.depth + 1 FROM comments c JOIN subtree s ON c.parent_id = s.id
+            )
+            SELECT c.* FROM comments c JOIN subtree s ON c.id = s.id ORDER BY s.depth DESC, c.id
+            """)
+    Flux<Comment> findSubtreeDeepestFirst(Long id);
 
     Mono<Void> deleteByArticleId(Long articleId);
 
-    Mono<Void> deleteByParentId(Long parentId);
-
     // ==================== AUTHOR-SCOPED QUERIES (ownership enforcement) ====================
 
     @Query("SELECT c.* FROM comments c JOIN articles a ON c.article_id = a.id WHERE a.author_id = :authorId AND c.status = :status ORDER BY c.created_at DESC LIMIT :limit OFFSET :offset")
@@ -51,4 +81,10 @@ public interface CommentRepository extends ReactiveCrudRepository<Comment, Long>
 
     @Query("SELECT COUNT(c.*) FROM comments c JOIN articles a ON c.article_id = a.id WHERE a.author_id = :authorId")
     Mono<Long> countByArticleAuthorId(Long authorId);
+
+    @Query("SELECT c.* FROM comments c JOIN articles a ON c.article_id = a.id WHERE a.author_id = :authorId AND c.status = :status AND c.id < :beforeId ORDER BY c.id DESC LIMIT :limit")
+    Flux<Comment> findByArticleAuthorIdAndStatusBeforeId(Long authorId, String status, Long beforeId, int limit);
+
+    @Query("SELECT c.* FROM comments c JOIN articles a ON c.article_id = a.id WHERE a.author_id = :authorId AND c.id < :beforeId ORDER BY c.id DESC LIMIT :limit")
+    Flux<Comment> findByArticleAuthorIdBeforeId(Long authorId, Long beforeId, int limit);
 }
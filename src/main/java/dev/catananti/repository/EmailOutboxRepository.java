@@ -0,0 +1,57 @@
+package dev.catananti.repository;
+
+import dev.catananti.entity.EmailOutboxMessage;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface EmailOutboxRepository extends ReactiveCrudRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Claim up to {@code limit} due messages for {@code claim}, leasing them until {@code leaseUntil}.
+     * A SENDING row whose lease ran out (its dispatcher died) is due again. The outer conditions are
+     * re-checked against the row being updated, so two dispatchers racing for a row cannot both claim it.
+     * Transactional mail (no campaign) is claimed ahead of due campaign mail, so a newsletter fan-out cannot
+     * hold back a password reset behind thousands of older rows.
+     */
+    @Modifying
+    @Query("""
+            UPDATE email_outbox SET status = 'SENDING', claimed_by = :claim, next_attempt_at = :leaseUntil,
+                attempts = attempts + 1
+            WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now
+              AND id IN (SELECT id FROM email_outbox
+                         WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now
+                         ORDER BY (campaign_id IS NOT NULL), next_attempt_at LIMIT :limit)
+            """)
+    Mono<Integer> claimDue(String claim, LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    @Query("SELECT * FROM email_outbox WHERE claimed_by = :claim AND status = 'SENDING'")
+    Flux<EmailOutboxMessage> findClaimed(String claim);
+
+    /** Extend the lease of every message {@code claim} still holds, while its sessions are running. */
+    @Modifying
+    @Query("UPDATE email_outbox SET next_attempt_at = :leaseUntil WHERE claimed_by = :claim AND status = 'SENDING'")
+    Mono<Integer> renewLease(String claim, LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE email_outbox SET status = 'SENT', sent_at = :sentAt, last_error = NULL WHERE id = :id AND claimed_by = :claim")
+    Mono<Integer> markSent(Long id, String claim, LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE email_outbox SET status = 'PENDING', next_attempt_at = :nextAttemptAt, last_error = :error WHERE id = :id AND claimed_by = :claim")
+    Mono<Integer> markRetry(Long id, String claim, LocalDateTime nextAttemptAt, String error);
+
+    @Modifying
+    @Query("UPDATE email_outbox SET status = 'DEAD', last_error = :error WHERE id = :id AND claimed_by = :claim")
+    Mono<Integer> markDead(Long id, String claim, String error);
+
+    @Modifying
+    @Query("DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < :before")
+    Mono<Integer> deleteSentBefore(LocalDateTime before);
+}
@@ -0,0 +1,50 @@
+package dev.catananti.repository;
+
+import dev.catananti.entity.NewsletterCampaign;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NewsletterCampaignRepository extends ReactiveCrudRepository<NewsletterCampaign, Long> {
+
+    Mono<Boolean> existsByArticleId(Long articleId);
+
+    /**
+     * The oldest running campaign that {@code node} already holds or that nobody holds a live lease on.
+     */
+    @Query("""
+            SELECT * FROM newsletter_campaigns
+            WHERE status = 'RUNNING' AND (claimed_by = :node OR lease_until IS NULL OR lease_until < :now)
+            ORDER BY id LIMIT 1
+            """)
+    Mono<NewsletterCampaign> findClaimable(String node, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE newsletter_campaigns SET claimed_by = :node, lease_until = :leaseUntil
+            WHERE id = :id AND status = 'RUNNING' AND (claimed_by = :node OR lease_until IS NULL OR lease_until < :now)
+            """)
+    Mono<Integer> claim(Long id, String node, LocalDateTime now, LocalDateTime leaseUntil);
+
+    /**
+     * Move the checkpoint past a page that was just queued. Matches nothing if {@code node} lost the lease.
+     */
+    @Modifying
+    @Query("""
+            UPDATE newsletter_campaigns SET last_subscriber_id = :lastSubscriberId, queued_count = queued_count + :queued
+            WHERE id = :id AND claimed_by = :node AND status = 'RUNNING'
+            """)
+    Mono<Integer> advance(Long id, String node, long lastSubscriberId, int queued);
+
+    @Modifying
+    @Query("""
+            UPDATE newsletter_campaigns SET status = 'COMPLETED', completed_at = :completedAt, claimed_by = NULL, lease_until = NULL
+            WHERE id = :id AND claimed_by = :node
+            """)
+    Mono<Integer> complete(Long id, String node, LocalDateTime completedAt);
+}
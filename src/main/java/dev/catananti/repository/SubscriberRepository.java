@@ -25,6 +25,12 @@ public interface SubscriberRepository extends ReactiveCrudRepository<Subscriber,
     @Query("SELECT * FROM subscribers WHERE status = 'CONFIRMED' ORDER BY created_at DESC")
     Flux<Subscriber> findAllConfirmed();
 
+    /**
+     * Keyset page of confirmed subscribers after {@code afterId}, in id order.
+     */
+    @Query("SELECT * FROM subscribers WHERE status = 'CONFIRMED' AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Subscriber> findConfirmedAfter(long afterId, int limit);
+
     @Query("SELECT * FROM subscribers ORDER BY created_at DESC LIMIT :limit OFFSET :offset")
     Flux<Subscriber> findAllPaginated(int limit, int offset);
 
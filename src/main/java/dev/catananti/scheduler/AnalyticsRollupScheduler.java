@@ -0,0 +1,47 @@
+package dev.catananti.scheduler;
+
+import dev.catananti.service.AnalyticsRollupService;
+import dev.catananti.service.AnalyticsRollupService.Window;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduler that keeps the analytics rollups up to date.
+ * Each run aggregates the events recorded since the watermark, one window per transaction,
+ * so a backlog (e.g. the first run over existing data) is worked off a bounded chunk at a time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsRollupScheduler {
+
+    /** Bounds one run; a larger backlog continues on the next run. */
+    static final int MAX_WINDOWS_PER_RUN = 48;
+
+    private final AnalyticsRollupService rollupService;
+
+    @Value("${app.analytics.retention-days:90}")
+    private int retentionDays = 90;
+
+    @Scheduled(fixedDelayString = "${app.analytics.rollup.interval-ms:300000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
+    public void rollUpNewEvents() {
+        try {
+            int windows = 0;
+            Window window;
+            while (windows < MAX_WINDOWS_PER_RUN && (window = rollupService.nextWindow().block()) != null) {
+                Long rows = rollupService.rollUp(window).block();
+                windows++;
+                log.debug("Analytics rollup {} → {}: {} hourly bucket(s) updated", window.from(), window.to(), rows);
+            }
+            rollupService.pruneHourly(LocalDateTime.now().minusDays(retentionDays)).block();
+        } catch (Exception e) {
+            // Usually another node advancing the watermark first; the next run picks up from there
+            log.warn("Analytics rollup run stopped: {}", e.getMessage());
+        }
+    }
+}
@@ -3,9 +3,13 @@ package dev.catananti.scheduler;
 import dev.catananti.entity.Article;
 import dev.catananti.entity.ArticleStatus;
 import dev.catananti.repository.ArticleRepository;
-import dev.catananti.repository.SubscriberRepository;
+import dev.catananti.service.CacheInvalidationBus;
 import dev.catananti.service.CacheService;
-import dev.catananti.service.EmailService;
+import dev.catananti.service.NewsletterCampaignService;
+import dev.catananti.service.search.RelatedArticlesService;
+import dev.catananti.service.search.SearchResultCache;
+import dev.catananti.service.search.TypeaheadService;
+import dev.catananti.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
@@ -29,9 +33,11 @@ public class ArticlePublishScheduler {
 
     private final ArticleRepository articleRepository;
     private final CacheService cacheService;
-    private final SubscriberRepository subscriberRepository;
-    private final EmailService emailService;
+    private final NewsletterCampaignService newsletterCampaignService;
     private final ReactiveStringRedisTemplate redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final SearchResultCache searchResultCache;
+    private final RelatedArticlesService relatedArticlesService;
 
     /**
      * Check for scheduled articles and publish them.
@@ -54,6 +60,14 @@ public class ArticlePublishScheduler {
                     LocalDateTime now = LocalDateTime.now();
                     return articleRepository.findScheduledArticlesToPublish(now)
                             .flatMap(this::publishArticle)
+                            // Each save commits on its own; afterCommit keeps that true if this ever joins a transaction
+                            .flatMap(article -> TransactionCallbacks.afterCommit(reactor.core.publisher.Mono.fromRunnable(() -> {
+                                invalidationBus.publish(CacheInvalidationBus.SEARCH_INDEX, String.valueOf(article.getId()));
+                                invalidationBus.publish(CacheInvalidationBus.SEARCH_SUGGESTIONS, String.valueOf(article.getId()));
+                                invalidationBus.publish(CacheInvalidationBus.SEARCH_SUGGESTIONS, TypeaheadService.TAGS_KEY);
+                                searchResultCache.bumpVersion();
+                                relatedArticlesService.articleChanged(article.getId());
+                            })).thenReturn(article))
                             .flatMap(article -> notifySubscribers(article).thenReturn(article))
                             .doOnNext(article -> log.info("Auto-published scheduled article: {} (scheduled for: {})",
                                     article.getSlug(), article.getScheduledAt()))
@@ -78,21 +92,10 @@ public class ArticlePublishScheduler {
     }
 
     private reactor.core.publisher.Mono<Void> notifySubscribers(Article article) {
-        return subscriberRepository.findAllConfirmed()
-                .buffer(50)
-                .concatMap(batch -> reactor.core.publisher.Flux.fromIterable(batch)
-                        .flatMap(subscriber -> emailService.sendNewArticleNotification(
-                                subscriber.getEmail(),
-                                subscriber.getName(),
-                                article.getTitle(),
-                                article.getSlug(),
-                                article.getExcerpt(),
-                                subscriber.getUnsubscribeToken()
-                        ).onErrorResume(e -> {
-                            log.warn("Failed to send article notification to {}: {}", subscriber.getEmail(), e.getMessage());
-                            return reactor.core.publisher.Mono.empty();
-                        }), 5))
-                .then()
-                .doOnSuccess(v -> log.info("Notified subscribers about scheduled article: {}", article.getSlug()));
+        return newsletterCampaignService.startArticleCampaign(article)
+                .onErrorResume(e -> {
+                    log.warn("Failed to start newsletter campaign for {}: {}", article.getSlug(), e.getMessage());
+                    return reactor.core.publisher.Mono.empty();
+                });
     }
 }
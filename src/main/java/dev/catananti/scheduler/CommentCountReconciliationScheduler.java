@@ -0,0 +1,48 @@
+package dev.catananti.scheduler;
+
+import dev.catananti.repository.ArticleRepository;
+import dev.catananti.service.CacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scheduler that corrects drift in {@code articles.approved_comment_count}.
+ * The count is moved incrementally by comment moderation; two moderators acting on the same comment at once,
+ * or rows written outside {@code CommentService}, can leave it off. Each run finds the articles whose stored
+ * count differs from a recount, rewrites only those, and then drops their cached responses together with the
+ * listings that show the count, so a run over consistent data updates and invalidates nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentCountReconciliationScheduler {
+
+    private final ArticleRepository articleRepository;
+    private final CacheService cacheService;
+
+    @Scheduled(fixedDelayString = "${app.comments.count-reconcile-interval-ms:3600000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
+    public void reconcileCommentCounts() {
+        try {
+            List<Long> drifted = articleRepository.findIdsWithDriftedApprovedCommentCount().collectList().block();
+            if (drifted == null || drifted.isEmpty()) {
+                return;
+            }
+            Integer fixed = articleRepository.reconcileApprovedCommentCounts(drifted).block();
+            if (fixed == null || fixed == 0) {
+                return;
+            }
+            List<String> dependencies = new ArrayList<>(drifted.size() + 1);
+            drifted.forEach(id -> dependencies.add(CacheService.articleDependency(String.valueOf(id))));
+            dependencies.add(CacheService.ARTICLE_LISTINGS_DEPENDENCY);
+            cacheService.invalidate(dependencies).block();
+            log.info("Reconciled approved comment count on {} article(s)", fixed);
+        } catch (Exception e) {
+            log.warn("Comment count reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package dev.catananti.scheduler;
+
+import dev.catananti.entity.EmailOutboxMessage;
+import dev.catananti.repository.EmailOutboxRepository;
+import dev.catananti.service.NewsletterCampaignService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the {@code email_outbox} table over SMTP.
+ * <p>
+ * Each run claims a batch of due messages (leasing them, so a dispatcher that dies mid-batch releases them
+ * when the lease runs out; the lease is renewed every third of {@code app.email.outbox.lease-ms} while the
+ * batch is sending, so slow SMTP cannot hand live messages to another node), splits it into sessions of {@code app.email.outbox.messages-per-connection} and
+ * sends each session over a single SMTP connection. At most {@code app.email.outbox.connections} sessions
+ * are open at once. A message the server rejects permanently (invalid recipient, unparseable content) is
+ * dead-lettered straight away; any other failure is retried with exponential backoff and jitter until
+ * {@code app.email.outbox.max-attempts}, then dead-lettered. Delivery is at least once: a node that dies
+ * between the send and the status update sends that message again on the next claim.
+ * </p>
+ * Metrics: {@code blog.email.outbox.messages{result=sent|retried|dead}}, {@code blog.email.outbox.lease.lost}
+ * for status updates that found the message claimed by someone else (it may have been sent twice); newsletter campaign emails are also
+ * counted per campaign under {@link NewsletterCampaignService#RECIPIENTS_METRIC}.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    /** Bounds one run; a larger backlog continues on the next run. */
+    static final int MAX_BATCHES_PER_RUN = 10;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService connections;
+    private final int batchSize;
+    private final int messagesPerConnection;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Counter leaseLostCounter;
+
+    @Value("${app.email.from:noreply@localhost}")
+    private String fromEmail = "noreply@localhost";
+
+    @Value("${app.email.from-name:Portfolio Blog}")
+    private String fromName = "Portfolio Blog";
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${app.email.outbox.backoff-initial-ms:30000}")
+    private long backoffInitialMs = 30_000;
+
+    @Value("${app.email.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs = 3_600_000;
+
+    @Value("${app.email.outbox.lease-ms:300000}")
+    private long leaseMs = 300_000;
+
+    @Value("${app.email.outbox.retention-days:7}")
+    private int retentionDays = 7;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.email.outbox.connections:4}") int connections,
+                                 @Value("${app.email.outbox.messages-per-connection:20}") int messagesPerConnection) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.messagesPerConnection = Math.max(1, messagesPerConnection);
+        int poolSize = Math.max(1, connections);
+        this.batchSize = poolSize * this.messagesPerConnection;
+        this.connections = Executors.newFixedThreadPool(poolSize, Thread.ofVirtual().name("email-outbox-", 0).factory());
+        this.sentCounter = counter(meterRegistry, "sent");
+        this.retriedCounter = counter(meterRegistry, "retried");
+        this.deadCounter = counter(meterRegistry, "dead");
+        this.leaseLostCounter = Counter.builder("blog.email.outbox.lease.lost")
+                .description("Outbox status updates that found the message claimed by another dispatcher")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:2000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
+    public void dispatch() {
+        try {
+            int batches = 0;
+            while (batches++ < MAX_BATCHES_PER_RUN && dispatchBatch() == batchSize) {
+                log.debug("Email outbox batch full, continuing");
+            }
+        } catch (Exception e) {
+            log.warn("Email outbox dispatch stopped: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge-interval-ms:3600000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
+    public void purgeSent() {
+        try {
+            Integer deleted = outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays)).block();
+            if (deleted != null && deleted > 0) {
+                log.info("Purged {} delivered email(s) from the outbox", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Email outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.shutdown();
+    }
+
+    /**
+     * Claim one batch and send it, one SMTP connection per session.
+     *
+     * @return the number of messages claimed
+     */
+    int dispatchBatch() throws InterruptedException {
+        String claim = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> batch = outboxRepository.claimDue(claim, now, now.plus(Duration.ofMillis(leaseMs)), batchSize)
+                .thenMany(outboxRepository.findClaimed(claim))
+                .collectList()
+                .block();
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        List<Callable<Void>> sessions = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += messagesPerConnection) {
+            List<EmailOutboxMessage> session = batch.subList(from, Math.min(batch.size(), from + messagesPerConnection));
+            sessions.add(() -> {
+                sendSession(claim, session);
+                return null;
+            });
+        }
+        awaitRenewingLease(claim, sessions.stream().map(connections::submit).toList());
+        return batch.size();
+    }
+
+    /**
+     * Wait for every session, extending the claim's lease whenever a third of it passes.
+     */
+    private void awaitRenewingLease(String claim, List<Future<Void>> sessions) throws InterruptedException {
+        long renewEveryMs = Math.max(1, leaseMs / 3);
+        for (Future<Void> session : sessions) {
+            while (true) {
+                try {
+                    session.get(renewEveryMs, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    renewLease(claim);
+                } catch (ExecutionException e) {
+                    log.warn("Email outbox session failed: {}", e.getCause().getMessage());
+                    break;
+                }
+            }
+        }
+    }
+
+    private void renewLease(String claim) {
+        try {
+            outboxRepository.renewLease(claim, LocalDateTime.now().plus(Duration.ofMillis(leaseMs))).block();
+        } catch (Exception e) {
+            log.warn("Could not renew email outbox lease {}: {}", claim, e.getMessage());
+        }
+    }
+
+    private void sendSession(String claim, List<EmailOutboxMessage> session) {
+        Map<MimeMessage, EmailOutboxMessage> prepared = new LinkedHashMap<>();
+        for (EmailOutboxMessage queued : session) {
+            try {
+                prepared.put(toMimeMessage(queued), queued);
+            } catch (MessagingException | UnsupportedEncodingException | MailException e) {
+                deadLetter(claim, queued, e);
+            }
+        }
+        if (prepared.isEmpty()) {
+            return;
+        }
+        Map<Object, Exception> failures = Map.of();
+        try {
+            // One connection for the whole session: JavaMailSender connects once and sends every message over it
+            mailSender.send(prepared.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            // Authentication or connection failure before anything was sent
+            for (EmailOutboxMessage queued : prepared.values()) {
+                fail(claim, queued, e);
+            }
+            return;
+        }
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : prepared.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                markSent(claim, entry.getValue());
+            } else {
+                fail(claim, entry.getValue(), failure);
+            }
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage queued) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, queued.isHtml(), "UTF-8");
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(queued.getRecipient());
+        helper.setSubject(queued.getSubject());
+        helper.setText(queued.getBody(), queued.isHtml());
+        return message;
+    }
+
+    private void markSent(String claim, EmailOutboxMessage queued) {
+        checkClaimed(outboxRepository.markSent(queued.getId(), claim, LocalDateTime.now()).block(), queued, "sent");
+        sentCounter.increment();
+        countCampaignOutcome(queued, "sent");
+        log.debug("Email {} sent to: {}", queued.getId(), queued.getRecipient());
+    }
+
+    private void fail(String claim, EmailOutboxMessage queued, Exception failure) {
+        if (isPermanent(failure) || queued.getAttempts() >= maxAttempts) {
+            deadLetter(claim, queued, failure);
+            return;
+        }
+        LocalDateTime retryAt = LocalDateTime.now().plus(backoff(queued.getAttempts()));
+        checkClaimed(outboxRepository.markRetry(queued.getId(), claim, retryAt, describe(failure)).block(), queued, "retry");
+        retriedCounter.increment();
+        log.debug("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                queued.getId(), queued.getRecipient(), queued.getAttempts(), retryAt, failure.getMessage());
+    }
+
+    private void deadLetter(String claim, EmailOutboxMessage queued, Exception failure) {
+        checkClaimed(outboxRepository.markDead(queued.getId(), claim, describe(failure)).block(), queued, "dead");
+        deadCounter.increment();
+        countCampaignOutcome(queued, "dead");
+        log.warn("Email {} to {} dead-lettered after {} attempt(s): {}",
+                queued.getId(), queued.getRecipient(), queued.getAttempts(), failure.getMessage());
+    }
+
+    /** An update that matched no row means the lease lapsed and another dispatcher owns (and may resend) the message. */
+    private void checkClaimed(Integer updated, EmailOutboxMessage queued, String outcome) {
+        if (updated == null || updated == 0) {
+            leaseLostCounter.increment();
+            log.warn("Email {} to {} lost its outbox lease before being marked {}", queued.getId(),
+                    queued.getRecipient(), outcome);
+        }
+    }
+
+    /** Half the exponential delay is fixed and half random, so retries of one outage spread out. */
+    Duration backoff(int attempts) {
+        long delay = backoffInitialMs << Math.min(Math.max(0, attempts - 1), 20);
+        delay = Math.min(backoffMaxMs, delay);
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    /**
+     * A rejected recipient (a 5xx reply to RCPT TO is reported as an invalid address) or a message that cannot be
+     * built will fail the same way on every attempt. Temporary rejections are reported as valid-but-unsent instead.
+     */
+    static boolean isPermanent(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof MailParseException || t instanceof MailPreparationException) {
+                return true;
+            }
+            if (t instanceof SendFailedException sfe && sfe.getInvalidAddresses() != null
+                    && sfe.getInvalidAddresses().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void countCampaignOutcome(EmailOutboxMessage queued, String result) {
+        if (queued.getCampaignId() != null) {
+            meterRegistry.counter(NewsletterCampaignService.RECIPIENTS_METRIC,
+                    "campaign", String.valueOf(queued.getCampaignId()), "result", result).increment();
+        }
+    }
+
+    private static String describe(Exception failure) {
+        String message = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("blog.email.outbox.messages")
+                .description("Outbox emails by delivery outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package dev.catananti.scheduler;
+
+import dev.catananti.entity.NewsletterCampaign;
+import dev.catananti.service.NewsletterCampaignService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Scheduler that advances newsletter campaigns one page per tick.
+ * Throughput is {@code app.newsletter.campaign.page-size} emails per {@code app.newsletter.campaign.interval-ms},
+ * which keeps a large campaign from flooding the outbox ahead of transactional mail. A campaign is worked on by
+ * one node at a time under a lease; when that node stops renewing it, another resumes from the checkpoint.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NewsletterCampaignScheduler {
+
+    private final NewsletterCampaignService campaignService;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Scheduled(fixedDelayString = "${app.newsletter.campaign.interval-ms:2000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
+    public void advanceCampaigns() {
+        try {
+            NewsletterCampaign campaign = campaignService.claimNext(nodeId).block();
+            if (campaign == null) {
+                return;
+            }
+            Integer queued = campaignService.queueNextPage(campaign, nodeId).block();
+            log.debug("Newsletter campaign {}: {} email(s) queued, {} in total",
+                    campaign.getId(), queued, campaign.getQueuedCount());
+        } catch (Exception e) {
+            // The page was rolled back; the next tick (here or on the node holding the lease) retries it
+            log.warn("Newsletter campaign step failed: {}", e.getMessage());
+        }
+    }
+}
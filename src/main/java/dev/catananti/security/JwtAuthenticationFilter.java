@@ -2,14 +2,19 @@ package dev.catananti.security;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import dev.catananti.entity.User;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.CacheInvalidationBus;
 import dev.catananti.service.TokenBlacklistService;
+import dev.catananti.util.DigestUtils;
+import io.jsonwebtoken.Claims;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpCookie;
 import org.springframework.http.HttpHeaders;
@@ -33,16 +38,33 @@ public class JwtAuthenticationFilter implements WebFilter {
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
     private final TokenBlacklistService tokenBlacklistService;
+    private final CacheInvalidationBus invalidationBus;
 
     /**
-     * Short-lived Caffeine cache to avoid DB lookup on every authenticated request.
-     * F-046: 60s TTL is a security/performance tradeoff — deactivated users locked out within 1 minute
+     * Caffeine cache to avoid DB lookup on every authenticated request.
+     * F-046: user writes (deactivation, deletion, email change) evict the entry on every node through
+     * {@link CacheInvalidationBus}, so the TTL only bounds staleness when a broadcast is lost.
      */
     private final Cache<String, User> userCache = Caffeine.newBuilder()
             .maximumSize(1_000)
-            .expireAfterWrite(Duration.ofSeconds(60))
+            .expireAfterWrite(Duration.ofMinutes(10))
             .build();
 
+    /**
+     * Claims of tokens whose signature was already verified, keyed by the SHA-256 of the token so raw tokens are
+     * not kept in memory. An entry lives until its token's {@code exp}; {@code null} when disabled (size 0).
+     * Revocation is unaffected: the blacklist is still consulted on every request.
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /** The claims the filter reads from a verified token. */
+    private record VerifiedToken(String jti, String email, String role, long expiresAtMs) {
+        static VerifiedToken of(Claims claims) {
+            return new VerifiedToken(claims.getId(), claims.getSubject(), claims.get("role", String.class),
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : 0);
+        }
+    }
+
     private static final String ACCESS_TOKEN_COOKIE = "access_token";
 
     /** Auth endpoints exempt from token rejection (needed for refresh/login/logout flow) */
@@ -54,10 +76,19 @@ public class JwtAuthenticationFilter implements WebFilter {
             "/api/v1/admin/auth/logout"
     );
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository, TokenBlacklistService tokenBlacklistService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository,
+                                   TokenBlacklistService tokenBlacklistService, CacheInvalidationBus invalidationBus,
+                                   @Value("${jwt.verified-cache.max-size:10000}") int verifiedTokenCacheSize) {
         this.tokenProvider = tokenProvider;
         this.userRepository = userRepository;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.invalidationBus = invalidationBus;
+        this.verifiedTokens = verifiedTokenCacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(Expiry.<String, VerifiedToken>creating((fingerprint, token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAtMs() - System.currentTimeMillis()))))
+                .build();
+        invalidationBus.register(CacheInvalidationBus.AUTH_USERS, CacheInvalidationBus.Evictor.of(userCache));
     }
 
     private String getJwtFromRequest(ServerWebExchange exchange) {
@@ -108,12 +139,12 @@ public class JwtAuthenticationFilter implements WebFilter {
     public static final String AUTHENTICATED_USER_ATTR = "authenticatedUser";
 
     /**
-     * F-046: Proactively evict a user from the authentication cache.
-     * Called by UserService when a user is deactivated or role-changed,
+     * F-046: Proactively evict a user from the authentication cache on every node.
+     * Called by UserService when a user is activated, deactivated, updated or deleted,
      * so that the next request forces a fresh DB lookup.
      */
     public void evictUserFromCache(String email) {
-        userCache.invalidate(email);
+        invalidationBus.publish(CacheInvalidationBus.AUTH_USERS, email);
         log.debug("Evicted user from auth cache: {}", email);
     }
 
@@ -125,31 +156,47 @@ public class JwtAuthenticationFilter implements WebFilter {
         }
 
         String path = exchange.getRequest().getPath().value();
-        var validation = tokenProvider.validateAndParseClaims(jwt);
-
-        if (!validation.valid()) {
-            // Clear the invalid/expired cookie so the browser stops sending it
-            clearAccessTokenCookie(exchange);
-
-            // Allow auth & public endpoints to proceed without authentication
-            if (isExemptPath(path)) {
-                return chain.filter(exchange);
+        String fingerprint = verifiedTokens != null ? DigestUtils.sha256Hex(jwt) : null;
+        VerifiedToken token = fingerprint != null ? verifiedTokens.getIfPresent(fingerprint) : null;
+        if (token != null && token.expiresAtMs() <= System.currentTimeMillis()) {
+            // Past exp but not yet swept: let the parser report it as expired
+            token = null;
+        }
+        if (token == null) {
+            var validation = tokenProvider.validateAndParseClaims(jwt);
+            if (!validation.valid()) {
+                return rejectInvalidToken(exchange, chain, path, validation.error());
+            }
+            token = VerifiedToken.of(validation.claims());
+            if (fingerprint != null && token.expiresAtMs() > 0) {
+                verifiedTokens.put(fingerprint, token);
             }
+        }
+        return authenticateToken(exchange, chain, path, token);
+    }
 
-            // For protected routes: deny access immediately with 401
-            log.warn("Access denied — {} for path: {}", validation.error(), path);
-            return unauthorizedResponse(exchange, validation.error());
+    private Mono<Void> rejectInvalidToken(ServerWebExchange exchange, WebFilterChain chain, String path, String error) {
+        // Clear the invalid/expired cookie so the browser stops sending it
+        clearAccessTokenCookie(exchange);
+
+        // Allow auth & public endpoints to proceed without authentication
+        if (isExemptPath(path)) {
+            return chain.filter(exchange);
         }
 
-        // Token is valid (signature, encoding, and expiration all verified)
-        var claims = validation.claims();
-        String jti = claims.getId();
-        String email = claims.getSubject();
-        String role = claims.get("role", String.class);
+        // For protected routes: deny access immediately with 401
+        log.warn("Access denied — {} for path: {}", error, path);
+        return unauthorizedResponse(exchange, error);
+    }
+
+    /** Token is valid (signature, encoding, and expiration all verified) */
+    private Mono<Void> authenticateToken(ServerWebExchange exchange, WebFilterChain chain, String path, VerifiedToken token) {
+        String email = token.email();
+        String role = token.role();
 
         // Check if the token has been blacklisted (e.g. after logout)
-        if (jti != null) {
-            return tokenBlacklistService.isBlacklisted(jti)
+        if (token.jti() != null) {
+            return tokenBlacklistService.isBlacklisted(token.jti())
                     .flatMap(blacklisted -> {
                         if (blacklisted) {
                             clearAccessTokenCookie(exchange);
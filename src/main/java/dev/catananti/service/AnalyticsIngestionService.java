@@ -0,0 +1,260 @@
+package dev.catananti.service;
+
+import dev.catananti.entity.AnalyticsEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous, batched ingestion for analytics beacons.
+ * <p>
+ * Tracking used to cost up to three sequential round trips per beacon (slug lookup, {@code existsById},
+ * single-row insert). Events are now validated against an in-memory article ID/slug snapshot and
+ * offered to a bounded queue; when it is full the event is dropped and counted instead of blocking
+ * the request. The queue is drained by a single in-flight flush, as multi-row {@code INSERT}s of up to
+ * {@code app.analytics.ingest.batch-size} rows, whenever a full batch is waiting or every
+ * {@code app.analytics.ingest.flush-interval-ms}, and once more on shutdown.
+ * </p>
+ * Metrics: {@code analytics.ingest.queue.depth}, {@code analytics.ingest.flush} (latency),
+ * {@code analytics.ingest.dropped} (tagged by reason).
+ */
+@Service
+@Slf4j
+public class AnalyticsIngestionService {
+
+    /** Minimum spacing between snapshot reloads triggered by unknown IDs/slugs. */
+    private static final Duration MISS_REFRESH_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+    private static final String INSERT_PREFIX = "INSERT INTO analytics_events "
+            + "(id, article_id, event_type, user_ip, user_agent, referrer, metadata, created_at) VALUES ";
+
+    private final DatabaseClient databaseClient;
+    private final int batchSize;
+    private final BlockingQueue<AnalyticsEvent> queue;
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private final AtomicLong lastIdRefreshNanos = new AtomicLong(0);
+
+    private final Timer flushTimer;
+    private final Counter droppedQueueFull;
+    private final Counter droppedFlushFailed;
+
+    private volatile Map<String, Long> articleIdsBySlug = Map.of();
+    private volatile Set<Long> articleIds = Set.of();
+    private volatile Boolean jsonbMetadata;
+
+    public AnalyticsIngestionService(
+            DatabaseClient databaseClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.analytics.ingest.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.analytics.ingest.batch-size:500}") int batchSize) {
+        this.databaseClient = databaseClient;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("analytics.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Analytics events waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("analytics.ingest.flush")
+                .description("Latency of one batched analytics insert")
+                .register(meterRegistry);
+        this.droppedQueueFull = Counter.builder("analytics.ingest.dropped")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.droppedFlushFailed = Counter.builder("analytics.ingest.dropped")
+                .tag("reason", "flush_failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Offer an event for batched insertion. Never blocks: a full queue drops the event.
+     *
+     * @return true if the event was queued
+     */
+    public boolean enqueue(AnalyticsEvent event) {
+        if (!queue.offer(event)) {
+            droppedQueueFull.increment();
+            log.debug("Analytics queue full, dropping {} event", event.getEventType());
+            return false;
+        }
+        if (queue.size() >= batchSize) {
+            triggerFlush();
+        }
+        return true;
+    }
+
+    /**
+     * Whether {@code articleId} belongs to an existing article, according to the cached snapshot.
+     * An unknown ID reloads the snapshot at most once per {@link #MISS_REFRESH_INTERVAL}.
+     */
+    public Mono<Boolean> isKnownArticle(Long articleId) {
+        if (articleIds.contains(articleId)) {
+            return Mono.just(true);
+        }
+        return refreshOnMiss().then(Mono.fromSupplier(() -> articleIds.contains(articleId)));
+    }
+
+    /**
+     * Resolve a slug to its article ID from the cached snapshot; empty when unknown.
+     */
+    public Mono<Long> resolveArticleId(String slug) {
+        Long id = articleIdsBySlug.get(slug);
+        if (id != null) {
+            return Mono.just(id);
+        }
+        return refreshOnMiss().then(Mono.fromSupplier(() -> articleIdsBySlug.get(slug)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.ingest.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        triggerFlush();
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.ingest.article-ids-refresh-ms:60000}")
+    public void refreshArticleIds() {
+        lastIdRefreshNanos.set(System.nanoTime());
+        loadArticleIds().block();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        Long flushed = drain().block(SHUTDOWN_FLUSH_TIMEOUT);
+        log.info("Flushed {} queued analytics event(s) on shutdown", flushed);
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    void triggerFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        drain()
+                .doFinally(signal -> flushing.set(false))
+                .subscribe(
+                        count -> log.debug("Flushed {} analytics event(s)", count),
+                        err -> log.warn("Analytics flush failed: {}", err.getMessage()));
+    }
+
+    /**
+     * Insert queued events batch by batch (one statement in flight) until the queue is empty.
+     */
+    Mono<Long> drain() {
+        return Mono.fromSupplier(this::nextBatch)
+                .filter(batch -> !batch.isEmpty())
+                .flatMap(this::insertBatch)
+                .repeat(() -> !queue.isEmpty())
+                .reduce(0L, Long::sum);
+    }
+
+    private List<AnalyticsEvent> nextBatch() {
+        List<AnalyticsEvent> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        queue.drainTo(batch, batchSize);
+        return batch;
+    }
+
+    private Mono<Long> insertBatch(List<AnalyticsEvent> batch) {
+        String metadataPlaceholder = isJsonbMetadata() ? "CAST(:metadata%d AS JSONB)" : ":metadata%d";
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i)
+                    .append(", :articleId").append(i)
+                    .append(", :eventType").append(i)
+                    .append(", :userIp").append(i)
+                    .append(", :userAgent").append(i)
+                    .append(", :referrer").append(i)
+                    .append(", ").append(metadataPlaceholder.formatted(i))
+                    .append(", :createdAt").append(i)
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            AnalyticsEvent event = batch.get(i);
+            spec = spec.bind("id" + i, event.getId())
+                    .bind("eventType" + i, event.getEventType())
+                    .bind("createdAt" + i, event.getCreatedAt());
+            spec = bindNullable(spec, "articleId" + i, event.getArticleId(), Long.class);
+            spec = bindNullable(spec, "userIp" + i, event.getUserIp(), String.class);
+            spec = bindNullable(spec, "userAgent" + i, event.getUserAgent(), String.class);
+            spec = bindNullable(spec, "referrer" + i, event.getReferrer(), String.class);
+            spec = bindNullable(spec, "metadata" + i, event.getMetadata(), String.class);
+        }
+
+        long start = System.nanoTime();
+        return spec.fetch().rowsUpdated()
+                .doOnSuccess(rows -> flushTimer.record(Duration.ofNanos(System.nanoTime() - start)))
+                .onErrorResume(e -> {
+                    droppedFlushFailed.increment(batch.size());
+                    log.warn("Failed to insert {} analytics event(s): {}", batch.size(), e.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(
+            DatabaseClient.GenericExecuteSpec spec, String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    /** PostgreSQL stores metadata as JSONB and needs an explicit cast; H2 (dev) uses TEXT. */
+    private boolean isJsonbMetadata() {
+        Boolean jsonb = jsonbMetadata;
+        if (jsonb == null) {
+            var connectionFactory = databaseClient.getConnectionFactory();
+            jsonb = connectionFactory != null
+                    && connectionFactory.getMetadata().getName().toLowerCase().contains("postgres");
+            jsonbMetadata = jsonb;
+        }
+        return jsonb;
+    }
+
+    private Mono<Void> refreshOnMiss() {
+        long now = System.nanoTime();
+        long last = lastIdRefreshNanos.get();
+        if (last != 0 && now - last < MISS_REFRESH_INTERVAL.toNanos()) {
+            return Mono.empty();
+        }
+        if (!lastIdRefreshNanos.compareAndSet(last, now)) {
+            return Mono.empty();
+        }
+        return loadArticleIds();
+    }
+
+    private Mono<Void> loadArticleIds() {
+        return databaseClient.sql("SELECT id, slug FROM articles")
+                .map((row, meta) -> Map.entry(row.get("slug", String.class), row.get("id", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .doOnNext(snapshot -> {
+                    articleIdsBySlug = Map.copyOf(snapshot);
+                    articleIds = Set.copyOf(snapshot.values());
+                    log.debug("Loaded {} article IDs for analytics validation", snapshot.size());
+                })
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Failed to load article IDs for analytics validation: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
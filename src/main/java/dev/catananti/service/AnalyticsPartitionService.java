@@ -0,0 +1,187 @@
+package dev.catananti.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partition maintenance for the range-partitioned {@code analytics_events} table (PostgreSQL).
+ * <p>
+ * Partitions of {@code app.analytics.partitions.granularity} (MONTH or DAY) are created
+ * {@code app.analytics.partitions.ahead} periods in advance so inserts never land in the default
+ * partition, and retention detaches and drops partitions whose whole range is past the cutoff
+ * instead of running a bulk {@code DELETE}.
+ * </p>
+ * When the table is not partitioned (H2 in dev, or a PostgreSQL install that has not run
+ * {@code db/V3__partition_analytics_events.sql}) {@link #isPartitioned()} is false and callers keep
+ * the row-level delete.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsPartitionService {
+
+    public enum Granularity { MONTH, DAY }
+
+    static final String PARENT_TABLE = "analytics_events";
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter DAY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${app.analytics.partitions.granularity:MONTH}")
+    private Granularity granularity = Granularity.MONTH;
+
+    @Value("${app.analytics.partitions.ahead:3}")
+    private int periodsAhead = 3;
+
+    /**
+     * Whether {@code analytics_events} is a partitioned table. Any catalog error (e.g. H2) counts as no.
+     */
+    public Mono<Boolean> isPartitioned() {
+        return databaseClient.sql("""
+                SELECT COUNT(*) AS cnt FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                WHERE c.relname = :table
+                """)
+                .bind("table", PARENT_TABLE)
+                .map((row, meta) -> row.get("cnt", Long.class))
+                .one()
+                .map(count -> count > 0)
+                .onErrorReturn(false)
+                .defaultIfEmpty(false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(fixedRateString = "${app.analytics.partitions.maintenance-ms:21600000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
+    public void maintainPartitions() {
+        try {
+            Long created = isPartitioned()
+                    .flatMap(partitioned -> partitioned ? createUpcomingPartitions() : Mono.just(0L))
+                    .block();
+            if (created != null && created > 0) {
+                log.info("Created {} analytics_events partition(s)", created);
+            }
+        } catch (Exception e) {
+            log.error("Failed to maintain analytics_events partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Create the partitions for the current period and the next {@code periodsAhead} ones, if missing.
+     *
+     * @return the number of partitions checked
+     */
+    public Mono<Long> createUpcomingPartitions() {
+        LocalDate current = periodStart(LocalDate.now());
+        return Flux.range(0, periodsAhead + 1)
+                .map(offset -> nextPeriod(current, offset))
+                .concatMap(start -> databaseClient.sql(createPartitionSql(start))
+                        .then()
+                        .thenReturn(1L)
+                        .onErrorResume(e -> {
+                            // Typically rows for this range already sit in the default partition
+                            log.warn("Could not create partition {}: {}", partitionName(start), e.getMessage());
+                            return Mono.just(0L);
+                        }))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Detach and drop every partition whose upper bound is at or before {@code cutoff}.
+     * Rows in a partially expired partition stay until the whole partition is past the cutoff.
+     * The default partition has no range to expire, so its rows before the cutoff are deleted instead.
+     *
+     * @return the number of partitions dropped
+     */
+    public Mono<Long> dropPartitionsBefore(LocalDateTime cutoff) {
+        return databaseClient.sql("""
+                SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = :table
+                """)
+                .bind("table", PARENT_TABLE)
+                .map((row, meta) -> new String[]{row.get("name", String.class), row.get("bound", String.class)})
+                .all()
+                .concatMap(partition -> {
+                    if (isDefault(partition[1])) {
+                        return purgeDefaultPartition(partition[0], cutoff).thenReturn(0L);
+                    }
+                    return isExpired(partition[1], cutoff) ? dropPartition(partition[0]).thenReturn(1L) : Mono.just(0L);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Void> purgeDefaultPartition(String name, LocalDateTime cutoff) {
+        return databaseClient.sql("DELETE FROM " + name + " WHERE created_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .then();
+    }
+
+    static boolean isDefault(String bound) {
+        return "DEFAULT".equalsIgnoreCase(bound);
+    }
+
+    private Mono<Void> dropPartition(String name) {
+        // Plain DETACH: CONCURRENTLY is not allowed while a default partition exists
+        return databaseClient.sql("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name)
+                .then()
+                .then(databaseClient.sql("DROP TABLE " + name).then())
+                .doOnSuccess(v -> log.info("Dropped expired analytics partition {}", name));
+    }
+
+    /**
+     * True when the partition bound expression ends at or before {@code cutoff}.
+     * Default and MAXVALUE-bounded partitions never expire.
+     */
+    static boolean isExpired(String bound, LocalDateTime cutoff) {
+        if (bound == null) {
+            return false;
+        }
+        Matcher matcher = UPPER_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            return false;
+        }
+        LocalDateTime upper = LocalDateTime.parse(matcher.group(1).replace(' ', 'T'));
+        return !upper.isAfter(cutoff);
+    }
+
+    String createPartitionSql(LocalDate start) {
+        LocalDate end = nextPeriod(start, 1);
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(start)
+                + " PARTITION OF " + PARENT_TABLE
+                + " FOR VALUES FROM ('" + start + "') TO ('" + end + "')";
+    }
+
+    String partitionName(LocalDate start) {
+        return PARENT_TABLE + "_p" + start.format(granularity == Granularity.DAY ? DAY_SUFFIX : MONTH_SUFFIX);
+    }
+
+    private LocalDate periodStart(LocalDate date) {
+        return granularity == Granularity.DAY ? date : date.withDayOfMonth(1);
+    }
+
+    private LocalDate nextPeriod(LocalDate start, int periods) {
+        return granularity == Granularity.DAY ? start.plusDays(periods) : start.plusMonths(periods);
+    }
+}
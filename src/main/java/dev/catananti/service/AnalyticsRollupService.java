@@ -0,0 +1,193 @@
+package dev.catananti.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Maintains the analytics rollup tables read by the admin dashboard.
+ * <p>
+ * Raw {@code analytics_events} are aggregated window by window, starting at a persisted watermark:
+ * per-hour counts are added to {@code analytics_hourly_rollup}, the days touched by the window are
+ * recomputed in {@code analytics_daily_rollup} from the hourly rows, and referrer counts are added to
+ * {@code analytics_referrer_daily_rollup}. The watermark advances in the same transaction with a
+ * compare-and-set, so two nodes can never aggregate the same window twice.
+ * </p>
+ * Windows end {@code app.analytics.rollup.settle-seconds} before now so events still sitting in the
+ * ingestion queue are not skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsRollupService {
+
+    static final String WATERMARK_NAME = "analytics_events";
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${app.analytics.rollup.settle-seconds:120}")
+    private long settleSeconds = 120;
+
+    @Value("${app.analytics.rollup.max-window-hours:24}")
+    private long maxWindowHours = 24;
+
+    /**
+     * Half-open range {@code [from, to)} of event timestamps to aggregate.
+     */
+    public record Window(LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * The next window to aggregate, or empty when the rollups are caught up.
+     * The watermark is seeded from the oldest raw event on first use.
+     */
+    public Mono<Window> nextWindow() {
+        LocalDateTime horizon = LocalDateTime.now().minusSeconds(settleSeconds);
+        return readWatermark()
+                .switchIfEmpty(Mono.defer(this::seedWatermark))
+                .filter(from -> from.isBefore(horizon))
+                .map(from -> {
+                    LocalDateTime to = from.plusHours(maxWindowHours);
+                    return new Window(from, to.isBefore(horizon) ? to : horizon);
+                });
+    }
+
+    /**
+     * Aggregate one window into the rollup tables and advance the watermark to its end.
+     * Fails (and rolls back) if another node already moved the watermark.
+     *
+     * @return the number of hourly rollup rows touched
+     */
+    @Transactional
+    public Mono<Long> rollUp(Window window) {
+        return advanceWatermark(window)
+                .then(Mono.defer(() -> addHourlyCounts(window)))
+                .flatMap(hourlyRows -> recomputeDailyCounts(window)
+                        .then(addReferrerCounts(window))
+                        .thenReturn(hourlyRows));
+    }
+
+    /**
+     * Drop hourly buckets older than {@code cutoff}; daily rollups are kept.
+     */
+    public Mono<Long> pruneHourly(LocalDateTime cutoff) {
+        return databaseClient.sql("DELETE FROM analytics_hourly_rollup WHERE bucket_start < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<LocalDateTime> readWatermark() {
+        return databaseClient.sql("SELECT watermark FROM analytics_rollup_state WHERE name = :name")
+                .bind("name", WATERMARK_NAME)
+                .map((row, meta) -> row.get("watermark", LocalDateTime.class))
+                .one();
+    }
+
+    private Mono<LocalDateTime> seedWatermark() {
+        return databaseClient.sql("SELECT MIN(created_at) AS first_event FROM analytics_events")
+                .map((row, meta) -> Optional.ofNullable(row.get("first_event", LocalDateTime.class)))
+                .one()
+                .map(first -> first.orElseGet(LocalDateTime::now).truncatedTo(ChronoUnit.HOURS))
+                .flatMap(seed -> databaseClient.sql(
+                                "INSERT INTO analytics_rollup_state (name, watermark) VALUES (:name, :watermark)")
+                        .bind("name", WATERMARK_NAME)
+                        .bind("watermark", seed)
+                        .fetch()
+                        .rowsUpdated()
+                        .doOnSuccess(rows -> log.info("Analytics rollup watermark seeded at {}", seed))
+                        .thenReturn(seed)
+                        // Another node seeded first — use its value
+                        .onErrorResume(e -> readWatermark()));
+    }
+
+    private Mono<Void> advanceWatermark(Window window) {
+        return databaseClient.sql("""
+                UPDATE analytics_rollup_state SET watermark = :to
+                WHERE name = :name AND watermark = :from
+                """)
+                .bind("to", window.to())
+                .bind("name", WATERMARK_NAME)
+                .bind("from", window.from())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException(
+                                "Analytics rollup watermark moved past " + window.from() + " concurrently")));
+    }
+
+    private Mono<Long> addHourlyCounts(Window window) {
+        return databaseClient.sql("""
+                MERGE INTO analytics_hourly_rollup r
+                USING (
+                    SELECT DATE_TRUNC('hour', created_at) AS bucket_start,
+                           COALESCE(article_id, 0) AS article_id, event_type, COUNT(*) AS cnt
+                    FROM analytics_events
+                    WHERE created_at >= :from AND created_at < :to
+                    GROUP BY DATE_TRUNC('hour', created_at), COALESCE(article_id, 0), event_type
+                ) s
+                ON r.bucket_start = s.bucket_start AND r.article_id = s.article_id AND r.event_type = s.event_type
+                WHEN MATCHED THEN UPDATE SET event_count = r.event_count + s.cnt
+                WHEN NOT MATCHED THEN INSERT (bucket_start, article_id, event_type, event_count)
+                    VALUES (s.bucket_start, s.article_id, s.event_type, s.cnt)
+                """)
+                .bind("from", window.from())
+                .bind("to", window.to())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /** Daily rows are rebuilt from the hourly buckets of every day the window touches. */
+    private Mono<Long> recomputeDailyCounts(Window window) {
+        LocalDateTime fromDay = window.from().truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime toDay = window.to().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        return databaseClient.sql("""
+                MERGE INTO analytics_daily_rollup d
+                USING (
+                    SELECT CAST(bucket_start AS DATE) AS stat_date, article_id, event_type,
+                           SUM(event_count) AS cnt
+                    FROM analytics_hourly_rollup
+                    WHERE bucket_start >= :fromDay AND bucket_start < :toDay
+                    GROUP BY CAST(bucket_start AS DATE), article_id, event_type
+                ) s
+                ON d.stat_date = s.stat_date AND d.article_id = s.article_id AND d.event_type = s.event_type
+                WHEN MATCHED THEN UPDATE SET event_count = s.cnt
+                WHEN NOT MATCHED THEN INSERT (stat_date, article_id, event_type, event_count)
+                    VALUES (s.stat_date, s.article_id, s.event_type, s.cnt)
+                """)
+                .bind("fromDay", fromDay)
+                .bind("toDay", toDay)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Long> addReferrerCounts(Window window) {
+        return databaseClient.sql("""
+                MERGE INTO analytics_referrer_daily_rollup r
+                USING (
+                    SELECT CAST(created_at AS DATE) AS stat_date, COALESCE(article_id, 0) AS article_id,
+                           referrer, COUNT(*) AS cnt
+                    FROM analytics_events
+                    WHERE referrer IS NOT NULL AND created_at >= :from AND created_at < :to
+                    GROUP BY CAST(created_at AS DATE), COALESCE(article_id, 0), referrer
+                ) s
+                ON r.stat_date = s.stat_date AND r.article_id = s.article_id AND r.referrer = s.referrer
+                WHEN MATCHED THEN UPDATE SET event_count = r.event_count + s.cnt
+                WHEN NOT MATCHED THEN INSERT (stat_date, article_id, referrer, event_count)
+                    VALUES (s.stat_date, s.article_id, s.referrer, s.cnt)
+                """)
+                .bind("from", window.from())
+                .bind("to", window.to())
+                .fetch()
+                .rowsUpdated();
+    }
+}
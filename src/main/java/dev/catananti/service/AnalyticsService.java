@@ -38,6 +38,8 @@ public class AnalyticsService {
     private final ObjectMapper objectMapper;
     private final IdService idService;
     private final DatabaseClient databaseClient;
+    private final AnalyticsIngestionService ingestionService;
+    private final AnalyticsPartitionService partitionService;
 
     @Value("${app.analytics.retention-days:90}")
     private int retentionDays;
@@ -50,9 +52,9 @@ public class AnalyticsService {
             return Mono.error(new IllegalArgumentException("Invalid event type: " + request.getEventType()));
         }
 
-        // Validate articleId exists if provided
+        // Validate articleId against the ingestion service's cached ID set (no per-beacon query)
         Mono<Boolean> articleValidation = request.getArticleId() != null
-                ? articleRepository.existsById(request.getArticleId())
+                ? ingestionService.isKnownArticle(request.getArticleId())
                         .flatMap(exists -> exists ? Mono.just(true) : Mono.empty())
                 : Mono.just(true);
 
@@ -83,19 +85,21 @@ public class AnalyticsService {
                             .createdAt(LocalDateTime.now())
                             .build();
 
-                    return analyticsRepository.save(event)
-                            .doOnSuccess(e -> log.debug("Analytics event tracked: {} for article {}", 
-                                    e.getEventType(), e.getArticleId()))
-                            .then();
+                    // Queued for the next batched insert; a full queue drops the event
+                    if (ingestionService.enqueue(event)) {
+                        log.debug("Analytics event queued: {} for article {}",
+                                event.getEventType(), event.getArticleId());
+                    }
+                    return Mono.<Void>empty();
                 })
                 .switchIfEmpty(Mono.empty()); // Silently ignore invalid articleIds
     }
 
     public Mono<Void> trackArticleView(String slug, ServerHttpRequest httpRequest) {
-        return articleRepository.findBySlug(slug)
-                .flatMap(article -> {
+        return ingestionService.resolveArticleId(slug)
+                .flatMap(articleId -> {
                     AnalyticsEventRequest request = AnalyticsEventRequest.builder()
-                            .articleId(article.getId())
+                            .articleId(articleId)
                             .eventType("VIEW")
                             .referrer(httpRequest.getHeaders().getFirst("Referer"))
                             .build();
@@ -103,19 +107,24 @@ public class AnalyticsService {
                 });
     }
 
+    /**
+     * Dashboard summary over the last {@code days} days. Reads the pre-aggregated rollup tables
+     * (day granularity, kept current by {@link AnalyticsRollupService}), so cost depends on the
+     * number of days rather than the number of raw events.
+     */
     public Mono<AnalyticsSummary> getAnalyticsSummary(int days) {
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        LocalDate since = LocalDate.now().minusDays(days);
 
         // BUG-RT6: Fall back to article table counts when analytics_events has no data
-        Mono<Long> totalViewsMono = analyticsRepository.countByEventTypeSince("VIEW", since)
+        Mono<Long> totalViewsMono = analyticsRepository.sumRollupByEventTypeSince("VIEW", since)
                 .flatMap(count -> count > 0 ? Mono.just(count) : articleRepository.sumViewsCount());
-        Mono<Long> totalLikesMono = analyticsRepository.countByEventTypeSince("LIKE", since)
+        Mono<Long> totalLikesMono = analyticsRepository.sumRollupByEventTypeSince("LIKE", since)
                 .flatMap(count -> count > 0 ? Mono.just(count) : articleRepository.sumLikesCount());
 
         return Mono.zip(
                 totalViewsMono,
                 totalLikesMono,
-                analyticsRepository.countByEventTypeSince("SHARE", since),
+                analyticsRepository.sumRollupByEventTypeSince("SHARE", since),
                 getDailyViews(since),
                 getTopArticles(since, 10),
                 getTopReferrers(since, 10)
@@ -130,12 +139,12 @@ public class AnalyticsService {
     }
 
     // BUG-12: Replaced Object[] queries with DatabaseClient row mapping
-    private Mono<List<AnalyticsSummary.DailyStat>> getDailyViews(LocalDateTime since) {
+    private Mono<List<AnalyticsSummary.DailyStat>> getDailyViews(LocalDate since) {
         return databaseClient.sql("""
-                SELECT CAST(created_at AS DATE) AS stat_date, COUNT(*) AS cnt
-                FROM analytics_events
-                WHERE event_type = :eventType AND created_at >= :since
-                GROUP BY CAST(created_at AS DATE)
+                SELECT stat_date, SUM(event_count) AS cnt
+                FROM analytics_daily_rollup
+                WHERE event_type = :eventType AND stat_date >= :since
+                GROUP BY stat_date
                 ORDER BY stat_date
                 LIMIT 366
                 """)
@@ -150,11 +159,11 @@ public class AnalyticsService {
                 .defaultIfEmpty(new ArrayList<>());
     }
 
-    private Mono<List<AnalyticsSummary.TopArticle>> getTopArticles(LocalDateTime since, int limit) {
+    private Mono<List<AnalyticsSummary.TopArticle>> getTopArticles(LocalDate since, int limit) {
         return databaseClient.sql("""
-                SELECT article_id, COUNT(*) AS cnt
-                FROM analytics_events
-                WHERE event_type = 'VIEW' AND created_at >= :since
+                SELECT article_id, SUM(event_count) AS cnt
+                FROM analytics_daily_rollup
+                WHERE event_type = 'VIEW' AND stat_date >= :since AND article_id <> 0
                 GROUP BY article_id
                 ORDER BY cnt DESC
                 LIMIT :limit
@@ -210,11 +219,11 @@ public class AnalyticsService {
                 .defaultIfEmpty(new ArrayList<>());
     }
 
-    private Mono<List<AnalyticsSummary.TopReferrer>> getTopReferrers(LocalDateTime since, int limit) {
+    private Mono<List<AnalyticsSummary.TopReferrer>> getTopReferrers(LocalDate since, int limit) {
         return databaseClient.sql("""
-                SELECT referrer, COUNT(*) AS cnt
-                FROM analytics_events
-                WHERE referrer IS NOT NULL AND created_at >= :since
+                SELECT referrer, SUM(event_count) AS cnt
+                FROM analytics_referrer_daily_rollup
+                WHERE stat_date >= :since
                 GROUP BY referrer
                 ORDER BY cnt DESC
                 LIMIT :limit
@@ -239,17 +248,17 @@ public class AnalyticsService {
      * Only includes data from articles owned by the given author.
      */
     public Mono<AnalyticsSummary> getAnalyticsSummaryByAuthor(int days, Long authorId) {
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        LocalDate since = LocalDate.now().minusDays(days);
 
-        Mono<Long> totalViewsMono = analyticsRepository.countByAuthorIdAndEventTypeSince(authorId, "VIEW", since)
+        Mono<Long> totalViewsMono = analyticsRepository.sumRollupByAuthorIdAndEventTypeSince(authorId, "VIEW", since)
                 .flatMap(count -> count > 0 ? Mono.just(count) : articleRepository.sumViewsCountByAuthorId(authorId));
-        Mono<Long> totalLikesMono = analyticsRepository.countByAuthorIdAndEventTypeSince(authorId, "LIKE", since)
+        Mono<Long> totalLikesMono = analyticsRepository.sumRollupByAuthorIdAndEventTypeSince(authorId, "LIKE", since)
                 .flatMap(count -> count > 0 ? Mono.just(count) : Mono.just(0L));
 
         return Mono.zip(
                 totalViewsMono,
                 totalLikesMono,
-                analyticsRepository.countByAuthorIdAndEventTypeSince(authorId, "SHARE", since),
+                analyticsRepository.sumRollupByAuthorIdAndEventTypeSince(authorId, "SHARE", since),
                 getDailyViewsByAuthor(since, authorId),
                 getTopArticlesByAuthor(since, 10, authorId),
                 getTopReferrersByAuthor(since, 10, authorId)
@@ -263,14 +272,14 @@ public class AnalyticsService {
                 .build());
     }
 
-    private Mono<List<AnalyticsSummary.DailyStat>> getDailyViewsByAuthor(LocalDateTime since, Long authorId) {
+    private Mono<List<AnalyticsSummary.DailyStat>> getDailyViewsByAuthor(LocalDate since, Long authorId) {
         return databaseClient.sql("""
-                SELECT CAST(ae.created_at AS DATE) AS stat_date, COUNT(*) AS cnt
-                FROM analytics_events ae
-                JOIN articles a ON ae.article_id = a.id
-                WHERE ae.event_type = :eventType AND ae.created_at >= :since AND a.author_id = :authorId
-                GROUP BY CAST(ae.created_at AS DATE)
-                ORDER BY stat_date
+                SELECT r.stat_date, SUM(r.event_count) AS cnt
+                FROM analytics_daily_rollup r
+                JOIN articles a ON r.article_id = a.id
+                WHERE r.event_type = :eventType AND r.stat_date >= :since AND a.author_id = :authorId
+                GROUP BY r.stat_date
+                ORDER BY r.stat_date
                 LIMIT 366
                 """)
                 .bind("eventType", "VIEW")
@@ -285,13 +294,13 @@ public class AnalyticsService {
                 .defaultIfEmpty(new ArrayList<>());
     }
 
-    private Mono<List<AnalyticsSummary.TopArticle>> getTopArticlesByAuthor(LocalDateTime since, int limit, Long authorId) {
+    private Mono<List<AnalyticsSummary.TopArticle>> getTopArticlesByAuthor(LocalDate since, int limit, Long authorId) {
         return databaseClient.sql("""
-                SELECT ae.article_id, COUNT(*) AS cnt
-                FROM analytics_events ae
-                JOIN articles a ON ae.article_id = a.id
-                WHERE ae.event_type = 'VIEW' AND ae.created_at >= :since AND a.author_id = :authorId
-                GROUP BY ae.article_id
+                SELECT r.article_id, SUM(r.event_count) AS cnt
+                FROM analytics_daily_rollup r
+                JOIN articles a ON r.article_id = a.id
+                WHERE r.event_type = 'VIEW' AND r.stat_date >= :since AND a.author_id = :authorId
+                GROUP BY r.article_id
                 ORDER BY cnt DESC
                 LIMIT :limit
                 """)
@@ -346,13 +355,13 @@ public class AnalyticsService {
                 .defaultIfEmpty(new ArrayList<>());
     }
 
-    private Mono<List<AnalyticsSummary.TopReferrer>> getTopReferrersByAuthor(LocalDateTime since, int limit, Long authorId) {
+    private Mono<List<AnalyticsSummary.TopReferrer>> getTopReferrersByAuthor(LocalDate since, int limit, Long authorId) {
         return databaseClient.sql("""
-                SELECT ae.referrer, COUNT(*) AS cnt
-                FROM analytics_events ae
-                JOIN articles a ON ae.article_id = a.id
-                WHERE ae.referrer IS NOT NULL AND ae.created_at >= :since AND a.author_id = :authorId
-                GROUP BY ae.referrer
+                SELECT r.referrer, SUM(r.event_count) AS cnt
+                FROM analytics_referrer_daily_rollup r
+                JOIN articles a ON r.article_id = a.id
+                WHERE r.stat_date >= :since AND a.author_id = :authorId
+                GROUP BY r.referrer
                 ORDER BY cnt DESC
                 LIMIT :limit
                 """)
@@ -370,14 +379,22 @@ public class AnalyticsService {
 
     /**
      * Cleanup analytics events older than the configured retention period.
-     * Runs daily by default.
+     * Runs daily by default. A partitioned table drops whole expired partitions;
+     * otherwise (H2, unmigrated PostgreSQL) expired rows are deleted.
      */
     @Scheduled(fixedRateString = "${scheduling.analytics-cleanup-ms:86400000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
     public void cleanupOldEvents() {
         try {
             LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
-            analyticsRepository.deleteByCreatedAtBefore(cutoff)
-                    .doOnSuccess(result -> log.info("Analytics events older than {} days cleaned up", retentionDays))
+            partitionService.isPartitioned()
+                    .flatMap(partitioned -> partitioned
+                            ? partitionService.dropPartitionsBefore(cutoff)
+                                    .doOnSuccess(dropped -> log.info("Dropped {} analytics partition(s) older than {} days",
+                                            dropped, retentionDays))
+                                    .then()
+                            : analyticsRepository.deleteByCreatedAtBefore(cutoff)
+                                    .doOnSuccess(result -> log.info("Analytics events older than {} days cleaned up",
+                                            retentionDays)))
                     .block();
         } catch (Exception e) {
             log.error("Failed to cleanup old analytics events: {}", e.getMessage());
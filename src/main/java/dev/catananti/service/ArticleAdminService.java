@@ -11,9 +11,12 @@ import dev.catananti.entity.UserRole;
 import dev.catananti.exception.DuplicateResourceException;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.repository.ArticleRepository;
-import dev.catananti.repository.SubscriberRepository;
 import dev.catananti.repository.TagRepository;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.search.RelatedArticlesService;
+import dev.catananti.service.search.SearchResultCache;
+import dev.catananti.service.search.TypeaheadService;
+import dev.catananti.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -43,8 +46,7 @@ public class ArticleAdminService {
     private final ArticleRepository articleRepository;
     private final TagRepository tagRepository;
     private final R2dbcEntityTemplate r2dbcTemplate;
-    private final SubscriberRepository subscriberRepository;
-    private final EmailService emailService;
+    private final NewsletterCampaignService newsletterCampaignService;
     private final ArticleVersionService articleVersionService;
     private final UserRepository userRepository;
     private final CacheService cacheService;
@@ -52,9 +54,9 @@ public class ArticleAdminService {
     private final NotificationEventService notificationEventService;
     private final HtmlSanitizerService htmlSanitizerService;
     private final ArticleService articleService;
-
-    private static final String RSS_CACHE_KEY = "rss:feed";
-    private static final String SITEMAP_CACHE_KEY = "sitemap:xml";
+    private final CacheInvalidationBus invalidationBus;
+    private final SearchResultCache searchResultCache;
+    private final RelatedArticlesService relatedArticlesService;
 
     // ==================== ADMIN CRUD ====================
 
@@ -106,6 +108,7 @@ public class ArticleAdminService {
                     }
                     return Mono.just(article);
                 }))
+                .flatMap(articleService::withPendingCounts)
                 .flatMap(articleService::enrichArticleWithMetadata)
                 .map(articleService::mapToResponse);
     }
@@ -125,7 +128,7 @@ public class ArticleAdminService {
                     log.info("Article published: {}", a.getSlug());
                     notificationEventService.articlePublished(a.getTitle(), a.getSlug());
                 })
-                .flatMap(article -> invalidateFeedCaches()
+                .flatMap(article -> invalidateArticleCaches(article.getId(), true)
                         .then(notifySubscribersAboutNewArticle(article))
                         .thenReturn(article))
                 .flatMap(articleService::enrichArticleWithMetadata)
@@ -143,7 +146,7 @@ public class ArticleAdminService {
                     return articleRepository.save(article);
                 })
                 .doOnSuccess(a -> log.info("Article unpublished: {}", a.getSlug()))
-                .flatMap(article -> invalidateFeedCaches().thenReturn(article))
+                .flatMap(article -> invalidateArticleCaches(article.getId(), true).thenReturn(article))
                 .flatMap(articleService::enrichArticleWithMetadata)
                 .map(articleService::mapToResponse);
     }
@@ -159,7 +162,7 @@ public class ArticleAdminService {
                     return articleRepository.save(article);
                 })
                 .doOnSuccess(a -> log.info("Article archived: {}", a.getSlug()))
-                .flatMap(article -> invalidateFeedCaches().thenReturn(article))
+                .flatMap(article -> invalidateArticleCaches(article.getId(), true).thenReturn(article))
                 .flatMap(articleService::enrichArticleWithMetadata)
                 .map(articleService::mapToResponse);
     }
@@ -216,6 +219,9 @@ public class ArticleAdminService {
                                                         return saveArticleTags(saved.getId(), tags)
                                                                 .then(Mono.just(saved));
                                                     })
+                                                    .flatMap(saved -> ArticleStatus.PUBLISHED.matches(saved.getStatus())
+                                                            ? invalidateArticleCaches(saved.getId(), true).thenReturn(saved)
+                                                            : Mono.just(saved))
                                                     .doOnSuccess(a -> {
                                                         log.info("Article created: {} (status: {})", a.getSlug(), a.getStatus());
                                                         if (ArticleStatus.PUBLISHED.matches(a.getStatus())) {
@@ -311,6 +317,10 @@ public class ArticleAdminService {
                                                     .then(Mono.just(saved));
                                         });
                             })
+                            // Entries embedding the article are indexed by its id, so the old slug goes too
+                            .flatMap(saved -> invalidateArticleCaches(saved.getId(),
+                                            !java.util.Objects.equals(oldStatus, newStatus) || request.getTagSlugs() != null)
+                                    .thenReturn(saved))
                             .doOnSuccess(a -> log.info("Article updated: {}", a.getSlug()))
                             .flatMap(articleService::enrichArticleWithMetadata)
                             .map(articleService::mapToResponse);
@@ -326,7 +336,7 @@ public class ArticleAdminService {
                         .then(deleteArticleBookmarks(id))
                         .then(deleteArticleVersions(id))
                         .then(articleRepository.deleteById(id))
-                        .then(invalidateFeedCaches())
+                        .then(invalidateArticleCaches(article.getId(), true))
                         .doOnSuccess(v -> log.info("Article deleted: {} (slug={})", id, article.getSlug()))
                 )
                 .then();
@@ -334,29 +344,42 @@ public class ArticleAdminService {
 
     // ==================== PRIVATE HELPERS ====================
 
-    private Mono<Void> invalidateFeedCaches() {
-        return Mono.when(
-                cacheService.delete(RSS_CACHE_KEY),
-                cacheService.delete(SITEMAP_CACHE_KEY)
-        ).doOnSuccess(v -> log.debug("Feed caches invalidated"));
+    /**
+     * Drop the feeds plus every cached public read that embeds the given article, retire cached search
+     * pages, and have the in-memory search index (when enabled) and the suggestion trie re-read it on every node.
+     * When {@code listingsChanged} (publish state or tags changed), listing pages and the
+     * tag listing — which carries published-article counts — are dropped and tag suggestions reweighted.
+     * <p>
+     * Everything here is re-read by concurrent requests, so it all waits for the commit: evicting earlier lets a
+     * reader put the pre-write article (still public after an unpublish or delete) back into the cache, and the
+     * related-articles update would read the old row.
+     * </p>
+     */
+    private Mono<Void> invalidateArticleCaches(Long articleId, boolean listingsChanged) {
+        return TransactionCallbacks.afterCommit(Mono.defer(() -> Mono.when(
+                        Mono.fromRunnable(() -> {
+                            invalidationBus.publish(CacheInvalidationBus.SEARCH_INDEX, String.valueOf(articleId));
+                            invalidationBus.publish(CacheInvalidationBus.SEARCH_SUGGESTIONS, String.valueOf(articleId));
+                            if (listingsChanged) {
+                                invalidationBus.publish(CacheInvalidationBus.SEARCH_SUGGESTIONS, TypeaheadService.TAGS_KEY);
+                            }
+                        }),
+                        Mono.fromRunnable(searchResultCache::bumpVersion),
+                        cacheService.delete(CacheService.RSS_FEED_KEY),
+                        cacheService.delete(CacheService.SITEMAP_KEY),
+                        cacheService.invalidateArticle(articleId, listingsChanged),
+                        listingsChanged ? cacheService.invalidateAllTags() : Mono.empty(),
+                        Mono.fromRunnable(() -> relatedArticlesService.articleChanged(articleId)))
+                        .doOnSuccess(v -> log.debug("Article and feed caches invalidated for: {}", articleId))));
     }
 
     private Mono<Void> notifySubscribersAboutNewArticle(Article article) {
-        return subscriberRepository.findAllConfirmed()
-                // PERF-01: Limit concurrency to prevent SMTP overload
-                .flatMap(subscriber -> emailService.sendNewArticleNotification(
-                        subscriber.getEmail(),
-                        subscriber.getName(),
-                        article.getTitle(),
-                        article.getSlug(),
-                        article.getExcerpt(),
-                        subscriber.getUnsubscribeToken()
-                ).onErrorResume(e -> {
-                    log.warn("Failed to send article notification to {}: {}", subscriber.getEmail(), e.getMessage());
+        // Fan-out runs in the background (NewsletterCampaignScheduler); publishing only records the campaign
+        return newsletterCampaignService.startArticleCampaign(article)
+                .onErrorResume(e -> {
+                    log.warn("Failed to start newsletter campaign for {}: {}", article.getSlug(), e.getMessage());
                     return Mono.empty();
-                }), 10)
-                .then()
-                .doOnSuccess(v -> log.info("Notified subscribers about new article: {}", article.getSlug()));
+                });
     }
 
     private Flux<Tag> fetchOrCreateTags(java.util.Collection<String> tagSlugs) {
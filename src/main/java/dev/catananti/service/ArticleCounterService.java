@@ -0,0 +1,429 @@
+package dev.catananti.service;
+
+import dev.catananti.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for article view and like counters.
+ * <p>
+ * Each hit used to run {@code UPDATE articles SET views_count = views_count + 1}, serializing popular
+ * articles on one row lock and churning dead tuples/WAL. Hits are now folded into per-slug
+ * {@link LongAdder}s and flushed every few seconds as one set-based {@code UPDATE ... FROM unnest(...)}.
+ * </p>
+ * <p>
+ * Cluster mode ({@code counters.write-behind.redis=true}) accumulates with {@code HINCRBY} into a shared
+ * hash instead, and a single node elected by a {@code SETNX} lock flushes it. The lock holds a per-flush
+ * token and is released by a compare-and-delete script, so a flush that outlived the lock TTL cannot drop
+ * the next leader's lock. The hash is renamed before reading so increments arriving during the flush land
+ * in a fresh hash, and tagged with a batch id that the database records in the same statement as the counts,
+ * so a batch whose cleanup failed is replayed without being counted twice. When Redis is down, hits fall back to the local adders. Read paths add the unflushed
+ * deltas via {@link #pending(String)}, and shutdown flushes whatever is still buffered.
+ * </p>
+ * <p>
+ * With {@code counters.write-behind.enabled=false} (dev/H2, which lacks {@code UPDATE ... FROM}) every hit
+ * is written through immediately, as before.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ArticleCounterService {
+
+    static final String PENDING_KEY = "counters:articles:pending";
+    static final String FLUSHING_KEY = "counters:articles:flushing";
+    static final String FLUSH_LOCK_KEY = "counters:articles:flush-lock";
+    private static final Duration FLUSH_LOCK_TTL = Duration.ofSeconds(30);
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(20);
+    private static final String VIEWS_FIELD = "views:";
+    private static final String LIKES_FIELD = "likes:";
+
+    /** KEYS[1] = lock key, ARGV[1] = token; deletes the lock only while this flush still owns it. */
+    static final RedisScript<Long> RELEASE_LOCK_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    /** Hash field holding the id of the claimed batch; never a counter field. */
+    static final String BATCH_ID_FIELD = "#batch";
+
+    /**
+     * KEYS[1] = pending hash, KEYS[2] = flushing hash, ARGV[1] = {@link #BATCH_ID_FIELD}, ARGV[2] = new batch id.
+     * Renames the pending hash aside unless a failed flush left one behind, tags it with a batch id unless it
+     * already has one, and returns its fields; empty when there is nothing to flush.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final RedisScript<List<String>> CLAIM_SCRIPT = (RedisScript) RedisScript.of("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                if redis.call('EXISTS', KEYS[1]) == 0 then
+                    return {}
+                end
+                redis.call('RENAME', KEYS[1], KEYS[2])
+            end
+            redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[2])
+            return redis.call('HGETALL', KEYS[2])
+            """, List.class);
+
+    private static final String BATCH_UPDATE_SQL = """
+            UPDATE articles AS a
+            SET views_count = COALESCE(a.views_count, 0) + d.views,
+                likes_count = COALESCE(a.likes_count, 0) + d.likes
+            FROM unnest(CAST(:slugs AS text[]), CAST(:views AS bigint[]), CAST(:likes AS bigint[])) AS d(slug, views, likes)
+            WHERE a.slug = d.slug
+            RETURNING a.slug
+            """;
+
+    /**
+     * {@link #BATCH_UPDATE_SQL} that records {@code :batchId} in the same statement and updates nothing when it is
+     * already recorded, so replaying a batch whose cleanup failed cannot count it twice. Old records are pruned
+     * on the way; a leftover batch is replayed by the next flush, long before a day passes.
+     */
+    private static final String BATCH_UPDATE_ONCE_SQL = """
+            WITH batch AS (
+                INSERT INTO counter_flush_batches (batch_id, applied_at) VALUES (:batchId, CURRENT_TIMESTAMP)
+                ON CONFLICT (batch_id) DO NOTHING
+                RETURNING batch_id
+            ), pruned AS (
+                DELETE FROM counter_flush_batches WHERE applied_at < CURRENT_TIMESTAMP - INTERVAL '1 day'
+            )
+            UPDATE articles AS a
+            SET views_count = COALESCE(a.views_count, 0) + d.views,
+                likes_count = COALESCE(a.likes_count, 0) + d.likes
+            FROM unnest(CAST(:slugs AS text[]), CAST(:views AS bigint[]), CAST(:likes AS bigint[])) AS d(slug, views, likes),
+                 batch
+            WHERE a.slug = d.slug
+            RETURNING a.slug
+            """;
+
+    /** Unflushed increments for one article. */
+    public record PendingCounts(long views, long likes) {
+        public static final PendingCounts NONE = new PendingCounts(0, 0);
+
+        public boolean isEmpty() {
+            return views == 0 && likes == 0;
+        }
+
+        PendingCounts plus(PendingCounts other) {
+            return new PendingCounts(views + other.views, likes + other.likes);
+        }
+    }
+
+    /** A claimed shared batch: its id and the per-slug deltas it holds. */
+    private record RedisBatch(String id, Map<String, PendingCounts> deltas) {
+    }
+
+    private static final class Adders {
+        final LongAdder views = new LongAdder();
+        final LongAdder likes = new LongAdder();
+    }
+
+    private final ArticleRepository articleRepository;
+    private final R2dbcEntityTemplate r2dbcTemplate;
+    @Nullable
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ConcurrentHashMap<String, Adders> localCounts = new ConcurrentHashMap<>();
+
+    @Value("${counters.write-behind.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${counters.write-behind.redis:false}")
+    private boolean redisMode = false;
+
+    public ArticleCounterService(
+            ArticleRepository articleRepository,
+            R2dbcEntityTemplate r2dbcTemplate,
+            @Autowired(required = false)
+            @Qualifier("reactiveRedisTemplate") @Nullable ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.articleRepository = articleRepository;
+        this.r2dbcTemplate = r2dbcTemplate;
+        this.redisTemplate = redisTemplate;
+    }
+
+    public Mono<Void> recordView(String slug) {
+        if (!enabled) {
+            return articleRepository.incrementViewsBySlug(slug);
+        }
+        return record(slug, VIEWS_FIELD, adders -> adders.views.increment());
+    }
+
+    public Mono<Void> recordLike(String slug) {
+        if (!enabled) {
+            return articleRepository.incrementLikesBySlug(slug);
+        }
+        return record(slug, LIKES_FIELD, adders -> adders.likes.increment());
+    }
+
+    /**
+     * Increments recorded for {@code slug} that have not reached the database yet.
+     */
+    public Mono<PendingCounts> pending(String slug) {
+        return pending(List.of(slug)).map(all -> all.getOrDefault(slug, PendingCounts.NONE));
+    }
+
+    /**
+     * Unflushed increments for each of {@code slugs} with any, in one HMGET per Redis hash. The batch being
+     * flushed counts too: its deltas sit in {@link #FLUSHING_KEY} until they are in the database.
+     */
+    public Mono<Map<String, PendingCounts>> pending(Collection<String> slugs) {
+        if (!enabled || slugs.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(slugs));
+        Map<String, PendingCounts> local = new HashMap<>();
+        for (String slug : distinct) {
+            Adders adders = localCounts.get(slug);
+            if (adders != null) {
+                local.put(slug, new PendingCounts(adders.views.sum(), adders.likes.sum()));
+            }
+        }
+        if (!useRedis()) {
+            return Mono.just(local);
+        }
+        List<String> fields = new ArrayList<>(distinct.size() * 2);
+        for (String slug : distinct) {
+            fields.add(VIEWS_FIELD + slug);
+            fields.add(LIKES_FIELD + slug);
+        }
+        return Flux.just(PENDING_KEY, FLUSHING_KEY)
+                .flatMap(hash -> redisTemplate.<String, String>opsForHash().multiGet(hash, fields))
+                .<Map<String, PendingCounts>>reduceWith(() -> new HashMap<>(local), (all, values) -> {
+                    for (int i = 0; i < distinct.size(); i++) {
+                        PendingCounts shared = new PendingCounts(parseLong(values.get(2 * i)), parseLong(values.get(2 * i + 1)));
+                        if (!shared.isEmpty()) {
+                            all.merge(distinct.get(i), shared, PendingCounts::plus);
+                        }
+                    }
+                    return all;
+                })
+                .onErrorReturn(local);
+    }
+
+    @Scheduled(fixedDelayString = "${counters.write-behind.flush-interval-ms:5000}",
+            initialDelayString = "${counters.write-behind.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flushPending();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (enabled) {
+            long flushed = flushPending();
+            log.info("Flushed {} buffered article counter(s) on shutdown", flushed);
+        }
+    }
+
+    /**
+     * Flush the local buffer and, on the elected node, the shared Redis buffer.
+     * Synchronized so the scheduled flush and the shutdown flush never drain the same deltas twice.
+     *
+     * @return number of articles updated
+     */
+    synchronized long flushPending() {
+        try {
+            Long updated = flushLocal()
+                    .concatWith(useRedis() ? flushRedis() : Mono.empty())
+                    .reduce(0L, Long::sum)
+                    .block(FLUSH_TIMEOUT);
+            return updated != null ? updated : 0L;
+        } catch (Exception e) {
+            log.warn("Article counter flush failed: {}", e.getMessage());
+            return 0L;
+        }
+    }
+
+    private Mono<Void> record(String slug, String field, Consumer<Adders> localIncrement) {
+        if (!useRedis()) {
+            return Mono.fromRunnable(() -> bufferLocally(slug, localIncrement));
+        }
+        return redisTemplate.<String, String>opsForHash()
+                .increment(PENDING_KEY, field + slug, 1L)
+                .then()
+                .onErrorResume(e -> {
+                    log.debug("Redis unavailable for article counters, buffering locally for {}: {}", slug, e.getMessage());
+                    bufferLocally(slug, localIncrement);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Increment inside the map's per-key lock, so it cannot land in adders that {@link #flushLocal} is dropping.
+     */
+    private void bufferLocally(String slug, Consumer<Adders> increment) {
+        localCounts.compute(slug, (key, adders) -> {
+            Adders target = adders != null ? adders : new Adders();
+            increment.accept(target);
+            return target;
+        });
+    }
+
+    private Mono<Long> flushLocal() {
+        Map<String, PendingCounts> drained = new HashMap<>();
+        localCounts.forEach((slug, adders) -> {
+            // Subtract exactly what was read, so increments racing with the drain stay buffered
+            long views = adders.views.sum();
+            long likes = adders.likes.sum();
+            if (views != 0 || likes != 0) {
+                adders.views.add(-views);
+                adders.likes.add(-likes);
+                drained.put(slug, new PendingCounts(views, likes));
+            }
+        });
+        if (drained.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return applyDeltas(drained)
+                .map(updatedSlugs -> {
+                    // Slugs that matched no article (deleted, renamed or bogus) must not pin adders forever,
+                    // but hits that arrived during the flush keep theirs
+                    drained.keySet().stream()
+                            .filter(slug -> !updatedSlugs.contains(slug))
+                            .forEach(slug -> localCounts.computeIfPresent(slug, (key, adders) ->
+                                    adders.views.sum() == 0 && adders.likes.sum() == 0 ? null : adders));
+                    return (long) updatedSlugs.size();
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to flush {} article counter(s), keeping them buffered: {}", drained.size(), e.getMessage());
+                    drained.forEach((slug, counts) -> bufferLocally(slug, adders -> {
+                        adders.views.add(counts.views());
+                        adders.likes.add(counts.likes());
+                    }));
+                    return Mono.just(0L);
+                });
+    }
+
+    private Mono<Long> flushRedis() {
+        String token = UUID.randomUUID().toString();
+        return redisTemplate.opsForValue().setIfAbsent(FLUSH_LOCK_KEY, token, FLUSH_LOCK_TTL)
+                .onErrorResume(e -> {
+                    log.debug("Redis unavailable for counter flush lock: {}", e.getMessage());
+                    return Mono.just(false);
+                })
+                .filter(Boolean::booleanValue)
+                .flatMap(leader -> claimRedisBatch()
+                        // A failed DELETE leaves the batch for the next leader, whose replay updates nothing
+                        .flatMap(batch -> (batch.deltas().isEmpty() ? Mono.just(Set.<String>of()) : applyDeltas(batch.deltas(), batch.id()))
+                                .flatMap(updatedSlugs -> redisTemplate.delete(FLUSHING_KEY)
+                                        .thenReturn((long) updatedSlugs.size())))
+                        .doFinally(signal -> redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(FLUSH_LOCK_KEY), List.of(token))
+                                .onErrorResume(e -> Mono.empty())
+                                .subscribe()))
+                .defaultIfEmpty(0L)
+                .onErrorResume(e -> {
+                    // The flushing hash is left in place and picked up again by the next leader
+                    log.warn("Failed to flush shared article counters: {}", e.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    /**
+     * Move the live hash aside (atomic RENAME) unless a previous failed flush left one behind, and read it
+     * as per-slug deltas together with its batch id, all in one {@link #CLAIM_SCRIPT} call.
+     */
+    private Mono<RedisBatch> claimRedisBatch() {
+        return redisTemplate.execute(CLAIM_SCRIPT, List.of(PENDING_KEY, FLUSHING_KEY),
+                        List.of(BATCH_ID_FIELD, UUID.randomUUID().toString()))
+                .next()
+                .filter(fields -> !fields.isEmpty())
+                .map(fields -> {
+                    Map<String, String> hash = new HashMap<>();
+                    for (int i = 0; i + 1 < fields.size(); i += 2) {
+                        hash.put(fields.get(i), fields.get(i + 1));
+                    }
+                    return new RedisBatch(hash.remove(BATCH_ID_FIELD), toDeltas(hash));
+                });
+    }
+
+    static Map<String, PendingCounts> toDeltas(Map<String, String> fields) {
+        Map<String, PendingCounts> deltas = new HashMap<>();
+        fields.forEach((field, value) -> {
+            long count = parseLong(value);
+            if (field.startsWith(VIEWS_FIELD)) {
+                deltas.merge(field.substring(VIEWS_FIELD.length()), new PendingCounts(count, 0), PendingCounts::plus);
+            } else if (field.startsWith(LIKES_FIELD)) {
+                deltas.merge(field.substring(LIKES_FIELD.length()), new PendingCounts(0, count), PendingCounts::plus);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * Apply all deltas in a single statement and return the slugs that matched an article.
+     */
+    private Mono<Set<String>> applyDeltas(Map<String, PendingCounts> deltas) {
+        return applyDeltas(deltas, null);
+    }
+
+    /**
+     * As {@link #applyDeltas(Map)}; with a {@code batchId}, only if that batch was not applied before.
+     */
+    private Mono<Set<String>> applyDeltas(Map<String, PendingCounts> deltas, @Nullable String batchId) {
+        int size = deltas.size();
+        String[] slugs = new String[size];
+        Long[] views = new Long[size];
+        Long[] likes = new Long[size];
+        int i = 0;
+        for (Map.Entry<String, PendingCounts> entry : deltas.entrySet()) {
+            slugs[i] = entry.getKey();
+            views[i] = entry.getValue().views();
+            likes[i] = entry.getValue().likes();
+            i++;
+        }
+        DatabaseClient.GenericExecuteSpec update = r2dbcTemplate.getDatabaseClient()
+                .sql(batchId != null ? BATCH_UPDATE_ONCE_SQL : BATCH_UPDATE_SQL);
+        if (batchId != null) {
+            update = update.bind("batchId", batchId);
+        }
+        return update
+                .bind("slugs", slugs)
+                .bind("views", views)
+                .bind("likes", likes)
+                .map((row, metadata) -> row.get("slug", String.class))
+                .all()
+                .collect(Collectors.toSet())
+                .doOnNext(updated -> log.debug("Flushed counters for {} of {} article(s)", updated.size(), size));
+    }
+
+    private boolean useRedis() {
+        return redisMode && redisTemplate != null;
+    }
+
+    private static long parseLong(@Nullable String value) {
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
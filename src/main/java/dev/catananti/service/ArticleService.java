@@ -1,5 +1,6 @@
 package dev.catananti.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import dev.catananti.dto.*;
 import dev.catananti.entity.Article;
 import dev.catananti.entity.ArticleStatus;
@@ -11,19 +12,19 @@ import dev.catananti.metrics.BlogMetrics;
 import dev.catananti.repository.ArticleRepository;
 import dev.catananti.util.DigestUtils;
 
-import dev.catananti.repository.CommentRepository;
 import dev.catananti.repository.TagRepository;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.search.RelatedArticlesService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -38,26 +39,51 @@ public class ArticleService {
     private final R2dbcEntityTemplate r2dbcTemplate;
     private final UserRepository userRepository;
     private final ArticleTranslationService articleTranslationService;
-    private final CommentRepository commentRepository;
     private final BlogMetrics blogMetrics;
     private final ResilienceConfig resilience;
+    private final CacheService cacheService;
+    private final ArticleCounterService articleCounterService;
+    private final RelatedArticlesService relatedArticlesService;
+
+    /** Redis (L2) TTL for enriched public article responses; writes invalidate explicitly. */
+    private static final Duration ARTICLE_CACHE_TTL = Duration.ofMinutes(10);
+
+    private static final TypeReference<PageResponse<ArticleSummary>> SUMMARY_PAGE_TYPE = new TypeReference<>() {};
+    private static final TypeReference<ArticleResponse> ARTICLE_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<ArticleSummary>> SUMMARY_LIST_TYPE = new TypeReference<>() {};
 
     // ==================== PUBLIC ENDPOINTS ====================
 
-    public Mono<PageResponse<ArticleResponse>> getPublishedArticles(int page, int size) {
+    public Mono<PageResponse<ArticleSummary>> getPublishedArticles(int page, int size) {
         return getPublishedArticles(page, size, null);
     }
 
-    public Mono<PageResponse<ArticleResponse>> getPublishedArticles(int page, int size, String locale) {
+    public Mono<PageResponse<ArticleSummary>> getPublishedArticles(int page, int size, String locale) {
         return getPublishedArticles(page, size, locale, null);
     }
 
-    public Mono<PageResponse<ArticleResponse>> getPublishedArticles(int page, int size, String locale, String sort) {
+    public Mono<PageResponse<ArticleSummary>> getPublishedArticles(int page, int size, String locale, String sort) {
         return getPublishedArticles(page, size, locale, sort, null, null);
     }
 
-    public Mono<PageResponse<ArticleResponse>> getPublishedArticles(int page, int size, String locale, String sort,
-                                                                      LocalDate dateFrom, LocalDate dateTo) {
+    public Mono<PageResponse<ArticleSummary>> getPublishedArticles(int page, int size, String locale, String sort,
+                                                                     LocalDate dateFrom, LocalDate dateTo) {
+        // Date-filtered listings are open-ended in key space, so only the plain listing is cached
+        if (dateFrom != null || dateTo != null) {
+            return loadPublishedArticles(page, size, locale, sort, dateFrom, dateTo)
+                    .flatMap(this::withPendingCountsPage)
+                    .timeout(resilience.getDatabaseTimeout());
+        }
+        String sortKey = sort != null && sort.startsWith("viewCount") ? "views" : "date";
+        return cacheService.getOrLoad(CacheService.publishedPageKey(page, size, locale, sortKey), SUMMARY_PAGE_TYPE,
+                        ARTICLE_CACHE_TTL, result -> listingDependencies(result.getContent()),
+                        () -> loadPublishedArticles(page, size, locale, sort, null, null))
+                .flatMap(this::withPendingCountsPage)
+                .timeout(resilience.getDatabaseTimeout());
+    }
+
+    private Mono<PageResponse<ArticleSummary>> loadPublishedArticles(int page, int size, String locale, String sort,
+                                                                       LocalDate dateFrom, LocalDate dateTo) {
         int offset = page * size;
         String status = ArticleStatus.PUBLISHED.name();
 
@@ -85,10 +111,34 @@ public class ArticleService {
                 .flatMap(this::enrichArticlesWithMetadata)
                 .zipWith(countMono)
                 .map(tuple -> {
-                    var content = tuple.getT1().stream().map(this::mapToResponse).toList();
+                    var content = tuple.getT1().stream().map(this::mapToSummary).toList();
                     var total = tuple.getT2();
                     return PageResponse.of(content, page, size, total);
-                })
+                });
+    }
+
+    /**
+     * Cursor-mode listing of published articles, newest first. Seeks past the {@code (published_at, id)} of the
+     * previous page instead of skipping {@code page * size} rows, and runs no count query.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null/blank for the first page
+     */
+    public Mono<PageResponse<ArticleSummary>> getPublishedArticlesAfter(String cursor, int size, String locale) {
+        PageCursor position = PageCursor.decode(cursor);
+        String status = ArticleStatus.PUBLISHED.name();
+        Flux<Article> articleFlux = position == null
+                ? articleRepository.findByStatusOrderByPublishedAtDesc(status, size + 1, 0)
+                : articleRepository.findByStatusPublishedBefore(status, position.at(), position.id(), size + 1);
+
+        return articleFlux
+                // Seek order must survive: the last row becomes the next cursor
+                .concatMap(article -> applyLocale(article, locale))
+                .collectList()
+                .flatMap(this::enrichArticlesWithMetadata)
+                .map(articles -> PageResponse.ofCursor(articles.stream().map(this::mapToSummary).toList(),
+                        size, position == null,
+                        summary -> new PageCursor(summary.getPublishedAt(), Long.parseLong(summary.getId()))))
+                .flatMap(this::withPendingCountsPage)
                 .timeout(resilience.getDatabaseTimeout());
     }
 
@@ -97,23 +147,30 @@ public class ArticleService {
     }
 
     public Mono<ArticleResponse> getPublishedArticleBySlug(String slug, String locale) {
-        return articleRepository.findBySlugAndStatus(slug, ArticleStatus.PUBLISHED.name())
+        return cacheService.getOrLoad(CacheService.articleSlugKey(slug, locale), ARTICLE_TYPE, ARTICLE_CACHE_TTL,
+                        article -> {
+                            List<String> dependencies = new ArrayList<>(articleDependencies(article));
+                            dependencies.add(CacheService.slugDependency(slug));
+                            return dependencies;
+                        },
+                        () -> articleRepository.findBySlugAndStatus(slug, ArticleStatus.PUBLISHED.name())
+                                .flatMap(article -> applyLocale(article, locale))
+                                .flatMap(this::enrichArticleWithMetadata)
+                                .map(this::mapToResponse))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Article", "slug", slug)))
-                .flatMap(article -> applyLocale(article, locale))
-                .flatMap(this::enrichArticleWithMetadata)
-                .map(this::mapToResponse)
+                .flatMap(this::withPendingCountsResponse)
                 .timeout(resilience.getDatabaseTimeout());
     }
 
-    @Transactional
+    /** Buffered by {@link ArticleCounterService} and flushed to the database in batches. */
     public Mono<Void> incrementViews(String slug) {
-        return articleRepository.incrementViewsBySlug(slug)
+        return articleCounterService.recordView(slug)
                 .doOnSuccess(_ -> blogMetrics.incrementArticleViews(slug));
     }
 
-    @Transactional
+    /** Buffered by {@link ArticleCounterService} and flushed to the database in batches. */
     public Mono<Void> likeArticle(String slug) {
-        return articleRepository.incrementLikesBySlug(slug)
+        return articleCounterService.recordLike(slug)
                 .doOnSuccess(_ -> {
                     blogMetrics.incrementArticleLikes(slug);
                     log.info("Article liked: {}", slug);
@@ -121,14 +178,71 @@ public class ArticleService {
     }
 
     /**
-     * Get the current like count for an article by slug.
+     * Get the current like count for an article by slug, including likes not yet flushed.
      */
     public Mono<Integer> getLikeCount(String slug) {
         return articleRepository.findBySlug(slug)
+                .flatMap(this::withPendingCounts)
                 .map(article -> article.getLikesCount() != null ? article.getLikesCount() : 0)
                 .defaultIfEmpty(0);
     }
 
+    /**
+     * Add view/like increments still buffered in {@link ArticleCounterService} to a freshly loaded article,
+     * so counts read from the database look live between flushes.
+     */
+    public Mono<Article> withPendingCounts(Article article) {
+        return articleCounterService.pending(article.getSlug())
+                .map(pending -> {
+                    if (!pending.isEmpty()) {
+                        article.setViewsCount((int) (nullToZero(article.getViewsCount()) + pending.views()));
+                        article.setLikesCount((int) (nullToZero(article.getLikesCount()) + pending.likes()));
+                    }
+                    return article;
+                });
+    }
+
+    /**
+     * Cached responses hold the counts flushed when they were built. Buffered increments are added to a copy
+     * on the way out, so neither the L1 instance nor the Redis entry ever absorbs a delta.
+     */
+    private Mono<ArticleResponse> withPendingCountsResponse(ArticleResponse response) {
+        return articleCounterService.pending(response.getSlug())
+                .map(pending -> pending.isEmpty() ? response : response.toBuilder()
+                        .viewCount(plus(response.getViewCount(), pending.views()))
+                        .likeCount(plus(response.getLikeCount(), pending.likes()))
+                        .build());
+    }
+
+    private Mono<List<ArticleSummary>> withPendingCountsList(List<ArticleSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return Mono.just(summaries);
+        }
+        return articleCounterService.pending(summaries.stream().map(ArticleSummary::getSlug).toList())
+                .map(pending -> pending.isEmpty() ? summaries : summaries.stream()
+                        .map(summary -> {
+                            ArticleCounterService.PendingCounts counts = pending.get(summary.getSlug());
+                            return counts == null || counts.isEmpty() ? summary : summary.toBuilder()
+                                    .viewCount(plus(summary.getViewCount(), counts.views()))
+                                    .likeCount(plus(summary.getLikeCount(), counts.likes()))
+                                    .build();
+                        })
+                        .toList());
+    }
+
+    private Mono<PageResponse<ArticleSummary>> withPendingCountsPage(PageResponse<ArticleSummary> page) {
+        return withPendingCountsList(page.getContent())
+                .map(content -> content == page.getContent() ? page : page.toBuilder().content(content).build());
+    }
+
+    private static int plus(Integer count, long delta) {
+        return (int) (nullToZero(count) + delta);
+    }
+
+    private static long nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
     // ==================== SEARCH ====================
 
     public Mono<PageResponse<ArticleResponse>> searchArticles(String query, int page, int size) {
@@ -153,11 +267,23 @@ public class ArticleService {
                 .timeout(resilience.getDatabaseTimeout());
     }
 
-    public Mono<PageResponse<ArticleResponse>> getArticlesByTag(String tagSlug, int page, int size) {
+    public Mono<PageResponse<ArticleSummary>> getArticlesByTag(String tagSlug, int page, int size) {
         return getArticlesByTag(tagSlug, page, size, null);
     }
 
-    public Mono<PageResponse<ArticleResponse>> getArticlesByTag(String tagSlug, int page, int size, String locale) {
+    public Mono<PageResponse<ArticleSummary>> getArticlesByTag(String tagSlug, int page, int size, String locale) {
+        return cacheService.getOrLoad(CacheService.tagPageKey(tagSlug, page, size, locale), SUMMARY_PAGE_TYPE,
+                        ARTICLE_CACHE_TTL, result -> {
+                            List<String> dependencies = listingDependencies(result.getContent());
+                            dependencies.add(CacheService.tagDependency(tagSlug));
+                            return dependencies;
+                        },
+                        () -> loadArticlesByTag(tagSlug, page, size, locale))
+                .flatMap(this::withPendingCountsPage)
+                .timeout(resilience.getDatabaseTimeout());
+    }
+
+    private Mono<PageResponse<ArticleSummary>> loadArticlesByTag(String tagSlug, int page, int size, String locale) {
         int offset = page * size;
 
         return articleRepository.findByTagSlugAndStatus(tagSlug, ArticleStatus.PUBLISHED.name(), size, offset)
@@ -166,15 +292,15 @@ public class ArticleService {
                 .flatMap(this::enrichArticlesWithMetadata)
                 .zipWith(articleRepository.countByTagSlugAndStatus(tagSlug, ArticleStatus.PUBLISHED.name()))
                 .map(tuple -> {
-                    var content = tuple.getT1().stream().map(this::mapToResponse).toList();
+                    var content = tuple.getT1().stream().map(this::mapToSummary).toList();
                     var total = tuple.getT2();
                     return PageResponse.of(content, page, size, total);
-                })
-                .timeout(resilience.getDatabaseTimeout());
+                });
     }
 
     /**
-     * Enrich a single article with tags, author name, and comment count.
+     * Enrich a single article with tags and author name. The comment count is the article's own
+     * {@code approved_comment_count} column.
      */
     public Mono<Article> enrichArticleWithMetadata(Article article) {
         Mono<java.util.Set<Tag>> tagsMono = tagRepository.findByArticleId(article.getId())
@@ -186,15 +312,11 @@ public class ArticleService {
                         .defaultIfEmpty("Unknown")
                 : Mono.just("Unknown");
 
-        Mono<Long> commentCountMono = commentRepository.countApprovedByArticleId(article.getId())
-                .defaultIfEmpty(0L);
-
-        return Mono.zip(tagsMono, authorMono, commentCountMono)
+        return Mono.zip(tagsMono, authorMono)
                 // F-144: Use .map() instead of .doOnNext() to avoid mutation anti-pattern
                 .map(tuple -> {
                     article.setTags(tuple.getT1());
                     article.setAuthorName(tuple.getT2());
-                    article.setCommentCount(tuple.getT3().intValue());
                     return article;
                 });
     }
@@ -202,8 +324,8 @@ public class ArticleService {
     // ==================== BATCH ENRICHMENT (N+1 fix) ====================
 
     /**
-     * Batch-enrich a list of articles with tags, author names, and comment counts.
-     * Reduces N+1 queries (3*N) to 4 constant queries regardless of list size.
+     * Batch-enrich a list of articles with tags and author names; comment counts come with the article row.
+     * Reduces N+1 queries (3*N) to 3 constant queries regardless of list size.
      */
     public Mono<List<Article>> enrichArticlesWithMetadata(List<Article> articles) {
         if (articles.isEmpty()) {
@@ -218,12 +340,10 @@ public class ArticleService {
 
         return Mono.zip(
                 batchFetchTags(articleIds),
-                batchFetchAuthors(authorIds),
-                batchFetchCommentCounts(articleIds)
+                batchFetchAuthors(authorIds)
         ).map(tuple -> {
             Map<Long, Set<Tag>> tagsMap = tuple.getT1();
             Map<Long, User> authorsMap = tuple.getT2();
-            Map<Long, Integer> commentsMap = tuple.getT3();
 
             for (Article article : articles) {
                 article.setTags(tagsMap.getOrDefault(article.getId(), Set.of()));
@@ -235,7 +355,6 @@ public class ArticleService {
                 } else {
                     article.setAuthorName("Unknown");
                 }
-                article.setCommentCount(commentsMap.getOrDefault(article.getId(), 0));
             }
             return articles;
         });
@@ -286,18 +405,6 @@ public class ArticleService {
                 .collectMap(User::getId);
     }
 
-    private Mono<Map<Long, Integer>> batchFetchCommentCounts(List<Long> articleIds) {
-        return r2dbcTemplate.getDatabaseClient()
-                .sql("SELECT article_id, COUNT(*) as cnt FROM comments WHERE article_id = ANY(:ids) AND status = 'APPROVED' GROUP BY article_id")
-                .bind("ids", articleIds.toArray(new Long[0]))
-                .map((row, meta) -> Map.entry(
-                        row.get("article_id", Long.class),
-                        row.get("cnt", Long.class).intValue()
-                ))
-                .all()
-                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
-    }
-
     /**
      * Map an enriched Article entity to ArticleResponse DTO.
      */
@@ -334,6 +441,36 @@ public class ArticleService {
                 .build();
     }
 
+    /**
+     * Map an enriched Article entity to the list-view ArticleSummary DTO (no body or SEO metadata).
+     */
+    public ArticleSummary mapToSummary(Article article) {
+        return ArticleSummary.builder()
+                .id(String.valueOf(article.getId()))
+                .slug(article.getSlug())
+                .title(article.getTitle())
+                .subtitle(article.getSubtitle())
+                .excerpt(article.getExcerpt())
+                .coverImageUrl(article.getCoverImageUrl())
+                .author(ArticleResponse.AuthorInfo.builder()
+                        .id(String.valueOf(article.getAuthorId()))
+                        .name(article.getAuthorName() != null ? article.getAuthorName() : "Unknown")
+                        .avatarUrl(article.getAuthorAvatarUrl())
+                        .build())
+                .status(article.getStatus())
+                .publishedAt(article.getPublishedAt())
+                .readingTimeMinutes(article.getReadingTimeMinutes())
+                .viewCount(article.getViewsCount())
+                .likeCount(article.getLikesCount())
+                .commentCount(article.getCommentCount())
+                .tags(article.getTags().stream()
+                        .map(this::mapTagToResponse)
+                        .collect(Collectors.toUnmodifiableSet()))
+                .createdAt(article.getCreatedAt())
+                .updatedAt(article.getUpdatedAt())
+                .build();
+    }
+
     private TagResponse mapTagToResponse(Tag tag) {
         return TagResponse.builder()
                 .id(String.valueOf(tag.getId()))
@@ -354,15 +491,72 @@ public class ArticleService {
      * Find articles related to the given article by shared tags.
      * Falls back to recent articles if no related articles by tags are found.
      */
-    public Flux<ArticleResponse> getRelatedArticles(String slug, int limit) {
-        return articleRepository.findBySlugAndStatus(slug, ArticleStatus.PUBLISHED.name())
+    public Flux<ArticleSummary> getRelatedArticles(String slug, int limit) {
+        return cacheService.getOrLoad(CacheService.relatedKey(slug, limit), SUMMARY_LIST_TYPE, ARTICLE_CACHE_TTL,
+                        related -> {
+                            List<String> dependencies = listingDependencies(related);
+                            dependencies.add(CacheService.slugDependency(slug));
+                            dependencies.add(CacheService.relatedDependency(slug));
+                            return dependencies;
+                        },
+                        () -> articleRepository.findBySlugAndStatus(slug, ArticleStatus.PUBLISHED.name())
+                                .flatMap(article -> relatedArticlesService.findNeighbourIds(article.getId())
+                                        .flatMap(ids -> findPublishedInOrder(ids, limit))
+                                        .filter(related -> !related.isEmpty())
+                                        // No precomputed list yet: fall back to shared tags, then recency
+                                        .switchIfEmpty(Mono.defer(() -> articleRepository.findRelatedArticles(article.getId(), limit)
+                                                .switchIfEmpty(articleRepository.findRecentPublishedExcluding(article.getId(), limit))
+                                                .collectList()))
+                                        .flatMap(this::enrichArticlesWithMetadata)
+                                        .map(related -> related.stream().map(this::mapToSummary).toList())))
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Article", "slug", slug)))
-                .flatMapMany(article ->
-                    articleRepository.findRelatedArticles(article.getId(), limit)
-                            .switchIfEmpty(articleRepository.findRecentPublishedExcluding(article.getId(), limit))
-                            .flatMap(this::enrichArticleWithMetadata)
-                            .map(this::mapToResponse)
-                );
+                .flatMap(this::withPendingCountsList)
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * The first {@code limit} of {@code ids} that are still published, in the given order.
+     */
+    private Mono<List<Article>> findPublishedInOrder(List<Long> ids, int limit) {
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<Long> candidates = ids.subList(0, Math.min(ids.size(), limit * 2));
+        return articleRepository.findPublishedSummariesByIds(candidates)
+                .collectMap(Article::getId)
+                .map(byId -> candidates.stream()
+                        .map(byId::get)
+                        .filter(Objects::nonNull)
+                        .limit(limit)
+                        .toList());
+    }
+
+    // ==================== CACHE DEPENDENCIES ====================
+
+    /**
+     * An article response is stale once the article itself or any of its tags changes.
+     */
+    private static List<String> articleDependencies(ArticleResponse article) {
+        return articleDependencies(article.getId(), article.getTags());
+    }
+
+    private static List<String> articleDependencies(String articleId, Set<TagResponse> tags) {
+        List<String> dependencies = new ArrayList<>();
+        dependencies.add(CacheService.articleDependency(articleId));
+        if (tags != null) {
+            tags.forEach(tag -> dependencies.add(CacheService.tagDependency(tag.getSlug())));
+        }
+        return dependencies;
+    }
+
+    /**
+     * Listings depend on every article they show, and on publication changes that alter membership.
+     */
+    private static List<String> listingDependencies(List<ArticleSummary> articles) {
+        List<String> dependencies = new ArrayList<>();
+        dependencies.add(CacheService.ARTICLE_LISTINGS_DEPENDENCY);
+        articles.forEach(article -> dependencies.addAll(articleDependencies(article.getId(), article.getTags())));
+        return dependencies;
     }
 
     // ==================== LOCALE SUPPORT ====================
@@ -5,6 +5,8 @@ import dev.catananti.entity.ArticleI18n;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.repository.ArticleI18nRepository;
 import dev.catananti.repository.ArticleRepository;
+import dev.catananti.service.search.SearchResultCache;
+import dev.catananti.util.TransactionCallbacks;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
@@ -32,19 +34,31 @@ public class ArticleTranslationService {
     private final ArticleRepository articleRepository;
     private final ArticleI18nRepository articleI18nRepository;
     private final TranslationService translationService;
+    private final CacheInvalidationBus invalidationBus;
+    private final SearchResultCache searchResultCache;
+    private final CacheService cacheService;
 
+    /** Saves and deletes evict through {@link CacheInvalidationBus}, so entries can live for a day. */
     private final Cache<String, ArticleI18n> translationCache;
 
     public ArticleTranslationService(ArticleRepository articleRepository,
                                       ArticleI18nRepository articleI18nRepository,
-                                      TranslationService translationService) {
+                                      TranslationService translationService,
+                                      CacheInvalidationBus invalidationBus,
+                                      SearchResultCache searchResultCache,
+                                      CacheService cacheService) {
         this.articleRepository = articleRepository;
         this.articleI18nRepository = articleI18nRepository;
         this.translationService = translationService;
+        this.invalidationBus = invalidationBus;
+        this.searchResultCache = searchResultCache;
+        this.cacheService = cacheService;
         this.translationCache = Caffeine.newBuilder()
                 .maximumSize(500)
-                .expireAfterWrite(Duration.ofHours(1))
+                .expireAfterWrite(Duration.ofHours(24))
                 .build();
+        invalidationBus.register(CacheInvalidationBus.ARTICLE_TRANSLATIONS,
+                CacheInvalidationBus.Evictor.of(translationCache));
     }
 
     /**
@@ -87,6 +101,7 @@ public class ArticleTranslationService {
                             .map(translated -> buildI18n(articleId, targetLang, translated, true));
                 })
                 .flatMap(i18n -> articleI18nRepository.upsert(i18n).thenReturn(i18n))
+                .flatMap(i18n -> evictTranslation(articleId, i18n.getLocale()).thenReturn(i18n))
                 .doOnSuccess(i18n -> log.info("Article {} translated to {}", articleId, targetLang));
     }
 
@@ -99,10 +114,10 @@ public class ArticleTranslationService {
 
     /**
      * Get a specific translation for an article.
-     * Uses Caffeine cache with key=articleId+locale, TTL=1 hour.
+     * Uses Caffeine cache with key=articleId+locale, TTL=24 hours.
      */
     public Mono<ArticleI18n> getTranslation(Long articleId, String locale) {
-        String cacheKey = articleId + ":" + locale;
+        String cacheKey = cacheKey(articleId, locale);
         ArticleI18n cached = translationCache.getIfPresent(cacheKey);
         if (cached != null) {
             return Mono.just(cached);
@@ -122,7 +137,8 @@ public class ArticleTranslationService {
      * Delete a specific translation.
      */
     public Mono<Void> deleteTranslation(Long articleId, String locale) {
-        return articleI18nRepository.deleteByArticleIdAndLocale(articleId, locale);
+        return articleI18nRepository.deleteByArticleIdAndLocale(articleId, locale)
+                .then(evictTranslation(articleId, locale));
     }
 
     /**
@@ -135,7 +151,7 @@ public class ArticleTranslationService {
             return Mono.just(article);
         }
 
-        String cacheKey = article.getId() + ":" + locale.toLowerCase();
+        String cacheKey = cacheKey(article.getId(), locale);
         ArticleI18n cached = translationCache.getIfPresent(cacheKey);
         if (cached != null) {
             applyI18nToArticle(article, cached);
@@ -151,6 +167,25 @@ public class ArticleTranslationService {
                 .defaultIfEmpty(article);
     }
 
+    /**
+     * Evictions wait for the commit: the translation cache, the search index, the suggestion trie, searches
+     * under a new version and the localized article detail and listing pages all re-read the row and would
+     * otherwise pick up the pre-write translation.
+     */
+    private Mono<Void> evictTranslation(Long articleId, String locale) {
+        return TransactionCallbacks.afterCommit(Mono.fromRunnable(() -> {
+                    invalidationBus.publish(CacheInvalidationBus.ARTICLE_TRANSLATIONS, cacheKey(articleId, locale));
+                    invalidationBus.publish(CacheInvalidationBus.SEARCH_INDEX, String.valueOf(articleId));
+                    invalidationBus.publish(CacheInvalidationBus.SEARCH_SUGGESTIONS, String.valueOf(articleId));
+                    searchResultCache.bumpVersion();
+                })
+                .then(cacheService.invalidateArticle(articleId, true).then()));
+    }
+
+    private static String cacheKey(Long articleId, String locale) {
+        return articleId + ":" + locale.toLowerCase();
+    }
+
     private void applyI18nToArticle(Article article, ArticleI18n i18n) {
         article.setTitle(i18n.getTitle());
         if (i18n.getSubtitle() != null && !i18n.getSubtitle().isBlank()) {
@@ -1,5 +1,7 @@
 package dev.catananti.service;
 
+import dev.catananti.dto.PageCursor;
+import dev.catananti.dto.PageResponse;
 import dev.catananti.entity.AuditLog;
 import dev.catananti.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
@@ -143,6 +145,20 @@ public class AuditService {
         return auditLogRepository.findRecentLogs(since, limit);
     }
 
+    /**
+     * Cursor page over all audit logs, newest first. Seeks on the time-ordered id, so deep pages cost the same
+     * as the first one, and no count query runs.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null/blank for the first page
+     */
+    public Mono<PageResponse<AuditLog>> getLogsPage(String cursor, int size) {
+        PageCursor position = PageCursor.decode(cursor);
+        long beforeId = position != null ? position.id() : Long.MAX_VALUE;
+        return auditLogRepository.findPageBeforeId(beforeId, size + 1)
+                .collectList()
+                .map(logs -> PageResponse.ofCursor(logs, size, position == null, entry -> PageCursor.ofId(entry.getId())));
+    }
+
     public Flux<AuditLog> getLogsByUser(Long userId, int page, int size) {
         return auditLogRepository.findByPerformedByOrderByCreatedAtDesc(userId, PageRequest.of(page, size));
     }
@@ -0,0 +1,189 @@
+package dev.catananti.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Broadcasts evictions of per-JVM Caffeine caches to every node over Redis pub/sub.
+ * <p>
+ * Caches register an {@link Evictor} under a name; {@link #publish} evicts locally right away and
+ * then announces {@code nodeId|cacheName|key} on the invalidation channel so the other replicas
+ * apply the same eviction. Messages from this node are ignored on receipt.
+ * </p>
+ * <p>
+ * When Redis is absent or down the bus degrades to local-only eviction (single node semantics).
+ * A dropped subscription is retried with backoff; after it comes back every registered cache is
+ * cleared, since evictions published while disconnected were missed.
+ * </p>
+ */
+@Service
+@Slf4j
+public class CacheInvalidationBus {
+
+    public static final String AUTH_USERS = "auth-users";
+    public static final String ARTICLE_TRANSLATIONS = "article-translations";
+    public static final String RESUME_PDFS = "resume-pdfs";
+    /** Keys are dependencies whose entries every node drops from {@code CacheService}'s L1. */
+    public static final String CACHE_DEPENDENCIES = "cache-dependencies";
+    /** Keys are single {@code CacheService} keys to drop from every node's L1. */
+    public static final String CACHE_KEYS = "cache-keys";
+    /** Keys are article ids whose public comment threads changed (see {@code CommentService}). */
+    public static final String COMMENT_THREADS = "comment-threads";
+    /** Not a cache: keys are article ids to re-index in {@code InMemorySearchEngine}, when it is enabled. */
+    public static final String SEARCH_INDEX = "search-index";
+    /** Not a cache: keys are article ids (or {@code TypeaheadService.TAGS_KEY}) to reload into the suggestion trie. */
+    public static final String SEARCH_SUGGESTIONS = "search-suggestions";
+    /** Not a cache: keys are search content versions announced by {@code SearchResultCache.bumpVersion}. */
+    public static final String SEARCH_RESULTS = "search-results";
+    /** Not a cache: keys are {@code expiresAtMillis:jti} revocations added to {@code TokenBlacklistService}'s filter. */
+    public static final String TOKEN_BLACKLIST = "token-blacklist";
+
+    /** Key sentinel meaning "evict every entry of the named cache". */
+    static final String ALL_KEYS = "*";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Local eviction hook for one named cache.
+     */
+    public interface Evictor {
+        void evict(String key);
+
+        void evictAll();
+
+        static Evictor of(Cache<String, ?> cache) {
+            return new Evictor() {
+                @Override
+                public void evict(String key) {
+                    cache.invalidate(key);
+                }
+
+                @Override
+                public void evictAll() {
+                    cache.invalidateAll();
+                }
+            };
+        }
+    }
+
+    @Nullable
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Map<String, Evictor> evictors = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean subscribedOnce = new AtomicBoolean(false);
+    private Disposable subscription;
+
+    @Value("${cache.invalidation.channel:cache:invalidate}")
+    private String channel = "cache:invalidate";
+
+    public CacheInvalidationBus(
+            @Autowired(required = false)
+            @Qualifier("reactiveRedisTemplate") @Nullable ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        if (redisTemplate == null) {
+            log.info("ReactiveRedisTemplate not available — cache invalidation is local to this node");
+        }
+    }
+
+    /**
+     * Register the local evictor for a cache. Later registrations under the same name replace earlier ones.
+     */
+    public void register(String cacheName, Evictor evictor) {
+        evictors.put(cacheName, evictor);
+    }
+
+    /**
+     * Evict {@code key} from {@code cacheName} on this node and broadcast the eviction to the others.
+     * The broadcast is fire-and-forget: a Redis failure is logged and the local eviction still stands.
+     */
+    public void publish(String cacheName, String key) {
+        applyLocally(cacheName, key);
+        if (redisTemplate == null) {
+            return;
+        }
+        String message = nodeId + SEPARATOR + cacheName + SEPARATOR + key;
+        redisTemplate.convertAndSend(channel, message)
+                .subscribe(
+                        receivers -> log.debug("Published eviction {}:{} to {} subscriber(s)", cacheName, key, receivers),
+                        err -> log.warn("Cache invalidation broadcast failed for {}:{} — other nodes rely on TTL: {}",
+                                cacheName, key, err.getMessage()));
+    }
+
+    /**
+     * Evict every entry of {@code cacheName} on all nodes.
+     */
+    public void publishAll(String cacheName) {
+        publish(cacheName, ALL_KEYS);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (redisTemplate == null) {
+            return;
+        }
+        subscription = redisTemplate.listenToChannelLater(channel)
+                .flatMapMany(messages -> {
+                    if (!subscribedOnce.compareAndSet(false, true)) {
+                        log.info("Cache invalidation channel re-subscribed — clearing local caches");
+                        evictors.values().forEach(Evictor::evictAll);
+                    }
+                    return messages;
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.debug("Cache invalidation subscription lost, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe(message -> handleMessage(message.getMessage()),
+                        err -> log.error("Cache invalidation subscription terminated", err));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    void handleMessage(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed cache invalidation message: {}", message);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        applyLocally(parts[1], parts[2]);
+    }
+
+    private void applyLocally(String cacheName, String key) {
+        Evictor evictor = evictors.get(cacheName);
+        if (evictor == null) {
+            return;
+        }
+        if (ALL_KEYS.equals(key)) {
+            evictor.evictAll();
+        } else {
+            evictor.evict(key);
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+}
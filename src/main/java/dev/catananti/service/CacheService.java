@@ -1,19 +1,59 @@
 package dev.catananti.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service for managing cache invalidation strategies.
  * Provides fine-grained control over Redis cache invalidation.
+ * <p>
+ * Invalidation is dependency-tagged: every entry written through {@link #getOrLoad} is added
+ * to Redis sets ({@code cachedep::<dependency>}) for the articles and tags it was built from
+ * plus its key-prefix group, and invalidation UNLINKs the members of the affected sets
+ * instead of SCANning the keyspace. Sets carry no TTL: unlinked and deleted keys are SREMed from
+ * their group set right away, and {@link #trimDependencyIndex} walks the sets named in
+ * {@code cachedep:registry} to drop members that expired on their own.
+ * </p>
+ * <p>
+ * Read paths use {@link #getOrLoad} — a per-node Caffeine L1 in front of Redis L2. Invalidations and
+ * deletes reach the L1 of every node through {@link CacheInvalidationBus}.
+ * Misses go through {@link RequestCoalescer}, so concurrent misses for one key share a single load.
+ * Keys read through {@code getOrLoad} are remembered with their loader so
+ * {@link #refreshExpiring} can reload hot entries before they expire.
+ * </p>
+ * <p>
+ * Reads also refresh early, probabilistically (XFetch): each hit on an entry whose expiry is known
+ * reloads it in the background with a probability that rises as expiry approaches, scaled by how
+ * long the entry took to build and {@code cache.early-refresh.beta}. A hot key is then rebuilt by one
+ * reader shortly before it lapses instead of by every node at once right after.
+ * </p>
  */
 @Service
 @Slf4j
@@ -21,16 +61,103 @@ public class CacheService {
 
     private final ReactiveRedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final RequestCoalescer coalescer;
+    private final CacheInvalidationBus invalidationBus;
+
+    /** L1: per-node cache of loaded values, keyed like the Redis entry. */
+    private final Cache<String, Object> localCache;
+
+    /** Dependencies of each L1 key, so invalidation can evict the same entries locally. */
+    private final Cache<String, Set<String>> localDependencies;
+
+    /** Keys served by {@link #getOrLoad}, with the loader needed to refresh them ahead of expiry. */
+    private final Cache<String, TrackedEntry> trackedEntries;
 
     private final AtomicLong cacheHits = new AtomicLong(0);
     private final AtomicLong cacheMisses = new AtomicLong(0);
+    private final AtomicLong localHits = new AtomicLong(0);
+    private final AtomicLong earlyRefreshes = new AtomicLong(0);
+
+    /** Bumped by every local eviction, so a load that started before one does not repopulate L1. */
+    private final AtomicLong localEpoch = new AtomicLong(0);
+
+    /** XFetch aggressiveness; 0 disables early refresh. */
+    @Value("${cache.early-refresh.beta:1.0}")
+    private double earlyRefreshBeta = 1.0;
+
+    /** Build time assumed for entries this node only read from Redis. */
+    @Value("${cache.early-refresh.default-compute-ms:200}")
+    private long defaultComputeMillis = 200;
+
+    private static final long DEFAULT_L1_MAX_SIZE = 2_000;
+    private static final Duration DEFAULT_L1_TTL = Duration.ofSeconds(30);
+    private static final Duration TRACKED_ENTRY_IDLE = Duration.ofHours(1);
+    /** Coalescer keys of early refreshes, kept apart from the read-through flight of the same cache key. */
+    private static final String REFRESH_FLIGHT_PREFIX = "refresh:";
+
+    public CacheService(
+            ReactiveRedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            RequestCoalescer coalescer) {
+        this(redisTemplate, objectMapper, coalescer, new CacheInvalidationBus(null),
+                DEFAULT_L1_MAX_SIZE, DEFAULT_L1_TTL.toSeconds());
+    }
 
+    @Autowired
     public CacheService(
-            @org.springframework.beans.factory.annotation.Autowired(required = false) 
+            @Autowired(required = false)
             ReactiveRedisTemplate<String, Object> redisTemplate,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            RequestCoalescer coalescer,
+            CacheInvalidationBus invalidationBus,
+            @Value("${cache.l1.max-size:2000}") long l1MaxSize,
+            @Value("${cache.l1.ttl-seconds:30}") long l1TtlSeconds) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.coalescer = coalescer;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(Duration.ofSeconds(l1TtlSeconds))
+                .build();
+        this.localDependencies = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(Duration.ofSeconds(l1TtlSeconds))
+                .build();
+        this.trackedEntries = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterAccess(TRACKED_ENTRY_IDLE)
+                .build();
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(CacheInvalidationBus.CACHE_DEPENDENCIES, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String dependency) {
+                evictLocalDependents(List.of(dependency));
+            }
+
+            @Override
+            public void evictAll() {
+                clearLocal();
+            }
+        });
+        invalidationBus.register(CacheInvalidationBus.CACHE_KEYS, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String key) {
+                localEpoch.incrementAndGet();
+                localCache.invalidate(key);
+                localDependencies.invalidate(key);
+            }
+
+            @Override
+            public void evictAll() {
+                clearLocal();
+            }
+        });
+    }
+
+    private void clearLocal() {
+        localEpoch.incrementAndGet();
+        localCache.invalidateAll();
+        localDependencies.invalidateAll();
     }
 
     private boolean isRedisAvailable() {
@@ -58,6 +185,62 @@ public class CacheService {
     private static final String COMMENTS_CACHE_PREFIX = "comments::";
     private static final String SEARCH_CACHE_PREFIX = "search::";
     private static final String FEED_CACHE_PREFIX = "feed::";
+
+    public static final String RSS_FEED_KEY = FEED_CACHE_PREFIX + "rss";
+    public static final String SITEMAP_KEY = FEED_CACHE_PREFIX + "sitemap";
+
+    // Dependency index
+    private static final String DEPENDENCY_INDEX_PREFIX = "cachedep::";
+    private static final String GROUP_DEPENDENCY_PREFIX = "group:";
+    /** Names of the dependencies that have an index set, so the trim never scans the keyspace. */
+    private static final String DEPENDENCY_REGISTRY_KEY = "cachedep:registry";
+    private static final int UNLINK_BATCH_SIZE = 500;
+
+    /**
+     * KEYS: entry, registry, dependency sets; ARGV: value, TTL in ms, entry member, dependency names.
+     * Indexing and writing in one call keeps {@link #TRIM_SCRIPT} from seeing an indexed key before it exists.
+     */
+    static final RedisScript<Long> WRITE_SCRIPT = RedisScript.of("""
+            for i = 3, #KEYS do
+                redis.call('SADD', KEYS[i], ARGV[3])
+                redis.call('SADD', KEYS[2], ARGV[i + 1])
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', tonumber(ARGV[2]))
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: dependency set, registry, entries; ARGV: dependency name, entry members in KEYS order.
+     * SREMs members whose entry is gone and drops the name from the registry once the set is empty.
+     */
+    static final RedisScript<Long> TRIM_SCRIPT = RedisScript.of("""
+            local removed = 0
+            for i = 3, #KEYS do
+                if redis.call('EXISTS', KEYS[i]) == 0 then
+                    removed = removed + redis.call('SREM', KEYS[1], ARGV[i - 1])
+                end
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                redis.call('SREM', KEYS[2], ARGV[1])
+            end
+            return removed
+            """, Long.class);
+
+    /**
+     * KEYS: dependency set, entries; ARGV: entry members in KEYS order. UNLINKs the entries and SREMs
+     * exactly those members, so a key indexed after the set was read stays reachable.
+     */
+    static final RedisScript<Long> UNLINK_SCRIPT = RedisScript.of("""
+            local removed = 0
+            for i = 2, #KEYS do
+                removed = removed + redis.call('UNLINK', KEYS[i])
+            end
+            redis.call('SREM', KEYS[1], unpack(ARGV))
+            return removed
+            """, Long.class);
+
+    /** Listing-type entries (published pages, tag pages, related lists) whose membership changes on publish. */
+    public static final String ARTICLE_LISTINGS_DEPENDENCY = "articles:listings";
     
     // ==================== GENERIC CACHE OPERATIONS ====================
 
@@ -108,108 +291,519 @@ public class CacheService {
      */
     public Mono<Boolean> delete(String key) {
         return withRedis(false, () -> redisTemplate.delete(key)
+                .flatMap(count -> forgetKeys(List.of(key)).thenReturn(count))
                 .map(count -> count > 0)
                 .doOnSuccess(deleted -> {
                     if (deleted) {
                         log.trace("Deleted cache key: {}", key);
                     }
-                }));
+                }))
+                // After L2, so no node refills its L1 from the entry being deleted
+                .doOnSuccess(deleted -> invalidationBus.publish(CacheInvalidationBus.CACHE_KEYS, key));
     }
     
+    // ==================== READ-THROUGH (L1 + L2) ====================
+
+    /**
+     * Read-through lookup with no dependencies beyond the key's prefix group.
+     *
+     * @see #getOrLoad(String, TypeReference, Duration, Function, Supplier)
+     */
+    public <T> Mono<T> getOrLoad(String key, TypeReference<T> type, Duration ttl, Supplier<Mono<T>> loader) {
+        return getOrLoad(key, type, ttl, value -> List.of(), loader);
+    }
+
+    /**
+     * Read-through lookup: Caffeine L1, then Redis L2, then {@code loader}.
+     * Concurrent callers for the same key on this node share one in-flight load.
+     * Loaded values are written to Redis as JSON so other nodes can reuse them.
+     * An empty loader result is not cached; loader errors are propagated and not cached.
+     * <p>
+     * {@code dependencies} lists what the value was built from (see {@link #articleDependency},
+     * {@link #tagDependency}); the key is registered under each of them so
+     * {@link #invalidate} can drop exactly the affected entries.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getOrLoad(String key, TypeReference<T> type, Duration ttl,
+                                 Function<? super T, ? extends Collection<String>> dependencies,
+                                 Supplier<Mono<T>> loader) {
+        JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+        Function<Object, Set<String>> dependencyResolver = value -> withGroup(key, dependencies.apply((T) value));
+        return Mono.defer(() -> {
+            TrackedEntry tracked = track(key, ttl, dependencyResolver, loader);
+            Object present = localCache.getIfPresent(key);
+            if (present != null) {
+                localHits.incrementAndGet();
+                cacheHits.incrementAndGet();
+                maybeRefreshEarly(key, tracked);
+                return Mono.just(present);
+            }
+            long epoch = localEpoch.get();
+            return coalescer.coalesce(key, () -> readRemote(key, javaType)
+                    .doOnNext(value -> learnExpiry(key, tracked))
+                    .switchIfEmpty(Mono.defer(() -> load(key, tracked, loader, dependencyResolver)))
+                    .doOnNext(value -> cacheLocally(key, value, dependencyResolver, epoch)));
+        }).map(v -> (T) v);
+    }
+
+    private Mono<Object> load(String key, TrackedEntry entry, Supplier<? extends Mono<?>> loader,
+                              Function<Object, Set<String>> dependencies) {
+        long started = System.nanoTime();
+        return Mono.<Object>defer(loader)
+                .doOnNext(value -> entry.loaded(Duration.ofNanos(System.nanoTime() - started).toMillis()))
+                .flatMap(value -> writeRemote(key, value, entry.ttl, dependencies.apply(value))
+                        .thenReturn(value));
+    }
+
+    private void cacheLocally(String key, Object value, Function<Object, Set<String>> dependencies, long epoch) {
+        localDependencies.put(key, dependencies.apply(value));
+        localCache.put(key, value);
+        if (localEpoch.get() != epoch) {
+            // An invalidation ran while this was loading: the value may predate it
+            localCache.invalidate(key);
+            localDependencies.invalidate(key);
+        }
+    }
+
+    /**
+     * XFetch: refresh when {@code now - computeTime * beta * ln(random)} reaches the expiry, so the chance grows
+     * as expiry nears and slow-to-build entries start earlier. At most one early refresh per key runs at a time.
+     * It is coalesced under its own key: it may complete empty (refreshed elsewhere), which a miss must not see.
+     */
+    private void maybeRefreshEarly(String key, TrackedEntry entry) {
+        long expiresAt = entry.expiresAtMillis;
+        if (earlyRefreshBeta <= 0 || expiresAt == 0) {
+            return;
+        }
+        long computeMillis = entry.computeMillis > 0 ? entry.computeMillis : defaultComputeMillis;
+        double head = computeMillis * earlyRefreshBeta * -Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        if (System.currentTimeMillis() + head < expiresAt || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        earlyRefreshes.incrementAndGet();
+        coalescer.coalesce(REFRESH_FLIGHT_PREFIX + key, () -> refreshIfStillExpiring(key, entry))
+                .doFinally(signal -> entry.refreshing.set(false))
+                .subscribe(null, e -> log.debug("Early refresh failed for key {}: {}", key, e.getMessage()));
+    }
+
+    /** Another node may have refreshed the shared entry already; then only its new expiry is taken. */
+    private Mono<Object> refreshIfStillExpiring(String key, TrackedEntry entry) {
+        // A rewrite pushes the expiry out by about a full TTL; smaller drift is clock and write latency
+        long refreshedAfter = entry.expiresAtMillis + entry.ttl.toMillis() / 2;
+        return remoteExpiry(key)
+                .filter(remoteExpiresAt -> remoteExpiresAt > refreshedAfter)
+                .doOnNext(remoteExpiresAt -> entry.expiresAtMillis = remoteExpiresAt)
+                .hasElement()
+                .flatMap(refreshedElsewhere -> refreshedElsewhere ? Mono.<Object>empty() : reload(key, entry));
+    }
+
+    /** Records when the Redis entry just read expires, so early refresh can apply to it. */
+    private void learnExpiry(String key, TrackedEntry entry) {
+        remoteExpiry(key).subscribe(expiresAt -> entry.expiresAtMillis = expiresAt);
+    }
+
+    private Mono<Long> remoteExpiry(String key) {
+        if (!isRedisAvailable()) {
+            return Mono.empty();
+        }
+        long now = System.currentTimeMillis();
+        return Mono.defer(() -> redisTemplate.getExpire(key))
+                .filter(ttl -> !ttl.isNegative() && !ttl.isZero())
+                .map(ttl -> now + ttl.toMillis())
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private TrackedEntry track(String key, Duration ttl, Function<Object, Set<String>> dependencies,
+                               Supplier<? extends Mono<?>> loader) {
+        TrackedEntry entry = trackedEntries.get(key, k -> new TrackedEntry(loader, dependencies, ttl));
+        entry.lastAccessMillis = System.currentTimeMillis();
+        return entry;
+    }
+
+    /**
+     * Refresh-ahead for hot entries: re-runs the loader of every key read within
+     * {@code accessedWithin} whose Redis entry expires within {@code window}, then
+     * writes the fresh value to both tiers. Cold and long-lived entries are left alone.
+     *
+     * @return number of entries refreshed
+     */
+    public Mono<Long> refreshExpiring(Duration window, Duration accessedWithin) {
+        long now = System.currentTimeMillis();
+        return Flux.fromIterable(trackedEntries.asMap().entrySet())
+                .filter(e -> now - e.getValue().lastAccessMillis <= accessedWithin.toMillis())
+                .filterWhen(e -> remainingTtl(e.getKey(), e.getValue(), now)
+                        .map(remaining -> remaining.compareTo(window) <= 0))
+                .concatMap(e -> coalescer.coalesce(e.getKey(), () -> reload(e.getKey(), e.getValue()))
+                        .thenReturn(1L)
+                        .onErrorResume(ex -> {
+                            log.debug("Refresh-ahead failed for key {}: {}", e.getKey(), ex.getMessage());
+                            return Mono.empty();
+                        }))
+                .count()
+                .doOnSuccess(count -> {
+                    if (count > 0) {
+                        log.debug("Refreshed {} cache entries ahead of expiry", count);
+                    }
+                });
+    }
+
+    /**
+     * Time left before the entry disappears from the shared tier. Falls back to the
+     * local load timestamp when Redis is unavailable. Missing entries report zero.
+     */
+    private Mono<Duration> remainingTtl(String key, TrackedEntry entry, long now) {
+        Duration local = entry.loadedAtMillis == 0
+                ? Duration.ZERO
+                : entry.ttl.minusMillis(now - entry.loadedAtMillis);
+        return withRedis(local, () -> redisTemplate.getExpire(key)
+                .map(ttl -> ttl.isNegative() ? Duration.ZERO : ttl)
+                .defaultIfEmpty(Duration.ZERO));
+    }
+
+    private Mono<Object> reload(String key, TrackedEntry entry) {
+        long epoch = localEpoch.get();
+        return load(key, entry, entry.loader, entry.dependencies)
+                .doOnNext(value -> cacheLocally(key, value, entry.dependencies, epoch));
+    }
+
+    private static final class TrackedEntry {
+        private final Supplier<? extends Mono<?>> loader;
+        private final Function<Object, Set<String>> dependencies;
+        private final Duration ttl;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+        private volatile long lastAccessMillis;
+        private volatile long loadedAtMillis;
+        private volatile long expiresAtMillis;
+        private volatile long computeMillis;
+
+        private TrackedEntry(Supplier<? extends Mono<?>> loader, Function<Object, Set<String>> dependencies,
+                             Duration ttl) {
+            this.loader = loader;
+            this.dependencies = dependencies;
+            this.ttl = ttl;
+        }
+
+        private void loaded(long tookMillis) {
+            loadedAtMillis = System.currentTimeMillis();
+            expiresAtMillis = loadedAtMillis + ttl.toMillis();
+            computeMillis = Math.max(1, tookMillis);
+        }
+    }
+
+    private Mono<Object> readRemote(String key, JavaType javaType) {
+        if (!isRedisAvailable()) {
+            cacheMisses.incrementAndGet();
+            return Mono.empty();
+        }
+        return Mono.defer(() -> redisTemplate.opsForValue().get(key))
+                .map(value -> value instanceof String json
+                        ? readJson(json, javaType)
+                        : objectMapper.convertValue(value, javaType))
+                .doOnNext(v -> {
+                    cacheHits.incrementAndGet();
+                    log.trace("L2 cache hit for key: {}", key);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to read cached value for key {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.<Object>empty().doOnSubscribe(s -> cacheMisses.incrementAndGet()));
+    }
+
+    private Object readJson(String json, JavaType javaType) {
+        try {
+            return objectMapper.readValue(json, javaType);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cached JSON does not match " + javaType, e);
+        }
+    }
+
+    /** Indexes the key under its dependency sets and writes the value in one {@link #WRITE_SCRIPT} call. */
+    private Mono<Boolean> writeRemote(String key, Object value, Duration ttl, Set<String> dependencies) {
+        return withRedis(false, () -> Mono.fromCallable(() -> objectMapper.writeValueAsString(value))
+                .flatMap(json -> {
+                    List<String> keys = new ArrayList<>(List.of(key, DEPENDENCY_REGISTRY_KEY));
+                    List<Object> args = new ArrayList<>(List.of(json, ttl.toMillis(), key));
+                    for (String dependency : dependencies) {
+                        keys.add(DEPENDENCY_INDEX_PREFIX + dependency);
+                        args.add(dependency);
+                    }
+                    return redisTemplate.execute(WRITE_SCRIPT, keys, args).next();
+                })
+                .map(written -> written > 0));
+    }
+
+    // ==================== DEPENDENCY INDEX ====================
+
+    /** SREM keys that are gone from their key-prefix group sets, the ones {@link #getCacheStats} counts. */
+    private Mono<Long> forgetKeys(Collection<String> keys) {
+        Map<String, List<String>> byGroup = new HashMap<>();
+        for (String key : keys) {
+            for (String dependency : withGroup(key, List.of())) {
+                byGroup.computeIfAbsent(DEPENDENCY_INDEX_PREFIX + dependency, k -> new ArrayList<>()).add(key);
+            }
+        }
+        return Flux.fromIterable(byGroup.entrySet())
+                .flatMap(group -> redisTemplate.opsForSet().remove(group.getKey(), group.getValue().toArray()))
+                .reduce(0L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.dependency-index.trim-ms:600000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
+    public void scheduledTrim() {
+        try {
+            Long removed = trimDependencyIndex().block();
+            log.debug("Trimmed {} expired members from the cache dependency index", removed);
+        } catch (Exception e) {
+            log.warn("Cache dependency index trim failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * SSCAN every dependency set named in the registry and run {@link #TRIM_SCRIPT} over each batch of
+     * members, so a member is only removed if its entry is gone at the moment of the SREM.
+     *
+     * @return number of members removed
+     */
+    public Mono<Long> trimDependencyIndex() {
+        return withRedis(0L, () -> redisTemplate.opsForSet().scan(DEPENDENCY_REGISTRY_KEY)
+                .map(Object::toString)
+                .concatMap(this::trimIndexSet)
+                .reduce(0L, Long::sum));
+    }
+
+    private Mono<Long> trimIndexSet(String dependency) {
+        String indexKey = DEPENDENCY_INDEX_PREFIX + dependency;
+        return redisTemplate.opsForSet().scan(indexKey)
+                .map(Object::toString)
+                .buffer(UNLINK_BATCH_SIZE)
+                // A final call without members also covers sets that were already empty
+                .concatWith(Mono.just(List.<String>of()))
+                .concatMap(keys -> {
+                    List<String> scriptKeys = new ArrayList<>(List.of(indexKey, DEPENDENCY_REGISTRY_KEY));
+                    scriptKeys.addAll(keys);
+                    List<Object> args = new ArrayList<>(List.of(dependency));
+                    args.addAll(keys);
+                    return redisTemplate.execute(TRIM_SCRIPT, scriptKeys, args);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    /** Every entry also depends on its key-prefix group, e.g. {@code group:articles}. */
+    private static Set<String> withGroup(String key, Collection<String> dependencies) {
+        Set<String> all = new HashSet<>(dependencies);
+        int separator = key.indexOf("::");
+        if (separator > 0) {
+            all.add(GROUP_DEPENDENCY_PREFIX + key.substring(0, separator));
+        }
+        return all;
+    }
+
+    public static String articleDependency(String articleId) {
+        return "article:" + articleId;
+    }
+
+    public static String tagDependency(String tagSlug) {
+        return "tag:" + tagSlug;
+    }
+
+    public static String slugDependency(String articleSlug) {
+        return "slug:" + articleSlug;
+    }
+
+    public static String commentsDependency(String articleId) {
+        return "comments:" + articleId;
+    }
+
+    /** Related-article lists, dropped when the precomputed neighbours of the article change. */
+    public static String relatedDependency(String articleSlug) {
+        return "related:" + articleSlug;
+    }
+
+    private static String groupDependency(String prefix) {
+        return GROUP_DEPENDENCY_PREFIX + prefix.substring(0, prefix.length() - "::".length());
+    }
+
+    /**
+     * Drop every entry registered under any of the given dependencies: L2 by UNLINKing the members
+     * read from each dependency set and SREMing just those ({@link #UNLINK_SCRIPT}), then L1 on every
+     * node by publishing the dependencies on {@link CacheInvalidationBus#CACHE_DEPENDENCIES}.
+     * Cost is proportional to the number of affected entries, not the Redis keyspace.
+     *
+     * @return number of Redis entries removed
+     */
+    public Mono<Long> invalidate(Collection<String> dependencies) {
+        return withRedis(0L, () -> Flux.fromIterable(dependencies)
+                        .flatMap(this::unlinkDependents)
+                        .reduce(0L, Long::sum))
+                .doOnSuccess(count -> dependencies.forEach(
+                        dependency -> invalidationBus.publish(CacheInvalidationBus.CACHE_DEPENDENCIES, dependency)));
+    }
+
+    private void evictLocalDependents(Collection<String> dependencies) {
+        localEpoch.incrementAndGet();
+        localDependencies.asMap().forEach((key, keyDependencies) -> {
+            if (!Collections.disjoint(keyDependencies, dependencies)) {
+                localCache.invalidate(key);
+                localDependencies.invalidate(key);
+            }
+        });
+    }
+
+    private Mono<Long> unlinkDependents(String dependency) {
+        String indexKey = DEPENDENCY_INDEX_PREFIX + dependency;
+        return redisTemplate.opsForSet().members(indexKey)
+                .map(Object::toString)
+                .buffer(UNLINK_BATCH_SIZE)
+                .flatMap(keys -> {
+                    List<String> scriptKeys = new ArrayList<>(List.of(indexKey));
+                    scriptKeys.addAll(keys);
+                    return redisTemplate.execute(UNLINK_SCRIPT, scriptKeys, new ArrayList<Object>(keys))
+                            .next()
+                            .flatMap(count -> forgetKeys(keys).thenReturn(count));
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    // ==================== ARTICLE CACHE KEYS ====================
+
+    public static String articleSlugKey(String slug, String locale) {
+        return ARTICLES_CACHE_PREFIX + "slug_" + slug + ":" + normalizeLocale(locale);
+    }
+
+    public static String publishedPageKey(int page, int size, String locale, String sort) {
+        return ARTICLES_CACHE_PREFIX + "published_page_" + page + "_" + size + ":" + normalizeLocale(locale) + ":" + sort;
+    }
+
+    public static String tagPageKey(String tagSlug, int page, int size, String locale) {
+        return ARTICLES_CACHE_PREFIX + "tag_" + tagSlug + ":" + page + "_" + size + ":" + normalizeLocale(locale);
+    }
+
+    public static String tagsPageKey(int page, int size, String locale) {
+        return TAGS_CACHE_PREFIX + "page_" + page + "_" + size + ":" + normalizeLocale(locale);
+    }
+
+    public static String relatedKey(String slug, int limit) {
+        return ARTICLES_CACHE_PREFIX + "related_" + slug + ":" + limit;
+    }
+
+    /** Search page for a request digest under a published-content version (see {@code SearchResultCache}). */
+    public static String searchResultKey(long contentVersion, String requestDigest) {
+        return SEARCH_CACHE_PREFIX + "v" + contentVersion + ":" + requestDigest;
+    }
+
+    private static String normalizeLocale(String locale) {
+        return locale == null || locale.isBlank() ? "en" : locale.toLowerCase();
+    }
+
     // ==================== DOMAIN-SPECIFIC CACHE OPERATIONS ====================
 
     /**
      * Invalidate all articles cache entries.
      */
     public Mono<Long> invalidateAllArticles() {
-        return withRedis(0L, () -> deleteByPattern(ARTICLES_CACHE_PREFIX + "*")
-                .doOnSuccess(count -> log.info("Invalidated {} article cache entries", count)));
+        return invalidate(List.of(groupDependency(ARTICLES_CACHE_PREFIX)))
+                .doOnSuccess(count -> log.info("Invalidated {} article cache entries", count));
     }
 
     /**
      * Invalidate cache for a specific article by slug.
+     * Listing pages, tag pages and related lists may all embed the article, so they go too.
      */
     public Mono<Long> invalidateArticle(String slug) {
-        return withRedis(0L, () -> Mono.zip(
-                deleteByPattern(ARTICLES_CACHE_PREFIX + "slug_" + slug),
-                deleteByPattern(ARTICLES_CACHE_PREFIX + "related_" + slug + "*"),
-                deleteByPattern(ARTICLES_CACHE_PREFIX + "published_page_*")
-        ).map(tuple -> tuple.getT1() + tuple.getT2() + tuple.getT3())
-         .doOnSuccess(count -> log.info("Invalidated cache for article: {}", slug)));
+        return invalidate(List.of(slugDependency(slug), ARTICLE_LISTINGS_DEPENDENCY))
+                .doOnSuccess(count -> log.info("Invalidated cache for article: {}", slug));
+    }
+
+    /**
+     * Invalidate every cached response that embeds the given article.
+     * With {@code listingsChanged} — publish, unpublish, delete, retag — listing, tag and
+     * related pages are dropped as well, since the set of articles they show may change.
+     */
+    public Mono<Long> invalidateArticle(Long articleId, boolean listingsChanged) {
+        List<String> dependencies = listingsChanged
+                ? List.of(articleDependency(String.valueOf(articleId)), ARTICLE_LISTINGS_DEPENDENCY)
+                : List.of(articleDependency(String.valueOf(articleId)));
+        return invalidate(dependencies)
+                .doOnSuccess(count -> log.info("Invalidated {} cache entries for article: {}", count, articleId));
     }
 
     /**
      * Invalidate cache for articles by tag.
      */
     public Mono<Long> invalidateArticlesByTag(String tagSlug) {
-        return withRedis(0L, () -> deleteByPattern(ARTICLES_CACHE_PREFIX + "tag_" + tagSlug + "*")
-                .doOnSuccess(count -> log.info("Invalidated {} cache entries for tag: {}", count, tagSlug)));
+        return invalidate(List.of(tagDependency(tagSlug)))
+                .doOnSuccess(count -> log.info("Invalidated {} cache entries for tag: {}", count, tagSlug));
     }
 
     /**
-     * Invalidate all search cache entries.
+     * Invalidate all search cache entries. Content changes do not need this: they bump the search
+     * content version, which makes older entries unreachable.
      */
     public Mono<Long> invalidateSearchCache() {
-        return withRedis(0L, () -> deleteByPattern(SEARCH_CACHE_PREFIX + "*")
-                .doOnSuccess(count -> log.info("Invalidated {} search cache entries", count)));
+        return invalidate(List.of(groupDependency(SEARCH_CACHE_PREFIX)))
+                .doOnSuccess(count -> log.info("Invalidated {} search cache entries", count));
     }
 
     /**
      * Invalidate all tags cache entries.
      */
     public Mono<Long> invalidateAllTags() {
-        return withRedis(0L, () -> deleteByPattern(TAGS_CACHE_PREFIX + "*")
-                .doOnSuccess(count -> log.info("Invalidated {} tag cache entries", count)));
+        return invalidate(List.of(groupDependency(TAGS_CACHE_PREFIX)))
+                .doOnSuccess(count -> log.info("Invalidated {} tag cache entries", count));
     }
 
     /**
      * Invalidate comments cache for a specific article.
      */
     public Mono<Long> invalidateComments(String articleId) {
-        return withRedis(0L, () -> deleteByPattern(COMMENTS_CACHE_PREFIX + articleId + "*")
-                .doOnSuccess(count -> log.info("Invalidated {} comment cache entries for article: {}", count, articleId)));
+        return invalidate(List.of(commentsDependency(articleId)))
+                .doOnSuccess(count -> log.info("Invalidated {} comment cache entries for article: {}", count, articleId));
     }
 
     /**
      * Invalidate all comments cache.
      */
     public Mono<Long> invalidateAllComments() {
-        return withRedis(0L, () -> deleteByPattern(COMMENTS_CACHE_PREFIX + "*")
-                .doOnSuccess(count -> log.info("Invalidated {} comment cache entries", count)));
+        return invalidate(List.of(groupDependency(COMMENTS_CACHE_PREFIX)))
+                .doOnSuccess(count -> log.info("Invalidated {} comment cache entries", count));
     }
 
     /**
      * Invalidate feed caches (RSS, Sitemap).
      */
     public Mono<Long> invalidateFeedCache() {
-        return withRedis(0L, () -> deleteByPattern(FEED_CACHE_PREFIX + "*")
-                .doOnSuccess(count -> log.info("Invalidated {} feed cache entries", count)));
+        return invalidate(List.of(groupDependency(FEED_CACHE_PREFIX)))
+                .doOnSuccess(count -> log.info("Invalidated {} feed cache entries", count));
     }
 
     /**
      * Invalidate all caches.
      */
     public Mono<Long> invalidateAllCaches() {
-        return withRedis(0L, () -> Mono.zip(
+        return Mono.fromRunnable(() -> invalidationBus.publishAll(CacheInvalidationBus.CACHE_KEYS))
+                .then(withRedis(0L, () -> Mono.zip(
                 invalidateAllArticles(),
                 invalidateAllTags(),
                 invalidateAllComments(),
                 invalidateSearchCache(),
                 invalidateFeedCache()
         ).map(tuple -> tuple.getT1() + tuple.getT2() + tuple.getT3() + tuple.getT4() + tuple.getT5())
-         .doOnSuccess(count -> log.info("Invalidated all caches: {} total entries", count)));
+         .doOnSuccess(count -> log.info("Invalidated all caches: {} total entries", count))));
     }
 
     /**
      * Get cache statistics.
+     * Counts come from the size of each group's dependency set (SCARD), so they may include
+     * entries that expired since the last {@link #trimDependencyIndex} run.
      */
     public Mono<CacheStats> getCacheStats() {
         return withRedis(new CacheStats(0, 0, 0, 0, 0), () -> Mono.zip(
-                countByPattern(ARTICLES_CACHE_PREFIX + "*"),
-                countByPattern(TAGS_CACHE_PREFIX + "*"),
-                countByPattern(COMMENTS_CACHE_PREFIX + "*"),
-                countByPattern(SEARCH_CACHE_PREFIX + "*"),
-                countByPattern(FEED_CACHE_PREFIX + "*")
+                countGroup(ARTICLES_CACHE_PREFIX),
+                countGroup(TAGS_CACHE_PREFIX),
+                countGroup(COMMENTS_CACHE_PREFIX),
+                countGroup(SEARCH_CACHE_PREFIX),
+                countGroup(FEED_CACHE_PREFIX)
         ).map(tuple -> new CacheStats(
                 tuple.getT1(),
                 tuple.getT2(),
@@ -219,25 +813,11 @@ public class CacheService {
         )));
     }
 
-    /**
-     * Delete keys matching a pattern using SCAN (non-blocking).
-     * Streams results in bounded batches to prevent OOM on large keyspaces.
-     */
-    private Mono<Long> deleteByPattern(String pattern) {
-        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(100).build())
-                .buffer(100)
-                .flatMap(keys -> redisTemplate.delete(keys.toArray(new String[0])))
-                .reduce(0L, Long::sum)
+    private Mono<Long> countGroup(String prefix) {
+        return redisTemplate.opsForSet().size(DEPENDENCY_INDEX_PREFIX + groupDependency(prefix))
                 .defaultIfEmpty(0L);
     }
 
-    /**
-     * Count keys matching a pattern using SCAN (non-blocking).
-     */
-    private Mono<Long> countByPattern(String pattern) {
-        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(100).build()).count();
-    }
-
     /**
      * Returns the cache hit ratio (0.0 to 1.0). Returns 0.0 if no requests recorded.
      */
@@ -255,10 +835,11 @@ public class CacheService {
         long hits = cacheHits.get();
         long misses = cacheMisses.get();
         long total = hits + misses;
-        return new HitMissStats(hits, misses, total == 0 ? 0.0 : (double) hits / total);
+        return new HitMissStats(hits, misses, total == 0 ? 0.0 : (double) hits / total, localHits.get(),
+                earlyRefreshes.get());
     }
 
-    public record HitMissStats(long hits, long misses, double hitRatio) {}
+    public record HitMissStats(long hits, long misses, double hitRatio, long localHits, long earlyRefreshes) {}
 
     /**
      * Cache statistics record.
@@ -5,6 +5,8 @@ import dev.catananti.dto.PageResponse;
 import dev.catananti.entity.ArticleStatus;
 import dev.catananti.repository.ArticleRepository;
 import dev.catananti.repository.TagRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +20,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -32,9 +35,13 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Prefetches related data for common access patterns
  * 
  * Warming strategies:
- * - On startup: Warm critical paths
- * - On schedule: Refresh popular content
+ * - On startup: Warm critical paths through the same read-through methods the controllers use,
+ *   so the exact cache keys served to clients are populated
+ * - On schedule: Refresh hot entries that are close to expiring (see {@link CacheService#refreshExpiring})
  * - On access: Prefetch related content
+ *
+ * Startup progress is exported as {@code cache.warming.progress} and gates readiness through
+ * {@link dev.catananti.health.CacheWarmingHealthIndicator}.
  */
 @Service
 @RequiredArgsConstructor
@@ -46,12 +53,23 @@ public class CacheWarmingService {
     private final CacheService cacheService;
     private final ArticleRepository articleRepository;
     private final TagRepository tagRepository;
+    private final FeedService feedService;
+    private final MeterRegistry meterRegistry;
 
     private final Set<String> warmingInProgress = ConcurrentHashMap.newKeySet();
     private final AtomicBoolean startupWarmingComplete = new AtomicBoolean(false);
     private final AtomicLong backgroundErrors = new AtomicLong(0);
     private volatile boolean warmed = false;
 
+    // Startup progress: one task per warmed page/feed, plus one for the popular-article batch per locale
+    private final AtomicLong tasksPlanned = new AtomicLong(0);
+    private final AtomicLong tasksCompleted = new AtomicLong(0);
+    private final AtomicLong entriesWarmed = new AtomicLong(0);
+
+    private static final int ARTICLE_PAGE_SIZE = 10;   // ArticleController default page size
+    private static final int TAG_PAGE_SIZE = 50;       // TagController default page size
+    private static final int POPULAR_ARTICLES = 10;
+
     /**
      * MIN-05: Centralized background task subscriber.
      * Logs errors with task name and tracks error count for monitoring.
@@ -94,10 +112,35 @@ public class CacheWarmingService {
     @Value("${cache.warming.prefetch-delay-ms:100}")
     private long prefetchDelayMs;
 
+    @Value("${cache.warming.locales:en}")
+    private List<String> warmingLocales;
+
+    @Value("${cache.warming.startup-timeout-ms:60000}")
+    private long startupTimeoutMs;
+
+    @Value("${cache.warming.refresh-window-ms:300000}")
+    private long refreshWindowMs;
+
+    @Value("${cache.warming.refresh-accessed-within-ms:900000}")
+    private long refreshAccessedWithinMs;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("cache.warming.progress", this, CacheWarmingService::getProgress)
+                .description("Fraction of startup cache warming tasks completed (0.0 to 1.0)")
+                .register(meterRegistry);
+        Gauge.builder("cache.warming.entries", entriesWarmed, AtomicLong::get)
+                .description("Cache entries populated by startup warming")
+                .register(meterRegistry);
+    }
+
     // ==================== STARTUP WARMING ====================
 
     /**
      * Warm cache on application startup.
+     * Startup is marked complete even when warming fails or exceeds
+     * {@code cache.warming.startup-timeout-ms}, so readiness is never held back indefinitely;
+     * {@link #isWarmed()} only reports a fully successful run.
      */
     @EventListener(ApplicationReadyEvent.class)
     public void warmOnStartup() {
@@ -108,21 +151,26 @@ public class CacheWarmingService {
 
         log.info("Starting cache warming...");
         Instant start = Instant.now();
+        tasksCompleted.set(0);
+        entriesWarmed.set(0);
+        tasksPlanned.set((long) warmingLocales.size() * (startupPages + 2) + 2);
 
         // Warm in parallel but don't block startup
         Flux.merge(
                 warmPublishedArticles(),
                 warmAllTags(),
-                warmPopularArticles()
+                warmPopularArticles(),
+                warmFeeds()
         )
         .then()
+        .timeout(Duration.ofMillis(startupTimeoutMs))
         .doOnSuccess(v -> {
             long elapsed = Duration.between(start, Instant.now()).toMillis();
-            log.info("Cache warming completed in {}ms", elapsed);
-            startupWarmingComplete.set(true);
+            log.info("Cache warming completed in {}ms ({} entries)", elapsed, entriesWarmed.get());
             warmed = true;
         })
-        .doOnError(e -> log.warn("Cache warming failed: {}", e.getMessage()))
+        .doOnError(e -> log.warn("Cache warming did not complete: {}", e.getMessage()))
+        .doFinally(signal -> startupWarmingComplete.set(true))
         .subscribe(
                 null,
                 error -> log.error("Cache warming subscription error: {}", error.getMessage())
@@ -130,23 +178,24 @@ public class CacheWarmingService {
     }
 
     /**
-     * Warm first N pages of published articles.
+     * Warm first N pages of published articles for each configured locale.
      */
     private Mono<Void> warmPublishedArticles() {
-        return Flux.range(0, startupPages)
-                .flatMap(page -> articleService.getPublishedArticles(page, 10)
-                        .doOnSuccess(p -> log.debug("Warmed articles page {}", page)))
+        return Flux.fromIterable(warmingLocales)
+                .flatMap(locale -> Flux.range(0, startupPages)
+                        .flatMap(page -> warmTask("articles page " + page + " (" + locale + ")",
+                                articleService.getPublishedArticles(page, ARTICLE_PAGE_SIZE, locale))))
                 .then()
                 .doOnSuccess(v -> log.info("Warmed {} pages of articles", startupPages));
     }
 
     /**
-     * Warm all tags.
+     * Warm the public tag listing for each configured locale.
      */
     private Mono<Void> warmAllTags() {
-        return tagService.getAllTags("en")
-                .collectList()
-                .doOnSuccess(tags -> log.info("Warmed {} tags", tags.size()))
+        return Flux.fromIterable(warmingLocales)
+                .flatMap(locale -> warmTask("tags (" + locale + ")",
+                        tagService.getAllTagsPaginated(locale, 0, TAG_PAGE_SIZE)))
                 .then();
     }
 
@@ -154,18 +203,56 @@ public class CacheWarmingService {
      * Warm most viewed articles.
      */
     private Mono<Void> warmPopularArticles() {
-        return articleRepository.findTopByViewsCount(10)
-                .flatMap(article -> articleService.getPublishedArticleBySlug(article.getSlug())
-                        .doOnSuccess(a -> log.debug("Warmed popular article: {}", a.getSlug()))
-                        .onErrorResume(e -> Mono.empty()))
+        return articleRepository.findTopByViewsCount(POPULAR_ARTICLES)
+                .collectList()
+                .flatMapMany(articles -> Flux.fromIterable(warmingLocales)
+                        .flatMap(locale -> Flux.fromIterable(articles)
+                                .flatMap(article -> articleService.getPublishedArticleBySlug(article.getSlug(), locale)
+                                        .doOnSuccess(a -> {
+                                            entriesWarmed.incrementAndGet();
+                                            log.debug("Warmed popular article: {}", article.getSlug());
+                                        })
+                                        .onErrorResume(e -> Mono.empty()))
+                                .then()
+                                .doFinally(signal -> tasksCompleted.incrementAndGet())))
                 .then()
                 .doOnSuccess(v -> log.info("Warmed popular articles"));
     }
 
+    /**
+     * Warm the RSS feed and sitemap, the most expensive documents to rebuild.
+     */
+    private Mono<Void> warmFeeds() {
+        return Mono.when(
+                warmTask("rss feed", feedService.getRssFeed()),
+                warmTask("sitemap", feedService.getSitemap())
+        );
+    }
+
+    /**
+     * One progress unit: a failed entry is logged and counted as done so it cannot stall warming.
+     */
+    private Mono<Void> warmTask(String name, Mono<?> load) {
+        return load
+                .doOnNext(v -> {
+                    entriesWarmed.incrementAndGet();
+                    log.debug("Warmed {}", name);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to warm {}: {}", name, e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> tasksCompleted.incrementAndGet())
+                .then();
+    }
+
     // ==================== SCHEDULED WARMING ====================
 
     /**
-     * Periodically refresh cache for popular content.
+     * Periodically refresh popular content ahead of expiry.
+     * Only entries read within {@code cache.warming.refresh-accessed-within-ms} and expiring
+     * within {@code cache.warming.refresh-window-ms} are reloaded; nothing is invalidated,
+     * so readers keep getting the old value until the new one is written.
      */
     @Scheduled(fixedRateString = "${cache.warming.refresh-rate-ms:300000}", initialDelayString = "${scheduling.initial-delay-ms:30000}")
     public void refreshPopularContent() {
@@ -179,17 +266,11 @@ public class CacheWarmingService {
         // @Scheduled runs on its own thread pool, so blocking is safe and
         // ensures completion before next scheduled run
         try {
-            articleRepository.findTopByViewsCount(20)
-                    .flatMap(article ->
-                        cacheService.invalidateArticle(article.getSlug())
-                                .then(articleService.getPublishedArticleBySlug(article.getSlug()))
-                                .onErrorResume(e -> {
-                                    log.warn("Failed to refresh cache for article: {}", article.getSlug(), e);
-                                    return Mono.empty();
-                                })
-                    )
-                    .then()
-                    .block();
+            Long refreshed = cacheService.refreshExpiring(
+                    Duration.ofMillis(refreshWindowMs),
+                    Duration.ofMillis(refreshAccessedWithinMs)
+            ).block();
+            log.debug("Refreshed {} cache entries ahead of expiry", refreshed);
         } catch (Exception e) {
             backgroundErrors.incrementAndGet();
             log.error("refreshPopularContent failed: {}", e.getMessage());
@@ -303,6 +384,14 @@ public class CacheWarmingService {
         return warmed;
     }
 
+    /**
+     * Fraction of startup warming tasks completed (0.0 to 1.0).
+     */
+    public double getProgress() {
+        long planned = tasksPlanned.get();
+        return planned == 0 ? 0.0 : Math.min(1.0, (double) tasksCompleted.get() / planned);
+    }
+
     /**
      * Get current warming status.
      */
@@ -311,7 +400,9 @@ public class CacheWarmingService {
                 warmingEnabled,
                 startupWarmingComplete.get(),
                 warmingInProgress.size(),
-                backgroundErrors.get()
+                backgroundErrors.get(),
+                getProgress(),
+                entriesWarmed.get()
         );
     }
 
@@ -319,6 +410,8 @@ public class CacheWarmingService {
             boolean enabled,
             boolean startupComplete,
             int prefetchesInProgress,
-            long backgroundErrorCount
+            long backgroundErrorCount,
+            double progress,
+            long entriesWarmed
     ) {}
 }
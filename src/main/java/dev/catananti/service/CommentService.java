@@ -1,8 +1,12 @@
 package dev.catananti.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.catananti.dto.CommentRequest;
 import dev.catananti.dto.CommentResponse;
+import dev.catananti.dto.PageCursor;
 import dev.catananti.dto.PageResponse;
+import dev.catananti.entity.Article;
 import dev.catananti.entity.Comment;
 import dev.catananti.entity.CommentStatus;
 import dev.catananti.entity.UserRole;
@@ -11,6 +15,8 @@ import dev.catananti.metrics.BlogMetrics;
 import dev.catananti.repository.ArticleRepository;
 import dev.catananti.repository.CommentRepository;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
@@ -21,15 +27,27 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CommentService {
 
+    /**
+     * Deepest reply level accepted. Each level adds an id and a separator to {@code comments.path}
+     * (VARCHAR(2000)), so 50 levels of 19-digit ids stay well inside the column.
+     */
+    static final int MAX_REPLY_DEPTH = 50;
+
     private final CommentRepository commentRepository;
     private final ArticleRepository articleRepository;
     private final UserRepository userRepository;
@@ -38,37 +56,69 @@ public class CommentService {
     private final IdService idService;
     private final NotificationEventService notificationEventService;
     private final BlogMetrics blogMetrics;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheService cacheService;
+
+    // Public comment threads per article: all of them, or one page keyed "articleId:page:size".
+    // Moderation evicts the article on every node via CacheInvalidationBus; the TTL bounds anything missed.
+    private final Cache<Long, List<CommentResponse>> threadCache = Caffeine.newBuilder()
+            .maximumSize(500)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+    private final Cache<String, PageResponse<CommentResponse>> threadPageCache = Caffeine.newBuilder()
+            .maximumSize(2_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    /** Bumped by every eviction, so a load that started before one does not cache what it read. */
+    private final AtomicLong threadCacheEpoch = new AtomicLong();
+
+    @PostConstruct
+    void registerThreadCacheEvictor() {
+        invalidationBus.register(CacheInvalidationBus.COMMENT_THREADS, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String articleId) {
+                threadCacheEpoch.incrementAndGet();
+                threadCache.invalidate(Long.valueOf(articleId));
+                threadPageCache.asMap().keySet().removeIf(k -> k.startsWith(articleId + ":"));
+            }
+
+            @Override
+            public void evictAll() {
+                threadCacheEpoch.incrementAndGet();
+                threadCache.invalidateAll();
+                threadPageCache.invalidateAll();
+            }
+        });
+    }
 
     // ==================== PUBLIC ENDPOINTS ====================
 
     public Flux<CommentResponse> getApprovedCommentsByArticleSlug(String slug) {
         return articleRepository.findBySlug(slug)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Article", "slug", slug)))
-                .flatMapMany(article -> commentRepository.findApprovedByArticleId(article.getId()))
-                .flatMap(this::enrichWithReplies)
-                .map(this::toPublicResponse);
+                .flatMap(article -> cached(threadCache, article.getId(), () ->
+                        commentRepository.findApprovedThreadsByArticleId(article.getId())
+                                .collectList()
+                                .map(this::toPublicThreads)))
+                .flatMapIterable(threads -> threads);
     }
 
     public Mono<PageResponse<CommentResponse>> getApprovedCommentsByArticleSlugPaginated(String slug, int page, int size) {
         int offset = page * size;
         return articleRepository.findBySlug(slug)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Article", "slug", slug)))
-                .flatMap(article -> commentRepository.findApprovedByArticleIdPaginated(article.getId(), size, offset)
-                        .flatMap(this::enrichWithReplies)
-                        .map(this::toPublicResponse)
-                        .collectList()
-                        .zipWith(commentRepository.countApprovedByArticleId(article.getId()))
-                        .map(tuple -> {
-                            var content = tuple.getT1();
-                            var total = tuple.getT2();
-                            return PageResponse.of(content, page, size, total);
-                        }));
+                .flatMap(article -> cached(threadPageCache, article.getId() + ":" + page + ":" + size, () ->
+                        commentRepository.findApprovedThreadsByArticleIdPaginated(article.getId(), size, offset)
+                                .collectList()
+                                .map(this::toPublicThreads)
+                                .map(content -> PageResponse.of(content, page, size, approvedCount(article)))));
     }
 
     public Mono<Long> getCommentCountByArticleSlug(String slug) {
         return articleRepository.findBySlug(slug)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Article", "slug", slug)))
-                .flatMap(article -> commentRepository.countApprovedByArticleId(article.getId()));
+                .map(this::approvedCount);
     }
 
     @Transactional
@@ -77,16 +127,18 @@ public class CommentService {
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Article", "slug", slug)))
                 .flatMap(article -> {
                     // Validate parent comment if it's a reply
-                    Mono<Void> parentValidation = Mono.empty();
+                    Mono<Comment> parentValidation = Mono.empty();
                     if (request.getParentId() != null) {
                         parentValidation = commentRepository.findById(request.getParentId())
                                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Parent comment", "id", request.getParentId())))
                                 .filter(parent -> parent.getArticleId().equals(article.getId()))
-                                .switchIfEmpty(Mono.error(new IllegalArgumentException("Parent comment does not belong to this article")))
-                                .then();
+                                .switchIfEmpty(Mono.error(new IllegalArgumentException("Parent comment does not belong to this article")));
+                                .filter(parent -> replyDepth(parent) <= MAX_REPLY_DEPTH)
+                                .switchIfEmpty(Mono.error(new IllegalArgumentException(
+                                        "Replies cannot be nested more than " + MAX_REPLY_DEPTH + " levels deep")));
                     }
 
-                    return parentValidation.then(Mono.defer(() -> {
+                    return parentValidation.map(List::of).defaultIfEmpty(List.of()).flatMap(parents -> {
                         // F-166: Sanitize user input to prevent XSS attacks
                         String sanitizedContent = htmlSanitizerService.stripHtml(request.getContent());
                         String sanitizedAuthorName = htmlSanitizerService.stripHtml(request.getAuthorName());
@@ -96,14 +148,16 @@ public class CommentService {
                             return Mono.error(new IllegalArgumentException("Comment rejected: detected as spam"));
                         }
                         
+                        Long id = idService.nextId();
                         Comment comment = Comment.builder()
-                                .id(idService.nextId())
+                                .id(id)
                                 .articleId(article.getId())
                                 .authorName(sanitizedAuthorName)
                                 .authorEmail(request.getAuthorEmail())
                                 .content(sanitizedContent)
                                 .status(CommentStatus.PENDING.name()) // Needs moderation
                                 .parentId(request.getParentId())
+                                .path(newCommentPath(parents, id))
                                 .createdAt(LocalDateTime.now())
                                 .build();
 
@@ -135,7 +189,7 @@ public class CommentService {
                                     blogMetrics.incrementCommentCreated();
                                 })
                                 .map(this::toPublicResponse);
-                    }));
+                    });
                 });
     }
 
@@ -162,13 +216,18 @@ public class CommentService {
 
     private Mono<PageResponse<CommentResponse>> enrichCommentsWithArticleInfo(
             List<CommentResponse> comments, int page, int size, long total) {
+        return attachArticleInfo(comments)
+                .map(enriched -> PageResponse.of(enriched, page, size, total));
+    }
+
+    private Mono<List<CommentResponse>> attachArticleInfo(List<CommentResponse> comments) {
         var articleIds = comments.stream()
                 .map(c -> Long.valueOf(c.getArticleId()))
                 .distinct()
                 .toList();
 
         if (articleIds.isEmpty()) {
-            return Mono.just(PageResponse.of(comments, page, size, total));
+            return Mono.just(comments);
         }
 
         return articleRepository.findAllById(articleIds)
@@ -181,7 +240,7 @@ public class CommentService {
                             c.setArticleTitle(article.getTitle());
                         }
                     });
-                    return PageResponse.of(comments, page, size, total);
+                    return comments;
                 });
     }
 
@@ -208,11 +267,19 @@ public class CommentService {
     @Transactional
     public Mono<Void> deleteComment(Long id) {
         return commentRepository.findById(id)
-                .flatMap(comment -> 
-                        // Delete child replies first to avoid orphans (BUG-09)
-                        commentRepository.deleteByParentId(id)
-                                .then(commentRepository.deleteById(id))
-                        .doOnSuccess(v -> log.info("Comment deleted (with replies): {}", id))
+                // Replies at every depth go with the comment, leaves first since parent_id does not cascade
+                .flatMap(comment -> commentRepository.findSubtreeDeepestFirst(id)
+                        .collectList()
+                        .flatMap(subtree -> {
+                            int delta = -(int) subtree.stream()
+                                    .filter(c -> CommentStatus.APPROVED.matches(c.getStatus()))
+                                    .count();
+                            return Flux.fromIterable(subtree)
+                                    .concatMap(c -> commentRepository.deleteById(c.getId()))
+                                    .then(adjustApprovedCount(comment.getArticleId(), delta))
+                                    .doOnSuccess(v -> log.info("Comment deleted with {} repl(ies): {}", subtree.size() - 1, id))
+                                    .then(evictArticleCaches(comment.getArticleId(), delta));
+                        })
                 )
                 .then(); // Idempotent: if comment not found, complete silently
     }
@@ -253,6 +320,36 @@ public class CommentService {
         });
     }
 
+    /**
+     * Cursor-mode variant of {@link #getAdminCommentsByStatus}, newest first with the same ownership scoping.
+     * Seeks on the time-ordered comment id instead of an offset and runs no count query.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null/blank for the first page
+     */
+    public Mono<PageResponse<CommentResponse>> getAdminCommentsByStatusAfter(String status, String cursor, int size) {
+        PageCursor position = PageCursor.decode(cursor);
+        long beforeId = position != null ? position.id() : Long.MAX_VALUE;
+        boolean allStatuses = "ALL".equalsIgnoreCase(status);
+        return getCurrentUser().flatMap(user -> {
+            Flux<Comment> commentsFlux;
+            if (UserRole.ADMIN.matches(user.getRole())) {
+                commentsFlux = allStatuses
+                        ? commentRepository.findAllBeforeId(beforeId, size + 1)
+                        : commentRepository.findByStatusBeforeId(status.toUpperCase(), beforeId, size + 1);
+            } else {
+                commentsFlux = allStatuses
+                        ? commentRepository.findByArticleAuthorIdBeforeId(user.getId(), beforeId, size + 1)
+                        : commentRepository.findByArticleAuthorIdAndStatusBeforeId(user.getId(), status.toUpperCase(), beforeId, size + 1);
+            }
+            return commentsFlux
+                    .map(this::toResponse)
+                    .collectList()
+                    .flatMap(this::attachArticleInfo)
+                    .map(comments -> PageResponse.ofCursor(comments, size, position == null,
+                            comment -> PageCursor.ofId(Long.parseLong(comment.getId()))));
+        });
+    }
+
     /**
      * Get comments by article, scoped by ownership.
      * ADMIN sees all; DEV/EDITOR only see comments on articles they authored.
@@ -300,8 +397,12 @@ public class CommentService {
         return commentRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Comment", "id", id)))
                 .flatMap(comment -> {
+                    int delta = approvedDelta(comment.getStatus(), status);
                     comment.setStatus(status);
-                    return commentRepository.save(comment);
+                    return commentRepository.save(comment)
+                            .flatMap(saved -> adjustApprovedCount(comment.getArticleId(), delta)
+                                    .then(evictArticleCaches(comment.getArticleId(), delta))
+                                    .thenReturn(saved));
                 })
                 .doOnSuccess(c -> {
                     log.info("Comment {} status updated to: {}", id, status);
@@ -312,11 +413,107 @@ public class CommentService {
                 .map(this::toResponse);
     }
 
-    private Mono<Comment> enrichWithReplies(Comment comment) {
-        return commentRepository.findApprovedRepliesByParentId(comment.getId())
-                .collectList()
-                .doOnNext(comment::setReplies)
-                .thenReturn(comment);
+    /** +1 when a comment becomes approved, -1 when an approved one stops being so, 0 otherwise. */
+    private static int approvedDelta(String from, String to) {
+        return (CommentStatus.APPROVED.matches(to) ? 1 : 0) - (CommentStatus.APPROVED.matches(from) ? 1 : 0);
+    }
+
+    private Mono<Void> adjustApprovedCount(Long articleId, int delta) {
+        if (delta == 0 || articleId == null) {
+            return Mono.empty();
+        }
+        return articleRepository.adjustApprovedCommentCount(articleId, delta).then();
+    }
+
+    private long approvedCount(Article article) {
+        return article.getCommentCount() != null ? article.getCommentCount() : 0L;
+    }
+
+    /**
+     * Drop the article's cached threads once the write commits and, when its approved count moved, the cached
+     * article detail and listings that embed {@code commentCount}.
+     */
+    private Mono<Void> evictArticleCaches(Long articleId, int approvedDelta) {
+        if (articleId == null) {
+            return Mono.empty();
+        }
+        return TransactionCallbacks.afterCommit(Mono.fromRunnable(
+                        () -> invalidationBus.publish(CacheInvalidationBus.COMMENT_THREADS, String.valueOf(articleId)))
+                .then(approvedDelta != 0 ? cacheService.invalidateArticle(articleId, true).then() : Mono.empty()));
+    }
+
+    private <K, V> Mono<V> cached(Cache<K, V> cache, K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            V hit = cache.getIfPresent(key);
+            if (hit != null) {
+                return Mono.just(hit);
+            }
+            long epoch = threadCacheEpoch.get();
+            return loader.get().doOnNext(value -> {
+                if (threadCacheEpoch.get() == epoch) {
+                    cache.put(key, value);
+                }
+            });
+        });
+    }
+
+    /**
+     * Assemble approved thread rows (oldest first) into public responses: top-level comments newest first,
+     * each with its replies nested oldest first at every depth.
+     */
+    private List<CommentResponse> toPublicThreads(List<Comment> rows) {
+        Map<Long, Comment> byId = new HashMap<>(rows.size() * 2);
+        rows.forEach(comment -> {
+            comment.setReplies(new ArrayList<>());
+            byId.put(comment.getId(), comment);
+        });
+        List<Comment> roots = new ArrayList<>();
+        for (Comment comment : rows) {
+            if (comment.getParentId() == null) {
+                comment.setPath(comment.getPath() != null ? comment.getPath() : String.valueOf(comment.getId()));
+                roots.add(comment);
+                continue;
+            }
+            Comment parent = byId.get(comment.getParentId());
+            if (parent != null) {
+                parent.getReplies().add(comment);
+            }
+        }
+        roots.forEach(CommentService::fillMissingPaths);
+        return roots.reversed().stream().map(this::toPublicResponse).toList();
+    }
+
+    /** Rows created before the path column existed get theirs derived from the parent's. */
+    private static void fillMissingPaths(Comment parent) {
+        for (Comment reply : parent.getReplies()) {
+            if (reply.getPath() == null) {
+                reply.setPath(childPath(parent, reply.getId()));
+            }
+            fillMissingPaths(reply);
+        }
+    }
+
+    /**
+     * Level a reply to {@code parent} would sit at, top-level comments being level 0. A parent without a
+     * stored path predates the column; its reply gets no path either, so it cannot overflow the column.
+     */
+    private static int replyDepth(Comment parent) {
+        String path = parent.getPath();
+        return path == null ? 1 : (int) path.chars().filter(c -> c == '/').count() + 1;
+    }
+
+    /** Null under a reply that predates the path column; reads derive the path for such rows. */
+    private static String newCommentPath(List<Comment> parents, Long id) {
+        if (parents.isEmpty()) {
+            return String.valueOf(id);
+        }
+        Comment parent = parents.getFirst();
+        return parent.getPath() != null || parent.getParentId() == null ? childPath(parent, id) : null;
+    }
+
+    private static String childPath(Comment parent, Long id) {
+        String parentPath = parent.getPath() != null ? parent.getPath() : String.valueOf(parent.getId());
+        return parentPath + "/" + id;
     }
 
     /**
@@ -330,6 +527,7 @@ public class CommentService {
                 .content(comment.getContent())
                 .status(comment.getStatus())
                 .parentId(comment.getParentId() != null ? String.valueOf(comment.getParentId()) : null)
+                .path(comment.getPath())
                 .replies(comment.getReplies() != null ? 
                         comment.getReplies().stream().map(this::toPublicResponse).toList() : 
                         Collections.emptyList())
@@ -350,6 +548,7 @@ public class CommentService {
                 .content(comment.getContent())
                 .status(comment.getStatus())
                 .parentId(comment.getParentId() != null ? String.valueOf(comment.getParentId()) : null)
+                .path(comment.getPath())
                 .replies(comment.getReplies() != null ? 
                         comment.getReplies().stream().map(this::toResponse).toList() : 
                         Collections.emptyList())
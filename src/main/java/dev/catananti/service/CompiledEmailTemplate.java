@@ -0,0 +1,102 @@
+package dev.catananti.service;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An email template flattened into static fragments and variable slots, so rendering is string concatenation.
+ * <p>
+ * {@link #compile} renders the template once through Thymeleaf with a marker in place of every string variable.
+ * Each marker carries a {@code <}, so where it lands in the output also tells whether Thymeleaf escaped that use
+ * ({@code th:text}, attributes) or wrote it raw ({@code th:utext}). Everything between markers is static for that
+ * set of variables. Escaping reuses the function Thymeleaf applies, so both paths produce the same bytes;
+ * {@link EmailTemplateService} still compares them on first use and keeps Thymeleaf for any template they differ on.
+ * </p>
+ */
+final class CompiledEmailTemplate {
+
+    private static final String MARK_START = "zqxSLOT";
+    private static final String MARK_END = "TOLSxqz";
+    private static final String PROBE = "<";
+    private static final Pattern MARKER = Pattern.compile(MARK_START + "(\\d+)(<|&lt;)" + MARK_END);
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    private final String[] fragments;
+    private final String[] slotVariables;
+    private final boolean[] slotEscaped;
+    private final int staticLength;
+
+    private CompiledEmailTemplate(String[] fragments, String[] slotVariables, boolean[] slotEscaped) {
+        this.fragments = fragments;
+        this.slotVariables = slotVariables;
+        this.slotEscaped = slotEscaped;
+        int length = 0;
+        for (String fragment : fragments) {
+            length += fragment.length();
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * @param variables  the variables of a real render; {@code slotted} ones become slots, the rest are
+     *                   rendered as they are and so fixed in the compiled template
+     * @param slotted    names of the variables to turn into slots; their values must be strings
+     * @param thymeleaf  renders the template for a variable map
+     */
+    static CompiledEmailTemplate compile(Map<String, Object> variables, List<String> slotted,
+                                         Function<Map<String, Object>, String> thymeleaf) {
+        var probe = new HashMap<>(variables);
+        for (int i = 0; i < slotted.size(); i++) {
+            probe.put(slotted.get(i), MARK_START + i + PROBE + MARK_END);
+        }
+        String output = thymeleaf.apply(probe);
+
+        List<String> fragments = new ArrayList<>();
+        List<String> slotVariables = new ArrayList<>();
+        List<Boolean> slotEscaped = new ArrayList<>();
+        Matcher matcher = MARKER.matcher(output);
+        int last = 0;
+        while (matcher.find()) {
+            fragments.add(output.substring(last, matcher.start()));
+            slotVariables.add(slotted.get(Integer.parseInt(matcher.group(1))));
+            slotEscaped.add(!PROBE.equals(matcher.group(2)));
+            last = matcher.end();
+        }
+        fragments.add(output.substring(last));
+
+        boolean[] escaped = new boolean[slotEscaped.size()];
+        for (int i = 0; i < escaped.length; i++) {
+            escaped[i] = slotEscaped.get(i);
+        }
+        return new CompiledEmailTemplate(fragments.toArray(String[]::new), slotVariables.toArray(String[]::new), escaped);
+    }
+
+    String render(Map<String, Object> variables) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(staticLength + 256 * slotVariables.length);
+        for (int i = 0; i < slotVariables.length; i++) {
+            out.append(fragments[i]);
+            String value = (String) variables.get(slotVariables[i]);
+            out.append(slotEscaped[i] ? HtmlEscape.escapeHtml4Xml(value) : value);
+        }
+        out.append(fragments[fragments.length - 1]);
+        String html = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return html;
+    }
+
+    int slotCount() {
+        return slotVariables.length;
+    }
+}
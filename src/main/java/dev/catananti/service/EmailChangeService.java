@@ -31,6 +31,7 @@ public class EmailChangeService {
     private final EmailService emailService;
     private final IdService idService;
     private final AuditService auditService;
+    private final CacheInvalidationBus invalidationBus;
 
     private static final Duration TOKEN_VALIDITY = Duration.ofHours(1);
     private static final int MAX_TOKENS_PER_HOUR = 3;
@@ -44,12 +45,14 @@ public class EmailChangeService {
                                UserRepository userRepository,
                                EmailService emailService,
                                IdService idService,
-                               AuditService auditService) {
+                               AuditService auditService,
+                               CacheInvalidationBus invalidationBus) {
         this.tokenRepository = tokenRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
         this.idService = idService;
         this.auditService = auditService;
+        this.invalidationBus = invalidationBus;
     }
 
     /**
@@ -115,6 +118,8 @@ public class EmailChangeService {
                                         user.setUpdatedAt(LocalDateTime.now());
 
                                         return userRepository.save(user)
+                                                // F-046: drop the auth cache entry keyed by the old email on every node
+                                                .doOnSuccess(saved -> invalidationBus.publish(CacheInvalidationBus.AUTH_USERS, oldEmail))
                                                 .then(tokenRepository.markAsUsed(token.getId(), LocalDateTime.now()))
                                                 .then(auditService.logEmailChange(user.getId(), oldEmail, token.getNewEmail()))
                                                 .then(emailService.sendEmailChangedNotification(oldEmail, user.getName(), token.getNewEmail())
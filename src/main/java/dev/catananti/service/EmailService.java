@@ -1,8 +1,10 @@
 package dev.catananti.service;
 
-import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import dev.catananti.config.ResilienceConfig;
+import dev.catananti.entity.EmailOutboxMessage;
+import dev.catananti.entity.EmailOutboxStatus;
+import dev.catananti.repository.EmailOutboxRepository;
 import dev.catananti.util.HtmlUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -10,21 +12,23 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.lang.Nullable;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for sending emails.
- * Uses Java 21+ Virtual Threads for efficient blocking I/O operations.
+ * Emails are queued in the {@code email_outbox} table rather than sent inline: the returned {@code Mono} completes
+ * once the row is written, inside the caller's transaction when there is one, and
+ * {@link dev.catananti.scheduler.EmailOutboxDispatcher} delivers it over SMTP in the background.
  * All email content is internationalised via {@link MessageSource} with keys in {@code messages_*.properties}.
  * The default locale is configurable via {@code app.email.default-locale} (default: pt-BR).
  * F-172: Emails are now rendered via Thymeleaf templates under {@code classpath:/templates/email/}.
@@ -33,7 +37,8 @@ import java.util.concurrent.Executors;
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
+    private final IdService idService;
     private final ResilienceConfig resilience;
     private final MessageSource messageSource;
     private final EmailTemplateService templateService;
@@ -41,13 +46,15 @@ public class EmailService {
     private final ReactiveRedisTemplate<String, String> redisTemplate;
 
     public EmailService(
-            JavaMailSender mailSender,
+            EmailOutboxRepository outboxRepository,
+            IdService idService,
             ResilienceConfig resilience,
             MessageSource messageSource,
             EmailTemplateService templateService,
             @Autowired(required = false)
             @Qualifier("reactiveRedisTemplate") @Nullable ReactiveRedisTemplate<String, String> redisTemplate) {
-        this.mailSender = mailSender;
+        this.outboxRepository = outboxRepository;
+        this.idService = idService;
         this.resilience = resilience;
         this.messageSource = messageSource;
         this.templateService = templateService;
@@ -56,19 +63,6 @@ public class EmailService {
             log.info("ReactiveRedisTemplate not available — email rate limiting disabled");
         }
     }
-    
-    /**
-     * Virtual thread executor for efficient blocking I/O (Java 21+ Project Loom).
-     * Virtual threads are lightweight and ideal for blocking operations like email sending.
-     */
-    private static final reactor.core.scheduler.Scheduler VIRTUAL_THREAD_SCHEDULER = 
-            Schedulers.fromExecutor(Executors.newVirtualThreadPerTaskExecutor());
-
-    @Value("${app.email.from:noreply@localhost}")
-    private String fromEmail;
-
-    @Value("${app.email.from-name:Portfolio Blog}")
-    private String fromName;
 
     @Value("${app.url:http://localhost:8080}")
     private String appUrl;
@@ -82,14 +76,28 @@ public class EmailService {
     @Value("${app.email.rate-limit-per-hour:10}")
     private int emailRateLimitPerHour;
 
+    // Survive HTML escaping and message formatting unchanged, so they can be replaced after rendering
+    private static final String SUBSCRIBER_NAME_PLACEHOLDER = "%%SUBSCRIBER_NAME%%";
+    private static final String UNSUBSCRIBE_TOKEN_PLACEHOLDER = "%%UNSUBSCRIBE_TOKEN%%";
+
     private static final String EMAIL_RATE_KEY_PREFIX = "email_rate:";
     private static final Duration EMAIL_RATE_WINDOW = Duration.ofHours(1);
 
     @Value("${app.email.default-locale:pt-BR}")
     private String defaultLocaleTag;
 
+    /**
+     * Messages that do not depend on the recipient, per locale: labels, titles and the footer of the current year.
+     * Bulk mail resolves the same handful of keys for every email.
+     */
+    private final Map<String, String> localeMessages = new ConcurrentHashMap<>();
+
     /** Resolve a message key using the configured default locale. */
     private String msg(String key, Object... args) {
+        if (args.length == 0) {
+            return localeMessages.computeIfAbsent(defaultLocaleTag + '|' + key,
+                    k -> messageSource.getMessage(key, args, Locale.forLanguageTag(defaultLocaleTag)));
+        }
         return messageSource.getMessage(key, args, Locale.forLanguageTag(defaultLocaleTag));
     }
 
@@ -128,51 +136,37 @@ public class EmailService {
     }
 
     /**
-     * Send a plain text email (with per-recipient rate limiting).
+     * Queue a plain text email (with per-recipient rate limiting).
      */
     public Mono<Void> sendTextEmail(String to, String subject, String text) {
-        return checkRateLimit(to).then(Mono.<Void>fromRunnable(() -> {
-            try {
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
-                
-                helper.setFrom(fromEmail, fromName);
-                helper.setTo(to);
-                helper.setSubject(subject);
-                helper.setText(text, false);
-                
-                mailSender.send(message);
-                log.debug("Text email sent to: {}", to);
-            } catch (Exception e) {
-                log.warn("Failed to send text email to {}: {}", to, e.getMessage());
-                throw new RuntimeException("Failed to send email", e);
-            }
-        }).subscribeOn(VIRTUAL_THREAD_SCHEDULER)
-                .timeout(resilience.getExternalTimeout()));
+        return checkRateLimit(to).then(enqueue(to, subject, text, false));
     }
 
     /**
-     * Send an HTML email (with per-recipient rate limiting).
+     * Queue an HTML email (with per-recipient rate limiting).
      */
     public Mono<Void> sendHtmlEmail(String to, String subject, String htmlContent) {
-        return checkRateLimit(to).then(Mono.<Void>fromRunnable(() -> {
-            try {
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-                
-                helper.setFrom(fromEmail, fromName);
-                helper.setTo(to);
-                helper.setSubject(subject);
-                helper.setText(htmlContent, true);
-                
-                mailSender.send(message);
-                log.debug("HTML email sent to: {}", to);
-            } catch (Exception e) {
-                log.warn("Failed to send HTML email to {}: {}", to, e.getMessage());
-                throw new RuntimeException("Failed to send email", e);
-            }
-        }).subscribeOn(VIRTUAL_THREAD_SCHEDULER)
-                .timeout(resilience.getExternalTimeout()));
+        return checkRateLimit(to).then(enqueue(to, subject, htmlContent, true));
+    }
+
+    private Mono<Void> enqueue(String to, String subject, String body, boolean html) {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return outboxRepository.save(EmailOutboxMessage.builder()
+                            .id(idService.nextId())
+                            .recipient(to)
+                            .subject(subject)
+                            .body(body)
+                            .html(html)
+                            .status(EmailOutboxStatus.PENDING.name())
+                            .nextAttemptAt(now)
+                            .createdAt(now)
+                            .build())
+                    .timeout(resilience.getDatabaseTimeout())
+                    .doOnNext(queued -> log.debug("Email {} queued for: {}", queued.getId(), to))
+                    .doOnError(e -> log.warn("Failed to queue email to {}: {}", to, e.getMessage()))
+                    .then();
+        });
     }
 
     /**
@@ -229,16 +223,24 @@ public class EmailService {
      */
     public Mono<Void> sendNewArticleNotification(String to, String subscriberName,
             String articleTitle, String articleSlug, String articleExcerpt, String unsubscribeToken) {
+        NewArticleCampaign campaign = renderNewArticleCampaign(articleTitle, articleSlug, articleExcerpt);
+        return sendHtmlEmail(to, campaign.subject(), personalize(campaign.bodyTemplate(), subscriberName, unsubscribeToken));
+    }
+
+    /**
+     * Render the new article notification once for every subscriber, in the default locale. The greeting name and
+     * the unsubscribe token are left as placeholders for {@link #personalize}.
+     */
+    public NewArticleCampaign renderNewArticleCampaign(String articleTitle, String articleSlug, String articleExcerpt) {
         String subject = msg("email.article.notification.subject", articleTitle);
         String articleUrl = siteUrl + "/blog/" + articleSlug;
-        String unsubscribeUrl = siteUrl + "/newsletter/unsubscribe?token=" + unsubscribeToken;
-        String displayName = subscriberName != null ? subscriberName : msg("email.default.subscriber");
+        String unsubscribeUrl = siteUrl + "/newsletter/unsubscribe?token=" + UNSUBSCRIBE_TOKEN_PLACEHOLDER;
 
         String html = templateService.render("new-article-notification", baseVars(
             "#3b82f6 0%, #1d4ed8 100%",
             msg("email.article.notification.header"),
             Map.of(
-                "greeting", msg("email.greeting", displayName),
+                "greeting", msg("email.greeting", SUBSCRIBER_NAME_PLACEHOLDER),
                 "introText", msg("email.article.notification.intro"),
                 "articleTitle", articleTitle,
                 "articleExcerpt", articleExcerpt != null ? articleExcerpt : "",
@@ -249,7 +251,22 @@ public class EmailService {
                 + msg("email.article.notification.unsubscribe") + "</a></p>"
         ));
 
-        return sendHtmlEmail(to, subject, html);
+        return new NewArticleCampaign(subject, html, defaultLocaleTag);
+    }
+
+    /**
+     * Fill a body rendered by {@link #renderNewArticleCampaign} in for one subscriber.
+     */
+    public String personalize(String bodyTemplate, @Nullable String subscriberName, @Nullable String unsubscribeToken) {
+        String displayName = subscriberName != null ? subscriberName : msg("email.default.subscriber");
+        return bodyTemplate
+                .replace(SUBSCRIBER_NAME_PLACEHOLDER, escapeHtml(displayName))
+                .replace(UNSUBSCRIBE_TOKEN_PLACEHOLDER,
+                        unsubscribeToken != null ? URLEncoder.encode(unsubscribeToken, StandardCharsets.UTF_8) : "");
+    }
+
+    /** A new article notification rendered once, with per-subscriber placeholders. */
+    public record NewArticleCampaign(String subject, String bodyTemplate, String locale) {
     }
 
     /**
@@ -697,7 +714,9 @@ public class EmailService {
         var vars = new HashMap<String, Object>();
         vars.put("gradient", gradient);
         vars.put("headerTitle", headerTitle);
-        vars.put("footerCopyright", msg("email.footer.copyright", currentYear));
+        vars.put("footerCopyright", localeMessages.computeIfAbsent(
+                defaultLocaleTag + "|email.footer.copyright|" + currentYear,
+                k -> msg("email.footer.copyright", currentYear)));
         if (extraFooter != null) {
             vars.put("extraFooter", extraFooter);
         }
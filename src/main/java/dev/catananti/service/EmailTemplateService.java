@@ -1,13 +1,19 @@
 package dev.catananti.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * F-172: Thymeleaf-based email template renderer.
@@ -15,12 +21,25 @@ import java.util.Map;
  * Standalone configuration — does NOT interfere with WebFlux (no auto-configured
  * view resolver). Templates live under {@code classpath:/templates/email/}.
  * </p>
+ * <p>
+ * Templates are compiled into {@link CompiledEmailTemplate}s on first use, so repeated renders skip Thymeleaf.
+ * A compiled template is specific to the template's "shape": which variables are present, and the value of any
+ * that can switch a {@code th:if} (empty, {@code false}, {@code off}, {@code no}). The first render of each shape
+ * goes through Thymeleaf and is compared with the compiled output; a template that does not match keeps
+ * rendering through Thymeleaf. Disable with {@code app.email.templates.precompiled=false}.
+ * </p>
  */
 @Service
 @Slf4j
 public class EmailTemplateService {
 
+    private static final int MAX_COMPILED_SHAPES = 256;
+
     private final TemplateEngine templateEngine;
+    private final Map<String, Optional<CompiledEmailTemplate>> compiled = new ConcurrentHashMap<>();
+
+    @Value("${app.email.templates.precompiled:true}")
+    private boolean precompiled = true;
 
     public EmailTemplateService() {
         var resolver = new ClassLoaderTemplateResolver();
@@ -43,8 +62,70 @@ public class EmailTemplateService {
      * @return the rendered HTML string
      */
     public String render(String templateName, Map<String, Object> variables) {
+        String shape = precompiled ? shapeKey(templateName, variables) : null;
+        if (shape == null) {
+            return process(templateName, variables);
+        }
+        Optional<CompiledEmailTemplate> template = compiled.get(shape);
+        if (template == null) {
+            String html = process(templateName, variables);
+            if (compiled.size() < MAX_COMPILED_SHAPES) {
+                compiled.putIfAbsent(shape, compile(templateName, variables, html));
+            }
+            return html;
+        }
+        return template.isPresent() ? template.get().render(variables) : process(templateName, variables);
+    }
+
+    private String process(String templateName, Map<String, Object> variables) {
         var context = new Context();
         context.setVariables(variables);
         return templateEngine.process(templateName, context);
     }
+
+    private Optional<CompiledEmailTemplate> compile(String templateName, Map<String, Object> variables, String expected) {
+        List<String> slotted = new ArrayList<>();
+        variables.forEach((name, value) -> {
+            if (value instanceof String text && !isSwitch(text)) {
+                slotted.add(name);
+            }
+        });
+        try {
+            CompiledEmailTemplate template = CompiledEmailTemplate.compile(variables, slotted,
+                    probe -> process(templateName, probe));
+            if (template.render(variables).equals(expected)) {
+                log.debug("Compiled email template {} ({} slots)", templateName, template.slotCount());
+                return Optional.of(template);
+            }
+            log.info("Email template {} renders differently when compiled, keeping Thymeleaf for it", templateName);
+        } catch (RuntimeException e) {
+            log.warn("Could not compile email template {}: {}", templateName, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Identifies the compiled template that fits these variables, or {@code null} when they cannot be slotted
+     * (a value that is not a string).
+     */
+    private static String shapeKey(String templateName, Map<String, Object> variables) {
+        var key = new StringBuilder(templateName);
+        for (var entry : new TreeMap<>(variables).entrySet()) {
+            Object value = entry.getValue();
+            key.append('|').append(entry.getKey());
+            if (value == null) {
+                key.append("=null");
+            } else if (!(value instanceof String text)) {
+                return null;
+            } else if (isSwitch(text)) {
+                key.append("='").append(text);
+            }
+        }
+        return key.toString();
+    }
+
+    /** Strings Thymeleaf may treat as false in {@code th:if}; fixed in the compiled template rather than slotted. */
+    private static boolean isSwitch(String text) {
+        return text.isEmpty() || "false".equalsIgnoreCase(text) || "off".equalsIgnoreCase(text) || "no".equalsIgnoreCase(text);
+    }
 }
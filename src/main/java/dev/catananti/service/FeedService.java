@@ -0,0 +1,175 @@
+package dev.catananti.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import dev.catananti.dto.RssFeedItem;
+import dev.catananti.entity.Article;
+import dev.catananti.entity.Tag;
+import dev.catananti.util.XmlUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the RSS feed and sitemap XML documents.
+ * Both are served through {@link CacheService#getOrLoad} so the controllers and
+ * {@link CacheWarmingService} read and write the same cache entries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedService {
+
+    private final ArticleService articleService;
+    private final TagService tagService;
+    private final CacheService cacheService;
+
+    private static final Duration RSS_CACHE_TTL = Duration.ofMinutes(15);
+    private static final Duration SITEMAP_CACHE_TTL = Duration.ofMinutes(30);
+    private static final TypeReference<String> XML_TYPE = new TypeReference<>() {};
+
+    @Value("${app.site-url:https://catananti.dev}")
+    private String siteUrl;
+
+    @Value("${app.name:Portfolio Blog}")
+    private String siteName;
+
+    @Value("${app.description:Developer blog with articles about Java, Cloud, and Software Architecture}")
+    private String siteDescription;
+
+    private static final DateTimeFormatter RSS_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH);
+
+    private static final DateTimeFormatter SITEMAP_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public Mono<String> getRssFeed() {
+        return cacheService.getOrLoad(CacheService.RSS_FEED_KEY, XML_TYPE, RSS_CACHE_TTL,
+                () -> articleService.findAllPublishedForFeed()
+                        .take(20)
+                        .map(article -> new RssFeedItem(
+                                article.getTitle(), article.getSlug(), article.getExcerpt(),
+                                article.getSeoDescription(), article.getPublishedAt()))
+                        .collectList()
+                        .map(this::buildRssFeed)
+                        .doOnNext(rss -> log.debug("Generated RSS feed")));
+    }
+
+    public Mono<String> getSitemap() {
+        return cacheService.getOrLoad(CacheService.SITEMAP_KEY, XML_TYPE, SITEMAP_CACHE_TTL,
+                () -> Mono.zip(
+                                articleService.findAllPublishedForFeed().collectList(),
+                                tagService.findAllTagEntities().collectList()
+                        )
+                        .map(tuple -> buildSitemap(tuple.getT1(), tuple.getT2()))
+                        .doOnNext(sitemap -> log.debug("Generated sitemap")));
+    }
+
+    private String buildRssFeed(List<RssFeedItem> items) {
+        StringBuilder xml = new StringBuilder();
+        
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<rss version=\"2.0\" xmlns:atom=\"http://www.w3.org/2005/Atom\">\n");
+        xml.append("  <channel>\n");
+        xml.append("    <title>").append(XmlUtil.escapeXml(siteName)).append("</title>\n");
+        xml.append("    <link>").append(XmlUtil.escapeXml(siteUrl)).append("</link>\n");
+        xml.append("    <description>").append(XmlUtil.escapeXml(siteDescription)).append("</description>\n");
+        xml.append("    <language>en-us</language>\n");
+        xml.append("    <atom:link href=\"").append(siteUrl).append("/rss.xml\" rel=\"self\" type=\"application/rss+xml\"/>\n");
+        
+        if (!items.isEmpty() && items.getFirst().publishedAt() != null) {
+            xml.append("    <lastBuildDate>")
+               .append(items.getFirst().publishedAt().atOffset(ZoneOffset.UTC).format(RSS_DATE_FORMAT))
+               .append("</lastBuildDate>\n");
+        }
+
+        for (RssFeedItem item : items) {
+            xml.append("    <item>\n");
+            xml.append("      <title>").append(XmlUtil.escapeXml(item.title())).append("</title>\n");
+            xml.append("      <link>").append(siteUrl).append("/blog/").append(XmlUtil.escapeXml(item.slug())).append("</link>\n");
+            xml.append("      <guid isPermaLink=\"true\">").append(siteUrl).append("/blog/").append(XmlUtil.escapeXml(item.slug())).append("</guid>\n");
+            
+            if (item.excerpt() != null) {
+                xml.append("      <description>").append(XmlUtil.escapeXml(item.excerpt())).append("</description>\n");
+            } else if (item.seoDescription() != null) {
+                xml.append("      <description>").append(XmlUtil.escapeXml(item.seoDescription())).append("</description>\n");
+            }
+            
+            if (item.publishedAt() != null) {
+                xml.append("      <pubDate>")
+                   .append(item.publishedAt().atOffset(ZoneOffset.UTC).format(RSS_DATE_FORMAT))
+                   .append("</pubDate>\n");
+            }
+            
+            xml.append("    </item>\n");
+        }
+        
+        xml.append("  </channel>\n");
+        xml.append("</rss>");
+        
+        return xml.toString();
+    }
+
+    private String buildSitemap(List<Article> articles, List<Tag> tags) {
+        StringBuilder xml = new StringBuilder();
+        
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        
+        // Homepage
+        xml.append("  <url>\n");
+        xml.append("    <loc>").append(siteUrl).append("/</loc>\n");
+        xml.append("    <changefreq>daily</changefreq>\n");
+        xml.append("    <priority>1.0</priority>\n");
+        xml.append("  </url>\n");
+        
+        // Blog listing page
+        xml.append("  <url>\n");
+        xml.append("    <loc>").append(siteUrl).append("/blog</loc>\n");
+        xml.append("    <changefreq>daily</changefreq>\n");
+        xml.append("    <priority>0.9</priority>\n");
+        xml.append("  </url>\n");
+        
+        // About page
+        xml.append("  <url>\n");
+        xml.append("    <loc>").append(siteUrl).append("/about</loc>\n");
+        xml.append("    <changefreq>monthly</changefreq>\n");
+        xml.append("    <priority>0.7</priority>\n");
+        xml.append("  </url>\n");
+        
+        // All published articles
+        for (Article article : articles) {
+            xml.append("  <url>\n");
+            xml.append("    <loc>").append(siteUrl).append("/blog/").append(XmlUtil.escapeXml(article.getSlug())).append("</loc>\n");
+            
+            LocalDateTime lastMod = article.getUpdatedAt() != null ? article.getUpdatedAt() : article.getPublishedAt();
+            if (lastMod != null) {
+                xml.append("    <lastmod>").append(lastMod.format(SITEMAP_DATE_FORMAT)).append("</lastmod>\n");
+            }
+            
+            xml.append("    <changefreq>weekly</changefreq>\n");
+            xml.append("    <priority>0.8</priority>\n");
+            xml.append("  </url>\n");
+        }
+        
+        // Tag pages
+        for (Tag tag : tags) {
+            xml.append("  <url>\n");
+            xml.append("    <loc>").append(siteUrl).append("/tags/").append(XmlUtil.escapeXml(tag.getSlug())).append("</loc>\n");
+            xml.append("    <changefreq>weekly</changefreq>\n");
+            xml.append("    <priority>0.6</priority>\n");
+            xml.append("  </url>\n");
+        }
+        
+        xml.append("</urlset>");
+        
+        return xml.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package dev.catananti.service;
+
+import dev.catananti.util.FastHash;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over JWT ids, safe for concurrent adds and lookups without locking.
+ * <p>
+ * {@link #mightContain} returning {@code false} is definite: the id was never added. {@code true} only means
+ * "possibly", at roughly the false-positive rate the filter was sized for. Bits are never cleared, so expired
+ * ids keep answering "possibly" until the filter is replaced by a fresh one.
+ * </p>
+ */
+final class JtiBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedEntries    ids the filter should hold at {@code falsePositiveRate}
+     * @param falsePositiveRate  target probability that an absent id is reported as possibly present
+     */
+    JtiBloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        double bitsPerEntry = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (long) Math.ceil(n * bitsPerEntry / 64)));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round(bitsPerEntry * Math.log(2)));
+    }
+
+    void add(String jti) {
+        long hash = FastHash.hash64(jti);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndUpdate(word, w -> w | mask);
+            }
+        }
+    }
+
+    boolean mightContain(String jti) {
+        long hash = FastHash.hash64(jti);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private long index(int combined) {
+        return (combined & 0xffffffffL) % bitCount;
+    }
+}
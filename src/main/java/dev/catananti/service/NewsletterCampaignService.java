@@ -0,0 +1,178 @@
+package dev.catananti.service;
+
+import dev.catananti.entity.Article;
+import dev.catananti.entity.EmailOutboxMessage;
+import dev.catananti.entity.EmailOutboxStatus;
+import dev.catananti.entity.NewsletterCampaign;
+import dev.catananti.entity.NewsletterCampaignStatus;
+import dev.catananti.entity.Subscriber;
+import dev.catananti.repository.EmailOutboxRepository;
+import dev.catananti.repository.NewsletterCampaignRepository;
+import dev.catananti.repository.SubscriberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Newsletter fan-out for newly published articles.
+ * <p>
+ * Publishing an article only records a campaign: the notification is rendered once and stored with it.
+ * {@link dev.catananti.scheduler.NewsletterCampaignScheduler} then walks the confirmed subscribers in id order,
+ * one page per tick, personalising the stored body and queueing the emails in the outbox, which delivers them
+ * over pooled SMTP sessions. Each page is queued in the same transaction that moves the campaign's checkpoint,
+ * so a restart resumes after the last queued page without skipping or repeating anyone.
+ * </p>
+ * Metrics: {@code blog.newsletter.campaign.recipients{campaign, result=queued|sent|dead}}, where the delivery
+ * outcomes are counted by the outbox dispatcher.
+ */
+@Service
+@Slf4j
+public class NewsletterCampaignService {
+
+    public static final String RECIPIENTS_METRIC = "blog.newsletter.campaign.recipients";
+
+    private final NewsletterCampaignRepository campaignRepository;
+    private final SubscriberRepository subscriberRepository;
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final IdService idService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.newsletter.campaign.page-size:200}")
+    private int pageSize = 200;
+
+    @Value("${app.newsletter.campaign.lease-ms:60000}")
+    private long leaseMs = 60_000;
+
+    public NewsletterCampaignService(NewsletterCampaignRepository campaignRepository,
+                                     SubscriberRepository subscriberRepository,
+                                     EmailOutboxRepository outboxRepository,
+                                     EmailService emailService,
+                                     IdService idService,
+                                     MeterRegistry meterRegistry) {
+        this.campaignRepository = campaignRepository;
+        this.subscriberRepository = subscriberRepository;
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.idService = idService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record the notification campaign for a newly published article. An article gets one campaign, so publishing
+     * it again (or the scheduler and an admin publishing it at once) does not notify subscribers twice.
+     */
+    public Mono<Void> startArticleCampaign(Article article) {
+        return campaignRepository.existsByArticleId(article.getId())
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.debug("Newsletter campaign for article {} already exists", article.getSlug());
+                        return Mono.<Void>empty();
+                    }
+                    EmailService.NewArticleCampaign content = emailService.renderNewArticleCampaign(
+                            article.getTitle(), article.getSlug(), article.getExcerpt());
+                    return campaignRepository.save(NewsletterCampaign.builder()
+                                    .id(idService.nextId())
+                                    .articleId(article.getId())
+                                    .subject(content.subject())
+                                    .bodyTemplate(content.bodyTemplate())
+                                    .locale(content.locale())
+                                    .createdAt(LocalDateTime.now())
+                                    .build())
+                            .doOnNext(campaign -> log.info("Newsletter campaign {} started for article: {}",
+                                    campaign.getId(), article.getSlug()))
+                            .then();
+                })
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+    }
+
+    /**
+     * Take (or renew) the lease on the oldest running campaign nobody else is working on.
+     */
+    public Mono<NewsletterCampaign> claimNext(String node) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+        return campaignRepository.findClaimable(node, now)
+                .flatMap(campaign -> campaignRepository.claim(campaign.getId(), node, now, leaseUntil)
+                        .filter(claimed -> claimed > 0)
+                        .map(claimed -> {
+                            campaign.setClaimedBy(node);
+                            campaign.setLeaseUntil(leaseUntil);
+                            return campaign;
+                        }));
+    }
+
+    /**
+     * Queue the next page of subscribers and move the checkpoint past it, or complete the campaign when there
+     * are none left. Rolls back if {@code node} lost the lease in the meantime.
+     *
+     * @return the number of emails queued
+     */
+    @Transactional
+    public Mono<Integer> queueNextPage(NewsletterCampaign campaign, String node) {
+        return subscriberRepository.findConfirmedAfter(campaign.getLastSubscriberId(), pageSize)
+                .collectList()
+                .flatMap(page -> page.isEmpty()
+                        ? complete(campaign, node)
+                        : queuePage(campaign, node, page));
+    }
+
+    private Mono<Integer> queuePage(NewsletterCampaign campaign, String node, List<Subscriber> page) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> emails = page.stream()
+                .map(subscriber -> EmailOutboxMessage.builder()
+                        .id(idService.nextId())
+                        .recipient(subscriber.getEmail())
+                        .subject(campaign.getSubject())
+                        .body(emailService.personalize(campaign.getBodyTemplate(),
+                                subscriber.getName(), subscriber.getUnsubscribeToken()))
+                        .html(true)
+                        .status(EmailOutboxStatus.PENDING.name())
+                        .nextAttemptAt(now)
+                        .campaignId(campaign.getId())
+                        .createdAt(now)
+                        .build())
+                .toList();
+        long lastSubscriberId = page.getLast().getId();
+        return outboxRepository.saveAll(emails)
+                .then(campaignRepository.advance(campaign.getId(), node, lastSubscriberId, emails.size()))
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(emails.size())
+                        : Mono.<Integer>error(new IllegalStateException(
+                                "Lost the lease on newsletter campaign " + campaign.getId())))
+                .doOnNext(queued -> {
+                    campaign.setLastSubscriberId(lastSubscriberId);
+                    campaign.setQueuedCount(campaign.getQueuedCount() + queued);
+                    recipients(campaign.getId(), "queued").increment(queued);
+                });
+    }
+
+    private Mono<Integer> complete(NewsletterCampaign campaign, String node) {
+        return campaignRepository.complete(campaign.getId(), node, LocalDateTime.now())
+                .doOnNext(updated -> {
+                    if (updated > 0) {
+                        campaign.setStatus(NewsletterCampaignStatus.COMPLETED.name());
+                        log.info("Newsletter campaign {} completed: {} email(s) queued",
+                                campaign.getId(), campaign.getQueuedCount());
+                    }
+                })
+                .thenReturn(0);
+    }
+
+    private Counter recipients(Long campaignId, String result) {
+        return Counter.builder(RECIPIENTS_METRIC)
+                .description("Newsletter campaign emails queued and delivered")
+                .tag("campaign", String.valueOf(campaignId))
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -9,6 +9,7 @@ import dev.catananti.entity.User;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.repository.ResumeTemplateRepository;
 import dev.catananti.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -34,17 +35,34 @@ public class PublicResumeService {
     private final ResumeProfileService resumeProfileService;
     private final UserRepository userRepository;
     private final HtmlSanitizerService htmlSanitizerService;
+    private final CacheInvalidationBus invalidationBus;
     
-    // PDF cache with 5-minute TTL and max 50 entries (M7: replaced manual ConcurrentHashMap with Caffeine)
+    // PDF cache with 1-hour TTL and max 50 entries (M7: replaced manual ConcurrentHashMap with Caffeine).
+    // Profile/template writes clear it on every node via CacheInvalidationBus.
     private final Cache<String, byte[]> pdfCache = Caffeine.newBuilder()
             .maximumSize(50)
-            .expireAfterWrite(Duration.ofMinutes(5))
+            .expireAfterWrite(Duration.ofHours(1))
             .build();
 
     // CQ-03: Use centralized locale constants
     private static final Set<String> SUPPORTED_LOCALES = LocaleConstants.SUPPORTED_LOCALE_CODES;
     private static final Pattern LOCALE_PATTERN = Pattern.compile("^[a-z]{2}$");
 
+    @PostConstruct
+    void registerPdfCacheEvictor() {
+        invalidationBus.register(CacheInvalidationBus.RESUME_PDFS, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String alias) {
+                pdfCache.asMap().keySet().removeIf(k -> k.startsWith(alias));
+            }
+
+            @Override
+            public void evictAll() {
+                pdfCache.invalidateAll();
+            }
+        });
+    }
+
     /**
      * Validate and normalize the locale parameter.
      * Preserves full locale codes (e.g., "pt-br") so the profile service can do exact matching.
@@ -68,8 +86,8 @@ public class PublicResumeService {
     }
 
     /**
-     * Generate PDF for a resume by alias with 5-minute cache.
-     * Cache auto-invalidates after TTL. Profile changes take effect after cache expires.
+     * Generate PDF for a resume by alias with 1-hour cache.
+     * Profile and template changes evict the cache through {@link #clearPdfCache(String)}.
      */
     public Mono<byte[]> generateResumePdf(String alias, String lang) {
         String validLang = validateLocale(lang);
@@ -89,7 +107,7 @@ public class PublicResumeService {
                 .doOnSuccess(pdfBytes -> {
                     // Cache the result
                     pdfCache.put(cacheKey, pdfBytes);
-                    log.info("PDF cached for: {} (expires in 5 minutes)", cacheKey);
+                    log.info("PDF cached for: {} (expires in 1 hour)", cacheKey);
                 })
                 .doOnError(e -> log.error("PDF generation failed for alias: {}", alias, e));
     }
@@ -126,15 +144,15 @@ public class PublicResumeService {
     }
 
     /**
-     * Clear the PDF cache for a specific alias or all.
+     * Clear the PDF cache for a specific alias or all, on every node.
      * Call this after profile updates to ensure fresh PDF generation.
      */
     public void clearPdfCache(String alias) {
         if (alias == null) {
-            pdfCache.invalidateAll();
+            invalidationBus.publishAll(CacheInvalidationBus.RESUME_PDFS);
             log.info("PDF cache cleared for all aliases");
         } else {
-            pdfCache.asMap().keySet().removeIf(k -> k.startsWith(alias.toLowerCase()));
+            invalidationBus.publish(CacheInvalidationBus.RESUME_PDFS, alias.toLowerCase());
             log.info("PDF cache cleared for alias: {}", alias);
         }
     }
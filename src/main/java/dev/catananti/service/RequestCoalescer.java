@@ -0,0 +1,91 @@
+package dev.catananti.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loading: concurrent subscribers asking for the same logical resource share one in-flight load.
+ * <p>
+ * The first subscriber for a key starts the load; anyone arriving before it finishes joins it instead of
+ * starting another. The flight is forgotten as soon as it terminates, so nothing is cached here and a failed
+ * load is retried by the next caller. A subscriber that cancels does not abort the load for the others.
+ * </p>
+ * Keys are grouped for metrics by their prefix up to {@code ::} (e.g. {@code articles}, {@code feed}):
+ * {@code blog.coalescer.requests{resource, result=loaded|coalesced}}.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final String GROUP_SEPARATOR = "::";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, FlightStats> stats = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run {@code loader} for {@code key}, or join the load already running for it.
+     * An empty load completes every subscriber empty; an error is propagated to all of them.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String key, Supplier<? extends Mono<? extends T>> loader) {
+        return Mono.defer(() -> {
+            FlightStats group = stats.computeIfAbsent(group(key), this::register);
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+            if (running != null) {
+                group.coalesced.increment();
+                return Mono.fromFuture(running, true);
+            }
+            group.loaded.increment();
+            Mono.defer(loader).<Object>map(value -> value).toFuture().whenComplete((value, error) -> {
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(value);
+                }
+            });
+            return Mono.fromFuture(flight, true);
+        }).map(value -> (T) value);
+    }
+
+    /** Loads currently running. */
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static String group(String key) {
+        int separator = key.indexOf(GROUP_SEPARATOR);
+        return separator > 0 ? key.substring(0, separator) : "other";
+    }
+
+    private FlightStats register(String group) {
+        FlightStats flightStats = new FlightStats();
+        for (var result : List.of(Map.entry("loaded", flightStats.loaded), Map.entry("coalesced", flightStats.coalesced))) {
+            FunctionCounter.builder("blog.coalescer.requests", result.getValue(), LongAdder::sum)
+                    .description("Loads started versus subscribers that joined a load already in flight")
+                    .tag("resource", group)
+                    .tag("result", result.getKey())
+                    .register(meterRegistry);
+        }
+        return flightStats;
+    }
+
+    private static final class FlightStats {
+        private final LongAdder loaded = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
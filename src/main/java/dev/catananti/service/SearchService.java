@@ -1,19 +1,27 @@
 package dev.catananti.service;
 
 import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
+import dev.catananti.dto.PageCursor;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.dto.SearchRequest;
+import dev.catananti.config.LocaleConstants;
 import dev.catananti.entity.Article;
 import dev.catananti.entity.ArticleStatus;
 import dev.catananti.repository.ArticleRepository;
-import dev.catananti.repository.CommentRepository;
 import dev.catananti.repository.TagRepository;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.search.ArticleSearchIndex;
+import dev.catananti.service.search.InMemorySearchEngine;
+import dev.catananti.service.search.SearchResultCache;
+import dev.catananti.service.search.TypeaheadService;
 import dev.catananti.util.DigestUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -35,59 +43,133 @@ public class SearchService {
     private static final String ALIAS_ARTICLES = "a";
     private static final String ALIAS_ARTICLE_TAGS = "at";
     private static final String ALIAS_TAGS = "t";
+    private static final int SUGGESTION_LIMIT = 5;
 
     private final ArticleRepository articleRepository;
     private final TagRepository tagRepository;
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
     private final R2dbcEntityTemplate r2dbcTemplate;
+    private final TypeaheadService typeaheadService;
+    private final SearchResultCache searchResultCache;
 
     @Value("${app.search.use-fts:false}")
     private boolean useFts;
 
+    /** Present when {@code app.search.engine=memory}; requests it cannot serve fall through to SQL. */
+    @Autowired(required = false)
+    @Nullable
+    private InMemorySearchEngine searchEngine;
+
+    /**
+     * Text-search configuration for a locale code; mirrors the {@code article_search_config} SQL function
+     * that builds the stored {@code search_vector} columns, so query and document are stemmed alike.
+     */
+    static String searchConfig(String locale) {
+        String language = locale == null ? "" : locale.toLowerCase().split("-", 2)[0];
+        return switch (language) {
+            case "pt" -> "portuguese";
+            case "es" -> "spanish";
+            case "it" -> "italian";
+            case "fr" -> "french";
+            case "de" -> "german";
+            default -> "english";
+        };
+    }
+
     /**
-     * Generates the SQL condition for text search.
-     * Uses PostgreSQL FTS (to_tsvector/plainto_tsquery) when useFts is true,
-     * falls back to ILIKE for H2 compatibility.
+     * Lower-cased translation locale worth searching in {@code article_i18n}, or null for the default locale
+     * and anything outside {@link LocaleConstants#SUPPORTED_LOCALE_CODES} (it is inlined into the SQL).
      */
-    private String ftsCondition(String tableAlias, String paramRef) {
+    static String translationLocale(String locale) {
+        if (!LocaleConstants.isSupported(locale)) {
+            return null;
+        }
+        String normalized = locale.toLowerCase();
+        return normalized.equals(LocaleConstants.DEFAULT_LOCALE) ? null : normalized;
+    }
+
+    private static String tsQuery(String locale, String paramRef) {
+        return "plainto_tsquery('%s'::regconfig, %s)".formatted(searchConfig(locale), paramRef);
+    }
+
+    /**
+     * Generates the SQL condition for text search on articles aliased {@code a}.
+     * Uses the stored, weighted {@code search_vector} (GIN-indexed) when useFts is true, also matching
+     * the translation in the request locale; falls back to ILIKE (pg_trgm-indexed) for H2 compatibility.
+     */
+    private String ftsCondition(String paramRef, String locale) {
         if (useFts) {
-            String prefix = tableAlias.isEmpty() ? "" : tableAlias + ".";
-            return "to_tsvector('english', coalesce(%stitle, '') || ' ' || coalesce(%sexcerpt, '') || ' ' || coalesce(%scontent, '')) @@ plainto_tsquery('english', %s)"
-                    .formatted(prefix, prefix, prefix, paramRef);
+            String condition = "a.search_vector @@ " + tsQuery(locale, paramRef);
+            String translation = translationLocale(locale);
+            if (translation == null) {
+                return condition;
+            }
+            return ("(%s OR a.id IN (SELECT i.article_id FROM article_i18n i WHERE i.locale = '%s' AND i.search_vector @@ %s))")
+                    .formatted(condition, translation, tsQuery(locale, paramRef));
         }
-        String prefix = tableAlias.isEmpty() ? "" : tableAlias + ".";
-        return "(LOWER(%stitle) LIKE LOWER('%%' || %s || '%%') OR LOWER(%scontent) LIKE LOWER('%%' || %s || '%%') OR LOWER(%sexcerpt) LIKE LOWER('%%' || %s || '%%'))"
-                .formatted(prefix, paramRef, prefix, paramRef, prefix, paramRef);
+        return "(a.title ILIKE '%%' || %s || '%%' OR a.content ILIKE '%%' || %s || '%%' OR a.excerpt ILIKE '%%' || %s || '%%')"
+                .formatted(paramRef, paramRef, paramRef);
+    }
+
+    /**
+     * Rank of an article for the query; the translation's vector is used when one exists in the request locale.
+     */
+    private String rankExpression(String paramRef, String locale) {
+        String translation = translationLocale(locale);
+        String vector = translation == null
+                ? "a.search_vector"
+                : "coalesce((SELECT i.search_vector FROM article_i18n i WHERE i.article_id = a.id AND i.locale = '%s'), a.search_vector)"
+                        .formatted(translation);
+        return "ts_rank(%s, %s)".formatted(vector, tsQuery(locale, paramRef));
     }
 
-    public Mono<PageResponse<ArticleResponse>> searchArticles(SearchRequest request) {
+    /**
+     * Search published articles; pages are served through {@link SearchResultCache}.
+     */
+    public Mono<PageResponse<ArticleSummary>> searchArticles(SearchRequest request) {
         String query = request.getQuery() != null ? request.getQuery().trim() : "";
-        // F-291: Sanitize LIKE special characters to prevent wildcard injection
+        return searchResultCache.getOrSearch(request, () -> runSearch(request))
+                .doOnNext(page -> recordQuery(query, page));
+    }
+
+    private Mono<PageResponse<ArticleSummary>> runSearch(SearchRequest request) {
+        String query = request.getQuery() != null ? request.getQuery().trim() : "";
+        // F-291: Sanitize LIKE special characters to prevent wildcard injection; FTS takes the raw text
         String sanitizedQuery = DigestUtils.escapeLikePattern(query);
+        String textQuery = useFts ? query : sanitizedQuery;
         int offset = request.getPage() * request.getSize();
         log.info("Searching articles: query='{}', page={}, size={}, tags={}", query, request.getPage(), request.getSize(), request.getTags());
 
         boolean hasDateFilter = request.getDateFrom() != null || request.getDateTo() != null;
 
+        if (request.getCursor() != null) {
+            return searchArticlesAfter(request, query, textQuery);
+        }
+
         if (query.isEmpty() && (request.getTags() == null || request.getTags().isEmpty()) && !hasDateFilter) {
             return getRecentArticles(request.getPage(), request.getSize());
         }
 
+        ArticleSearchIndex.Result indexed = searchEngine != null ? searchEngine.search(request) : null;
+        if (indexed != null) {
+            return hydrate(indexed, request);
+        }
+
         Flux<Article> articlesFlux;
         Mono<Long> countMono;
 
         LocalDateTime from = request.getDateFrom() != null ? request.getDateFrom().atStartOfDay() : null;
         LocalDateTime to = request.getDateTo() != null ? request.getDateTo().atTime(LocalTime.MAX) : null;
+        String locale = request.getLocale();
 
         if (request.getTags() != null && !request.getTags().isEmpty()) {
             // Search with tags filter (and optional date range)
-            articlesFlux = searchByQueryAndTags(sanitizedQuery, request.getTags(), request.getSize(), offset, request.getSortBy(), from, to);
-            countMono = countByQueryAndTags(sanitizedQuery, request.getTags(), from, to);
-        } else if (hasDateFilter) {
-            // Search with date range (using dynamic SQL)
-            articlesFlux = searchByQueryAndDateRange(sanitizedQuery, from, to, request.getSize(), offset);
-            countMono = countByQueryAndDateRange(sanitizedQuery, from, to);
+            articlesFlux = searchByQueryAndTags(textQuery, locale, request.getTags(), request.getSize(), offset, request.getSortBy(), from, to, null);
+            countMono = countByQueryAndTags(textQuery, locale, request.getTags(), from, to);
+        } else if (hasDateFilter || useFts) {
+            // Search with date range and/or full-text match (using dynamic SQL)
+            articlesFlux = searchByQueryAndDateRange(textQuery, locale, from, to, request.getSize(), offset, request.getSortBy(), null);
+            countMono = countByQueryAndDateRange(textQuery, locale, from, to);
         } else {
             // Search only by query
             articlesFlux = articleRepository.searchByStatusAndQuery(ArticleStatus.PUBLISHED.name(), sanitizedQuery, request.getSize(), offset);
@@ -99,15 +181,65 @@ public class SearchService {
                 .flatMap(this::batchEnrichArticles)
                 .map(articles -> {
                     return articles.stream()
-                            .map(this::toResponse)
+                            .map(this::toSummary)
                             .toList();
                 })
                 .zipWith(countMono)
                 .map(tuple -> buildPageResponse(tuple.getT1(), tuple.getT2(), request.getPage(), request.getSize()));
     }
 
-    private Flux<Article> searchByQueryAndTags(String query, List<String> tags, int limit, int offset, String sortBy,
-                                                LocalDateTime dateFrom, LocalDateTime dateTo) {
+    /** Queries that found something feed the popular-query suggestions. */
+    private void recordQuery(String query, PageResponse<ArticleSummary> page) {
+        if (!query.isEmpty() && page.getPage() == 0 && page.getTotalElements() > 0) {
+            typeaheadService.recordQuery(query);
+        }
+    }
+
+    /**
+     * Cursor-mode search, newest first. Every branch seeks past the {@code (published_at, id)} of the previous
+     * page instead of using an offset, and no count query runs. Only date ordering can be resumed this way,
+     * so relevance falls back to date here.
+     */
+    private Mono<PageResponse<ArticleSummary>> searchArticlesAfter(SearchRequest request, String query, String textQuery) {
+        String sortBy = request.getSortBy();
+        if (sortBy != null && !sortBy.equalsIgnoreCase("date") && !sortBy.equalsIgnoreCase("relevance")) {
+            return Mono.error(new IllegalArgumentException("Cursor pagination supports only date ordering"));
+        }
+        PageCursor position = PageCursor.decode(request.getCursor());
+        if (position != null && position.at() == null) {
+            return Mono.error(new IllegalArgumentException("Invalid pagination cursor"));
+        }
+        int limit = request.getSize() + 1;
+        String status = ArticleStatus.PUBLISHED.name();
+        String locale = request.getLocale();
+        LocalDateTime from = request.getDateFrom() != null ? request.getDateFrom().atStartOfDay() : null;
+        LocalDateTime to = request.getDateTo() != null ? request.getDateTo().atTime(LocalTime.MAX) : null;
+
+        Flux<Article> articlesFlux;
+        if (request.getTags() != null && !request.getTags().isEmpty()) {
+            articlesFlux = searchByQueryAndTags(textQuery, locale, request.getTags(), limit, 0, "date", from, to, position);
+        } else if (from != null || to != null || (useFts && !query.isEmpty())) {
+            articlesFlux = searchByQueryAndDateRange(textQuery, locale, from, to, limit, 0, "date", position);
+        } else if (query.isEmpty()) {
+            articlesFlux = position == null
+                    ? articleRepository.findByStatusOrderByPublishedAtDesc(status, limit, 0)
+                    : articleRepository.findByStatusPublishedBefore(status, position.at(), position.id(), limit);
+        } else {
+            articlesFlux = position == null
+                    ? articleRepository.searchByStatusAndQuery(status, textQuery, limit, 0)
+                    : articleRepository.searchByStatusAndQueryBefore(status, textQuery, position.at(), position.id(), limit);
+        }
+
+        return articlesFlux
+                .collectList()
+                .flatMap(this::batchEnrichArticles)
+                .map(articles -> PageResponse.ofCursor(articles.stream().map(this::toSummary).toList(),
+                        request.getSize(), position == null,
+                        summary -> new PageCursor(summary.getPublishedAt(), Long.parseLong(summary.getId()))));
+    }
+
+    private Flux<Article> searchByQueryAndTags(String query, String locale, List<String> tags, int limit, int offset, String sortBy,
+                                                LocalDateTime dateFrom, LocalDateTime dateTo, PageCursor position) {
         // Validate and sanitize tags - only allow alphanumeric and hyphens
         List<String> sanitizedTags = tags.stream()
                 .filter(t -> t != null && TAG_PATTERN.matcher(t).matches())
@@ -122,17 +254,17 @@ public class SearchService {
             case "views" -> "a.views_count DESC";
             case "likes" -> "a.likes_count DESC";
             case "title" -> "a.title ASC";
-            default -> "a.published_at DESC";
+            case "relevance" -> rankedOrder("$2", query, locale, position);
+            default -> "a.published_at DESC, a.id DESC";
         };
 
-        // Build parameterized query with positional parameters for tags
+        // Build parameterized query with positional parameters for tags.
+        // Semi-join instead of JOIN + DISTINCT so the ORDER BY may use ts_rank.
         StringBuilder sql = new StringBuilder("""
-                SELECT DISTINCT a.* FROM articles a
-                JOIN article_tags at ON a.id = at.article_id
-                JOIN tags t ON at.tag_id = t.id
+                SELECT %s FROM articles a
                 WHERE a.status = 'PUBLISHED'
-                AND t.slug = ANY($1)
-                AND """ + ftsCondition("a", "$2") + "\n");
+                AND a.id IN (SELECT at.article_id FROM article_tags at JOIN tags t ON at.tag_id = t.id WHERE t.slug = ANY($1))
+                AND """.formatted(ArticleRepository.SUMMARY_COLUMNS_A) + tagQueryCondition(query, locale) + "\n");
 
         int paramIdx = 3;
         if (dateFrom != null) {
@@ -141,6 +273,9 @@ public class SearchService {
         if (dateTo != null) {
             sql.append(" AND a.published_at <= $").append(paramIdx++);
         }
+        if (position != null) {
+            sql.append(" AND (a.published_at, a.id) < ($").append(paramIdx++).append(", $").append(paramIdx++).append(")");
+        }
 
         sql.append(" ORDER BY ").append(orderBy);
         sql.append(" LIMIT $").append(paramIdx++).append(" OFFSET $").append(paramIdx);
@@ -159,13 +294,38 @@ public class SearchService {
         if (dateTo != null) {
             spec = spec.bind("$" + bindIdx++, dateTo);
         }
+        if (position != null) {
+            spec = spec.bind("$" + bindIdx++, position.at()).bind("$" + bindIdx++, position.id());
+        }
         spec = spec.bind("$" + bindIdx++, limit);
         spec = spec.bind("$" + bindIdx, offset);
 
         return spec.map((row, metadata) -> mapRowToArticle(row)).all();
     }
 
-    private Mono<Long> countByQueryAndTags(String query, List<String> tags,
+    /**
+     * Tag searches always bind the query as {@code $2}; an empty query must not filter, but an empty
+     * tsquery matches nothing, so the FTS condition is skipped for it.
+     */
+    private String tagQueryCondition(String query, String locale) {
+        if (useFts && (query == null || query.isEmpty())) {
+            return "$2 = ''";
+        }
+        return ftsCondition("$2", locale);
+    }
+
+    /**
+     * ORDER BY for relevance: {@code ts_rank} over the stored vector with FTS, date otherwise.
+     * A cursor resumes by {@code (published_at, id)}, so cursor pages always order by date.
+     */
+    private String rankedOrder(String paramRef, String query, String locale, PageCursor position) {
+        if (!useFts || position != null || query == null || query.isEmpty()) {
+            return "a.published_at DESC, a.id DESC";
+        }
+        return rankExpression(paramRef, locale) + " DESC, a.published_at DESC, a.id DESC";
+    }
+
+    private Mono<Long> countByQueryAndTags(String query, String locale, List<String> tags,
                                             LocalDateTime dateFrom, LocalDateTime dateTo) {
         // Validate and sanitize tags
         List<String> sanitizedTags = tags.stream()
@@ -178,12 +338,10 @@ public class SearchService {
         }
 
         StringBuilder sql = new StringBuilder("""
-                SELECT COUNT(DISTINCT a.id) FROM articles a
-                JOIN article_tags at ON a.id = at.article_id
-                JOIN tags t ON at.tag_id = t.id
+                SELECT COUNT(*) FROM articles a
                 WHERE a.status = 'PUBLISHED'
-                AND t.slug = ANY($1)
-                AND """ + ftsCondition("a", "$2") + "\n");
+                AND a.id IN (SELECT at.article_id FROM article_tags at JOIN tags t ON at.tag_id = t.id WHERE t.slug = ANY($1))
+                AND """ + tagQueryCondition(query, locale) + "\n");
 
         int paramIdx = 3;
         if (dateFrom != null) {
@@ -213,29 +371,35 @@ public class SearchService {
                 .defaultIfEmpty(0L);
     }
 
-    private Flux<Article> searchByQueryAndDateRange(String query, LocalDateTime dateFrom, LocalDateTime dateTo,
-                                                     int limit, int offset) {
+    private Flux<Article> searchByQueryAndDateRange(String query, String locale, LocalDateTime dateFrom, LocalDateTime dateTo,
+                                                     int limit, int offset, String sortBy, PageCursor position) {
         StringBuilder sql = new StringBuilder("""
-                SELECT * FROM articles
-                WHERE status = 'PUBLISHED'
-                """);
+                SELECT %s FROM articles a
+                WHERE a.status = 'PUBLISHED'
+                """.formatted(ArticleRepository.SUMMARY_COLUMNS_A));
 
         int paramIdx = 1;
         boolean hasQuery = query != null && !query.isEmpty();
 
         if (hasQuery) {
-            sql.append(" AND ").append(ftsCondition("", "$1"));
+            sql.append(" AND ").append(ftsCondition("$1", locale));
             paramIdx = 2;
         }
 
         if (dateFrom != null) {
-            sql.append(" AND published_at >= $").append(paramIdx++);
+            sql.append(" AND a.published_at >= $").append(paramIdx++);
         }
         if (dateTo != null) {
-            sql.append(" AND published_at <= $").append(paramIdx++);
+            sql.append(" AND a.published_at <= $").append(paramIdx++);
+        }
+        if (position != null) {
+            sql.append(" AND (a.published_at, a.id) < ($").append(paramIdx++).append(", $").append(paramIdx++).append(")");
         }
 
-        sql.append(" ORDER BY published_at DESC LIMIT $").append(paramIdx++).append(" OFFSET $").append(paramIdx);
+        String orderBy = "relevance".equalsIgnoreCase(sortBy)
+                ? rankedOrder("$1", query, locale, position)
+                : "a.published_at DESC, a.id DESC";
+        sql.append(" ORDER BY ").append(orderBy).append(" LIMIT $").append(paramIdx++).append(" OFFSET $").append(paramIdx);
 
         var spec = r2dbcTemplate.getDatabaseClient().sql(sql.toString());
 
@@ -249,31 +413,34 @@ public class SearchService {
         if (dateTo != null) {
             spec = spec.bind("$" + bindIdx++, dateTo);
         }
+        if (position != null) {
+            spec = spec.bind("$" + bindIdx++, position.at()).bind("$" + bindIdx++, position.id());
+        }
         spec = spec.bind("$" + bindIdx++, limit);
         spec = spec.bind("$" + bindIdx, offset);
 
         return spec.map((row, metadata) -> mapRowToArticle(row)).all();
     }
 
-    private Mono<Long> countByQueryAndDateRange(String query, LocalDateTime dateFrom, LocalDateTime dateTo) {
+    private Mono<Long> countByQueryAndDateRange(String query, String locale, LocalDateTime dateFrom, LocalDateTime dateTo) {
         StringBuilder sql = new StringBuilder("""
-                SELECT COUNT(*) FROM articles
-                WHERE status = 'PUBLISHED'
+                SELECT COUNT(*) FROM articles a
+                WHERE a.status = 'PUBLISHED'
                 """);
 
         int paramIdx = 1;
         boolean hasQuery = query != null && !query.isEmpty();
 
         if (hasQuery) {
-            sql.append(" AND ").append(ftsCondition("", "$1"));
+            sql.append(" AND ").append(ftsCondition("$1", locale));
             paramIdx = 2;
         }
 
         if (dateFrom != null) {
-            sql.append(" AND published_at >= $").append(paramIdx++);
+            sql.append(" AND a.published_at >= $").append(paramIdx++);
         }
         if (dateTo != null) {
-            sql.append(" AND published_at <= $").append(paramIdx++);
+            sql.append(" AND a.published_at <= $").append(paramIdx++);
         }
 
         var spec = r2dbcTemplate.getDatabaseClient().sql(sql.toString());
@@ -294,19 +461,44 @@ public class SearchService {
                 .defaultIfEmpty(0L);
     }
 
-    private Mono<PageResponse<ArticleResponse>> getRecentArticles(int page, int size) {
+    /**
+     * Load the summary rows for in-memory hits, keeping the index's ranking. Rows unpublished since
+     * they were indexed are dropped from the page.
+     */
+    private Mono<PageResponse<ArticleSummary>> hydrate(ArticleSearchIndex.Result result, SearchRequest request) {
+        List<Long> ids = result.hits().stream().map(ArticleSearchIndex.Hit::articleId).toList();
+        if (ids.isEmpty()) {
+            return Mono.just(buildPageResponse(List.of(), (long) result.total(), request.getPage(), request.getSize()));
+        }
+        java.util.Map<Long, String> highlights = new java.util.HashMap<>();
+        result.hits().forEach(hit -> highlights.put(hit.articleId(), hit.snippet()));
+        return articleRepository.findPublishedSummariesByIds(ids)
+                .collectMap(Article::getId)
+                .map(byId -> ids.stream().map(byId::get).filter(java.util.Objects::nonNull).toList())
+                .flatMap(this::batchEnrichArticles)
+                .map(articles -> articles.stream()
+                        .map(article -> {
+                            ArticleSummary summary = toSummary(article);
+                            summary.setHighlight(highlights.get(article.getId()));
+                            return summary;
+                        })
+                        .toList())
+                .map(content -> buildPageResponse(content, (long) result.total(), request.getPage(), request.getSize()));
+    }
+
+    private Mono<PageResponse<ArticleSummary>> getRecentArticles(int page, int size) {
         int offset = page * size;
         return articleRepository.findByStatusOrderByPublishedAtDesc(ArticleStatus.PUBLISHED.name(), size, offset)
                 .collectList()
                 .flatMap(this::batchEnrichArticles)
-                .map(articles -> articles.stream().map(this::toResponse).toList())
+                .map(articles -> articles.stream().map(this::toSummary).toList())
                 .zipWith(articleRepository.countByStatus(ArticleStatus.PUBLISHED.name()))
                 .map(tuple -> buildPageResponse(tuple.getT1(), tuple.getT2(), page, size));
     }
 
     /**
-     * Batch-enrich articles with tags, author names, and comment counts.
-     * Uses 3 constant queries instead of 3*N (N+1 fix).
+     * Batch-enrich articles with tags and author names; comment counts come with the article row.
+     * Uses 2 constant queries instead of 3*N (N+1 fix).
      * F-222: Enrichment logic is kept here since it is tightly coupled to SearchService's
      * query result format. Extract to ArticleEnrichmentHelper when reused by other services.
      */
@@ -352,44 +544,28 @@ public class SearchService {
                 : userRepository.findAllById(authorIds)
                         .collectMap(u -> u.getId(), u -> u.getName());
 
-        // Batch fetch comment counts
-        Mono<java.util.Map<Long, Integer>> commentsMono = r2dbcTemplate.getDatabaseClient()
-                .sql("""
-                    SELECT article_id, COUNT(*) as cnt FROM comments
-                    WHERE article_id = ANY($1) AND status = 'APPROVED'
-                    GROUP BY article_id
-                    """)
-                .bind("$1", articleIds.toArray(new Long[0]))
-                .map((row, meta) -> java.util.Map.entry(
-                        row.get("article_id", Long.class),
-                        row.get("cnt", Long.class).intValue()))
-                .all()
-                .collectMap(java.util.Map.Entry::getKey, java.util.Map.Entry::getValue);
-
-        return Mono.zip(tagsMono, authorsMono, commentsMono)
+        return Mono.zip(tagsMono, authorsMono)
                 .map(tuple -> {
                     var tagsMap = tuple.getT1();
                     var authorsMap = tuple.getT2();
-                    var commentsMap = tuple.getT3();
 
                     for (Article article : articles) {
                         article.setTags(tagsMap.getOrDefault(article.getId(), java.util.Set.of()));
                         article.setAuthorName(article.getAuthorId() != null
                                 ? authorsMap.getOrDefault(article.getAuthorId(), "Unknown")
                                 : "Unknown");
-                        article.setCommentCount(commentsMap.getOrDefault(article.getId(), 0));
                     }
                     return articles;
                 });
     }
 
+    /** Maps a {@link ArticleRepository#SUMMARY_COLUMNS} row; list results never carry the body. */
     private Article mapRowToArticle(io.r2dbc.spi.Row row) {
         return Article.builder()
                 .id(row.get("id", Long.class))
                 .slug(row.get("slug", String.class))
                 .title(row.get("title", String.class))
                 .subtitle(row.get("subtitle", String.class))
-                .content(row.get("content", String.class))
                 .excerpt(row.get("excerpt", String.class))
                 .coverImageUrl(row.get("cover_image_url", String.class))
                 .authorId(row.get("author_id", Long.class))
@@ -398,16 +574,14 @@ public class SearchService {
                 .readingTimeMinutes(row.get("reading_time_minutes", Integer.class))
                 .viewsCount(row.get("views_count", Integer.class))
                 .likesCount(row.get("likes_count", Integer.class))
-                .seoTitle(row.get("seo_title", String.class))
-                .seoDescription(row.get("seo_description", String.class))
-                .seoKeywords(row.get("seo_keywords", String.class))
+                .commentCount(row.get("approved_comment_count", Integer.class))
                 .createdAt(row.get("created_at", java.time.LocalDateTime.class))
                 .updatedAt(row.get("updated_at", java.time.LocalDateTime.class))
                 .build();
     }
 
-    private ArticleResponse toResponse(Article article) {
-        return ArticleResponse.builder()
+    private ArticleSummary toSummary(Article article) {
+        return ArticleSummary.builder()
                 .id(String.valueOf(article.getId()))
                 .slug(article.getSlug())
                 .title(article.getTitle())
@@ -439,15 +613,23 @@ public class SearchService {
                 .build();
     }
 
-    private PageResponse<ArticleResponse> buildPageResponse(List<ArticleResponse> content, Long total, int page, int size) {
+    private PageResponse<ArticleSummary> buildPageResponse(List<ArticleSummary> content, Long total, int page, int size) {
         return PageResponse.of(content, page, size, total);
     }
 
+    /**
+     * Completions from the in-memory {@link TypeaheadService} trie; the SQL title lookup below only answers
+     * until the trie has been built after startup.
+     */
     public Flux<String> getSuggestions(String prefix) {
         if (prefix == null || prefix.length() < 2) {
             return Flux.empty();
         }
         log.debug("Getting search suggestions for prefix='{}'", prefix);
+        List<String> completions = typeaheadService.suggest(prefix, SUGGESTION_LIMIT);
+        if (completions != null) {
+            return Flux.fromIterable(completions);
+        }
 
         String sql = """
                 SELECT title FROM (
@@ -455,9 +637,9 @@ public class SearchService {
                     WHERE status = 'PUBLISHED'
                     AND LOWER(title) LIKE LOWER($1)
                     ORDER BY views_count DESC
-                    LIMIT 5
+                    LIMIT %d
                 )
-                """;
+                """.formatted(SUGGESTION_LIMIT);
 
         return r2dbcTemplate.getDatabaseClient()
                 .sql(sql)
@@ -1,5 +1,6 @@
 package dev.catananti.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.dto.TagRequest;
 import dev.catananti.dto.TagResponse;
@@ -8,6 +9,9 @@ import dev.catananti.entity.Tag;
 import dev.catananti.exception.DuplicateResourceException;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.repository.TagRepository;
+import dev.catananti.service.search.SearchResultCache;
+import dev.catananti.service.search.TypeaheadService;
+import dev.catananti.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.r2dbc.core.DatabaseClient;
@@ -16,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -30,9 +35,15 @@ public class TagService {
     private static final Pattern NON_SLUG_CHARS = Pattern.compile("[^a-z0-9]+");
     private static final Pattern LEADING_TRAILING_HYPHENS = Pattern.compile("^-+|-+$");
 
+    private static final Duration TAG_CACHE_TTL = Duration.ofMinutes(10);
+    private static final TypeReference<PageResponse<TagResponse>> TAG_PAGE_TYPE = new TypeReference<>() {};
+
     private final TagRepository tagRepository;
     private final IdService idService;
     private final DatabaseClient databaseClient;
+    private final CacheService cacheService;
+    private final CacheInvalidationBus invalidationBus;
+    private final SearchResultCache searchResultCache;
 
     public Flux<TagResponse> getAllTags(String locale) {
         return tagRepository.findAll()
@@ -49,7 +60,15 @@ public class TagService {
                 });
     }
 
+    /**
+     * Public tag listing, served read-through from the cache (see {@link CacheService#tagsPageKey}).
+     */
     public Mono<PageResponse<TagResponse>> getAllTagsPaginated(String locale, int page, int size) {
+        return cacheService.getOrLoad(CacheService.tagsPageKey(page, size, locale), TAG_PAGE_TYPE, TAG_CACHE_TTL,
+                () -> loadTagsPage(locale, page, size));
+    }
+
+    private Mono<PageResponse<TagResponse>> loadTagsPage(String locale, int page, int size) {
         int offset = page * size;
         return tagRepository.findAllPaginated(size, offset)
                 .collectList()
@@ -107,7 +126,7 @@ public class TagService {
 
                     return tagRepository.save(tag)
                             .doOnSuccess(t -> log.info("Tag created: {}", t.getSlug()))
-                            .flatMap(t -> toResponseWithCount(t, null));
+                            .flatMap(t -> invalidateTagCaches().then(toResponseWithCount(t, null)));
                 });
     }
 
@@ -116,6 +135,7 @@ public class TagService {
         return tagRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Tag", "id", id)))
                 .flatMap(tag -> {
+                    String oldSlug = tag.getSlug();
                     // Preserve existing translations, update English
                     LocalizedText names = tag.getName() != null ? new LocalizedText(tag.getName().getTranslations()) : new LocalizedText();
                     names.put("en", request.getName());
@@ -135,7 +155,7 @@ public class TagService {
 
                     return tagRepository.save(tag)
                             .doOnSuccess(t -> log.info("Tag updated: {}", t.getSlug()))
-                            .flatMap(t -> toResponseWithCount(t, null));
+                            .flatMap(t -> invalidateTagCaches(oldSlug, t.getSlug()).then(toResponseWithCount(t, null)));
                 });
     }
 
@@ -144,10 +164,27 @@ public class TagService {
         return tagRepository.findById(id)
                 .flatMap(tag -> tagRepository.deleteById(id)
                         .doOnSuccess(v -> log.info("Tag deleted: {} (slug={})", id, tag.getSlug()))
+                        .then(invalidateTagCaches(tag.getSlug()))
                 )
                 .then(); // Idempotent: if tag not found, complete silently
     }
 
+    /**
+     * Tag listings, the sitemap, tag suggestions and search pages always depend on the tag set. Renames, deletes and
+     * merges also change the tags embedded in cached article responses for the affected slugs. All of it waits for the
+     * commit, so a concurrent read cannot cache the pre-write tags again.
+     */
+    private Mono<Void> invalidateTagCaches(String... affectedSlugs) {
+        return TransactionCallbacks.afterCommit(Mono.defer(() -> Mono.when(
+                Mono.fromRunnable(
+                        () -> invalidationBus.publish(CacheInvalidationBus.SEARCH_SUGGESTIONS, TypeaheadService.TAGS_KEY)),
+                Mono.fromRunnable(searchResultCache::bumpVersion),
+                cacheService.invalidateAllTags(),
+                cacheService.delete(CacheService.SITEMAP_KEY),
+                Flux.fromArray(affectedSlugs).flatMap(cacheService::invalidateArticlesByTag)
+        )));
+    }
+
     private Mono<TagResponse> toResponseWithCount(Tag tag, String locale) {
         return tagRepository.countPublishedArticlesByTagId(tag.getId())
                 .defaultIfEmpty(0L)
@@ -215,6 +252,7 @@ public class TagService {
                             .bind("sourceId", sourceTagId)
                             .fetch().rowsUpdated())
                     .then(tagRepository.deleteById(sourceTagId))
+                    .then(invalidateTagCaches(source.getSlug(), target.getSlug()))
                     .then(toResponseWithCount(target, null))
                     .doOnSuccess(t -> log.info("Merged tag {} into {} (slug={})", source.getSlug(), target.getSlug(), target.getSlug()));
         });
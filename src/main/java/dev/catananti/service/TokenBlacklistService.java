@@ -1,32 +1,99 @@
 package dev.catananti.service;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * BUG-02 FIX: Service to blacklist JWT access tokens on logout.
  * Uses Redis with TTL matching the token's remaining lifetime so entries
  * auto-expire when the token would have expired anyway.
  * Falls back to local in-memory blacklist when Redis is unavailable.
+ * <p>
+ * Revoked tokens are rare, so each node keeps a Bloom filter of blacklisted JTIs and only asks Redis
+ * about tokens the filter reports as possibly revoked; a definite miss is answered locally. Every revoked
+ * jti is also kept in a sorted set scored by its expiry, and the filter is rebuilt from the unexpired part
+ * of that set (one {@code ZRANGEBYSCORE}, no keyspace scan) every {@code jwt.blacklist.snapshot-interval-ms},
+ * pruning the expired part on the way. Revocations
+ * made in between reach the other nodes over {@link CacheInvalidationBus#TOKEN_BLACKLIST}. A revocation
+ * whose broadcast is lost is therefore picked up by the next snapshot. Until the first snapshot loads, or
+ * when the last successful one is older than twice the interval, every lookup goes to Redis.
+ * </p>
  */
 @Service
 @Slf4j
 public class TokenBlacklistService {
 
     private static final String BLACKLIST_PREFIX = "jwt:blacklist:";
+    /** Revoked jtis scored by expiry in epoch millis; outside {@link #BLACKLIST_PREFIX} on purpose. */
+    private static final String REVOKED_INDEX_KEY = "jwt:revoked-by-expiry";
 
     private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
 
-    // F-242: In-memory fallback when Redis is down (key=jti, value=expiry timestamp in millis)
+    // F-242: In-memory fallback when Redis is down (key=jti, value=expiry timestamp in millis).
+    // Also holds revocations received from other nodes, replayed into each new filter snapshot.
     private final ConcurrentHashMap<String, Long> localBlacklist = new ConcurrentHashMap<>();
 
-    public TokenBlacklistService(ReactiveRedisTemplate<String, String> redisTemplate) {
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean(false);
+    private volatile JtiBloomFilter filter;
+    private volatile long snapshotLoadedAt;
+
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder unfiltered = new LongAdder();
+
+    @Value("${jwt.blacklist.filter.expected-entries:100000}")
+    private long expectedEntries = 100_000;
+
+    @Value("${jwt.blacklist.filter.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    @Value("${jwt.blacklist.snapshot-interval-ms:30000}")
+    private long snapshotIntervalMs = 30_000;
+
+    public TokenBlacklistService(ReactiveRedisTemplate<String, String> redisTemplate,
+                                 CacheInvalidationBus invalidationBus,
+                                 MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(CacheInvalidationBus.TOKEN_BLACKLIST, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String key) {
+                int split = key.indexOf(':');
+                try {
+                    remember(key.substring(split + 1), Long.parseLong(key.substring(0, split)));
+                } catch (RuntimeException e) {
+                    log.warn("Ignoring invalid token revocation message: {}", key);
+                }
+            }
+
+            @Override
+            public void evictAll() {
+                // Revocations may have been missed: check Redis until a fresh snapshot is in
+                snapshotLoadedAt = 0;
+                loadSnapshot().subscribe(null,
+                        err -> log.warn("JWT blacklist snapshot reload failed: {}", err.getMessage()));
+            }
+        });
+        registerMetrics(meterRegistry);
     }
 
     /**
@@ -40,18 +107,22 @@ public class TokenBlacklistService {
             return Mono.just(false);
         }
         // Always add to local fallback
-        localBlacklist.put(jti, System.currentTimeMillis() + remainingMs);
+        long expiresAt = System.currentTimeMillis() + remainingMs;
+        remember(jti, expiresAt);
         cleanupExpiredEntries();
 
         String key = BLACKLIST_PREFIX + jti;
         Duration ttl = Duration.ofMillis(remainingMs);
         return redisTemplate.opsForValue()
                 .set(key, "1", ttl)
+                .flatMap(ok -> redisTemplate.opsForZSet().add(REVOKED_INDEX_KEY, jti, expiresAt).thenReturn(ok))
                 .doOnSuccess(ok -> log.debug("Blacklisted JWT jti={} ttl={}ms", jti, remainingMs))
                 .onErrorResume(e -> {
                     log.debug("Redis unavailable for blacklist, using local fallback for jti={}: {}", jti, e.getMessage());
                     return Mono.just(true);
-                });
+                })
+                // Announced once stored, so another node confirming a filter hit finds the key
+                .doOnNext(ok -> invalidationBus.publish(CacheInvalidationBus.TOKEN_BLACKLIST, expiresAt + ":" + jti));
     }
 
     /**
@@ -64,6 +135,15 @@ public class TokenBlacklistService {
         if (jti == null || jti.isBlank()) {
             return Mono.just(false);
         }
+        JtiBloomFilter current = filter;
+        if (current == null || System.currentTimeMillis() - snapshotLoadedAt > 2 * snapshotIntervalMs) {
+            unfiltered.increment();
+        } else if (!current.mightContain(jti)) {
+            skipped.increment();
+            return Mono.just(false);
+        } else {
+            confirmed.increment();
+        }
         String key = BLACKLIST_PREFIX + jti;
         return redisTemplate.hasKey(key)
                 .onErrorResume(e -> {
@@ -78,6 +158,97 @@ public class TokenBlacklistService {
                 });
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        indexLegacyKeys().then(loadSnapshot()).subscribe(null,
+                err -> log.warn("Initial JWT blacklist snapshot failed, lookups stay on Redis: {}", err.getMessage()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.blacklist.snapshot-interval-ms:30000}",
+            initialDelayString = "${jwt.blacklist.snapshot-interval-ms:30000}")
+    public void refreshSnapshot() {
+        try {
+            loadSnapshot().block();
+        } catch (Exception e) {
+            log.warn("JWT blacklist snapshot refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the filter from the unexpired revocations in Redis, then replay the revocations this node knows of,
+     * which covers any added while the snapshot was read. A fresh filter also sheds the bits of expired tokens.
+     */
+    Mono<Void> loadSnapshot() {
+        if (!snapshotRunning.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        long startedAt = System.currentTimeMillis();
+        double now = startedAt;
+        return redisTemplate.opsForZSet()
+                .removeRangeByScore(REVOKED_INDEX_KEY, Range.leftUnbounded(Range.Bound.inclusive(now)))
+                .thenMany(redisTemplate.opsForZSet()
+                        .rangeByScore(REVOKED_INDEX_KEY, Range.rightUnbounded(Range.Bound.exclusive(now))))
+                .collectList()
+                .doOnNext(jtis -> {
+                    JtiBloomFilter fresh = new JtiBloomFilter(Math.max(expectedEntries, 2L * jtis.size()), falsePositiveRate);
+                    jtis.forEach(fresh::add);
+                    filter = fresh;
+                    cleanupExpiredEntries();
+                    localBlacklist.keySet().forEach(fresh::add);
+                    snapshotLoadedAt = startedAt;
+                    log.debug("JWT blacklist snapshot loaded: {} revoked tokens", jtis.size());
+                })
+                .then()
+                .doFinally(signal -> snapshotRunning.set(false));
+    }
+
+    /**
+     * Blacklist keys written before the expiry index existed are only visible to a scan; index them once at
+     * startup so the snapshot sees them. New keys are indexed when they are written.
+     */
+    private Mono<Void> indexLegacyKeys() {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(1000).build())
+                .flatMap(key -> redisTemplate.getExpire(key)
+                        .filter(ttl -> !ttl.isNegative() && !ttl.isZero())
+                        .flatMap(ttl -> redisTemplate.opsForZSet().add(REVOKED_INDEX_KEY,
+                                key.substring(BLACKLIST_PREFIX.length()),
+                                (double) (System.currentTimeMillis() + ttl.toMillis()))), 16)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Indexing pre-existing JWT blacklist keys failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void remember(String jti, long expiresAt) {
+        localBlacklist.merge(jti, expiresAt, Math::max);
+        JtiBloomFilter current = filter;
+        if (current != null) {
+            current.add(jti);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        for (var result : List.of(
+                Map.entry("skipped", skipped),
+                Map.entry("confirmed", confirmed),
+                Map.entry("unfiltered", unfiltered))) {
+            FunctionCounter.builder("blog.jwt.blacklist.lookups", result.getValue(), LongAdder::sum)
+                    .description("JWT blacklist lookups by how the local filter answered them")
+                    .tag("result", result.getKey())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("blog.jwt.blacklist.skip.ratio", this, TokenBlacklistService::skipRatio)
+                .description("Share of JWT blacklist lookups answered locally without calling Redis")
+                .register(meterRegistry);
+    }
+
+    double skipRatio() {
+        long skip = skipped.sum();
+        long total = skip + confirmed.sum() + unfiltered.sum();
+        return total == 0 ? 0.0 : (double) skip / total;
+    }
+
     /**
      * Remove expired entries from the local blacklist to prevent memory leaks.
      */
@@ -119,6 +119,8 @@ public class UserService {
         return userRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("error.user_not_found")))
                 .flatMap(existingUser -> {
+                    // F-046: the auth cache is keyed by the email the user had before this update
+                    String previousEmail = existingUser.getEmail();
                     // Check if email is being changed and if new email already exists
                     if (!existingUser.getEmail().equals(request.getEmail())) {
                         return userRepository.existsByEmail(request.getEmail())
@@ -127,9 +129,11 @@ public class UserService {
                                         return Mono.error(new IllegalArgumentException("error.email_already_exists"));
                                     }
                                     return updateUserEntity(existingUser, request);
-                                });
+                                })
+                                .doOnSuccess(u -> jwtAuthenticationFilter.evictUserFromCache(previousEmail));
                     }
-                    return updateUserEntity(existingUser, request);
+                    return updateUserEntity(existingUser, request)
+                            .doOnSuccess(u -> jwtAuthenticationFilter.evictUserFromCache(previousEmail));
                 })
                 .doOnSuccess(u -> log.debug("Updated user: {}", u.getEmail()));
     }
@@ -346,7 +350,8 @@ public class UserService {
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("error.user_not_found")))
                 .flatMap(user -> {
                     log.debug("Deleting user: {}", user.getEmail());
-                    return userRepository.delete(user);
+                    return userRepository.delete(user)
+                            .doOnSuccess(v -> jwtAuthenticationFilter.evictUserFromCache(user.getEmail()));
                 });
     }
 
@@ -375,10 +380,12 @@ public class UserService {
                                                 }
                                                 log.debug("Deleting user: {}", targetUser.getEmail());
                                                 return userRepository.delete(targetUser);
-                                            });
+                                            })
+                                            .doOnSuccess(v -> jwtAuthenticationFilter.evictUserFromCache(targetUser.getEmail()));
                                 }
                                 log.debug("Deleting user: {}", targetUser.getEmail());
-                                return userRepository.delete(targetUser);
+                                return userRepository.delete(targetUser)
+                                        .doOnSuccess(v -> jwtAuthenticationFilter.evictUserFromCache(targetUser.getEmail()));
                             });
                 });
     }
@@ -401,11 +408,15 @@ public class UserService {
                     return userRepository.save(user);
                 })
                 .map(UserResponse::fromEntity)
-                .doOnSuccess(resp -> emailService.sendAccountReactivated(resp.getEmail(), resp.getName())
+                // F-046: inactive users are cached too, so evict to let the reactivated user back in
+                .doOnSuccess(resp -> {
+                    jwtAuthenticationFilter.evictUserFromCache(resp.getEmail());
+                    emailService.sendAccountReactivated(resp.getEmail(), resp.getName())
                         .subscribe(
                                 unused -> {},
                                 err -> log.warn("Failed to send account reactivation email to {}: {}", resp.getEmail(), err.getMessage())
-                        ));
+                        );
+                });
     }
 
     public Mono<UserResponse> deactivateUser(Long id, String currentUserEmail) {
@@ -0,0 +1,506 @@
+package dev.catananti.service.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over published articles and their translations, ranked with BM25.
+ * <p>
+ * Every article contributes one document per text variant: its base text (analyzed in its
+ * {@code original_locale}) and each {@code article_i18n} translation. A query in locale {@code L} sees the
+ * {@code L} translation where one exists and the base text otherwise — the same text the reader is served.
+ * Terms map to primitive posting lists ({@code int[]} doc ids and field-weighted term frequencies);
+ * the locale, tag and date filters are {@link BitSet} intersections applied before scoring, and multi-term
+ * queries require every term, like {@code plainto_tsquery}.
+ * </p>
+ * <p>
+ * Updates replace all documents of one article. Removed documents are tombstoned and their postings are
+ * compacted once tombstones outnumber live documents; doc ids are never reused, so a periodic rebuild
+ * (see {@code InMemorySearchEngine}) keeps the arrays tight. Searches share a read lock, updates take the write lock.
+ * </p>
+ */
+public final class ArticleSearchIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final int TITLE_WEIGHT = 3;
+    static final int EXCERPT_WEIGHT = 2;
+    static final int CONTENT_WEIGHT = 1;
+
+    private static final int COMPACT_MIN_DEAD = 1024;
+    private static final int SNIPPET_LEAD = 60;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final Pattern MD_CODE_FENCE = Pattern.compile("```[^\\n]*");
+    private static final Pattern MD_IMAGE_OR_LINK = Pattern.compile("!?\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern MD_SYMBOLS = Pattern.compile("[#>*_`~|]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** One text variant of an article. {@code translation} is false for the base text. */
+    public record Entry(long articleId, String locale, boolean translation, String title, String excerpt,
+                        String content, Set<String> tags, LocalDateTime publishedAt) {
+    }
+
+    public enum Order { RELEVANCE, DATE }
+
+    /**
+     * @param text   free text; blank means filter-only, newest first
+     * @param tags   tag slugs, any of which may match; empty for no tag filter
+     * @param from   inclusive lower bound on {@code published_at}, or null
+     * @param to     inclusive upper bound on {@code published_at}, or null
+     */
+    public record Query(String text, String locale, Collection<String> tags, LocalDateTime from, LocalDateTime to,
+                        Order order, int offset, int limit) {
+    }
+
+    /** {@code snippet} is HTML-escaped content around the first match with matches wrapped in {@code <mark>}. */
+    public record Hit(long articleId, double score, String snippet) {
+    }
+
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    /** Doc ids are appended in increasing order, so each list stays sorted. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void retain(BitSet live) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    docs[kept] = docs[i];
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private int[] docFreq = new int[256];
+
+    private int docCount;
+    private long[] articleIds = new long[64];
+    private int[] lengths = new int[64];
+    private long[] publishedAt = new long[64];
+    private String[] languages = new String[64];
+    private String[] snippetSources = new String[64];
+    private int[][] docTerms = new int[64][];
+
+    private final BitSet live = new BitSet();
+    private final BitSet base = new BitSet();
+    private final Map<String, BitSet> translations = new HashMap<>();
+    private final Map<String, BitSet> shadowedBase = new HashMap<>();
+    private final Map<String, BitSet> byLanguage = new HashMap<>();
+    private final Map<String, BitSet> byTag = new HashMap<>();
+    private final Map<Long, int[]> docsByArticle = new HashMap<>();
+
+    private long totalLength;
+    private int liveDocs;
+    private int deadDocs;
+
+    /**
+     * Replace every indexed variant of an article with {@code variants} (empty removes it).
+     */
+    public void replace(long articleId, List<Entry> variants) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+            if (variants.isEmpty()) {
+                return;
+            }
+            int[] docs = new int[variants.size()];
+            int baseDoc = -1;
+            for (int i = 0; i < variants.size(); i++) {
+                Entry entry = variants.get(i);
+                docs[i] = addLocked(entry);
+                if (!entry.translation()) {
+                    baseDoc = docs[i];
+                }
+            }
+            if (baseDoc >= 0) {
+                for (Entry entry : variants) {
+                    if (entry.translation()) {
+                        shadowedBase.computeIfAbsent(localeKey(entry.locale()), k -> new BitSet()).set(baseDoc);
+                    }
+                }
+            }
+            docsByArticle.put(articleId, docs);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Number of indexed articles. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByArticle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(Query query) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(query);
+            String text = query.text() == null ? "" : query.text().strip();
+            Map<String, Set<String>> termsByLanguage = new HashMap<>();
+            int[] matches;
+            double[] scores = null;
+            if (text.isEmpty()) {
+                matches = candidates.stream().toArray();
+            } else {
+                scores = new double[docCount];
+                matches = score(text, candidates, scores, termsByLanguage);
+            }
+            int[] page = topDocs(matches, scores, query.order(), query.offset(), query.limit());
+            List<Hit> hits = new ArrayList<>(page.length);
+            for (int doc : page) {
+                hits.add(new Hit(articleIds[doc], scores != null ? scores[doc] : 0.0,
+                        snippet(doc, termsByLanguage.getOrDefault(languages[doc], Set.of()))));
+            }
+            return new Result(hits, matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== INDEXING ====================
+
+    private int addLocked(Entry entry) {
+        int doc = docCount++;
+        ensureDocCapacity(docCount);
+        SearchAnalyzer analyzer = SearchAnalyzer.forLocale(entry.locale());
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = accumulate(analyzer, entry.title(), TITLE_WEIGHT, frequencies)
+                + accumulate(analyzer, entry.excerpt(), EXCERPT_WEIGHT, frequencies)
+                + accumulate(analyzer, entry.content(), CONTENT_WEIGHT, frequencies);
+
+        int[] terms = new int[frequencies.size()];
+        int t = 0;
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            int termId = termId(frequency.getKey());
+            postings.get(termId).add(doc, frequency.getValue());
+            docFreq[termId]++;
+            terms[t++] = termId;
+        }
+
+        articleIds[doc] = entry.articleId();
+        lengths[doc] = length;
+        publishedAt[doc] = entry.publishedAt() != null ? entry.publishedAt().toEpochSecond(ZoneOffset.UTC) : NO_DATE;
+        languages[doc] = analyzer.language();
+        snippetSources[doc] = plainText(entry.content());
+        docTerms[doc] = terms;
+
+        live.set(doc);
+        liveDocs++;
+        totalLength += length;
+        byLanguage.computeIfAbsent(analyzer.language(), k -> new BitSet()).set(doc);
+        if (entry.translation()) {
+            translations.computeIfAbsent(localeKey(entry.locale()), k -> new BitSet()).set(doc);
+        } else {
+            base.set(doc);
+        }
+        if (entry.tags() != null) {
+            for (String tag : entry.tags()) {
+                byTag.computeIfAbsent(tag, k -> new BitSet()).set(doc);
+            }
+        }
+        return doc;
+    }
+
+    private static int accumulate(SearchAnalyzer analyzer, String text, int weight, Map<String, Integer> frequencies) {
+        int[] count = {0};
+        analyzer.tokenize(text, (term, start, end) -> {
+            frequencies.merge(term, weight, Integer::sum);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        int newId = postings.size();
+        postings.add(new Postings());
+        termIds.put(term, newId);
+        if (newId == docFreq.length) {
+            docFreq = Arrays.copyOf(docFreq, newId * 2);
+        }
+        return newId;
+    }
+
+    private void removeLocked(long articleId) {
+        int[] docs = docsByArticle.remove(articleId);
+        if (docs == null) {
+            return;
+        }
+        for (int doc : docs) {
+            live.clear(doc);
+            liveDocs--;
+            deadDocs++;
+            totalLength -= lengths[doc];
+            for (int termId : docTerms[doc]) {
+                docFreq[termId]--;
+            }
+            docTerms[doc] = null;
+            snippetSources[doc] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deadDocs < COMPACT_MIN_DEAD || deadDocs < liveDocs) {
+            return;
+        }
+        for (Postings list : postings) {
+            list.retain(live);
+        }
+        base.and(live);
+        for (Map<String, BitSet> sets : List.of(translations, shadowedBase, byLanguage, byTag)) {
+            sets.values().forEach(bits -> bits.and(live));
+        }
+        deadDocs = 0;
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity <= articleIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, articleIds.length * 2);
+        articleIds = Arrays.copyOf(articleIds, newLength);
+        lengths = Arrays.copyOf(lengths, newLength);
+        publishedAt = Arrays.copyOf(publishedAt, newLength);
+        languages = Arrays.copyOf(languages, newLength);
+        snippetSources = Arrays.copyOf(snippetSources, newLength);
+        docTerms = Arrays.copyOf(docTerms, newLength);
+    }
+
+    // ==================== QUERYING ====================
+
+    /** Live documents visible in the query locale, narrowed by the tag and date filters. */
+    private BitSet candidates(Query query) {
+        String locale = localeKey(query.locale());
+        BitSet visible = (BitSet) base.clone();
+        BitSet shadowed = shadowedBase.get(locale);
+        if (shadowed != null) {
+            visible.andNot(shadowed);
+        }
+        BitSet translated = translations.get(locale);
+        if (translated != null) {
+            visible.or(translated);
+        }
+        visible.and(live);
+
+        if (query.tags() != null && !query.tags().isEmpty()) {
+            BitSet tagged = new BitSet();
+            for (String tag : query.tags()) {
+                BitSet docs = byTag.get(tag);
+                if (docs != null) {
+                    tagged.or(docs);
+                }
+            }
+            visible.and(tagged);
+        }
+        if (query.from() != null || query.to() != null) {
+            long from = query.from() != null ? query.from().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+            long to = query.to() != null ? query.to().toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+            for (int doc = visible.nextSetBit(0); doc >= 0; doc = visible.nextSetBit(doc + 1)) {
+                long at = publishedAt[doc];
+                if (at == NO_DATE || at < from || at > to) {
+                    visible.clear(doc);
+                }
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * BM25 over the candidates, language by language: the query is analyzed once per language present and
+     * only documents containing every query term match.
+     */
+    private int[] score(String text, BitSet candidates, double[] scores, Map<String, Set<String>> termsByLanguage) {
+        double avgLength = liveDocs == 0 ? 1.0 : Math.max(1.0, (double) totalLength / liveDocs);
+        int[] termHits = new int[docCount];
+        BitSet matched = new BitSet();
+
+        for (Map.Entry<String, BitSet> language : byLanguage.entrySet()) {
+            BitSet docs = (BitSet) language.getValue().clone();
+            docs.and(candidates);
+            if (docs.isEmpty()) {
+                continue;
+            }
+            Set<String> terms = new LinkedHashSet<>(SearchAnalyzer.forLanguage(language.getKey()).terms(text));
+            if (terms.isEmpty()) {
+                continue;
+            }
+            termsByLanguage.put(language.getKey(), terms);
+            int[] ids = new int[terms.size()];
+            int t = 0;
+            boolean allKnown = true;
+            for (String term : terms) {
+                Integer id = termIds.get(term);
+                if (id == null || docFreq[id] == 0) {
+                    allKnown = false;
+                    break;
+                }
+                ids[t++] = id;
+            }
+            if (!allKnown) {
+                continue;
+            }
+            for (int termId : ids) {
+                double idf = Math.log(1 + (liveDocs - docFreq[termId] + 0.5) / (docFreq[termId] + 0.5));
+                Postings list = postings.get(termId);
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (!docs.get(doc)) {
+                        continue;
+                    }
+                    double tf = list.freqs[i];
+                    scores[doc] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[doc] / avgLength));
+                    termHits[doc]++;
+                }
+            }
+            for (int doc = docs.nextSetBit(0); doc >= 0; doc = docs.nextSetBit(doc + 1)) {
+                if (termHits[doc] == ids.length) {
+                    matched.set(doc);
+                }
+            }
+        }
+        return matched.stream().toArray();
+    }
+
+    private int[] topDocs(int[] matches, double[] scores, Order order, int offset, int limit) {
+        if (offset >= matches.length || limit <= 0) {
+            return new int[0];
+        }
+        Comparator<Integer> newestFirst = Comparator.<Integer>comparingLong(doc -> publishedAt[doc]).reversed()
+                .thenComparing(Comparator.<Integer>comparingLong(doc -> articleIds[doc]).reversed());
+        Comparator<Integer> comparator = order == Order.RELEVANCE && scores != null
+                ? Comparator.<Integer>comparingDouble(doc -> scores[doc]).reversed().thenComparing(newestFirst)
+                : newestFirst;
+        return Arrays.stream(matches).boxed()
+                .sorted(comparator)
+                .skip(offset)
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private String snippet(int doc, Set<String> terms) {
+        String text = snippetSources[doc];
+        if (text == null || text.isEmpty() || terms.isEmpty()) {
+            return null;
+        }
+        List<int[]> spans = new ArrayList<>();
+        SearchAnalyzer.forLanguage(languages[doc]).tokenize(text, (term, start, end) -> {
+            if (terms.contains(term)) {
+                spans.add(new int[]{start, end});
+            }
+        });
+        if (spans.isEmpty()) {
+            return null;
+        }
+        int first = spans.getFirst()[0];
+        int from = Math.max(0, first - SNIPPET_LEAD);
+        while (from > 0 && from < first && !Character.isWhitespace(text.charAt(from - 1))) {
+            from++;
+        }
+        int to = Math.min(text.length(), Math.max(from + SNIPPET_LENGTH, spans.getFirst()[1]));
+        while (to < text.length() && !Character.isWhitespace(text.charAt(to)) && to - from < SNIPPET_LENGTH + 20) {
+            to++;
+        }
+
+        StringBuilder out = new StringBuilder(to - from + 32);
+        if (from > 0) {
+            out.append('…');
+        }
+        int cursor = from;
+        for (int[] span : spans) {
+            if (span[0] < from) {
+                continue;
+            }
+            if (span[1] > to) {
+                break;
+            }
+            out.append(escape(text.substring(cursor, span[0])))
+                    .append("<mark>").append(escape(text.substring(span[0], span[1]))).append("</mark>");
+            cursor = span[1];
+        }
+        out.append(escape(text.substring(cursor, to)));
+        if (to < text.length()) {
+            out.append('…');
+        }
+        return out.toString();
+    }
+
+    /** Escapes only the HTML-reserved characters; accented letters stay as they are. */
+    private static String escape(String text) {
+        return HtmlUtils.htmlEscape(text, "UTF-8");
+    }
+
+    /** Markdown reduced to readable text for snippets. */
+    static String plainText(String markdown) {
+        if (markdown == null) {
+            return null;
+        }
+        String text = MD_CODE_FENCE.matcher(markdown).replaceAll(" ");
+        text = MD_IMAGE_OR_LINK.matcher(text).replaceAll("$1");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = MD_SYMBOLS.matcher(text).replaceAll(" ");
+        return WHITESPACE.matcher(text).replaceAll(" ").strip();
+    }
+
+    private static String localeKey(String locale) {
+        return locale == null || locale.isBlank() ? "en" : locale.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,226 @@
+package dev.catananti.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Pairwise similarity of published articles, used to precompute related-article lists.
+ * <p>
+ * The score mixes two cosines: one over tags, each weighted by its rarity ({@code ln(1 + N/df)}, so sharing
+ * a niche tag counts for more than sharing "java"), and one over TF-IDF term vectors of title, excerpt and
+ * body analyzed with {@link SearchAnalyzer}. {@code contentWeight} sets the share of the content cosine;
+ * 0 compares tags only. Term vectors keep their {@value #MAX_TERMS} heaviest terms, which keeps the model
+ * small without changing which articles come out on top.
+ * </p>
+ * Instances are immutable snapshots of a corpus. Callers that keep a corpus across updates hold its
+ * {@link Analyzed} documents and {@link Frequencies}, so a changed article is analyzed again on its own and
+ * building the next snapshot only reweighs the stored term counts.
+ */
+public final class ArticleSimilarity {
+
+    static final int MAX_TERMS = 64;
+
+    /** One article of the corpus: its tag ids and the text compared for content similarity. */
+    public record Document(long articleId, Set<Long> tagIds, String locale, String text) {
+    }
+
+    public record Neighbour(long articleId, double score) {
+    }
+
+    /** A document after analysis: its tag ids and how often each term occurs in its text. */
+    public record Analyzed(long articleId, Set<Long> tagIds, Map<String, Integer> termCounts) {
+
+        /** Terms are only counted when {@code withTerms}, i.e. the model compares content. */
+        public static Analyzed of(Document document, boolean withTerms) {
+            Map<String, Integer> counts = new HashMap<>();
+            if (withTerms) {
+                for (String term : SearchAnalyzer.forLocale(document.locale()).terms(document.text())) {
+                    counts.merge(term, 1, Integer::sum);
+                }
+            }
+            return new Analyzed(document.articleId(), Set.copyOf(document.tagIds()), Map.copyOf(counts));
+        }
+    }
+
+    /** Number of documents each tag and term occurs in; kept up to date as documents are added and removed. */
+    public static final class Frequencies {
+        private final Map<Long, Integer> tags = new HashMap<>();
+        private final Map<String, Integer> terms = new HashMap<>();
+
+        public static Frequencies of(Collection<Analyzed> documents) {
+            Frequencies frequencies = new Frequencies();
+            documents.forEach(frequencies::add);
+            return frequencies;
+        }
+
+        public void add(Analyzed document) {
+            document.tagIds().forEach(tag -> tags.merge(tag, 1, Integer::sum));
+            document.termCounts().keySet().forEach(term -> terms.merge(term, 1, Integer::sum));
+        }
+
+        public void remove(Analyzed document) {
+            document.tagIds().forEach(tag -> tags.computeIfPresent(tag, (t, count) -> count > 1 ? count - 1 : null));
+            document.termCounts().keySet().forEach(term ->
+                    terms.computeIfPresent(term, (t, count) -> count > 1 ? count - 1 : null));
+        }
+    }
+
+    /** Sparse, L2-normalized vector; {@code ids} ascending. */
+    private record Vector(int[] ids, double[] weights) {
+        private static final Vector EMPTY = new Vector(new int[0], new double[0]);
+
+        private double dot(Vector other) {
+            double sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < ids.length && j < other.ids.length) {
+                if (ids[i] == other.ids[j]) {
+                    sum += weights[i++] * other.weights[j++];
+                } else if (ids[i] < other.ids[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+
+    private final double contentWeight;
+    private final long[] articleIds;
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final Vector[] tagVectors;
+    private final Vector[] termVectors;
+
+    public ArticleSimilarity(Collection<Document> documents, double contentWeight) {
+        this(analyze(documents, contentWeight > 0), contentWeight);
+    }
+
+    private ArticleSimilarity(List<Analyzed> documents, double contentWeight) {
+        this(documents, Frequencies.of(documents), contentWeight);
+    }
+
+    /**
+     * Snapshot of already analyzed documents; {@code frequencies} must have been built from exactly these.
+     */
+    public ArticleSimilarity(Collection<Analyzed> documents, Frequencies frequencies, double contentWeight) {
+        this.contentWeight = Math.clamp(contentWeight, 0.0, 1.0);
+        int n = documents.size();
+        this.articleIds = new long[n];
+        this.tagVectors = new Vector[n];
+        this.termVectors = new Vector[n];
+
+        Map<Long, Integer> tagIndex = new HashMap<>();
+        Map<String, Integer> termIds = new HashMap<>();
+        int position = 0;
+        for (Analyzed document : documents) {
+            articleIds[position] = document.articleId();
+            positions.put(document.articleId(), position);
+
+            Map<Integer, Double> tagWeights = new HashMap<>();
+            document.tagIds().forEach(tag -> tagWeights.put(tagIndex.computeIfAbsent(tag, t -> tagIndex.size()),
+                    Math.log1p((double) n / frequencies.tags.get(tag))));
+            tagVectors[position] = vector(tagWeights, Integer.MAX_VALUE);
+
+            Map<Integer, Double> termWeights = new HashMap<>();
+            if (this.contentWeight > 0) {
+                document.termCounts().forEach((term, count) ->
+                        termWeights.put(termIds.computeIfAbsent(term, t -> termIds.size()),
+                                (1 + Math.log(count)) * Math.log((double) n / frequencies.terms.get(term))));
+            }
+            termVectors[position] = vector(termWeights, MAX_TERMS);
+            position++;
+        }
+    }
+
+    private static List<Analyzed> analyze(Collection<Document> documents, boolean withTerms) {
+        return documents.stream().map(document -> Analyzed.of(document, withTerms)).toList();
+    }
+
+    private static Vector vector(Map<Integer, Double> weights, int maxSize) {
+        List<Map.Entry<Integer, Double>> entries = new ArrayList<>(weights.entrySet());
+        entries.removeIf(e -> e.getValue() <= 0);
+        if (entries.isEmpty()) {
+            return Vector.EMPTY;
+        }
+        if (entries.size() > maxSize) {
+            entries.sort(Map.Entry.<Integer, Double>comparingByValue().reversed());
+            entries = entries.subList(0, maxSize);
+        }
+        entries.sort(Map.Entry.comparingByKey());
+        double norm = Math.sqrt(entries.stream().mapToDouble(e -> e.getValue() * e.getValue()).sum());
+        int[] ids = new int[entries.size()];
+        double[] values = new double[entries.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entries.get(i).getKey();
+            values[i] = entries.get(i).getValue() / norm;
+        }
+        return new Vector(ids, values);
+    }
+
+    public boolean contains(long articleId) {
+        return positions.containsKey(articleId);
+    }
+
+    /** Similarity in [0, 1]; 0 when either article is not in the corpus. */
+    public double similarity(long a, long b) {
+        Integer i = positions.get(a);
+        Integer j = positions.get(b);
+        if (i == null || j == null || a == b) {
+            return 0;
+        }
+        return score(i, j);
+    }
+
+    private double score(int i, int j) {
+        double tags = tagVectors[i].dot(tagVectors[j]);
+        double content = contentWeight > 0 ? termVectors[i].dot(termVectors[j]) : 0;
+        return (1 - contentWeight) * tags + contentWeight * content;
+    }
+
+    /**
+     * The {@code k} most similar articles, best first; ties go to the newer (higher) id.
+     * Articles with a zero score are never returned.
+     */
+    public List<Neighbour> neighbours(long articleId, int k) {
+        Integer i = positions.get(articleId);
+        if (i == null || k <= 0) {
+            return List.of();
+        }
+        Comparator<Neighbour> order = Comparator.comparingDouble(Neighbour::score)
+                .thenComparingLong(Neighbour::articleId);
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1, order);
+        for (int j = 0; j < articleIds.length; j++) {
+            if (j == i) {
+                continue;
+            }
+            double score = score(i, j);
+            if (score > 0) {
+                best.add(new Neighbour(articleIds[j], score));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+        }
+        Neighbour[] sorted = best.toArray(new Neighbour[0]);
+        Arrays.sort(sorted, order.reversed());
+        return List.of(sorted);
+    }
+
+    /** Every article's neighbour list, keyed by article id in corpus order. */
+    public Map<Long, List<Neighbour>> allNeighbours(int k) {
+        Map<Long, List<Neighbour>> all = new LinkedHashMap<>();
+        for (long articleId : articleIds) {
+            all.put(articleId, neighbours(articleId, k));
+        }
+        return all;
+    }
+}
@@ -0,0 +1,219 @@
+package dev.catananti.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, popularity-weighted completion trie behind search-as-you-type.
+ * <p>
+ * Phrases are keyed by their accent-folded, lower-cased text and also from each later word start, so
+ * {@code "reac"} completes both "Reactive streams" and "Spring WebFlux and Reactor". Phrase ids are assigned
+ * in weight order and every node keeps the {@value #TOP_K} best ids found below it, so a lookup is a walk
+ * down the prefix plus a copy — it never scans a subtree. Keys deeper than {@value #MAX_KEY_LENGTH} characters
+ * are not stored; longer prefixes are checked against the candidates of the deepest node instead.
+ * </p>
+ * Instances are safe to share between threads; updates build a new trie and swap it in.
+ */
+public final class CompletionTrie {
+
+    /** Completions kept per node, i.e. the most a lookup can return. */
+    public static final int TOP_K = 10;
+    static final int MAX_KEY_LENGTH = 48;
+    private static final int MAX_WORD_STARTS = 8;
+    private static final int[] NO_IDS = new int[0];
+
+    /** A phrase to complete to, with its popularity weight (higher ranks first). */
+    public record Suggestion(String text, double weight) {
+    }
+
+    private static final class Node {
+        private final char[] labels;
+        private final Node[] children;
+        private final int[] top;
+
+        private Node(char[] labels, Node[] children, int[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+    }
+
+    private static final class MutableNode {
+        private final Map<Character, MutableNode> children = new HashMap<>();
+        private int[] terminals = NO_IDS;
+    }
+
+    private final String[] texts;
+    private final String[] keys;
+    private final Node root;
+
+    private CompletionTrie(String[] texts, String[] keys, Node root) {
+        this.texts = texts;
+        this.keys = keys;
+        this.root = root;
+    }
+
+    /**
+     * Build a trie over {@code suggestions}. Phrases that normalize to the same key are merged, keeping the
+     * highest weight and its display text.
+     */
+    public static CompletionTrie build(Collection<Suggestion> suggestions) {
+        Map<String, Suggestion> byKey = new LinkedHashMap<>();
+        for (Suggestion suggestion : suggestions) {
+            if (suggestion == null || suggestion.text() == null) {
+                continue;
+            }
+            String key = normalize(suggestion.text(), false);
+            if (key.isEmpty()) {
+                continue;
+            }
+            byKey.merge(key, new Suggestion(suggestion.text().strip(), suggestion.weight()),
+                    (a, b) -> b.weight() > a.weight() ? b : a);
+        }
+        List<Map.Entry<String, Suggestion>> ranked = new ArrayList<>(byKey.entrySet());
+        ranked.sort(Comparator.<Map.Entry<String, Suggestion>>comparingDouble(e -> -e.getValue().weight())
+                .thenComparing(Map.Entry::getKey));
+
+        String[] texts = new String[ranked.size()];
+        String[] keys = new String[ranked.size()];
+        MutableNode root = new MutableNode();
+        for (int id = 0; id < ranked.size(); id++) {
+            keys[id] = ranked.get(id).getKey();
+            texts[id] = ranked.get(id).getValue().text();
+            int starts = 0;
+            for (int i = 0; i < keys[id].length() && starts < MAX_WORD_STARTS; i++) {
+                if (i == 0 || keys[id].charAt(i - 1) == ' ') {
+                    insert(root, keys[id], i, id);
+                    starts++;
+                }
+            }
+        }
+        return new CompletionTrie(texts, keys, freeze(root));
+    }
+
+    private static void insert(MutableNode root, String key, int from, int id) {
+        MutableNode node = root;
+        int end = Math.min(key.length(), from + MAX_KEY_LENGTH);
+        for (int i = from; i < end; i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode());
+        }
+        int[] terminals = Arrays.copyOf(node.terminals, node.terminals.length + 1);
+        terminals[terminals.length - 1] = id;
+        node.terminals = terminals;
+    }
+
+    /** Convert to the compact form, computing each node's best ids (lowest ids are the heaviest phrases). */
+    private static Node freeze(MutableNode node) {
+        char[] labels = new char[node.children.size()];
+        int n = 0;
+        for (char label : node.children.keySet()) {
+            labels[n++] = label;
+        }
+        Arrays.sort(labels);
+        Node[] children = new Node[labels.length];
+        int candidates = node.terminals.length;
+        for (int i = 0; i < labels.length; i++) {
+            children[i] = freeze(node.children.get(labels[i]));
+            candidates += children[i].top.length;
+        }
+        int[] ids = Arrays.copyOf(node.terminals, candidates);
+        int at = node.terminals.length;
+        for (Node child : children) {
+            System.arraycopy(child.top, 0, ids, at, child.top.length);
+            at += child.top.length;
+        }
+        Arrays.sort(ids);
+        int[] top = new int[Math.min(TOP_K, ids.length)];
+        int size = 0;
+        for (int i = 0; i < ids.length && size < top.length; i++) {
+            if (size == 0 || top[size - 1] != ids[i]) {
+                top[size++] = ids[i];
+            }
+        }
+        return new Node(labels, children, size == top.length ? top : Arrays.copyOf(top, size));
+    }
+
+    /**
+     * Up to {@code limit} (at most {@value #TOP_K}) phrases having a word that starts with {@code prefix},
+     * most popular first. Matching ignores case, accents and punctuation.
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = normalize(prefix, true);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        int depth = Math.min(key.length(), MAX_KEY_LENGTH);
+        for (int i = 0; i < depth && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<String> completions = new ArrayList<>(Math.min(limit, node.top.length));
+        for (int id : node.top) {
+            if (key.length() > MAX_KEY_LENGTH && !hasWordStartingWith(keys[id], key)) {
+                continue;
+            }
+            completions.add(texts[id]);
+            if (completions.size() == limit) {
+                break;
+            }
+        }
+        return completions;
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    private static boolean hasWordStartingWith(String key, String prefix) {
+        for (int i = key.indexOf(prefix); i >= 0; i = key.indexOf(prefix, i + 1)) {
+            if (i == 0 || key.charAt(i - 1) == ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fold case and accents and collapse every run of non-alphanumerics to one space. A prefix keeps a
+     * trailing space, so {@code "spring "} completes "Spring Boot" but not "Springfield".
+     */
+    static String normalize(String text, boolean keepTrailingSpace) {
+        if (text == null) {
+            return "";
+        }
+        String folded = SearchAnalyzer.fold(text);
+        StringBuilder key = new StringBuilder(folded.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < folded.length(); ) {
+            int cp = folded.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                if (pendingSpace && !key.isEmpty()) {
+                    key.append(' ');
+                }
+                pendingSpace = false;
+                key.appendCodePoint(cp);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        if (keepTrailingSpace && pendingSpace && !key.isEmpty()) {
+            key.append(' ');
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package dev.catananti.service.search;
+
+import dev.catananti.dto.SearchRequest;
+import dev.catananti.service.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Search backend serving {@code SearchService} from an {@link ArticleSearchIndex} held in memory.
+ * Enabled with {@code app.search.engine=memory}; the SQL path stays the default and the fallback.
+ * <p>
+ * The index is built in the background once the application is ready (SQL answers until then) and
+ * rebuilt every {@code app.search.memory.rebuild-ms}. Article and translation writes publish the article
+ * id on {@link CacheInvalidationBus#SEARCH_INDEX}, so every node re-reads just that article; a bus
+ * re-subscription triggers a full rebuild. Writes that land during a rebuild are replayed onto the new index.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+@Slf4j
+public class InMemorySearchEngine {
+
+    private static final String ARTICLES_SQL = """
+            SELECT id, title, excerpt, content, original_locale, published_at
+            FROM articles WHERE status = 'PUBLISHED'""";
+    private static final String TAGS_SQL = """
+            SELECT at.article_id, t.slug
+            FROM article_tags at
+            JOIN tags t ON t.id = at.tag_id
+            JOIN articles a ON a.id = at.article_id
+            WHERE a.status = 'PUBLISHED'""";
+    private static final String TRANSLATIONS_SQL = """
+            SELECT i.article_id, i.locale, i.title, i.excerpt, i.content
+            FROM article_i18n i
+            JOIN articles a ON a.id = i.article_id
+            WHERE a.status = 'PUBLISHED'""";
+
+    private record ArticleRow(long id, String title, String excerpt, String content, String locale,
+                              LocalDateTime publishedAt) {
+    }
+
+    private record TranslationRow(long articleId, String locale, String title, String excerpt, String content) {
+    }
+
+    private final DatabaseClient databaseClient;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private volatile ArticleSearchIndex index = new ArticleSearchIndex();
+    private volatile boolean ready;
+
+    public InMemorySearchEngine(R2dbcEntityTemplate r2dbcTemplate, CacheInvalidationBus invalidationBus) {
+        this.databaseClient = r2dbcTemplate.getDatabaseClient();
+        invalidationBus.register(CacheInvalidationBus.SEARCH_INDEX, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String key) {
+                try {
+                    reindex(Long.parseLong(key)).subscribe(null,
+                            err -> log.warn("Search index update failed for article {}: {}", key, err.getMessage()));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring search index update for invalid article id: {}", key);
+                }
+            }
+
+            @Override
+            public void evictAll() {
+                rebuild().subscribe(null, err -> log.error("Search index rebuild failed: {}", err.getMessage()));
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild().subscribe(null, err -> log.error("Initial search index build failed, SQL search stays active: {}",
+                err.getMessage()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.memory.rebuild-ms:3600000}", initialDelayString = "${app.search.memory.rebuild-ms:3600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild().block();
+        } catch (Exception e) {
+            log.error("Scheduled search index rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Run the search on the index, or return null when the SQL path must answer: the index is not built
+     * yet, the request pages by cursor, or it sorts by a live counter (views, likes) the index does not hold.
+     */
+    @Nullable
+    public ArticleSearchIndex.Result search(SearchRequest request) {
+        if (!ready || request.getCursor() != null) {
+            return null;
+        }
+        String sortBy = request.getSortBy() != null ? request.getSortBy().toLowerCase() : "relevance";
+        ArticleSearchIndex.Order order = switch (sortBy) {
+            case "relevance" -> ArticleSearchIndex.Order.RELEVANCE;
+            case "date" -> ArticleSearchIndex.Order.DATE;
+            default -> null;
+        };
+        if (order == null) {
+            return null;
+        }
+        return index.search(new ArticleSearchIndex.Query(
+                request.getQuery(),
+                request.getLocale(),
+                request.getTags() != null ? request.getTags() : List.of(),
+                request.getDateFrom() != null ? request.getDateFrom().atStartOfDay() : null,
+                request.getDateTo() != null ? request.getDateTo().atTime(LocalTime.MAX) : null,
+                order,
+                request.getPage() * request.getSize(),
+                request.getSize()));
+    }
+
+    /**
+     * Build a fresh index from the database and swap it in. Concurrent calls while one runs are no-ops.
+     *
+     * @return the number of articles indexed
+     */
+    public Mono<Integer> rebuild() {
+        return Mono.defer(() -> {
+            if (!rebuilding.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            changedDuringRebuild.clear();
+            long started = System.nanoTime();
+            return loadEntries(null)
+                    .map(entries -> {
+                        ArticleSearchIndex fresh = new ArticleSearchIndex();
+                        entries.forEach(fresh::replace);
+                        index = fresh;
+                        ready = true;
+                        return entries.size();
+                    })
+                    .flatMap(count -> {
+                        List<Long> changed = new ArrayList<>(changedDuringRebuild);
+                        changedDuringRebuild.removeAll(changed);
+                        return Flux.fromIterable(changed).concatMap(this::reindex).then(Mono.just(count));
+                    })
+                    .doOnSuccess(count -> log.info("Search index built: {} articles in {} ms",
+                            count, (System.nanoTime() - started) / 1_000_000))
+                    .doFinally(signal -> rebuilding.set(false));
+        });
+    }
+
+    /**
+     * Re-read one article and its translations; drops it from the index when it is no longer published.
+     */
+    public Mono<Void> reindex(long articleId) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(articleId);
+        }
+        return loadEntries(articleId)
+                .doOnNext(entries -> {
+                    List<ArticleSearchIndex.Entry> variants = entries.get(articleId);
+                    if (variants == null) {
+                        index.remove(articleId);
+                    } else {
+                        index.replace(articleId, variants);
+                    }
+                })
+                .then();
+    }
+
+    private Mono<Map<Long, List<ArticleSearchIndex.Entry>>> loadEntries(@Nullable Long articleId) {
+        Mono<List<ArticleRow>> articles = query(ARTICLES_SQL, "id", articleId)
+                .map((row, meta) -> new ArticleRow(
+                        row.get("id", Long.class),
+                        row.get("title", String.class),
+                        row.get("excerpt", String.class),
+                        row.get("content", String.class),
+                        row.get("original_locale", String.class),
+                        row.get("published_at", LocalDateTime.class)))
+                .all()
+                .collectList();
+        Mono<Map<Long, Collection<String>>> tags = query(TAGS_SQL, "a.id", articleId)
+                .map((row, meta) -> Map.entry(row.get("article_id", Long.class), row.get("slug", String.class)))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+        Mono<Map<Long, Collection<TranslationRow>>> translations = query(TRANSLATIONS_SQL, "a.id", articleId)
+                .map((row, meta) -> new TranslationRow(
+                        row.get("article_id", Long.class),
+                        row.get("locale", String.class),
+                        row.get("title", String.class),
+                        row.get("excerpt", String.class),
+                        row.get("content", String.class)))
+                .all()
+                .collectMultimap(TranslationRow::articleId);
+
+        return Mono.zip(articles, tags, translations).map(tuple -> {
+            Map<Long, List<ArticleSearchIndex.Entry>> entries = new LinkedHashMap<>();
+            for (ArticleRow article : tuple.getT1()) {
+                Set<String> articleTags = Set.copyOf(tuple.getT2().getOrDefault(article.id(), List.of()));
+                List<ArticleSearchIndex.Entry> variants = new ArrayList<>();
+                variants.add(new ArticleSearchIndex.Entry(article.id(),
+                        article.locale() != null ? article.locale() : "en", false,
+                        article.title(), article.excerpt(), article.content(), articleTags, article.publishedAt()));
+                for (TranslationRow translation : tuple.getT3().getOrDefault(article.id(), List.of())) {
+                    variants.add(new ArticleSearchIndex.Entry(article.id(), translation.locale(), true,
+                            translation.title(), translation.excerpt(), translation.content(),
+                            articleTags, article.publishedAt()));
+                }
+                entries.put(article.id(), variants);
+            }
+            return entries;
+        });
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String sql, String idColumn, @Nullable Long articleId) {
+        if (articleId == null) {
+            return databaseClient.sql(sql);
+        }
+        return databaseClient.sql(sql + " AND " + idColumn + " = :id").bind("id", articleId);
+    }
+}
@@ -0,0 +1,426 @@
+package dev.catananti.service.search;
+
+import dev.catananti.service.CacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Related-article lists precomputed with {@link ArticleSimilarity} and stored per article in
+ * {@code article_related}, so serving them is one primary-key read.
+ * <p>
+ * Article writes call {@link #articleChanged} once they commit. Changes are batched for a moment, then only
+ * articles whose {@code updated_at} moved (on any node) are read and analyzed again; the rest of the corpus
+ * stays in memory as term counts and document frequencies. Only the lists that can change are recomputed:
+ * the changed articles' own, lists that contain a changed article, and lists a changed article now scores
+ * into, and only those stored lists are read. Lists are written only when they differ, and cached related
+ * pages are dropped only when the order of ids changed. Articles without a list yet are
+ * filled in on the way, on startup too; a full rebuild runs nightly (or on {@code app.related.rebuild-cron})
+ * to absorb score drift and tag deletions.
+ * </p>
+ */
+@Service
+@Slf4j
+public class RelatedArticlesService {
+
+    /** Neighbours stored per article: more than any page shows, so an unpublished neighbour leaves a backfill. */
+    static final int STORED_NEIGHBOURS = 24;
+
+    private static final Duration BATCH_DELAY = Duration.ofSeconds(2);
+    private static final String REBUILD_LOCK_KEY = "related:rebuild-lock";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+
+    private static final String VERSIONS_SQL = """
+            SELECT id, updated_at FROM articles WHERE status = 'PUBLISHED'""";
+    private static final String CORPUS_SQL = """
+            SELECT id, slug, original_locale, title, excerpt, content
+            FROM articles WHERE status = 'PUBLISHED'""";
+    private static final String TAGS_SQL = """
+            SELECT at.article_id, at.tag_id
+            FROM article_tags at
+            JOIN articles a ON a.id = at.article_id
+            WHERE a.status = 'PUBLISHED'""";
+    private static final String SUBSET_FILTER = " AND id IN (:ids)";
+    private static final String TAGS_SUBSET_FILTER = " AND a.id IN (:ids)";
+    private static final String UPSERT_SQL = """
+            MERGE INTO article_related r
+            USING (SELECT CAST(:articleId AS BIGINT) AS article_id) s
+            ON r.article_id = s.article_id
+            WHEN MATCHED THEN UPDATE SET neighbours = :neighbours, computed_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (article_id, neighbours, computed_at)
+                VALUES (s.article_id, :neighbours, CURRENT_TIMESTAMP)
+            """;
+
+    private record ArticleRow(long id, String slug, String locale, String text) {
+    }
+
+    private record Version(long id, @Nullable LocalDateTime updatedAt) {
+    }
+
+    private record LoadedArticle(ArticleSimilarity.Document document, String slug) {
+    }
+
+    /** An article of the in-memory corpus, as of its {@code updated_at}. */
+    private record CorpusEntry(String slug, LocalDateTime updatedAt, ArticleSimilarity.Analyzed analyzed) {
+    }
+
+    /** What one update works on: the new model, the articles whose document changed and the lists to check. */
+    private record Plan(ArticleSimilarity model, Set<Long> touched, Set<Long> candidates, Map<Long, String> slugs) {
+    }
+
+    private final DatabaseClient databaseClient;
+    private final CacheService cacheService;
+    @Nullable
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    // Guarded by this: the analyzed corpus, its frequencies and the model built from them
+    private final Map<Long, CorpusEntry> corpus = new HashMap<>();
+    private final ArticleSimilarity.Frequencies frequencies = new ArticleSimilarity.Frequencies();
+    @Nullable
+    private ArticleSimilarity model;
+
+    @Value("${app.related.content-weight:0.3}")
+    private double contentWeight = 0.3;
+
+    public RelatedArticlesService(
+            R2dbcEntityTemplate r2dbcTemplate,
+            CacheService cacheService,
+            @Autowired(required = false)
+            @Qualifier("reactiveRedisTemplate") @Nullable ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.databaseClient = r2dbcTemplate.getDatabaseClient();
+        this.cacheService = cacheService;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        update(Set.of(), false).subscribe(
+                written -> log.info("Related articles filled in for {} articles", written),
+                err -> log.error("Initial related-articles fill failed, tag queries stay active: {}", err.getMessage()));
+    }
+
+    @Scheduled(cron = "${app.related.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        try {
+            withRebuildLock(rebuild()).block();
+        } catch (Exception e) {
+            log.error("Scheduled related-articles rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute every list from scratch.
+     */
+    public Mono<Integer> rebuild() {
+        return update(Set.of(), true)
+                .doOnSuccess(written -> log.info("Related articles rebuilt, {} lists changed", written));
+    }
+
+    /**
+     * Ids of the articles most related to {@code articleId}, best first; empty when no list was computed.
+     */
+    public Mono<List<Long>> findNeighbourIds(long articleId) {
+        return databaseClient.sql("SELECT neighbours FROM article_related WHERE article_id = :id")
+                .bind("id", articleId)
+                .map((row, meta) -> row.get("neighbours", String.class))
+                .one()
+                .map(encoded -> decode(encoded).stream().map(ArticleSimilarity.Neighbour::articleId).toList())
+                .defaultIfEmpty(List.of())
+                .onErrorResume(e -> {
+                    log.warn("Related articles unavailable for {}: {}", articleId, e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    /**
+     * Schedule an incremental update after an article's content, tags or status changed (or it was deleted).
+     * Call it once the write has committed, e.g. from {@code TransactionCallbacks.afterCommit}.
+     */
+    public void articleChanged(long articleId) {
+        pending.add(articleId);
+        drain();
+    }
+
+    private void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        // Callers only report committed writes; the delay just lets bursts of edits coalesce into one batch
+        Mono.delay(BATCH_DELAY)
+                .flatMap(tick -> {
+                    Set<Long> batch = new HashSet<>(pending);
+                    pending.removeAll(batch);
+                    return batch.isEmpty() ? Mono.just(0) : update(batch, false);
+                })
+                .doFinally(signal -> {
+                    draining.set(false);
+                    if (!pending.isEmpty()) {
+                        drain();
+                    }
+                })
+                .subscribe(
+                        written -> log.debug("Related articles updated, {} lists changed", written),
+                        err -> log.warn("Related-articles update failed, the nightly rebuild will catch up: {}",
+                                err.getMessage()));
+    }
+
+    /**
+     * Recompute the lists affected by {@code changed} (all of them when {@code full}) plus any missing ones,
+     * persist those that differ and drop stale cached pages. Emits the number of rows written.
+     */
+    private Mono<Integer> update(Set<Long> changed, boolean full) {
+        return Mono.zip(loadVersions(), loadStoredIds())
+                .flatMap(loaded -> {
+                    Map<Long, LocalDateTime> versions = loaded.getT1();
+                    Set<Long> storedIds = loaded.getT2();
+                    Set<Long> stale = staleIds(versions, changed, full);
+                    return loadArticles(stale, stale.size() == versions.size())
+                            .map(articles -> plan(versions, articles, changed, storedIds, full))
+                            .flatMap(plan -> loadStored(plan.candidates())
+                                    .flatMap(stored -> write(plan, stored, storedIds, full)));
+                });
+    }
+
+    /** Published articles that are new, changed or edited on another node since they were analyzed. */
+    private synchronized Set<Long> staleIds(Map<Long, LocalDateTime> versions, Set<Long> changed, boolean full) {
+        Set<Long> stale = new HashSet<>();
+        versions.forEach((id, updatedAt) -> {
+            CorpusEntry entry = corpus.get(id);
+            if (full || changed.contains(id) || entry == null || !Objects.equals(entry.updatedAt(), updatedAt)) {
+                stale.add(id);
+            }
+        });
+        return stale;
+    }
+
+    /**
+     * Swap the reloaded articles into the corpus and work out which stored lists may change: lists of touched
+     * articles and of articles that scored above zero against one of them before or after the change.
+     */
+    private synchronized Plan plan(Map<Long, LocalDateTime> versions, List<LoadedArticle> articles,
+                                   Set<Long> changed, Set<Long> storedIds, boolean full) {
+        ArticleSimilarity previous = model;
+        Set<Long> touched = new HashSet<>(changed);
+        for (Long id : List.copyOf(corpus.keySet())) {
+            if (!versions.containsKey(id)) {
+                frequencies.remove(corpus.remove(id).analyzed());
+                touched.add(id);
+            }
+        }
+        for (LoadedArticle article : articles) {
+            ArticleSimilarity.Document document = article.document();
+            CorpusEntry old = corpus.get(document.articleId());
+            if (old != null) {
+                frequencies.remove(old.analyzed());
+                if (!Objects.equals(old.updatedAt(), versions.get(document.articleId()))) {
+                    touched.add(document.articleId());
+                }
+            } else if (previous != null) {
+                touched.add(document.articleId());
+            }
+            ArticleSimilarity.Analyzed analyzed = ArticleSimilarity.Analyzed.of(document, contentWeight > 0);
+            frequencies.add(analyzed);
+            corpus.put(document.articleId(), new CorpusEntry(article.slug(),
+                    versions.get(document.articleId()), analyzed));
+        }
+        model = new ArticleSimilarity(corpus.values().stream().map(CorpusEntry::analyzed).toList(),
+                frequencies, contentWeight);
+        Map<Long, String> slugs = new HashMap<>();
+        corpus.forEach((id, entry) -> slugs.put(id, entry.slug()));
+
+        Set<Long> candidates = new HashSet<>();
+        for (Long id : corpus.keySet()) {
+            if (full || touched.contains(id) || !storedIds.contains(id)
+                    || scoresAgainst(previous, id, touched) || scoresAgainst(model, id, touched)) {
+                candidates.add(id);
+            }
+        }
+        return new Plan(model, touched, candidates, slugs);
+    }
+
+    private Mono<Integer> write(Plan plan, Map<Long, String> stored, Set<Long> storedIds, boolean full) {
+        ArticleSimilarity current = plan.model();
+        Map<Long, String> writes = new HashMap<>();
+        List<String> reordered = new ArrayList<>();
+        for (Long id : plan.candidates()) {
+            String existing = stored.get(id);
+            if (!full && existing != null && !plan.touched().contains(id)
+                    && !isAffected(current, id, decode(existing), plan.touched())) {
+                continue;
+            }
+            String encoded = encode(current.neighbours(id, STORED_NEIGHBOURS));
+            if (!encoded.equals(existing)) {
+                writes.put(id, encoded);
+                if (existing == null || !sameIds(encoded, existing)) {
+                    reordered.add(CacheService.relatedDependency(plan.slugs().get(id)));
+                }
+            }
+        }
+        List<Long> removed = storedIds.stream().filter(id -> !current.contains(id)).toList();
+
+        return Flux.fromIterable(writes.entrySet())
+                .concatMap(e -> databaseClient.sql(UPSERT_SQL)
+                        .bind("articleId", e.getKey())
+                        .bind("neighbours", e.getValue())
+                        .fetch().rowsUpdated()
+                        .onErrorResume(err -> {
+                            // Another node writing the same row: its list is computed from the same data
+                            log.debug("Related list for {} not written: {}", e.getKey(), err.getMessage());
+                            return Mono.just(0L);
+                        }))
+                .then(removed.isEmpty() ? Mono.empty() : databaseClient
+                        .sql("DELETE FROM article_related WHERE article_id IN (:ids)")
+                        .bind("ids", removed)
+                        .fetch().rowsUpdated())
+                .then(reordered.isEmpty() ? Mono.empty() : cacheService.invalidate(reordered))
+                .thenReturn(writes.size());
+    }
+
+    private static boolean scoresAgainst(@Nullable ArticleSimilarity model, long articleId, Set<Long> touched) {
+        return model != null && touched.stream().anyMatch(id -> model.similarity(articleId, id) > 0);
+    }
+
+    /**
+     * Whether {@code neighbours} (the stored list of {@code articleId}) can change because of {@code changed}:
+     * it contains one of them, or one of them now scores above its weakest entry (or it has room left).
+     */
+    static boolean isAffected(ArticleSimilarity model, long articleId,
+                              List<ArticleSimilarity.Neighbour> neighbours, Set<Long> changed) {
+        if (neighbours.stream().anyMatch(n -> changed.contains(n.articleId()))) {
+            return true;
+        }
+        double weakest = neighbours.size() < STORED_NEIGHBOURS ? 0 : neighbours.getLast().score();
+        return changed.stream().anyMatch(id -> model.similarity(articleId, id) > weakest);
+    }
+
+    private Mono<Map<Long, LocalDateTime>> loadVersions() {
+        return databaseClient.sql(VERSIONS_SQL)
+                .map((row, meta) -> new Version(row.get("id", Long.class), row.get("updated_at", LocalDateTime.class)))
+                .all()
+                .collect(HashMap::new, (versions, version) -> versions.put(version.id(), version.updatedAt()));
+    }
+
+    /**
+     * Title, excerpt, body and tags of the given published articles; of all of them when {@code all}.
+     */
+    private Mono<List<LoadedArticle>> loadArticles(Set<Long> ids, boolean all) {
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        DatabaseClient.GenericExecuteSpec tagQuery = databaseClient.sql(all ? TAGS_SQL : TAGS_SQL + TAGS_SUBSET_FILTER);
+        DatabaseClient.GenericExecuteSpec articleQuery = databaseClient.sql(all ? CORPUS_SQL : CORPUS_SQL + SUBSET_FILTER);
+        if (!all) {
+            tagQuery = tagQuery.bind("ids", ids);
+            articleQuery = articleQuery.bind("ids", ids);
+        }
+        Mono<Map<Long, Set<Long>>> tags = tagQuery
+                .map((row, meta) -> Map.entry(row.get("article_id", Long.class), row.get("tag_id", Long.class)))
+                .all()
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toSet())));
+        Mono<List<ArticleRow>> articles = articleQuery
+                .map((row, meta) -> new ArticleRow(row.get("id", Long.class), row.get("slug", String.class),
+                        row.get("original_locale", String.class), String.join(" ",
+                                nonNull(row.get("title", String.class)),
+                                nonNull(row.get("excerpt", String.class)),
+                                nonNull(ArticleSearchIndex.plainText(row.get("content", String.class))))))
+                .all()
+                .collectList();
+        return Mono.zip(articles, tags)
+                .map(loaded -> loaded.getT1().stream()
+                        .map(article -> new LoadedArticle(new ArticleSimilarity.Document(article.id(),
+                                loaded.getT2().getOrDefault(article.id(), Set.of()), article.locale(), article.text()),
+                                article.slug()))
+                        .toList());
+    }
+
+    private Mono<Set<Long>> loadStoredIds() {
+        return databaseClient.sql("SELECT article_id FROM article_related")
+                .map((row, meta) -> row.get("article_id", Long.class))
+                .all()
+                .collect(Collectors.toSet());
+    }
+
+    private Mono<Map<Long, String>> loadStored(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql("SELECT article_id, neighbours FROM article_related WHERE article_id IN (:ids)")
+                .bind("ids", ids)
+                .map((row, meta) -> Map.entry(row.get("article_id", Long.class), row.get("neighbours", String.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Integer> withRebuildLock(Mono<Integer> rebuild) {
+        if (redisTemplate == null) {
+            return rebuild;
+        }
+        return redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, "locked", REBUILD_LOCK_TTL)
+                .onErrorResume(e -> {
+                    log.debug("Redis unavailable for related-articles lock: {}", e.getMessage());
+                    return Mono.just(true);
+                })
+                .filter(Boolean::booleanValue)
+                .flatMap(leader -> rebuild);
+    }
+
+    /** {@code id:score} pairs, best first, e.g. {@code 42:0.6180,7:0.2500}. */
+    static String encode(List<ArticleSimilarity.Neighbour> neighbours) {
+        return neighbours.stream()
+                .map(n -> n.articleId() + ":" + String.format(Locale.ROOT, "%.4f", n.score()))
+                .collect(Collectors.joining(","));
+    }
+
+    static List<ArticleSimilarity.Neighbour> decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return List.of();
+        }
+        List<ArticleSimilarity.Neighbour> neighbours = new ArrayList<>();
+        for (String pair : encoded.split(",")) {
+            int colon = pair.indexOf(':');
+            try {
+                neighbours.add(new ArticleSimilarity.Neighbour(Long.parseLong(pair.substring(0, colon)),
+                        Double.parseDouble(pair.substring(colon + 1))));
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed related-article entry: {}", pair);
+            }
+        }
+        return neighbours;
+    }
+
+    private static boolean sameIds(String a, String b) {
+        return decode(a).stream().map(ArticleSimilarity.Neighbour::articleId).toList()
+                .equals(decode(b).stream().map(ArticleSimilarity.Neighbour::articleId).toList());
+    }
+
+    private static String nonNull(String text) {
+        return text != null ? text : "";
+    }
+}
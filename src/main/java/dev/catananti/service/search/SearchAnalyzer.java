@@ -0,0 +1,222 @@
+package dev.catananti.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Per-language text analysis for {@link ArticleSearchIndex}: letter/digit tokenization, accent folding,
+ * lowercasing, stop words and a light plural-stripping stemmer.
+ * <p>
+ * Languages follow {@code SearchService.searchConfig} (and the {@code article_search_config} SQL function),
+ * so a locale analyzes the same way whichever search engine is active. Stemming is deliberately light —
+ * plural and inflection endings only — so it rarely conflates unrelated words.
+ * </p>
+ */
+public final class SearchAnalyzer {
+
+    /** Receives each analyzed token with its character span in the original text. */
+    @FunctionalInterface
+    public interface TokenSink {
+        void accept(String term, int start, int end);
+    }
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Map<String, SearchAnalyzer> ANALYZERS = Map.of(
+            "english", new SearchAnalyzer("english", Set.of(
+                    "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+                    "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+                    "they", "this", "to", "was", "will", "with"), new EnglishStemmer()),
+            "portuguese", new SearchAnalyzer("portuguese", Set.of(
+                    "a", "o", "as", "os", "de", "da", "do", "das", "dos", "e", "em", "na", "no", "nas", "nos",
+                    "um", "uma", "para", "por", "com", "que", "se", "ao", "aos"), new RomanceStemmer()),
+            "spanish", new SearchAnalyzer("spanish", Set.of(
+                    "el", "la", "los", "las", "de", "del", "y", "en", "un", "una", "para", "por", "con", "que",
+                    "se", "al", "lo"), new RomanceStemmer()),
+            "italian", new SearchAnalyzer("italian", Set.of(
+                    "il", "lo", "la", "i", "gli", "le", "di", "del", "della", "e", "in", "un", "una", "per",
+                    "con", "che", "si", "al"), new RomanceStemmer()),
+            "french", new SearchAnalyzer("french", Set.of(
+                    "le", "la", "les", "de", "des", "du", "et", "en", "un", "une", "pour", "par", "avec", "que",
+                    "se", "au", "aux"), new RomanceStemmer()),
+            "german", new SearchAnalyzer("german", Set.of(
+                    "der", "die", "das", "den", "dem", "des", "und", "in", "ein", "eine", "einen", "zu", "mit",
+                    "fur", "von", "auf", "ist"), new GermanStemmer()));
+
+    private final String language;
+    private final Set<String> stopWords;
+    private final Stemmer stemmer;
+
+    private SearchAnalyzer(String language, Set<String> stopWords, Stemmer stemmer) {
+        this.language = language;
+        this.stopWords = stopWords;
+        this.stemmer = stemmer;
+    }
+
+    /**
+     * Analyzer for a locale code such as {@code en}, {@code pt-br} or {@code es}; unknown locales use English.
+     */
+    public static SearchAnalyzer forLocale(String locale) {
+        return ANALYZERS.get(language(locale));
+    }
+
+    /**
+     * Analyzer for a language as returned by {@link #language()}; unknown names use English.
+     */
+    static SearchAnalyzer forLanguage(String language) {
+        return ANALYZERS.getOrDefault(language, ANALYZERS.get("english"));
+    }
+
+    /**
+     * Text-search language of a locale code; mirrors {@code SearchService.searchConfig}.
+     */
+    public static String language(String locale) {
+        String code = locale == null ? "" : locale.toLowerCase(Locale.ROOT).split("-", 2)[0];
+        return switch (code) {
+            case "pt" -> "portuguese";
+            case "es" -> "spanish";
+            case "it" -> "italian";
+            case "fr" -> "french";
+            case "de" -> "german";
+            default -> "english";
+        };
+    }
+
+    public String language() {
+        return language;
+    }
+
+    /**
+     * Analyzed terms of {@code text}, in order, duplicates kept.
+     */
+    public List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, (term, start, end) -> terms.add(term));
+        return terms;
+    }
+
+    /**
+     * Feed every analyzed token of {@code text} to {@code sink}; stop words and single letters are skipped.
+     */
+    public void tokenize(String text, TokenSink sink) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            if (i > start) {
+                String term = normalize(text.substring(start, i));
+                if (term != null) {
+                    sink.accept(term, start, i);
+                }
+            }
+        }
+    }
+
+    private String normalize(String token) {
+        String folded = fold(token);
+        if (folded.length() < 2 && !Character.isDigit(folded.charAt(0))) {
+            return null;
+        }
+        if (stopWords.contains(folded)) {
+            return null;
+        }
+        return stemmer.stem(folded);
+    }
+
+    /**
+     * Lowercase and strip diacritics ({@code "Programação"} becomes {@code "programacao"}).
+     */
+    static String fold(String token) {
+        String lower = token.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) > 0x7F) {
+                return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return lower;
+    }
+
+    private interface Stemmer {
+        String stem(String term);
+    }
+
+    /** Harman's S-stemmer: plural endings only. */
+    private static final class EnglishStemmer implements Stemmer {
+        @Override
+        public String stem(String term) {
+            int n = term.length();
+            if (n < 4 || term.charAt(n - 1) != 's') {
+                return term;
+            }
+            if (term.endsWith("ies") && !term.endsWith("eies") && !term.endsWith("aies")) {
+                return term.substring(0, n - 3) + "y";
+            }
+            if (term.endsWith("es") && !term.endsWith("aes") && !term.endsWith("ees") && !term.endsWith("oes")) {
+                return term.substring(0, n - 1);
+            }
+            if (!term.endsWith("us") && !term.endsWith("ss")) {
+                return term.substring(0, n - 1);
+            }
+            return term;
+        }
+    }
+
+    /**
+     * Plural stripping for Portuguese, Spanish, Italian and French (on accent-folded terms), then the
+     * final gender/number vowel, so {@code programação}/{@code programações} and {@code lenguaje}/{@code lenguajes}
+     * each share a stem.
+     */
+    private static final class RomanceStemmer implements Stemmer {
+        @Override
+        public String stem(String term) {
+            String t = term;
+            int n = t.length();
+            if (n < 4) {
+                return t;
+            }
+            if (t.endsWith("oes") || t.endsWith("aes")) {
+                t = t.substring(0, n - 3) + "ao";
+            } else if (t.endsWith("ns")) {
+                t = t.substring(0, n - 2) + "m";
+            } else if (t.endsWith("es") && n > 5) {
+                t = t.substring(0, n - 2);
+            } else if (t.endsWith("s") || t.endsWith("x")) {
+                t = t.substring(0, n - 1);
+            }
+            int m = t.length();
+            if (m > 4 && "aeio".indexOf(t.charAt(m - 1)) >= 0) {
+                t = t.substring(0, m - 1);
+            }
+            return t;
+        }
+    }
+
+    /** Strips the common German inflectional endings. */
+    private static final class GermanStemmer implements Stemmer {
+        @Override
+        public String stem(String term) {
+            int n = term.length();
+            if (n > 5 && (term.endsWith("en") || term.endsWith("er") || term.endsWith("es"))) {
+                return term.substring(0, n - 2);
+            }
+            if (n > 4 && (term.endsWith("e") || term.endsWith("n") || term.endsWith("s"))) {
+                return term.substring(0, n - 1);
+            }
+            return term;
+        }
+    }
+}
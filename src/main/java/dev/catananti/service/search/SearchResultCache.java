@@ -0,0 +1,250 @@
+package dev.catananti.service.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import dev.catananti.dto.ArticleSummary;
+import dev.catananti.dto.PageResponse;
+import dev.catananti.dto.SearchRequest;
+import dev.catananti.service.CacheInvalidationBus;
+import dev.catananti.service.CacheService;
+import dev.catananti.util.DigestUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of search result pages, keyed by the normalized request and a global
+ * published-content version.
+ * <p>
+ * Requests that differ only in query case or spacing, tag order or an omitted locale share one entry.
+ * Content writes call {@link #bumpVersion}, which INCRs the version in Redis and announces it on
+ * {@link CacheInvalidationBus#SEARCH_RESULTS}; entries under older versions simply become unreachable and
+ * expire by TTL, so nothing is SCANned or deleted. Until a node knows the current version (startup, bus
+ * re-subscription, Redis outage) it bypasses the cache rather than risk serving a stale page.
+ * </p>
+ * <p>
+ * Hits and misses are counted per query shape — which filters were used and the sort — as
+ * {@code blog.search.cache.requests} with a {@code blog.search.cache.hit.ratio} gauge.
+ * </p>
+ */
+@Service
+@Slf4j
+public class SearchResultCache {
+
+    private static final String VERSION_KEY = "search:content-version";
+    private static final Duration VERSION_RETRY_INTERVAL = Duration.ofSeconds(30);
+    private static final TypeReference<PageResponse<ArticleSummary>> PAGE_TYPE = new TypeReference<>() {};
+    private static final Set<String> KNOWN_SORTS = Set.of("relevance", "date", "views", "likes", "title");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final CacheService cacheService;
+    @Nullable
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong lastVersionAttempt = new AtomicLong();
+    private volatile boolean versionKnown;
+
+    @Value("${app.search.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.search.cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    public SearchResultCache(
+            CacheService cacheService,
+            CacheInvalidationBus invalidationBus,
+            MeterRegistry meterRegistry,
+            @Autowired(required = false)
+            @Qualifier("reactiveRedisTemplate") @Nullable ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.cacheService = cacheService;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.redisTemplate = redisTemplate;
+        // Without Redis the version is local, and so is the cache
+        this.versionKnown = redisTemplate == null;
+        invalidationBus.register(CacheInvalidationBus.SEARCH_RESULTS, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String key) {
+                try {
+                    version.accumulateAndGet(Long.parseLong(key), Math::max);
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring invalid search content version: {}", key);
+                }
+            }
+
+            @Override
+            public void evictAll() {
+                if (SearchResultCache.this.redisTemplate != null) {
+                    versionKnown = false;
+                    lastVersionAttempt.set(0);
+                }
+            }
+        });
+    }
+
+    /**
+     * Serve {@code request} from the cache, running {@code search} on a miss.
+     */
+    public Mono<PageResponse<ArticleSummary>> getOrSearch(SearchRequest request,
+                                                         Supplier<Mono<PageResponse<ArticleSummary>>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        if (!versionKnown) {
+            loadVersion();
+            return search.get();
+        }
+        ShapeStats stats = shapes.computeIfAbsent(shape(request), this::registerShape);
+        AtomicBoolean searched = new AtomicBoolean(false);
+        String key = CacheService.searchResultKey(version.get(), DigestUtils.sha256Hex(normalize(request), 32));
+        return cacheService.getOrLoad(key, PAGE_TYPE, Duration.ofSeconds(ttlSeconds), () -> {
+                    searched.set(true);
+                    return search.get();
+                })
+                .doOnNext(page -> (searched.get() ? stats.misses : stats.hits).increment());
+    }
+
+    /**
+     * Make every cached search page unreachable on all nodes. Call once a published-content change has
+     * committed (see {@code TransactionCallbacks.afterCommit}): a bump inside the transaction lets a concurrent
+     * search cache the pre-write page under the new version.
+     */
+    public void bumpVersion() {
+        if (redisTemplate == null) {
+            version.incrementAndGet();
+            return;
+        }
+        redisTemplate.opsForValue().increment(VERSION_KEY)
+                .subscribe(
+                        next -> invalidationBus.publish(CacheInvalidationBus.SEARCH_RESULTS, String.valueOf(next)),
+                        err -> {
+                            log.warn("Search content version bump failed, search cache disabled until Redis answers: {}",
+                                    err.getMessage());
+                            invalidationBus.publishAll(CacheInvalidationBus.SEARCH_RESULTS);
+                        });
+    }
+
+    /** Fetch the shared version, at most once per {@link #VERSION_RETRY_INTERVAL} while it fails. */
+    private void loadVersion() {
+        long now = System.currentTimeMillis();
+        long last = lastVersionAttempt.get();
+        if (redisTemplate == null || now - last < VERSION_RETRY_INTERVAL.toMillis()
+                || !lastVersionAttempt.compareAndSet(last, now)) {
+            return;
+        }
+        redisTemplate.opsForValue().get(VERSION_KEY)
+                .map(Long::parseLong)
+                .defaultIfEmpty(0L)
+                .subscribe(
+                        current -> {
+                            version.accumulateAndGet(current, Math::max);
+                            versionKnown = true;
+                        },
+                        err -> log.debug("Search content version unavailable, bypassing the search cache: {}",
+                                err.getMessage()));
+    }
+
+    /**
+     * Canonical form of everything that affects the result page.
+     */
+    static String normalize(SearchRequest request) {
+        String query = request.getQuery() == null ? ""
+                : WHITESPACE.matcher(request.getQuery().strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        String tags = request.getTags() == null ? "" : request.getTags().stream()
+                .filter(Objects::nonNull)
+                .map(tag -> tag.toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        String locale = request.getLocale() == null || request.getLocale().isBlank()
+                ? "en" : request.getLocale().toLowerCase(Locale.ROOT);
+        return String.join("|",
+                "q=" + query,
+                "tags=" + tags,
+                "from=" + Objects.toString(request.getDateFrom(), ""),
+                "to=" + Objects.toString(request.getDateTo(), ""),
+                "sort=" + sort(request),
+                "page=" + request.getPage(),
+                "size=" + request.getSize(),
+                "locale=" + locale,
+                "cursor=" + Objects.toString(request.getCursor(), ""));
+    }
+
+    /**
+     * Low-cardinality metric label: the filters in use plus the sort, e.g. {@code text+tags:relevance}.
+     */
+    static String shape(SearchRequest request) {
+        StringJoiner filters = new StringJoiner("+");
+        if (request.getQuery() != null && !request.getQuery().isBlank()) {
+            filters.add("text");
+        }
+        if (request.getTags() != null && !request.getTags().isEmpty()) {
+            filters.add("tags");
+        }
+        if (request.getDateFrom() != null || request.getDateTo() != null) {
+            filters.add("dates");
+        }
+        if (request.getCursor() != null) {
+            filters.add("cursor");
+        }
+        String sort = sort(request);
+        return (filters.length() == 0 ? "browse" : filters.toString()) + ":"
+                + (KNOWN_SORTS.contains(sort) ? sort : "other");
+    }
+
+    private static String sort(SearchRequest request) {
+        return request.getSortBy() == null ? "relevance" : request.getSortBy().toLowerCase(Locale.ROOT);
+    }
+
+    private ShapeStats registerShape(String shape) {
+        ShapeStats stats = new ShapeStats();
+        for (Map.Entry<String, LongAdder> result : List.of(Map.entry("hit", stats.hits), Map.entry("miss", stats.misses))) {
+            FunctionCounter.builder("blog.search.cache.requests", result.getValue(), LongAdder::sum)
+                    .description("Search requests served by the search result cache")
+                    .tag("shape", shape)
+                    .tag("result", result.getKey())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("blog.search.cache.hit.ratio", stats, ShapeStats::hitRatio)
+                .description("Share of search requests answered from the search result cache")
+                .tag("shape", shape)
+                .register(meterRegistry);
+        return stats;
+    }
+
+    private static final class ShapeStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private double hitRatio() {
+            long hit = hits.sum();
+            long total = hit + misses.sum();
+            return total == 0 ? 0.0 : (double) hit / total;
+        }
+    }
+}
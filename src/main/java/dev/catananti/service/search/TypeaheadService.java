@@ -0,0 +1,315 @@
+package dev.catananti.service.search;
+
+import dev.catananti.entity.LocalizedText;
+import dev.catananti.service.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Search suggestions served from a {@link CompletionTrie} in memory, so typing in the search box never
+ * reaches the database.
+ * <p>
+ * The trie holds published article titles (every translation, weighted by views), tag names in every
+ * locale (weighted by published article count) and past queries that returned results at least
+ * {@code app.search.suggest.min-query-count} times. Weights are log-damped so one very popular source
+ * does not crowd out the others.
+ * </p>
+ * <p>
+ * Article and tag writes publish on {@link CacheInvalidationBus#SEARCH_SUGGESTIONS} (an article id, or
+ * {@link #TAGS_KEY}); each node re-reads only what changed and swaps in a new trie. Query counts are
+ * buffered locally and merged every {@code app.search.suggest.refresh-ms} into a Redis sorted set shared
+ * by all nodes, which also re-read titles then to pick up view counts. Without Redis the counts are local.
+ * </p>
+ */
+@Service
+@Slf4j
+public class TypeaheadService {
+
+    /** {@link CacheInvalidationBus#SEARCH_SUGGESTIONS} key announcing that tag names or counts changed. */
+    public static final String TAGS_KEY = "tags";
+
+    private static final String QUERY_COUNTS_KEY = "search:query-counts";
+    private static final int MAX_TRACKED_QUERIES = 5_000;
+    private static final int MAX_QUERY_SUGGESTIONS = 1_000;
+    private static final int MAX_QUERY_LENGTH = 60;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String TITLES_SQL = """
+            SELECT id, title, views_count
+            FROM articles WHERE status = 'PUBLISHED'""";
+    private static final String TRANSLATED_TITLES_SQL = """
+            SELECT i.article_id, i.title, a.views_count
+            FROM article_i18n i
+            JOIN articles a ON a.id = i.article_id
+            WHERE a.status = 'PUBLISHED'""";
+    private static final String TAGS_SQL = """
+            SELECT CAST(t.name AS VARCHAR) AS name,
+                   (SELECT COUNT(*) FROM article_tags at
+                    JOIN articles a ON a.id = at.article_id
+                    WHERE at.tag_id = t.id AND a.status = 'PUBLISHED') AS articles
+            FROM tags t""";
+
+    private record TitleRow(long articleId, String title, Integer views) {
+    }
+
+    private final DatabaseClient databaseClient;
+    @Nullable
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Map<Long, List<CompletionTrie.Suggestion>> titles = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> pendingQueries = new ConcurrentHashMap<>();
+    private final Map<String, Long> localQueryCounts = new ConcurrentHashMap<>();
+    private volatile List<CompletionTrie.Suggestion> tags = List.of();
+    private volatile List<CompletionTrie.Suggestion> queries = List.of();
+    private volatile CompletionTrie trie = CompletionTrie.build(List.of());
+    private volatile boolean ready;
+
+    @Value("${app.search.suggest.min-query-count:3}")
+    private int minQueryCount = 3;
+
+    public TypeaheadService(
+            R2dbcEntityTemplate r2dbcTemplate,
+            CacheInvalidationBus invalidationBus,
+            @Autowired(required = false)
+            @Qualifier("reactiveRedisTemplate") @Nullable ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.databaseClient = r2dbcTemplate.getDatabaseClient();
+        this.redisTemplate = redisTemplate;
+        invalidationBus.register(CacheInvalidationBus.SEARCH_SUGGESTIONS, new CacheInvalidationBus.Evictor() {
+            @Override
+            public void evict(String key) {
+                if (TAGS_KEY.equals(key)) {
+                    reloadTags().subscribe(null, err -> log.warn("Suggestion tag reload failed: {}", err.getMessage()));
+                    return;
+                }
+                try {
+                    reloadArticle(Long.parseLong(key)).subscribe(null,
+                            err -> log.warn("Suggestion update failed for article {}: {}", key, err.getMessage()));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring suggestion update for invalid article id: {}", key);
+                }
+            }
+
+            @Override
+            public void evictAll() {
+                refresh().subscribe(null, err -> log.error("Suggestion refresh failed: {}", err.getMessage()));
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh().subscribe(null, err -> log.error("Initial suggestion build failed, SQL suggestions stay active: {}",
+                err.getMessage()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.suggest.refresh-ms:300000}", initialDelayString = "${app.search.suggest.refresh-ms:300000}")
+    public void scheduledRefresh() {
+        try {
+            refresh().block();
+        } catch (Exception e) {
+            log.error("Scheduled suggestion refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Completions for {@code prefix}, most popular first, or null while the trie is not built yet
+     * (callers fall back to SQL).
+     */
+    @Nullable
+    public List<String> suggest(String prefix, int limit) {
+        if (!ready) {
+            return null;
+        }
+        return trie.complete(prefix, limit);
+    }
+
+    /**
+     * Count a query that returned results. Counts are flushed on the next refresh; only queries seen at
+     * least {@code min-query-count} times become suggestions.
+     */
+    public void recordQuery(String query) {
+        String normalized = normalizeQuery(query);
+        if (normalized == null) {
+            return;
+        }
+        LongAdder counter = pendingQueries.get(normalized);
+        if (counter == null) {
+            if (pendingQueries.size() >= MAX_TRACKED_QUERIES) {
+                return;
+            }
+            counter = pendingQueries.computeIfAbsent(normalized, q -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Reload titles and tags, merge the buffered query counts and swap in a new trie.
+     */
+    public Mono<Void> refresh() {
+        long started = System.nanoTime();
+        return Mono.zip(loadTitles(null), loadTags(), Mono.defer(this::flushQueryCounts))
+                .doOnNext(tuple -> {
+                    titles.clear();
+                    titles.putAll(tuple.getT1());
+                    tags = tuple.getT2();
+                    queries = tuple.getT3();
+                    rebuildTrie();
+                    ready = true;
+                    log.info("Search suggestions built: {} phrases in {} ms",
+                            trie.size(), (System.nanoTime() - started) / 1_000_000);
+                })
+                .then();
+    }
+
+    /**
+     * Re-read the titles of one article; drops them when it is no longer published.
+     */
+    public Mono<Void> reloadArticle(long articleId) {
+        return loadTitles(articleId)
+                .doOnNext(loaded -> {
+                    List<CompletionTrie.Suggestion> articleTitles = loaded.get(articleId);
+                    if (articleTitles == null) {
+                        titles.remove(articleId);
+                    } else {
+                        titles.put(articleId, articleTitles);
+                    }
+                    rebuildTrie();
+                })
+                .then();
+    }
+
+    public Mono<Void> reloadTags() {
+        return loadTags()
+                .doOnNext(loaded -> {
+                    tags = loaded;
+                    rebuildTrie();
+                })
+                .then();
+    }
+
+    private synchronized void rebuildTrie() {
+        List<CompletionTrie.Suggestion> all = new ArrayList<>(tags);
+        titles.values().forEach(all::addAll);
+        all.addAll(queries);
+        trie = CompletionTrie.build(all);
+    }
+
+    private Mono<Map<Long, List<CompletionTrie.Suggestion>>> loadTitles(@Nullable Long articleId) {
+        Flux<TitleRow> base = query(TITLES_SQL, "id", articleId)
+                .map((row, meta) -> new TitleRow(row.get("id", Long.class), row.get("title", String.class),
+                        row.get("views_count", Integer.class)))
+                .all();
+        Flux<TitleRow> translated = query(TRANSLATED_TITLES_SQL, "a.id", articleId)
+                .map((row, meta) -> new TitleRow(row.get("article_id", Long.class), row.get("title", String.class),
+                        row.get("views_count", Integer.class)))
+                .all();
+        return Flux.concat(base, translated)
+                .filter(row -> row.title() != null)
+                .collectMultimap(TitleRow::articleId,
+                        row -> new CompletionTrie.Suggestion(row.title(), weight(row.views() != null ? row.views() : 0)))
+                .map(multimap -> {
+                    Map<Long, List<CompletionTrie.Suggestion>> byArticle = new HashMap<>();
+                    multimap.forEach((id, suggestions) -> byArticle.put(id, List.copyOf(suggestions)));
+                    return byArticle;
+                });
+    }
+
+    private Mono<List<CompletionTrie.Suggestion>> loadTags() {
+        return databaseClient.sql(TAGS_SQL)
+                .map((row, meta) -> {
+                    Long articles = row.get("articles", Long.class);
+                    double weight = weight(articles != null ? articles : 0);
+                    return LocalizedText.fromJson(row.get("name", String.class)).getTranslations().values().stream()
+                            .map(name -> new CompletionTrie.Suggestion(name, weight))
+                            .toList();
+                })
+                .all()
+                .collectList()
+                .map(rows -> rows.stream().flatMap(Collection::stream).toList());
+    }
+
+    private Mono<List<CompletionTrie.Suggestion>> flushQueryCounts() {
+        Map<String, Long> batch = new HashMap<>();
+        pendingQueries.keySet().forEach(q -> {
+            LongAdder counter = pendingQueries.remove(q);
+            if (counter != null) {
+                batch.put(q, counter.sum());
+            }
+        });
+
+        if (redisTemplate == null) {
+            batch.forEach((q, n) -> localQueryCounts.merge(q, n, Long::sum));
+            return Mono.just(topLocalQueries());
+        }
+        ReactiveZSetOperations<String, String> counts = redisTemplate.opsForZSet();
+        return Flux.fromIterable(batch.entrySet())
+                .concatMap(e -> counts.incrementScore(QUERY_COUNTS_KEY, e.getKey(), e.getValue()))
+                .then(counts.removeRange(QUERY_COUNTS_KEY, Range.closed(0L, (long) -MAX_TRACKED_QUERIES - 1)))
+                .thenMany(counts.reverseRangeWithScores(QUERY_COUNTS_KEY, Range.closed(0L, (long) MAX_QUERY_SUGGESTIONS - 1)))
+                .filter(t -> t.getValue() != null && t.getScore() != null && t.getScore() >= minQueryCount)
+                .map(t -> new CompletionTrie.Suggestion(t.getValue(), weight(t.getScore().longValue())))
+                .collectList()
+                .onErrorResume(e -> {
+                    log.warn("Could not merge search query counts in Redis, keeping previous suggestions: {}",
+                            e.getMessage());
+                    return Mono.just(queries);
+                });
+    }
+
+    private List<CompletionTrie.Suggestion> topLocalQueries() {
+        List<Map.Entry<String, Long>> ranked = localQueryCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .toList();
+        ranked.stream().skip(MAX_TRACKED_QUERIES).forEach(e -> localQueryCounts.remove(e.getKey()));
+        return ranked.stream()
+                .filter(e -> e.getValue() >= minQueryCount)
+                .limit(MAX_QUERY_SUGGESTIONS)
+                .map(e -> new CompletionTrie.Suggestion(e.getKey(), weight(e.getValue())))
+                .toList();
+    }
+
+    /**
+     * Trimmed, single-spaced and lower-cased query, or null when it is too short or too long to suggest.
+     */
+    static String normalizeQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return normalized.length() < 2 || normalized.length() > MAX_QUERY_LENGTH ? null : normalized;
+    }
+
+    private static double weight(long popularity) {
+        return 1 + Math.log1p(Math.max(0, popularity));
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String sql, String idColumn, @Nullable Long articleId) {
+        if (articleId == null) {
+            return databaseClient.sql(sql);
+        }
+        return databaseClient.sql(sql + " AND " + idColumn + " = :id").bind("id", articleId);
+    }
+}
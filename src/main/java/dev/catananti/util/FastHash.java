@@ -0,0 +1,30 @@
+package dev.catananti.util;
+
+/**
+ * Non-cryptographic 64-bit string hash for in-memory tables and filters.
+ * <p>
+ * FNV-1a over the chars, finished with the MurmurHash3 64-bit mix so every output bit depends on every
+ * input char; callers can split the result into independent parts (slot and fingerprint, or the two seeds
+ * of double hashing). Not suitable for anything an attacker must not be able to collide, see {@link DigestUtils}.
+ * </p>
+ */
+public final class FastHash {
+
+    private FastHash() {
+        // utility class
+    }
+
+    public static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
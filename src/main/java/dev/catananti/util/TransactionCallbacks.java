@@ -0,0 +1,47 @@
+package dev.catananti.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Defers side effects of a reactive {@code @Transactional} write until its transaction commits.
+ * <p>
+ * Cache evictions and index reloads published mid-transaction let other connections re-read the
+ * old row and cache it again; registering them here makes them run once the write is visible, and
+ * not at all on rollback. Outside a transaction the action runs immediately.
+ * </p>
+ */
+@Slf4j
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+        // Utility class
+    }
+
+    /**
+     * Run {@code action} after the surrounding transaction commits, or right away when there is none.
+     * Failures of a deferred action are logged and never fail the already committed write.
+     */
+    public static Mono<Void> afterCommit(Mono<Void> action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(tsm -> {
+                    if (!tsm.isSynchronizationActive()) {
+                        return action;
+                    }
+                    tsm.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return action.onErrorResume(e -> {
+                                log.warn("After-commit action failed: {}", e.getMessage());
+                                return Mono.empty();
+                            });
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> action);
+    }
+}
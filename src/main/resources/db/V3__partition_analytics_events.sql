@@ -0,0 +1,72 @@
+-- Migration: Convert analytics_events to a table range-partitioned by created_at
+-- Date: 2026-10-16
+-- Reason: Retention was a bulk DELETE that bloated the table and its indexes. With partitions,
+--         AnalyticsPartitionService drops whole expired partitions and pre-creates upcoming ones.
+--
+-- The existing rows before the current month are kept as one partition covering that range, so only
+-- the current month's rows are copied. It is dropped once the whole range falls past retention.
+-- Run with psql during a quiet period (takes an ACCESS EXCLUSIVE lock on analytics_events).
+
+BEGIN;
+
+ALTER TABLE analytics_events RENAME TO analytics_events_legacy;
+ALTER TABLE analytics_events_legacy DROP CONSTRAINT IF EXISTS analytics_events_pkey;
+UPDATE analytics_events_legacy SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE analytics_events_legacy ALTER COLUMN created_at SET NOT NULL;
+
+-- Indexes on the old table would clash with the parent's index names
+DROP INDEX IF EXISTS idx_analytics_article_id;
+DROP INDEX IF EXISTS idx_analytics_created_at;
+DROP INDEX IF EXISTS idx_analytics_event_type;
+DROP INDEX IF EXISTS idx_analytics_composite;
+DROP INDEX IF EXISTS idx_analytics_article_created;
+
+CREATE TABLE analytics_events (
+    id BIGINT NOT NULL,
+    article_id BIGINT REFERENCES articles(id) ON DELETE CASCADE,
+    event_type VARCHAR(50) NOT NULL,
+    user_ip VARCHAR(45),
+    user_agent TEXT,
+    referrer VARCHAR(500),
+    metadata JSONB,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Monthly partitions (named as AnalyticsPartitionService names them) for the current month and every later
+-- month that already has rows, so the rows moved below land in real partitions and the default stays empty.
+-- A DAY-granularity install switches to daily partitions from the next month on.
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', CURRENT_TIMESTAMP)::date;
+    last_month DATE;
+BEGIN
+    SELECT GREATEST(date_trunc('month', MAX(created_at))::date, month_start) INTO last_month
+    FROM analytics_events_legacy;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF analytics_events FOR VALUES FROM (%L) TO (%L)',
+            'analytics_events_p' || to_char(month_start, 'YYYYMM'), month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE analytics_events_default PARTITION OF analytics_events DEFAULT;
+
+-- Rows from the current month on would fail the attach check below; move them into their partitions
+INSERT INTO analytics_events
+    SELECT * FROM analytics_events_legacy WHERE created_at >= date_trunc('month', CURRENT_TIMESTAMP);
+DELETE FROM analytics_events_legacy WHERE created_at >= date_trunc('month', CURRENT_TIMESTAMP);
+
+DO $$
+BEGIN
+    EXECUTE format(
+        'ALTER TABLE analytics_events ATTACH PARTITION analytics_events_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        date_trunc('month', CURRENT_TIMESTAMP));
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_analytics_article_id ON analytics_events(article_id);
+CREATE INDEX IF NOT EXISTS idx_analytics_created_at ON analytics_events(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_analytics_event_type ON analytics_events(event_type);
+CREATE INDEX IF NOT EXISTS idx_analytics_composite ON analytics_events(article_id, event_type, created_at DESC);
+
+COMMIT;
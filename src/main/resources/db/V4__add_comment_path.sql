@@ -0,0 +1,20 @@
+-- Migration: Add the materialized thread path to comments
+-- Date: 2026-10-16
+-- Reason: Comment threads are now served at any depth. Each comment stores the ids from its top-level
+--         comment down to itself ("rootId/.../id"), set when the comment is created, so clients can
+--         place a reply without walking parent links.
+--
+-- Rows left without a path still render: CommentService derives the path while assembling the thread.
+-- New replies are capped at CommentService.MAX_REPLY_DEPTH levels; older threads nested deeper than the
+-- column holds keep a NULL path instead of failing the backfill.
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS path VARCHAR(2000);
+
+WITH RECURSIVE tree(id, path) AS (
+    SELECT id, CAST(id AS TEXT) FROM comments WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.path || '/' || c.id FROM comments c JOIN tree t ON c.parent_id = t.id
+)
+UPDATE comments SET path = tree.path
+FROM tree
+WHERE comments.id = tree.id AND comments.path IS NULL AND length(tree.path) <= 2000;
@@ -12,12 +12,10 @@ CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_slug_status
 CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_author_status 
     ON articles(author_id, status);
 
--- Full-text search optimization
-CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_content_gin 
-    ON articles USING gin(to_tsvector('english', content));
-
-CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_articles_title_gin 
-    ON articles USING gin(to_tsvector('english', title));
+-- Full-text search is served by idx_articles_search_vector (schema.sql);
+-- these per-column expression indexes never matched a query
+DROP INDEX CONCURRENTLY IF EXISTS idx_articles_content_gin;
+DROP INDEX CONCURRENTLY IF EXISTS idx_articles_title_gin;
 
 -- Tag queries optimization
 CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_article_tags_tag_id 
@@ -40,6 +40,7 @@ CREATE TABLE IF NOT EXISTS articles (
     reading_time_minutes INTEGER,
     views_count INTEGER DEFAULT 0,
     likes_count INTEGER DEFAULT 0,
+    approved_comment_count INTEGER DEFAULT 0,
     seo_title VARCHAR(255),
     seo_description VARCHAR(500),
     seo_keywords VARCHAR(500),
@@ -65,6 +66,19 @@ CREATE TABLE IF NOT EXISTS article_tags (
     PRIMARY KEY (article_id, tag_id)
 );
 
+-- Precomputed related articles: "id:score" pairs, most similar first
+CREATE TABLE IF NOT EXISTS article_related (
+    article_id BIGINT PRIMARY KEY REFERENCES articles(id) ON DELETE CASCADE,
+    neighbours VARCHAR(1024) NOT NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Shared counter batches already added to articles, so a batch left in Redis is never applied twice
+CREATE TABLE IF NOT EXISTS counter_flush_batches (
+    batch_id VARCHAR(36) PRIMARY KEY,
+    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Comments table
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT PRIMARY KEY,
@@ -74,6 +88,7 @@ CREATE TABLE IF NOT EXISTS comments (
     content TEXT NOT NULL,
     status VARCHAR(50) DEFAULT 'PENDING',
     parent_id BIGINT REFERENCES comments(id),
+    path VARCHAR(2000),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -94,6 +109,7 @@ CREATE TABLE IF NOT EXISTS analytics_events (
 CREATE INDEX IF NOT EXISTS idx_articles_slug ON articles(slug);
 CREATE INDEX IF NOT EXISTS idx_articles_status ON articles(status);
 CREATE INDEX IF NOT EXISTS idx_articles_published_at ON articles(published_at DESC);
+CREATE INDEX IF NOT EXISTS idx_articles_status_published ON articles(status, published_at DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_articles_scheduled_at ON articles(scheduled_at);
 CREATE INDEX IF NOT EXISTS idx_articles_author_id ON articles(author_id);
 CREATE INDEX IF NOT EXISTS idx_articles_views ON articles(views_count DESC);
@@ -101,12 +117,48 @@ CREATE INDEX IF NOT EXISTS idx_articles_likes ON articles(likes_count DESC);
 CREATE INDEX IF NOT EXISTS idx_comments_article_id ON comments(article_id);
 CREATE INDEX IF NOT EXISTS idx_comments_author_email ON comments(author_email);
 CREATE INDEX IF NOT EXISTS idx_comments_status ON comments(status);
+CREATE INDEX IF NOT EXISTS idx_comments_status_id ON comments(status, id DESC);
 CREATE INDEX IF NOT EXISTS idx_comments_parent_id ON comments(parent_id);
 CREATE INDEX IF NOT EXISTS idx_analytics_article_id ON analytics_events(article_id);
 CREATE INDEX IF NOT EXISTS idx_analytics_created_at ON analytics_events(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_analytics_event_type ON analytics_events(event_type);
 CREATE INDEX IF NOT EXISTS idx_analytics_composite ON analytics_events(article_id, event_type, created_at DESC);
 
+-- Analytics rollups (maintained incrementally by AnalyticsRollupService; article_id 0 = site-wide events)
+CREATE TABLE IF NOT EXISTS analytics_hourly_rollup (
+    bucket_start TIMESTAMP NOT NULL,
+    article_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, article_id, event_type)
+);
+
+CREATE TABLE IF NOT EXISTS analytics_daily_rollup (
+    stat_date DATE NOT NULL,
+    article_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (stat_date, article_id, event_type)
+);
+
+CREATE TABLE IF NOT EXISTS analytics_referrer_daily_rollup (
+    stat_date DATE NOT NULL,
+    article_id BIGINT NOT NULL,
+    referrer VARCHAR(500) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (stat_date, article_id, referrer)
+);
+
+-- Rollup progress: events with created_at < watermark are already aggregated
+CREATE TABLE IF NOT EXISTS analytics_rollup_state (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_analytics_daily_rollup_type ON analytics_daily_rollup(event_type, stat_date);
+CREATE INDEX IF NOT EXISTS idx_analytics_daily_rollup_article ON analytics_daily_rollup(article_id, stat_date);
+CREATE INDEX IF NOT EXISTS idx_analytics_referrer_rollup_date ON analytics_referrer_daily_rollup(stat_date);
+
 -- Refresh Tokens table
 CREATE TABLE IF NOT EXISTS refresh_tokens (
     id BIGINT PRIMARY KEY,
@@ -136,6 +188,7 @@ CREATE TABLE IF NOT EXISTS subscribers (
 
 CREATE INDEX IF NOT EXISTS idx_subscribers_email ON subscribers(email);
 CREATE INDEX IF NOT EXISTS idx_subscribers_status ON subscribers(status);
+CREATE INDEX IF NOT EXISTS idx_subscribers_status_id ON subscribers(status, id);
 CREATE INDEX IF NOT EXISTS idx_subscribers_confirmation_token ON subscribers(confirmation_token);
 CREATE INDEX IF NOT EXISTS idx_subscribers_unsubscribe_token ON subscribers(unsubscribe_token);
 
@@ -437,6 +490,44 @@ CREATE INDEX IF NOT EXISTS idx_contacts_public_id ON contacts(public_id);
 CREATE INDEX IF NOT EXISTS idx_contacts_created_at ON contacts(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_contacts_unread ON contacts(is_read, created_at DESC);
 
+-- Outgoing email queue, drained by EmailOutboxDispatcher (PENDING -> SENDING -> SENT | DEAD)
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN DEFAULT TRUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claimed_by VARCHAR(64),
+    last_error VARCHAR(1000),
+    campaign_id BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_claim ON email_outbox(claimed_by);
+
+-- Newsletter campaigns: one fan-out per published article, resumed from last_subscriber_id after a restart
+CREATE TABLE IF NOT EXISTS newsletter_campaigns (
+    id BIGINT PRIMARY KEY,
+    article_id BIGINT NOT NULL UNIQUE REFERENCES articles(id) ON DELETE CASCADE,
+    subject VARCHAR(500) NOT NULL,
+    body_template TEXT NOT NULL,
+    locale VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    last_subscriber_id BIGINT NOT NULL DEFAULT 0,
+    queued_count INTEGER NOT NULL DEFAULT 0,
+    claimed_by VARCHAR(64),
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_newsletter_campaigns_status ON newsletter_campaigns(status);
+
 -- Article i18n translations table (Translation Table Wide approach)
 ALTER TABLE articles ADD COLUMN IF NOT EXISTS original_locale VARCHAR(10) DEFAULT 'en';
 
@@ -514,6 +605,17 @@ CREATE INDEX IF NOT EXISTS idx_bookmarks_created_at ON bookmarks(created_at DESC
 -- Migration: Add updated_at to comments
 ALTER TABLE comments ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
 
+-- Migration: Materialized thread path of each comment ("rootId/.../id")
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS path VARCHAR(2000);
+
+-- Migration: Approved comment count kept on the article by CommentService moderation.
+-- No DO blocks in H2, so the backfill runs on every startup and only touches rows that are off.
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS approved_comment_count INTEGER DEFAULT 0;
+UPDATE articles SET approved_comment_count =
+    (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id AND c.status = 'APPROVED')
+WHERE approved_comment_count IS DISTINCT FROM
+    (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id AND c.status = 'APPROVED');
+
 -- ============================================
 -- Role Upgrade Requests
 -- ============================================
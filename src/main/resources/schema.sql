@@ -42,6 +42,7 @@ CREATE TABLE IF NOT EXISTS articles (
     reading_time_minutes INTEGER,
     views_count INTEGER DEFAULT 0,
     likes_count INTEGER DEFAULT 0,
+    approved_comment_count INTEGER DEFAULT 0,
     seo_title VARCHAR(255),
     seo_description VARCHAR(500),
     seo_keywords VARCHAR(500),
@@ -67,6 +68,19 @@ CREATE TABLE IF NOT EXISTS article_tags (
     PRIMARY KEY (article_id, tag_id)
 );
 
+-- Precomputed related articles: "id:score" pairs, most similar first
+CREATE TABLE IF NOT EXISTS article_related (
+    article_id BIGINT PRIMARY KEY REFERENCES articles(id) ON DELETE CASCADE,
+    neighbours VARCHAR(1024) NOT NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Shared counter batches already added to articles, so a batch left in Redis is never applied twice
+CREATE TABLE IF NOT EXISTS counter_flush_batches (
+    batch_id VARCHAR(36) PRIMARY KEY,
+    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Comments table
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT PRIMARY KEY,
@@ -76,26 +90,39 @@ CREATE TABLE IF NOT EXISTS comments (
     content TEXT NOT NULL,
     status VARCHAR(50) DEFAULT 'PENDING',
     parent_id BIGINT REFERENCES comments(id),
+    path VARCHAR(2000),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- Analytics Events table
+-- Analytics Events table, range-partitioned by created_at.
+-- Monthly (or daily) partitions are created ahead and dropped past retention by AnalyticsPartitionService;
+-- the default partition only catches rows outside every pre-created range.
+-- Existing non-partitioned installs: see db/V3__partition_analytics_events.sql
 CREATE TABLE IF NOT EXISTS analytics_events (
-    id BIGINT PRIMARY KEY,
+    id BIGINT NOT NULL,
     article_id BIGINT REFERENCES articles(id) ON DELETE CASCADE,
     event_type VARCHAR(50) NOT NULL,
     user_ip VARCHAR(45),
     user_agent TEXT,
     referrer VARCHAR(500),
     metadata JSONB,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-);
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+-- Installs from before partitioning keep a plain table until db/V3__partition_analytics_events.sql runs
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('analytics_events')) THEN
+        CREATE TABLE IF NOT EXISTS analytics_events_default PARTITION OF analytics_events DEFAULT;
+    END IF;
+END $$;
 
 -- Indexes for performance
 CREATE INDEX IF NOT EXISTS idx_articles_slug ON articles(slug);
 CREATE INDEX IF NOT EXISTS idx_articles_status ON articles(status);
 CREATE INDEX IF NOT EXISTS idx_articles_published_at ON articles(published_at DESC);
+CREATE INDEX IF NOT EXISTS idx_articles_status_published ON articles(status, published_at DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_articles_scheduled_at ON articles(scheduled_at) WHERE scheduled_at IS NOT NULL;
 CREATE INDEX IF NOT EXISTS idx_articles_author_id ON articles(author_id);
 CREATE INDEX IF NOT EXISTS idx_articles_views ON articles(views_count DESC) WHERE status = 'PUBLISHED';
@@ -103,17 +130,48 @@ CREATE INDEX IF NOT EXISTS idx_articles_likes ON articles(likes_count DESC) WHER
 CREATE INDEX IF NOT EXISTS idx_comments_article_id ON comments(article_id);
 CREATE INDEX IF NOT EXISTS idx_comments_author_email ON comments(author_email);
 CREATE INDEX IF NOT EXISTS idx_comments_status ON comments(status);
+CREATE INDEX IF NOT EXISTS idx_comments_status_id ON comments(status, id DESC);
 CREATE INDEX IF NOT EXISTS idx_comments_parent_id ON comments(parent_id) WHERE parent_id IS NOT NULL;
 CREATE INDEX IF NOT EXISTS idx_analytics_article_id ON analytics_events(article_id);
 CREATE INDEX IF NOT EXISTS idx_analytics_created_at ON analytics_events(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_analytics_event_type ON analytics_events(event_type);
 CREATE INDEX IF NOT EXISTS idx_analytics_composite ON analytics_events(article_id, event_type, created_at DESC);
 
--- Full-text search index for articles (PostgreSQL)
-CREATE INDEX IF NOT EXISTS idx_articles_search ON articles USING GIN (
-    to_tsvector('english', coalesce(title, '') || ' ' || coalesce(excerpt, '') || ' ' || coalesce(content, ''))
+-- Analytics rollups (maintained incrementally by AnalyticsRollupService; article_id 0 = site-wide events)
+CREATE TABLE IF NOT EXISTS analytics_hourly_rollup (
+    bucket_start TIMESTAMP NOT NULL,
+    article_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, article_id, event_type)
+);
+
+CREATE TABLE IF NOT EXISTS analytics_daily_rollup (
+    stat_date DATE NOT NULL,
+    article_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (stat_date, article_id, event_type)
+);
+
+CREATE TABLE IF NOT EXISTS analytics_referrer_daily_rollup (
+    stat_date DATE NOT NULL,
+    article_id BIGINT NOT NULL,
+    referrer VARCHAR(500) NOT NULL,
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (stat_date, article_id, referrer)
+);
+
+-- Rollup progress: events with created_at < watermark are already aggregated
+CREATE TABLE IF NOT EXISTS analytics_rollup_state (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL
 );
 
+CREATE INDEX IF NOT EXISTS idx_analytics_daily_rollup_type ON analytics_daily_rollup(event_type, stat_date);
+CREATE INDEX IF NOT EXISTS idx_analytics_daily_rollup_article ON analytics_daily_rollup(article_id, stat_date);
+CREATE INDEX IF NOT EXISTS idx_analytics_referrer_rollup_date ON analytics_referrer_daily_rollup(stat_date);
+
 -- Refresh Tokens table
 CREATE TABLE IF NOT EXISTS refresh_tokens (
     id BIGINT PRIMARY KEY,
@@ -143,6 +201,7 @@ CREATE TABLE IF NOT EXISTS subscribers (
 
 CREATE INDEX IF NOT EXISTS idx_subscribers_email ON subscribers(email);
 CREATE INDEX IF NOT EXISTS idx_subscribers_status ON subscribers(status);
+CREATE INDEX IF NOT EXISTS idx_subscribers_status_id ON subscribers(status, id);
 CREATE INDEX IF NOT EXISTS idx_subscribers_confirmation_token ON subscribers(confirmation_token) WHERE status = 'PENDING';
 CREATE INDEX IF NOT EXISTS idx_subscribers_unsubscribe_token ON subscribers(unsubscribe_token) WHERE unsubscribe_token IS NOT NULL;
 
@@ -452,6 +511,44 @@ CREATE INDEX IF NOT EXISTS idx_contacts_public_id ON contacts(public_id);
 CREATE INDEX IF NOT EXISTS idx_contacts_created_at ON contacts(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_contacts_unread ON contacts(is_read, created_at DESC) WHERE is_read = FALSE;
 
+-- Outgoing email queue, drained by EmailOutboxDispatcher (PENDING -> SENDING -> SENT | DEAD)
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN DEFAULT TRUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claimed_by VARCHAR(64),
+    last_error VARCHAR(1000),
+    campaign_id BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_claim ON email_outbox(claimed_by);
+
+-- Newsletter campaigns: one fan-out per published article, resumed from last_subscriber_id after a restart
+CREATE TABLE IF NOT EXISTS newsletter_campaigns (
+    id BIGINT PRIMARY KEY,
+    article_id BIGINT NOT NULL UNIQUE REFERENCES articles(id) ON DELETE CASCADE,
+    subject VARCHAR(500) NOT NULL,
+    body_template TEXT NOT NULL,
+    locale VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    last_subscriber_id BIGINT NOT NULL DEFAULT 0,
+    queued_count INTEGER NOT NULL DEFAULT 0,
+    claimed_by VARCHAR(64),
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_newsletter_campaigns_status ON newsletter_campaigns(status);
+
 -- Article i18n translations table (Translation Table Wide approach)
 ALTER TABLE articles ADD COLUMN IF NOT EXISTS original_locale VARCHAR(10) DEFAULT 'en';
 
@@ -493,18 +590,42 @@ CREATE TABLE IF NOT EXISTS article_i18n (
 CREATE INDEX IF NOT EXISTS idx_article_i18n_locale ON article_i18n(locale);
 CREATE INDEX IF NOT EXISTS idx_article_i18n_article ON article_i18n(article_id);
 
--- FTS indexes per locale on article_i18n
-CREATE INDEX IF NOT EXISTS idx_article_i18n_fts_en ON article_i18n USING GIN (
-    to_tsvector('english', coalesce(title, '') || ' ' || coalesce(excerpt, '') || ' ' || coalesce(content, ''))
-) WHERE locale = 'en';
-
-CREATE INDEX IF NOT EXISTS idx_article_i18n_fts_pt ON article_i18n USING GIN (
-    to_tsvector('portuguese', coalesce(title, '') || ' ' || coalesce(excerpt, '') || ' ' || coalesce(content, ''))
-) WHERE locale = 'pt-br';
-
-CREATE INDEX IF NOT EXISTS idx_article_i18n_fts_es ON article_i18n USING GIN (
-    to_tsvector('spanish', coalesce(title, '') || ' ' || coalesce(excerpt, '') || ' ' || coalesce(content, ''))
-) WHERE locale = 'es';
+-- ============================================
+-- Full-text search: stored, weighted tsvector per row (title A, excerpt B, content C)
+-- ============================================
+-- Maps a locale code to its text-search configuration; mirrored by SearchService.searchConfig.
+-- IMMUTABLE so it can drive the generated columns below.
+CREATE OR REPLACE FUNCTION article_search_config(locale TEXT) RETURNS regconfig
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+    AS 'SELECT CASE lower(split_part(coalesce($1, ''en''), ''-'', 1))
+            WHEN ''pt'' THEN ''portuguese''::regconfig
+            WHEN ''es'' THEN ''spanish''::regconfig
+            WHEN ''it'' THEN ''italian''::regconfig
+            WHEN ''fr'' THEN ''french''::regconfig
+            WHEN ''de'' THEN ''german''::regconfig
+            ELSE ''english''::regconfig
+        END';
+
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector(article_search_config(original_locale), coalesce(title, '')), 'A') ||
+    setweight(to_tsvector(article_search_config(original_locale), coalesce(excerpt, '')), 'B') ||
+    setweight(to_tsvector(article_search_config(original_locale), coalesce(content, '')), 'C')
+) STORED;
+
+ALTER TABLE article_i18n ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector(article_search_config(locale), coalesce(title, '')), 'A') ||
+    setweight(to_tsvector(article_search_config(locale), coalesce(excerpt, '')), 'B') ||
+    setweight(to_tsvector(article_search_config(locale), coalesce(content, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_articles_search_vector ON articles USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_article_i18n_search_vector ON article_i18n USING GIN (search_vector);
+
+-- Superseded by the stored vectors above (queries never matched these expressions exactly)
+DROP INDEX IF EXISTS idx_articles_search;
+DROP INDEX IF EXISTS idx_article_i18n_fts_en;
+DROP INDEX IF EXISTS idx_article_i18n_fts_pt;
+DROP INDEX IF EXISTS idx_article_i18n_fts_es;
 
 -- ============================================
 -- JSONB Migration: Tags (name, description)
@@ -607,6 +728,21 @@ ALTER TABLE users ADD COLUMN IF NOT EXISTS bio TEXT;
 -- Migration: Add updated_at to comments
 ALTER TABLE comments ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
 
+-- Migration: Materialized thread path of each comment ("rootId/.../id")
+-- Existing rows: backfill with db/V4__add_comment_path.sql
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS path VARCHAR(2000);
+
+-- Migration: Approved comment count kept on the article by CommentService moderation.
+-- Existing rows are backfilled when the column is added; CommentCountReconciliationScheduler recounts drifted rows.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns WHERE table_name='articles' AND column_name='approved_comment_count') THEN
+        ALTER TABLE articles ADD COLUMN approved_comment_count INTEGER DEFAULT 0;
+        UPDATE articles SET approved_comment_count =
+            (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id AND c.status = 'APPROVED');
+    END IF;
+END $$;
+
 -- DB-01: Restore functional uniqueness for JSONB tag names (per-locale)
 CREATE UNIQUE INDEX IF NOT EXISTS idx_tags_name_en_unique ON tags ((name->>'en'));
 CREATE UNIQUE INDEX IF NOT EXISTS idx_tags_name_pt_unique ON tags ((name->>'pt-br'));
@@ -694,6 +830,7 @@ CREATE INDEX IF NOT EXISTS idx_user_mfa_config_method ON user_mfa_config(user_id
 CREATE EXTENSION IF NOT EXISTS pg_trgm;
 CREATE INDEX IF NOT EXISTS idx_articles_title_trgm ON articles USING gin (title gin_trgm_ops);
 CREATE INDEX IF NOT EXISTS idx_articles_excerpt_trgm ON articles USING gin (excerpt gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_articles_content_trgm ON articles USING gin (content gin_trgm_ops);
 CREATE INDEX IF NOT EXISTS idx_subscribers_email_trgm ON subscribers USING gin (email gin_trgm_ops);
 -- For resume_templates, LIKE search uses jsonb_each_text(name); index the default locale for partial coverage
 CREATE INDEX IF NOT EXISTS idx_resume_templates_name_en_trgm ON resume_templates USING gin ((name->>'en') gin_trgm_ops);
@@ -0,0 +1,136 @@
+package dev.catananti.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.catananti.config.JacksonConfig;
+import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
+import dev.catananti.dto.PageResponse;
+import dev.catananti.dto.TagResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Before/after cost of a 20-article listing page: the full {@link ArticleResponse} (markdown body and
+ * SEO fields) versus the {@link ArticleSummary} projection now served by list endpoints.
+ * <p>
+ * JMH measures JSON serialization time per page; {@link #summaryPayloadIsAFractionOfFull()} checks the
+ * payload size in the regular suite. Database savings (no TOASTed {@code content} fetched) come on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArticleListPayloadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final PageResponse<ArticleResponse> fullPage = PageResponse.of(
+            IntStream.range(0, PAGE_SIZE).mapToObj(ArticleListPayloadBenchmark::fullArticle).toList(), 0, PAGE_SIZE, 200);
+    private final PageResponse<ArticleSummary> summaryPage = PageResponse.of(
+            IntStream.range(0, PAGE_SIZE).mapToObj(ArticleListPayloadBenchmark::summary).toList(), 0, PAGE_SIZE, 200);
+
+    @Benchmark
+    public byte[] serializeFullPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fullPage);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+
+    @Test
+    @DisplayName("summary listing payload should be a small fraction of the full listing")
+    void summaryPayloadIsAFractionOfFull() throws JsonProcessingException {
+        int full = serializeFullPage().length;
+        int summary = serializeSummaryPage().length;
+
+        assertThat(summary).as("summary %d bytes vs full %d bytes", summary, full).isLessThan(full / 5);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmarks() throws Exception {
+        System.out.printf("Listing payload: full=%d bytes, summary=%d bytes%n",
+                serializeFullPage().length, serializeSummaryPage().length);
+        Benchmarks.run(ArticleListPayloadBenchmark.class);
+    }
+
+    private static ArticleResponse fullArticle(int i) {
+        ArticleSummary s = summary(i);
+        return ArticleResponse.builder()
+                .id(s.getId()).slug(s.getSlug()).title(s.getTitle()).subtitle(s.getSubtitle())
+                .excerpt(s.getExcerpt()).coverImageUrl(s.getCoverImageUrl()).author(s.getAuthor())
+                .status(s.getStatus()).publishedAt(s.getPublishedAt())
+                .readingTimeMinutes(s.getReadingTimeMinutes()).viewCount(s.getViewCount())
+                .likeCount(s.getLikeCount()).commentCount(s.getCommentCount()).tags(s.getTags())
+                .createdAt(s.getCreatedAt()).updatedAt(s.getUpdatedAt())
+                .content(markdownBody(i))
+                .seoTitle(s.getTitle() + " | Catananti")
+                .seoDescription(s.getExcerpt())
+                .seoKeywords("java, spring, webflux, r2dbc")
+                .build();
+    }
+
+    private static ArticleSummary summary(int i) {
+        return ArticleSummary.builder()
+                .id(String.valueOf(7_300_000_000_000_000_000L + i))
+                .slug("reactive-spring-part-" + i)
+                .title("Reactive Spring in practice, part " + i)
+                .subtitle("Backpressure, schedulers and R2DBC")
+                .excerpt("What we learned moving a blocking Spring MVC service to WebFlux and R2DBC.")
+                .coverImageUrl("https://cdn.catananti.dev/covers/reactive-" + i + ".webp")
+                .author(ArticleResponse.AuthorInfo.builder().id("1").name("Leonardo Catananti").build())
+                .status("PUBLISHED")
+                .publishedAt(NOW.minusDays(i))
+                .readingTimeMinutes(9)
+                .viewCount(1_000 + i)
+                .likeCount(40 + i)
+                .commentCount(i % 7)
+                .tags(Set.of(
+                        TagResponse.builder().id("11").name("Java").slug("java").color("#f89820").build(),
+                        TagResponse.builder().id("12").name("Spring").slug("spring").color("#6db33f").build()))
+                .createdAt(NOW.minusDays(i + 1))
+                .updatedAt(NOW.minusDays(i))
+                .build();
+    }
+
+    /** About 10 KB of markdown with prose, code and lists. */
+    private static String markdownBody(int i) {
+        String section = """
+                ## Section %d
+
+                Reactive pipelines only pay off when nothing in the chain blocks. In this part we trace a request \
+                from the Netty event loop through the service layer down to the R2DBC driver, and look at where \
+                backpressure is actually applied and where it is silently dropped.
+
+                ```java
+                return articleRepository.findByStatusOrderByPublishedAtDesc(status, size, offset)
+                        .flatMap(article -> applyLocale(article, locale))
+                        .collectList();
+                ```
+
+                - Prefer `concatMap` when ordering matters
+                - Keep `flatMap` concurrency bounded for database calls
+                - Never call `block()` on an event-loop thread
+
+                """;
+        StringBuilder body = new StringBuilder("# Reactive Spring in practice, part ").append(i).append("\n\n");
+        for (int s = 1; s <= 16; s++) {
+            body.append(section.formatted(s));
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package dev.catananti.benchmark;
+
+import dev.catananti.service.EmailTemplateService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering one recipient's copy of the newsletter (new article) and comment notification emails:
+ * {@code precompiled=false} runs Thymeleaf for every email, as before, {@code true} fills the compiled template.
+ * <p>
+ * Recipients rotate over {@value #RECIPIENTS} names and comment texts, so the per-recipient values change on every
+ * call the way they do in a bulk send.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailTemplateBenchmark {
+
+    private static final int RECIPIENTS = 1000;
+
+    @Param({"new-article-notification", "comment-notification"})
+    public String template;
+
+    @Param({"false", "true"})
+    public boolean precompiled;
+
+    private EmailTemplateService templateService;
+    private Map<String, Object>[] variables;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        templateService = new EmailTemplateService();
+        ReflectionTestUtils.setField(templateService, "precompiled", precompiled);
+        variables = new Map[RECIPIENTS];
+        for (int i = 0; i < RECIPIENTS; i++) {
+            variables[i] = "comment-notification".equals(template) ? commentVars(i) : newArticleVars(i);
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        Map<String, Object> vars = variables[next++ % RECIPIENTS];
+        return templateService.render(template, vars);
+    }
+
+    private static Map<String, Object> baseVars(String gradient, String headerTitle) {
+        var vars = new HashMap<String, Object>();
+        vars.put("gradient", gradient);
+        vars.put("headerTitle", headerTitle);
+        vars.put("footerCopyright", "© 2026 Portfolio Blog. All rights reserved.");
+        return vars;
+    }
+
+    private static Map<String, Object> newArticleVars(int recipient) {
+        var vars = baseVars("#3b82f6 0%, #1d4ed8 100%", "New Article Published");
+        vars.put("greeting", "Hello Subscriber " + recipient + ",");
+        vars.put("introText", "A new article has been published on the blog.");
+        vars.put("articleTitle", "Building a reactive blog backend");
+        vars.put("articleExcerpt", "How the backend renders, caches and delivers content.");
+        vars.put("articleUrl", "http://localhost:4200/blog/building-a-reactive-blog-backend");
+        vars.put("buttonText", "Read Article");
+        vars.put("extraFooter", "<p><a href=\"http://localhost:4200/newsletter/unsubscribe?token=token-" + recipient
+                + "\" style=\"color: #6b7280;\">Unsubscribe</a></p>");
+        return vars;
+    }
+
+    private static Map<String, Object> commentVars(int recipient) {
+        var vars = baseVars("#f59e0b 0%, #d97706 100%", "New Comment");
+        vars.put("greeting", "Hello Author " + recipient + ",");
+        vars.put("bodyText", "<strong>Reader " + recipient + "</strong> commented on <strong>Building a reactive blog backend</strong>:");
+        vars.put("commentContent", "Great article & thanks for the <code> samples, reader " + recipient + "!");
+        vars.put("articleUrl", "http://localhost:4200/blog/building-a-reactive-blog-backend");
+        vars.put("viewText", "View Article");
+        return vars;
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmarks() throws Exception {
+        Benchmarks.run(EmailTemplateBenchmark.class);
+    }
+}
@@ -0,0 +1,80 @@
+package dev.catananti.benchmark;
+
+import dev.catananti.entity.User;
+import dev.catananti.repository.UserRepository;
+import dev.catananti.security.JwtAuthenticationFilter;
+import dev.catananti.security.JwtTokenProvider;
+import dev.catananti.service.CacheInvalidationBus;
+import dev.catananti.service.TokenBlacklistService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hot path of {@link JwtAuthenticationFilter} for an authenticated request carrying a real HS512 token:
+ * {@code verifiedCacheSize=0} verifies the signature and parses the claims on every request (the filter before
+ * the verified-token cache), {@code 10000} serves them from the cache after the first request.
+ * <p>
+ * The user and blacklist lookups are stubbed to answer immediately, as they do on a warm node, so the
+ * difference is the token verification itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String EMAIL = "admin@example.com";
+
+    @Param({"0", "10000"})
+    public int verifiedCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockServerWebExchange exchange;
+    private final WebFilterChain chain = ex -> Mono.empty();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "secret", "benchmark-secret-".repeat(5));
+        ReflectionTestUtils.setField(tokenProvider, "expiration", TimeUnit.HOURS.toMillis(1));
+        tokenProvider.init();
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setRole("ADMIN");
+        user.setActive(true);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(user));
+        TokenBlacklistService blacklist = mock(TokenBlacklistService.class);
+        when(blacklist.isBlacklisted(anyString())).thenReturn(Mono.just(false));
+
+        filter = new JwtAuthenticationFilter(tokenProvider, userRepository, blacklist,
+                new CacheInvalidationBus(null), verifiedCacheSize);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/admin/articles")
+                .header("Authorization", "Bearer " + tokenProvider.generateToken(EMAIL, "ADMIN"))
+                .build());
+    }
+
+    @Benchmark
+    public void authenticatedRequest() {
+        filter.filter(exchange, chain).block();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmarks() throws Exception {
+        Benchmarks.run(JwtFilterBenchmark.class);
+    }
+}
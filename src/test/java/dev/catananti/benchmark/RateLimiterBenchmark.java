@@ -0,0 +1,114 @@
+package dev.catananti.benchmark;
+
+import dev.catananti.config.RateLimitingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.testcontainers.containers.GenericContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one rate-limit decision against a real Redis (Testcontainers, so Docker is required): the sorted-set
+ * log the filter used before (ZREMRANGEBYSCORE, ZADD, ZCARD, EXPIRE) versus the sliding-window counter script.
+ * <p>
+ * Sample-time mode reports latency percentiles, p0.99 included. Redis commands per decision are measured from
+ * the server's {@code total_commands_processed} around each iteration and printed as {@code commands/request}.
+ * Requests rotate over {@value #CLIENTS} client keys, so every key keeps state close to the limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 500;
+    private static final int LIMIT = 100;
+    private static final int WINDOW_SECONDS = 60;
+
+    private GenericContainer<?> redis;
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    private RateLimitingFilter filter;
+    private String[] keys;
+    private long requests;
+    private long commandsBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.string());
+        filter = new RateLimitingFilter(redisTemplate, null, new SimpleMeterRegistry(), LIMIT, LIMIT, LIMIT, WINDOW_SECONDS, 1024);
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "rate_limit:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCounting() {
+        requests = 0;
+        commandsBefore = commandsProcessed();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCommands() {
+        long commands = commandsProcessed() - commandsBefore - 1;
+        System.out.printf("%ncommands/request: %.2f (%d requests)%n", (double) commands / Math.max(1, requests), requests);
+    }
+
+    @Benchmark
+    public long slidingWindowScript() {
+        return filter.consume(nextKey(), LIMIT).block().count();
+    }
+
+    @Benchmark
+    public long sortedSetLog() {
+        String key = nextKey();
+        long nowMs = Instant.now().toEpochMilli();
+        String member = nowMs + ":" + UUID.randomUUID().toString().substring(0, 8);
+        return redisTemplate.opsForZSet().removeRangeByScore(key, Range.closed(0.0, (double) (nowMs - WINDOW_SECONDS * 1000L)))
+                .flatMap(removed -> redisTemplate.opsForZSet().add(key, member, (double) nowMs))
+                .flatMap(added -> redisTemplate.opsForZSet().size(key))
+                .flatMap(count -> redisTemplate.expire(key, Duration.ofSeconds(WINDOW_SECONDS + 10)).thenReturn(count))
+                .block();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmarks() throws Exception {
+        Benchmarks.run(RateLimiterBenchmark.class);
+    }
+
+    private String nextKey() {
+        return keys[(int) (requests++ % CLIENTS)];
+    }
+
+    private long commandsProcessed() {
+        try (ReactiveRedisConnection connection = connectionFactory.getReactiveConnection()) {
+            Properties stats = connection.serverCommands().info("stats").block();
+            return Long.parseLong(stats.getProperty("total_commands_processed").strip());
+        }
+    }
+}
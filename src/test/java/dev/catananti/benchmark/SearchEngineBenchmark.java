@@ -0,0 +1,138 @@
+package dev.catananti.benchmark;
+
+import dev.catananti.repository.ArticleRepository;
+import dev.catananti.service.search.ArticleSearchIndex;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One search page (results plus total) from the SQL path versus the in-memory BM25 index, over the same
+ * synthetic corpus of {@value #ARTICLES} articles of ~{@value #WORDS_PER_ARTICLE} words.
+ * <p>
+ * The SQL side runs the {@link ArticleRepository#TEXT_MATCH} page and count queries, i.e. what dev (H2) and
+ * {@code app.search.use-fts=false} deployments execute, against an in-process H2 database — so it measures
+ * the scan without any network round trip, a lower bound for a real PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchEngineBenchmark {
+
+    static final int ARTICLES = 2_000;
+    static final int WORDS_PER_ARTICLE = 300;
+    private static final int PAGE_SIZE = 10;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] VOCABULARY = (
+            "spring reactive reactor webflux java records virtual threads kubernetes docker helm postgres index "
+                    + "query planner vacuum cache redis caffeine latency throughput benchmark security token jwt "
+                    + "session cookie csrf angular signals component router testing junit mockito container build "
+                    + "maven gradle pipeline deploy observability metrics tracing logging streams backpressure "
+                    + "scheduler partition rollup search ranking stemming analyzer snippet highlight")
+            .split(" ");
+
+    @Param({"reactive", "spring security"})
+    public String query;
+
+    private ArticleSearchIndex index;
+    private DatabaseClient databaseClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///search-bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql("""
+                CREATE TABLE articles (
+                    id BIGINT PRIMARY KEY, slug VARCHAR(255), title VARCHAR(500), subtitle VARCHAR(500),
+                    excerpt TEXT, content TEXT, cover_image_url VARCHAR(500), author_id BIGINT,
+                    status VARCHAR(20), published_at TIMESTAMP, reading_time_minutes INT, views_count INT,
+                    likes_count INT, original_locale VARCHAR(10), created_at TIMESTAMP, updated_at TIMESTAMP)
+                """).then().block();
+
+        index = new ArticleSearchIndex();
+        Random random = new Random(42);
+        Flux.range(0, ARTICLES)
+                .map(i -> article(i, random))
+                .concatMap(entry -> {
+                    index.replace(entry.articleId(), List.of(entry));
+                    return databaseClient.sql("""
+                            INSERT INTO articles (id, slug, title, excerpt, content, author_id, status, published_at,
+                                                  reading_time_minutes, views_count, likes_count, original_locale,
+                                                  created_at, updated_at)
+                            VALUES (:id, :slug, :title, :excerpt, :content, 1, 'PUBLISHED', :at, 5, 0, 0, 'en', :at, :at)
+                            """)
+                            .bind("id", entry.articleId())
+                            .bind("slug", "article-" + entry.articleId())
+                            .bind("title", entry.title())
+                            .bind("excerpt", entry.excerpt())
+                            .bind("content", entry.content())
+                            .bind("at", entry.publishedAt())
+                            .then();
+                })
+                .then()
+                .block();
+    }
+
+    @Benchmark
+    public long sqlLikeSearch() {
+        List<Long> page = databaseClient.sql("SELECT " + ArticleRepository.SUMMARY_COLUMNS
+                        + " FROM articles WHERE status = 'PUBLISHED' AND " + ArticleRepository.TEXT_MATCH
+                        + " ORDER BY published_at DESC, id DESC LIMIT :limit OFFSET 0")
+                .bind("query", query)
+                .bind("limit", PAGE_SIZE)
+                .map((row, meta) -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .block();
+        Long total = databaseClient.sql("SELECT COUNT(*) FROM articles WHERE status = 'PUBLISHED' AND "
+                        + ArticleRepository.TEXT_MATCH)
+                .bind("query", query)
+                .map((row, meta) -> row.get(0, Long.class))
+                .one()
+                .block();
+        return page.size() + total;
+    }
+
+    @Benchmark
+    public long inMemoryBm25Search() {
+        ArticleSearchIndex.Result result = index.search(new ArticleSearchIndex.Query(
+                query, "en", List.of(), null, null, ArticleSearchIndex.Order.RELEVANCE, 0, PAGE_SIZE));
+        return result.hits().size() + result.total();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmarks() throws Exception {
+        Benchmarks.run(SearchEngineBenchmark.class);
+    }
+
+    private static ArticleSearchIndex.Entry article(int i, Random random) {
+        return new ArticleSearchIndex.Entry(i + 1L, "en", false,
+                capitalize(words(random, 6)), words(random, 25), words(random, WORDS_PER_ARTICLE),
+                Set.of(VOCABULARY[random.nextInt(VOCABULARY.length)]), START.plusHours(i * 6L));
+    }
+
+    private static String words(Random random, int count) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int w = 0; w < count; w++) {
+            joiner.add(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        return joiner.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
@@ -0,0 +1,80 @@
+package dev.catananti.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalRateLimiter")
+class LocalRateLimiterTest {
+
+    private static final int LIMIT = 10;
+    private static final long WINDOW_MS = 10_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private LocalRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LocalRateLimiter(1024, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a full burst, then one request per refill interval")
+    void shouldAllowBurstThenRefill() {
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).remaining()).isEqualTo(LIMIT - 1 - i);
+        }
+
+        LocalRateLimiter.Decision denied = limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS);
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.retryAfterMs()).isEqualTo(1_000);
+
+        clock.addAndGet(1_000);
+        assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("rate_limit:2.2.2.2", LIMIT, WINDOW_MS).remaining()).isEqualTo(LIMIT - 1);
+    }
+
+    @Test
+    @DisplayName("Should tighten a bucket to the shared budget")
+    void shouldReconcileWithSharedBudget() {
+        limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS);
+        limiter.reconcile("rate_limit:1.1.1.1", LIMIT, WINDOW_MS, 2, 0);
+
+        assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).remaining()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).remaining()).isZero();
+        assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).allowed()).isFalse();
+
+        // A looser budget never adds tokens back
+        limiter.reconcile("rate_limit:1.1.1.1", LIMIT, WINDOW_MS, LIMIT, 0);
+        assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should block until the reset reported by Redis")
+    void shouldBlockUntilSharedReset() {
+        limiter.reconcile("rate_limit:1.1.1.1", LIMIT, WINDOW_MS, 0, 5_000);
+
+        assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).retryAfterMs()).isEqualTo(5_000);
+        clock.addAndGet(5_000);
+        assertThat(limiter.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stay within its fixed table by evicting the idlest bucket")
+    void shouldEvictWithinFixedCapacity() {
+        LocalRateLimiter tiny = new LocalRateLimiter(LocalRateLimiter.WAYS, clock::get);
+        for (int i = 0; i < LIMIT; i++) {
+            tiny.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS);
+        }
+        clock.addAndGet(1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(tiny.tryAcquire("rate_limit:10.0.0." + i, LIMIT, WINDOW_MS).allowed()).isTrue();
+        }
+        // The exhausted bucket refills last, so the newcomers took the other slot of its set
+        assertThat(tiny.tryAcquire("rate_limit:1.1.1.1", LIMIT, WINDOW_MS).allowed()).isFalse();
+    }
+}
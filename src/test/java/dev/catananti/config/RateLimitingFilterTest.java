@@ -2,6 +2,7 @@ package dev.catananti.config;
 
 import dev.catananti.security.JwtTokenProvider;
 import dev.catananti.util.IpAddressExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,25 +11,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.security.Principal;
-import java.time.Duration;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyDouble;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +41,6 @@ class RateLimitingFilterTest {
     @Mock
     private ReactiveRedisTemplate<String, String> redisTemplate;
 
-    @Mock
-    private ReactiveZSetOperations<String, String> zSetOperations;
-
     @Mock
     private JwtTokenProvider tokenProvider;
 
@@ -49,21 +49,27 @@ class RateLimitingFilterTest {
 
     private RateLimitingFilter filter;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private static final int MAX_AUTHENTICATED = 100;
     private static final int MAX_ANONYMOUS = 30;
     private static final int MAX_LOGIN = 10;
     private static final int WINDOW_SECONDS = 60;
     private static final String TEST_IP = "192.168.1.100";
+    private static final int LOCAL_SLOTS = 64;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         filter = new RateLimitingFilter(
                 redisTemplate,
                 tokenProvider,
+                meterRegistry,
                 MAX_AUTHENTICATED,
                 MAX_ANONYMOUS,
                 MAX_LOGIN,
-                WINDOW_SECONDS
+                WINDOW_SECONDS,
+                LOCAL_SLOTS
         );
     }
 
@@ -76,20 +82,20 @@ class RateLimitingFilterTest {
 
     @SuppressWarnings("unchecked")
     private void stubRedisIncrement(String key, long returnCount) {
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-        when(zSetOperations.removeRangeByScore(eq(key), any(Range.class))).thenReturn(Mono.just(0L));
-        when(zSetOperations.add(eq(key), anyString(), anyDouble())).thenReturn(Mono.just(true));
-        when(zSetOperations.size(eq(key))).thenReturn(Mono.just(returnCount));
-        when(redisTemplate.expire(eq(key), any(Duration.class))).thenReturn(Mono.just(true));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), anyList()))
+                .thenReturn(Flux.just(List.of(returnCount, WINDOW_SECONDS * 1000L)));
     }
 
     @SuppressWarnings("unchecked")
     private void stubRedisIncrementForAnyKey(long returnCount) {
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-        when(zSetOperations.removeRangeByScore(anyString(), any(Range.class))).thenReturn(Mono.just(0L));
-        when(zSetOperations.add(anyString(), anyString(), anyDouble())).thenReturn(Mono.just(true));
-        when(zSetOperations.size(anyString())).thenReturn(Mono.just(returnCount));
-        when(redisTemplate.expire(anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(List.of(returnCount, WINDOW_SECONDS * 1000L)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRedisFailure(String message) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new RuntimeException(message)));
     }
 
     // ──────────────────────────────────────────────────────────────
@@ -301,6 +307,28 @@ class RateLimitingFilterTest {
             }
         }
 
+        @Test
+        @DisplayName("Should derive Retry-After from the script's reset time in one Redis call")
+        @SuppressWarnings("unchecked")
+        void shouldUseScriptResetForRetryAfter() {
+            try (MockedStatic<IpAddressExtractor> ipMock = mockStatic(IpAddressExtractor.class)) {
+                ipMock.when(() -> IpAddressExtractor.extractClientIp(any(MockServerWebExchange.class)))
+                        .thenReturn(TEST_IP);
+
+                MockServerWebExchange exchange = buildExchange("/api/posts");
+                when(redisTemplate.execute(any(RedisScript.class), eq(List.of("rate_limit:" + TEST_IP)),
+                        eq(List.of(String.valueOf(WINDOW_SECONDS * 1000L), String.valueOf(MAX_ANONYMOUS)))))
+                        .thenReturn(Flux.just(List.of((long) MAX_ANONYMOUS + 1, 1500L)));
+
+                StepVerifier.create(filter.filter(exchange, chain))
+                        .verifyComplete();
+
+                assertThat(exchange.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("2");
+                verify(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+                verifyNoMoreInteractions(redisTemplate);
+            }
+        }
+
         @Test
         @DisplayName("Should show zero remaining when limit exceeded")
         void shouldShowZeroRemaining() {
@@ -430,9 +458,7 @@ class RateLimitingFilterTest {
 
                 MockServerWebExchange exchange = buildExchange("/api/posts");
 
-                when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-                when(zSetOperations.removeRangeByScore(anyString(), any(Range.class)))
-                        .thenReturn(Mono.error(new RuntimeException("Redis connection refused")));
+                stubRedisFailure("Redis connection refused");
                 when(chain.filter(exchange)).thenReturn(Mono.empty());
 
                 StepVerifier.create(filter.filter(exchange, chain))
@@ -454,9 +480,7 @@ class RateLimitingFilterTest {
                 ipMock.when(() -> IpAddressExtractor.extractClientIp(any(MockServerWebExchange.class)))
                         .thenReturn(TEST_IP);
 
-                when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-                when(zSetOperations.removeRangeByScore(anyString(), any(Range.class)))
-                        .thenReturn(Mono.error(new RuntimeException("Redis unavailable")));
+                stubRedisFailure("Redis unavailable");
 
                 // Simulate MAX_ANONYMOUS + 1 requests to exceed limit
                 for (int i = 0; i < MAX_ANONYMOUS; i++) {
@@ -476,8 +500,9 @@ class RateLimitingFilterTest {
                         .verifyComplete();
 
                 assertThat(exceededExchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                // A token bucket refills one request at a time
                 assertThat(exceededExchange.getResponse().getHeaders().getFirst("Retry-After"))
-                        .isEqualTo(String.valueOf(WINDOW_SECONDS));
+                        .isEqualTo(String.valueOf(WINDOW_SECONDS / MAX_ANONYMOUS));
             }
         }
 
@@ -488,9 +513,7 @@ class RateLimitingFilterTest {
                 ipMock.when(() -> IpAddressExtractor.extractClientIp(any(MockServerWebExchange.class)))
                         .thenReturn(TEST_IP);
 
-                when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-                when(zSetOperations.removeRangeByScore(anyString(), any(Range.class)))
-                        .thenReturn(Mono.error(new RuntimeException("Redis down")));
+                stubRedisFailure("Redis down");
 
                 // Exhaust the limit
                 for (int i = 0; i < MAX_ANONYMOUS; i++) {
@@ -506,100 +529,105 @@ class RateLimitingFilterTest {
                 assertThat(blocked.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
                 assertThat(blocked.getResponse().getHeaders().getFirst("Retry-After"))
                         .isNotNull()
-                        .isEqualTo(String.valueOf(WINDOW_SECONDS));
+                        .isEqualTo(String.valueOf(WINDOW_SECONDS / MAX_ANONYMOUS));
             }
         }
     }
 
     // ──────────────────────────────────────────────────────────────
-    // Scheduled cleanup
+    // Local pre-filter
     // ──────────────────────────────────────────────────────────────
 
     @Nested
-    @DisplayName("Scheduled cleanup")
-    class ScheduledCleanup {
+    @DisplayName("Local pre-filter")
+    class LocalPreFilter {
+
+        @Test
+        @DisplayName("Should shed a client rejected by Redis locally until its reset time")
+        @SuppressWarnings("unchecked")
+        void shouldShedRejectedClientWithoutRedis() {
+            try (MockedStatic<IpAddressExtractor> ipMock = mockStatic(IpAddressExtractor.class)) {
+                ipMock.when(() -> IpAddressExtractor.extractClientIp(any(MockServerWebExchange.class)))
+                        .thenReturn(TEST_IP);
+
+                when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                        .thenReturn(Flux.just(List.of((long) MAX_ANONYMOUS + 1, 30_000L)));
+
+                for (int i = 0; i < 3; i++) {
+                    MockServerWebExchange exchange = buildExchange("/api/posts");
+                    StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+                    assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(Long.parseLong(exchange.getResponse().getHeaders().getFirst("Retry-After")))
+                            .isBetween(29L, 30L);
+                }
+
+                verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+                assertThat(meterRegistry.get("blog.ratelimit.requests").tag("decision", "checked_remote")
+                        .counter().count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("blog.ratelimit.requests").tag("decision", "shed_local")
+                        .counter().count()).isEqualTo(2.0);
+            }
+        }
 
         @Test
-        @DisplayName("cleanupExpiredInMemoryEntries should remove expired entries")
-        void shouldRemoveExpiredEntries() {
-            // Build a filter with a very short window so entries expire quickly
+        @DisplayName("Should refill the local bucket over the window")
+        void shouldRefillOverWindow() throws InterruptedException {
             RateLimitingFilter shortWindowFilter = new RateLimitingFilter(
-                    redisTemplate, tokenProvider,
+                    redisTemplate, tokenProvider, meterRegistry,
                     MAX_AUTHENTICATED, MAX_ANONYMOUS, MAX_LOGIN,
-                    1 // 1-second window
+                    1, // 1-second window
+                    LOCAL_SLOTS
             );
 
             try (MockedStatic<IpAddressExtractor> ipMock = mockStatic(IpAddressExtractor.class)) {
                 ipMock.when(() -> IpAddressExtractor.extractClientIp(any(MockServerWebExchange.class)))
                         .thenReturn(TEST_IP);
 
-                when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-                when(zSetOperations.removeRangeByScore(anyString(), any(Range.class)))
-                        .thenReturn(Mono.error(new RuntimeException("Redis unavailable")));
+                stubRedisFailure("Redis unavailable");
 
-                // Make a request to populate in-memory map via fallback
-                MockServerWebExchange exchange = buildExchange("/api/test");
-                when(chain.filter(exchange)).thenReturn(Mono.empty());
-
-                StepVerifier.create(shortWindowFilter.filter(exchange, chain))
-                        .verifyComplete();
-
-                // Verify entry exists (remaining should be less than max)
-                assertThat(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"))
-                        .isEqualTo(String.valueOf(MAX_ANONYMOUS - 1));
-
-                // Wait for entries to expire
-                try {
-                    Thread.sleep(1500);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                for (int i = 0; i < MAX_ANONYMOUS; i++) {
+                    MockServerWebExchange exchange = buildExchange("/api/test");
+                    when(chain.filter(exchange)).thenReturn(Mono.empty());
+                    StepVerifier.create(shortWindowFilter.filter(exchange, chain)).verifyComplete();
                 }
 
-                // Run cleanup
-                shortWindowFilter.cleanupExpiredInMemoryEntries();
+                Thread.sleep(1100);
 
-                // Make another request — should start fresh (count = 1 again)
                 MockServerWebExchange newExchange = buildExchange("/api/test");
                 when(chain.filter(newExchange)).thenReturn(Mono.empty());
 
                 StepVerifier.create(shortWindowFilter.filter(newExchange, chain))
                         .verifyComplete();
 
+                assertThat(newExchange.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
                 assertThat(newExchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"))
                         .isEqualTo(String.valueOf(MAX_ANONYMOUS - 1));
             }
         }
 
         @Test
-        @DisplayName("cleanupExpiredInMemoryEntries should not remove non-expired entries")
-        void shouldNotRemoveNonExpiredEntries() {
+        @DisplayName("Should count consecutive requests in the local bucket while Redis is down")
+        void shouldCountConsecutiveRequests() {
             try (MockedStatic<IpAddressExtractor> ipMock = mockStatic(IpAddressExtractor.class)) {
                 ipMock.when(() -> IpAddressExtractor.extractClientIp(any(MockServerWebExchange.class)))
                         .thenReturn(TEST_IP);
 
-                when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-                when(zSetOperations.removeRangeByScore(anyString(), any(Range.class)))
-                        .thenReturn(Mono.error(new RuntimeException("Redis unavailable")));
+                stubRedisFailure("Redis unavailable");
 
-                // Populate in-memory entries
                 MockServerWebExchange exchange = buildExchange("/api/test");
                 when(chain.filter(exchange)).thenReturn(Mono.empty());
-
                 StepVerifier.create(filter.filter(exchange, chain))
                         .verifyComplete();
 
-                // Run cleanup immediately (entry should still be valid with 60s window)
-                filter.cleanupExpiredInMemoryEntries();
-
-                // Make another request — count should increment (not reset)
                 MockServerWebExchange secondExchange = buildExchange("/api/test");
                 when(chain.filter(secondExchange)).thenReturn(Mono.empty());
-
                 StepVerifier.create(filter.filter(secondExchange, chain))
                         .verifyComplete();
 
                 assertThat(secondExchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"))
                         .isEqualTo(String.valueOf(MAX_ANONYMOUS - 2));
+                assertThat(meterRegistry.get("blog.ratelimit.requests").tag("decision", "fallback_local")
+                        .counter().count()).isEqualTo(2.0);
             }
         }
     }
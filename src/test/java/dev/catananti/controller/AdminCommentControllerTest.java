@@ -74,7 +74,7 @@ class AdminCommentControllerTest {
             when(commentService.getAdminCommentsByStatus("PENDING", 0, 20))
                     .thenReturn(Mono.just(page));
 
-            StepVerifier.create(controller.getCommentsByStatus("PENDING", 0, 20))
+            StepVerifier.create(controller.getCommentsByStatus("PENDING", 0, 20, null))
                     .assertNext(result -> {
                         assertThat(result.getContent()).hasSize(1);
                         assertThat(result.getContent().getFirst().getStatus()).isEqualTo("PENDING");
@@ -1,6 +1,7 @@
 package dev.catananti.controller;
 
 import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.service.ArticleService;
@@ -51,11 +52,10 @@ class ArticleControllerTest {
     @DisplayName("Should return published articles")
     void getPublishedArticles_ShouldReturnPagedArticles() {
         // Given
-        ArticleResponse article = ArticleResponse.builder()
+        ArticleSummary article = ArticleSummary.builder()
                 .id("1234567890123456789")
                 .slug("test-article")
                 .title("Test Article")
-                .content("Content")
                 .status("PUBLISHED")
                 .viewCount(10)
                 .likeCount(5)
@@ -63,7 +63,7 @@ class ArticleControllerTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        PageResponse<ArticleResponse> pageResponse = PageResponse.<ArticleResponse>builder()
+        PageResponse<ArticleSummary> pageResponse = PageResponse.<ArticleSummary>builder()
                 .content(List.of(article))
                 .page(0)
                 .size(10)
@@ -77,7 +77,7 @@ class ArticleControllerTest {
                 .thenReturn(Mono.just(pageResponse));
 
         // When & Then
-        StepVerifier.create(articleController.getPublishedArticles(0, 10, null, null, null, null))
+        StepVerifier.create(articleController.getPublishedArticles(0, 10, null, null, null, null, null))
                 .assertNext(response -> {
                     assertThat(response.getContent()).hasSize(1);
                     assertThat(response.getContent().getFirst().getSlug()).isEqualTo("test-article");
@@ -1,6 +1,6 @@
 package dev.catananti.controller;
 
-import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.dto.SearchRequest;
 import dev.catananti.service.SearchService;
@@ -33,12 +33,12 @@ class SearchControllerTest {
     @InjectMocks
     private SearchController controller;
 
-    private ArticleResponse javaArticle;
-    private ArticleResponse springArticle;
+    private ArticleSummary javaArticle;
+    private ArticleSummary springArticle;
 
     @BeforeEach
     void setUp() {
-        javaArticle = ArticleResponse.builder()
+        javaArticle = ArticleSummary.builder()
                 .id("2001")
                 .slug("introducao-java-21")
                 .title("Introdução ao Java 21")
@@ -51,7 +51,7 @@ class SearchControllerTest {
                 .createdAt(LocalDateTime.now().minusDays(10))
                 .build();
 
-        springArticle = ArticleResponse.builder()
+        springArticle = ArticleSummary.builder()
                 .id("2002")
                 .slug("spring-boot-4-novidades")
                 .title("Spring Boot 4: Novidades")
@@ -72,7 +72,7 @@ class SearchControllerTest {
         @Test
         @DisplayName("Should search articles by query text")
         void shouldSearchByQuery() {
-            PageResponse<ArticleResponse> result = PageResponse.<ArticleResponse>builder()
+            PageResponse<ArticleSummary> result = PageResponse.<ArticleSummary>builder()
                     .content(List.of(javaArticle))
                     .page(0).size(10).totalElements(1).totalPages(1)
                     .first(true).last(true)
@@ -81,7 +81,7 @@ class SearchControllerTest {
             when(searchService.searchArticles(any(SearchRequest.class)))
                     .thenReturn(Mono.just(result));
 
-            StepVerifier.create(controller.search("java", null, "date", "desc", 0, 10, null, null, null))
+            StepVerifier.create(controller.search("java", null, "date", "desc", 0, 10, null, null, null, null))
                     .assertNext(page -> {
                         assertThat(page.getContent()).hasSize(1);
                         assertThat(page.getContent().getFirst().getTitle()).contains("Java");
@@ -93,7 +93,7 @@ class SearchControllerTest {
         @Test
         @DisplayName("Should search with tag filters")
         void shouldSearchWithTags() {
-            PageResponse<ArticleResponse> result = PageResponse.<ArticleResponse>builder()
+            PageResponse<ArticleSummary> result = PageResponse.<ArticleSummary>builder()
                     .content(List.of(springArticle))
                     .page(0).size(10).totalElements(1).totalPages(1)
                     .first(true).last(true)
@@ -102,7 +102,7 @@ class SearchControllerTest {
             when(searchService.searchArticles(any(SearchRequest.class)))
                     .thenReturn(Mono.just(result));
 
-            StepVerifier.create(controller.search(null, List.of("spring-boot"), "date", "desc", 0, 10, null, null, null))
+            StepVerifier.create(controller.search(null, List.of("spring-boot"), "date", "desc", 0, 10, null, null, null, null))
                     .assertNext(page -> {
                         assertThat(page.getContent()).hasSize(1);
                     })
@@ -112,7 +112,7 @@ class SearchControllerTest {
         @Test
         @DisplayName("Should return empty results for no match")
         void shouldReturnEmptyResults() {
-            PageResponse<ArticleResponse> empty = PageResponse.<ArticleResponse>builder()
+            PageResponse<ArticleSummary> empty = PageResponse.<ArticleSummary>builder()
                     .content(List.of())
                     .page(0).size(10).totalElements(0).totalPages(0)
                     .first(true).last(true)
@@ -121,7 +121,7 @@ class SearchControllerTest {
             when(searchService.searchArticles(any(SearchRequest.class)))
                     .thenReturn(Mono.just(empty));
 
-            StepVerifier.create(controller.search("xylophone-quantum", null, "date", "desc", 0, 10, null, null, null))
+            StepVerifier.create(controller.search("xylophone-quantum", null, "date", "desc", 0, 10, null, null, null, null))
                     .assertNext(page -> {
                         assertThat(page.getContent()).isEmpty();
                         assertThat(page.getTotalElements()).isZero();
@@ -132,7 +132,7 @@ class SearchControllerTest {
         @Test
         @DisplayName("Should handle pagination parameters correctly")
         void shouldHandlePagination() {
-            PageResponse<ArticleResponse> result = PageResponse.<ArticleResponse>builder()
+            PageResponse<ArticleSummary> result = PageResponse.<ArticleSummary>builder()
                     .content(List.of(springArticle))
                     .page(2).size(5).totalElements(12).totalPages(3)
                     .first(false).last(true)
@@ -141,7 +141,7 @@ class SearchControllerTest {
             when(searchService.searchArticles(any(SearchRequest.class)))
                     .thenReturn(Mono.just(result));
 
-            StepVerifier.create(controller.search("spring", null, "views", "asc", 2, 5, null, null, null))
+            StepVerifier.create(controller.search("spring", null, "views", "asc", 2, 5, null, null, null, null))
                     .assertNext(page -> {
                         assertThat(page.getPage()).isEqualTo(2);
                         assertThat(page.getSize()).isEqualTo(5);
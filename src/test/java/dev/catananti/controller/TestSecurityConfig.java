@@ -1,6 +1,7 @@
 package dev.catananti.controller;
 
 import dev.catananti.security.JwtAuthenticationFilter;
+import dev.catananti.service.CacheInvalidationBus;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
@@ -32,7 +33,7 @@ public class TestSecurityConfig {
     @Bean
     @Primary
     public JwtAuthenticationFilter mockJwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(null, null, null) {
+        return new JwtAuthenticationFilter(null, null, null, new CacheInvalidationBus(null), 0) {
             @Override
             public Mono<Void> filter(org.springframework.web.server.ServerWebExchange exchange, 
                                       org.springframework.web.server.WebFilterChain chain) {
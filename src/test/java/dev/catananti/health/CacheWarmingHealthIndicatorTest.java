@@ -0,0 +1,62 @@
+package dev.catananti.health;
+
+import dev.catananti.service.CacheWarmingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Status;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmingHealthIndicator")
+class CacheWarmingHealthIndicatorTest {
+
+    @Mock
+    private CacheWarmingService cacheWarmingService;
+
+    @InjectMocks
+    private CacheWarmingHealthIndicator indicator;
+
+    @Test
+    @DisplayName("should report OUT_OF_SERVICE while startup warming is running")
+    void shouldReportOutOfServiceWhileWarming() {
+        when(cacheWarmingService.getStatus())
+                .thenReturn(new CacheWarmingService.WarmingStatus(true, false, 0, 0, 0.4, 12));
+
+        StepVerifier.create(indicator.health())
+                .assertNext(health -> {
+                    assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+                    assertThat(health.getDetails()).containsEntry("progress", 0.4);
+                    assertThat(health.getDetails()).containsEntry("entriesWarmed", 12L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should report UP once startup warming is complete")
+    void shouldReportUpWhenComplete() {
+        when(cacheWarmingService.getStatus())
+                .thenReturn(new CacheWarmingService.WarmingStatus(true, true, 0, 0, 1.0, 30));
+
+        StepVerifier.create(indicator.health())
+                .assertNext(health -> assertThat(health.getStatus()).isEqualTo(Status.UP))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should report UP when warming is disabled")
+    void shouldReportUpWhenDisabled() {
+        when(cacheWarmingService.getStatus())
+                .thenReturn(new CacheWarmingService.WarmingStatus(false, false, 0, 0, 0.0, 0));
+
+        StepVerifier.create(indicator.health())
+                .assertNext(health -> assertThat(health.getStatus()).isEqualTo(Status.UP))
+                .verifyComplete();
+    }
+}
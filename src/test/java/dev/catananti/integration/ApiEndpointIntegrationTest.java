@@ -84,6 +84,21 @@ class ApiEndpointIntegrationTest {
                 .build();
     }
 
+    private static ArticleSummary buildSummary(String slug, String title) {
+        return ArticleSummary.builder()
+                .id(String.valueOf(ID_GEN.incrementAndGet()))
+                .slug(slug)
+                .title(title)
+                .excerpt("Excerpt for " + title)
+                .status("PUBLISHED")
+                .viewCount(42)
+                .likeCount(7)
+                .tags(Set.of())
+                .createdAt(LocalDateTime.now())
+                .publishedAt(LocalDateTime.now())
+                .build();
+    }
+
     private static TagResponse buildTag(String name, String slug) {
         return TagResponse.builder()
                 .id(String.valueOf(ID_GEN.incrementAndGet()))
@@ -158,12 +173,12 @@ class ApiEndpointIntegrationTest {
         @Test
         @DisplayName("GET /api/v1/articles — returns paginated list (200)")
         void listArticles_200() {
-            var articles = List.of(buildArticle("first-post", "First Post"),
-                    buildArticle("second-post", "Second Post"));
+            var articles = List.of(buildSummary("first-post", "First Post"),
+                    buildSummary("second-post", "Second Post"));
             when(articleService.getPublishedArticles(eq(0), eq(10), any(), any(), any(), any()))
                     .thenReturn(Mono.just(pageOf(articles)));
 
-            StepVerifier.create(articleController.getPublishedArticles(0, 10, null, null, null, null))
+            StepVerifier.create(articleController.getPublishedArticles(0, 10, null, null, null, null, null))
                     .assertNext(page -> {
                         assertThat(page.getContent()).hasSize(2);
                         assertThat(page.getContent().get(0).getSlug()).isEqualTo("first-post");
@@ -203,7 +218,7 @@ class ApiEndpointIntegrationTest {
         @Test
         @DisplayName("GET /api/v1/articles/tag/{tagSlug} — articles by tag (200)")
         void articlesByTag_200() {
-            var articles = List.of(buildArticle("java-post", "Java Post"));
+            var articles = List.of(buildSummary("java-post", "Java Post"));
             when(articleService.getArticlesByTag(eq("java"), eq(0), eq(10), any()))
                     .thenReturn(Mono.just(pageOf(articles)));
 
@@ -296,11 +311,11 @@ class ApiEndpointIntegrationTest {
         @Test
         @DisplayName("GET /api/v1/search?q=java — returns search results (200)")
         void search_200() {
-            var results = pageOf(List.of(buildArticle("java-guide", "Java Guide")));
+            var results = pageOf(List.of(buildSummary("java-guide", "Java Guide")));
             when(searchService.searchArticles(any(SearchRequest.class)))
                     .thenReturn(Mono.just(results));
 
-            StepVerifier.create(searchController.search("java", null, "date", "desc", 0, 10, null, null, null))
+            StepVerifier.create(searchController.search("java", null, "date", "desc", 0, 10, null, null, null, null))
                     .assertNext(page -> assertThat(page.getContent().get(0).getSlug()).isEqualTo("java-guide"))
                     .verifyComplete();
         }
@@ -721,7 +736,7 @@ class ApiEndpointIntegrationTest {
             when(commentService.getAdminCommentsByStatus("PENDING", 0, 20))
                     .thenReturn(Mono.just(page));
 
-            StepVerifier.create(adminCommentController.getCommentsByStatus("PENDING", 0, 20))
+            StepVerifier.create(adminCommentController.getCommentsByStatus("PENDING", 0, 20, null))
                     .assertNext(result -> {
                         assertThat(result.getContent()).hasSize(1);
                         assertThat(result.getContent().get(0).getAuthorName()).isEqualTo("Alice");
@@ -0,0 +1,57 @@
+package dev.catananti.scheduler;
+
+import dev.catananti.service.AnalyticsRollupService;
+import dev.catananti.service.AnalyticsRollupService.Window;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalyticsRollupScheduler")
+class AnalyticsRollupSchedulerTest {
+
+    @Mock
+    private AnalyticsRollupService rollupService;
+
+    @InjectMocks
+    private AnalyticsRollupScheduler scheduler;
+
+    @Test
+    @DisplayName("should roll up windows until caught up, then prune hourly buckets")
+    void shouldRollUpUntilCaughtUp() {
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        Window first = new Window(start, start.plusHours(24));
+        Window second = new Window(start.plusHours(24), start.plusHours(48));
+        when(rollupService.nextWindow()).thenReturn(Mono.just(first), Mono.just(second), Mono.empty());
+        when(rollupService.rollUp(any())).thenReturn(Mono.just(10L));
+        when(rollupService.pruneHourly(any())).thenReturn(Mono.just(0L));
+
+        scheduler.rollUpNewEvents();
+
+        verify(rollupService).rollUp(first);
+        verify(rollupService).rollUp(second);
+        verify(rollupService).pruneHourly(any());
+    }
+
+    @Test
+    @DisplayName("should stop the run when a window fails")
+    void shouldStopOnFailure() {
+        Window window = new Window(LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+        when(rollupService.nextWindow()).thenReturn(Mono.just(window));
+        when(rollupService.rollUp(window)).thenReturn(Mono.error(new IllegalStateException("watermark moved")));
+
+        scheduler.rollUpNewEvents();
+
+        verify(rollupService, times(1)).rollUp(window);
+        verify(rollupService, never()).pruneHourly(any());
+    }
+}
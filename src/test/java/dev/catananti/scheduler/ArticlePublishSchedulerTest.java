@@ -2,11 +2,12 @@ package dev.catananti.scheduler;
 
 import dev.catananti.entity.Article;
 import dev.catananti.entity.ArticleStatus;
-import dev.catananti.entity.Subscriber;
 import dev.catananti.repository.ArticleRepository;
-import dev.catananti.repository.SubscriberRepository;
+import dev.catananti.service.CacheInvalidationBus;
 import dev.catananti.service.CacheService;
-import dev.catananti.service.EmailService;
+import dev.catananti.service.NewsletterCampaignService;
+import dev.catananti.service.search.RelatedArticlesService;
+import dev.catananti.service.search.SearchResultCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -38,10 +39,7 @@ class ArticlePublishSchedulerTest {
     private CacheService cacheService;
 
     @Mock
-    private SubscriberRepository subscriberRepository;
-
-    @Mock
-    private EmailService emailService;
+    private NewsletterCampaignService newsletterCampaignService;
 
     @Mock
     private ReactiveStringRedisTemplate redisTemplate;
@@ -49,13 +47,22 @@ class ArticlePublishSchedulerTest {
     @Mock
     private ReactiveValueOperations<String, String> valueOps;
 
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private RelatedArticlesService relatedArticlesService;
+
     private ArticlePublishScheduler scheduler;
 
     @BeforeEach
     void setUp() {
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
         lenient().when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
-        scheduler = new ArticlePublishScheduler(articleRepository, cacheService, subscriberRepository, emailService, redisTemplate);
+        scheduler = new ArticlePublishScheduler(articleRepository, cacheService, newsletterCampaignService, redisTemplate, invalidationBus, searchResultCache, relatedArticlesService);
     }
 
     @Nested
@@ -78,8 +85,8 @@ class ArticlePublishSchedulerTest {
                     .thenReturn(Flux.just(article));
             when(articleRepository.save(any(Article.class)))
                     .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
-            when(subscriberRepository.findAllConfirmed())
-                    .thenReturn(Flux.empty());
+            when(newsletterCampaignService.startArticleCampaign(any(Article.class)))
+                    .thenReturn(Mono.empty());
             when(cacheService.invalidateAllArticles())
                     .thenReturn(Mono.empty());
 
@@ -96,10 +103,14 @@ class ArticlePublishSchedulerTest {
             assertThat(saved.getStatus()).isEqualTo(ArticleStatus.PUBLISHED.name());
             assertThat(saved.getPublishedAt()).isNotNull();
             assertThat(saved.getUpdatedAt()).isNotNull();
+            verify(invalidationBus).publish(CacheInvalidationBus.SEARCH_INDEX, "1");
+            verify(invalidationBus).publish(CacheInvalidationBus.SEARCH_SUGGESTIONS, "1");
+            verify(searchResultCache).bumpVersion();
+            verify(relatedArticlesService).articleChanged(1L);
         }
 
         @Test
-        @DisplayName("should notify subscribers for published articles")
+        @DisplayName("should start a newsletter campaign for published articles")
         void shouldNotifySubscribers() throws InterruptedException {
             Article article = Article.builder()
                     .id(1L)
@@ -110,21 +121,11 @@ class ArticlePublishSchedulerTest {
                     .scheduledAt(LocalDateTime.now().minusMinutes(1))
                     .build();
 
-            Subscriber subscriber = Subscriber.builder()
-                    .id(10L)
-                    .email("test@example.com")
-                    .name("Test User")
-                    .unsubscribeToken("token-123")
-                    .build();
-
             when(articleRepository.findScheduledArticlesToPublish(any(LocalDateTime.class)))
                     .thenReturn(Flux.just(article));
             when(articleRepository.save(any(Article.class)))
                     .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
-            when(subscriberRepository.findAllConfirmed())
-                    .thenReturn(Flux.just(subscriber));
-            when(emailService.sendNewArticleNotification(
-                    anyString(), anyString(), anyString(), anyString(), any(), anyString()))
+            when(newsletterCampaignService.startArticleCampaign(any(Article.class)))
                     .thenReturn(Mono.empty());
             when(cacheService.invalidateAllArticles())
                     .thenReturn(Mono.empty());
@@ -133,14 +134,7 @@ class ArticlePublishSchedulerTest {
 
             Thread.sleep(200);
 
-            verify(emailService).sendNewArticleNotification(
-                    eq("test@example.com"),
-                    eq("Test User"),
-                    eq("Notify Article"),
-                    eq("notify-test"),
-                    eq("Notify excerpt"),
-                    eq("token-123")
-            );
+            verify(newsletterCampaignService).startArticleCampaign(argThat(a -> "notify-test".equals(a.getSlug())));
         }
 
         @Test
@@ -159,8 +153,8 @@ class ArticlePublishSchedulerTest {
                     .thenReturn(Flux.just(article));
             when(articleRepository.save(any(Article.class)))
                     .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
-            when(subscriberRepository.findAllConfirmed())
-                    .thenReturn(Flux.empty());
+            when(newsletterCampaignService.startArticleCampaign(any(Article.class)))
+                    .thenReturn(Mono.empty());
             when(cacheService.invalidateAllArticles())
                     .thenReturn(Mono.empty());
 
@@ -203,12 +197,11 @@ class ArticlePublishSchedulerTest {
 
             verify(articleRepository).findScheduledArticlesToPublish(any(LocalDateTime.class));
             verify(articleRepository, never()).save(any());
-            verify(emailService, never()).sendNewArticleNotification(
-                    anyString(), anyString(), anyString(), anyString(), any(), anyString());
+            verify(newsletterCampaignService, never()).startArticleCampaign(any());
         }
 
         @Test
-        @DisplayName("should handle email notification failure gracefully")
+        @DisplayName("should handle newsletter campaign failure gracefully")
         void shouldHandleEmailFailureGracefully() throws InterruptedException {
             Article article = Article.builder()
                     .id(1L)
@@ -219,26 +212,16 @@ class ArticlePublishSchedulerTest {
                     .scheduledAt(LocalDateTime.now().minusMinutes(1))
                     .build();
 
-            Subscriber subscriber = Subscriber.builder()
-                    .id(10L)
-                    .email("fail@example.com")
-                    .name("Failing User")
-                    .unsubscribeToken("token-fail")
-                    .build();
-
             when(articleRepository.findScheduledArticlesToPublish(any(LocalDateTime.class)))
                     .thenReturn(Flux.just(article));
             when(articleRepository.save(any(Article.class)))
                     .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
-            when(subscriberRepository.findAllConfirmed())
-                    .thenReturn(Flux.just(subscriber));
-            when(emailService.sendNewArticleNotification(
-                    anyString(), anyString(), anyString(), anyString(), any(), anyString()))
-                    .thenReturn(Mono.error(new RuntimeException("SMTP error")));
+            when(newsletterCampaignService.startArticleCampaign(any(Article.class)))
+                    .thenReturn(Mono.error(new RuntimeException("DB error")));
             when(cacheService.invalidateAllArticles())
                     .thenReturn(Mono.empty());
 
-            // Should not throw even when email fails
+            // Should not throw even when the campaign cannot be recorded
             scheduler.publishScheduledArticles();
 
             Thread.sleep(200);
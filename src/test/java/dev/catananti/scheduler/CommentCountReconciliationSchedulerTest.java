@@ -0,0 +1,70 @@
+package dev.catananti.scheduler;
+
+import dev.catananti.repository.ArticleRepository;
+import dev.catananti.service.CacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommentCountReconciliationScheduler")
+class CommentCountReconciliationSchedulerTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private CacheService cacheService;
+
+    @InjectMocks
+    private CommentCountReconciliationScheduler scheduler;
+
+    @Test
+    @DisplayName("should recount drifted articles and invalidate their cached responses")
+    void shouldReconcile() {
+        when(articleRepository.findIdsWithDriftedApprovedCommentCount()).thenReturn(Flux.just(3L, 7L));
+        when(articleRepository.reconcileApprovedCommentCounts(List.of(3L, 7L))).thenReturn(Mono.just(2));
+        when(cacheService.invalidate(any())).thenReturn(Mono.just(4L));
+
+        scheduler.reconcileCommentCounts();
+
+        verify(articleRepository).reconcileApprovedCommentCounts(List.of(3L, 7L));
+        verify(cacheService).invalidate(List.of(
+                CacheService.articleDependency("3"),
+                CacheService.articleDependency("7"),
+                CacheService.ARTICLE_LISTINGS_DEPENDENCY));
+    }
+
+    @Test
+    @DisplayName("should neither update nor invalidate when no count drifted")
+    void shouldSkipConsistentCounts() {
+        when(articleRepository.findIdsWithDriftedApprovedCommentCount()).thenReturn(Flux.empty());
+
+        scheduler.reconcileCommentCounts();
+
+        verify(articleRepository, never()).reconcileApprovedCommentCounts(any());
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    @DisplayName("should keep the scheduler alive when the recount fails")
+    void shouldSwallowFailure() {
+        when(articleRepository.findIdsWithDriftedApprovedCommentCount()).thenReturn(Flux.just(3L));
+        when(articleRepository.reconcileApprovedCommentCounts(List.of(3L)))
+                .thenReturn(Mono.error(new IllegalStateException("connection closed")));
+
+        assertThatCode(scheduler::reconcileCommentCounts).doesNotThrowAnyException();
+        verifyNoInteractions(cacheService);
+    }
+}
@@ -0,0 +1,335 @@
+package dev.catananti.scheduler;
+
+import dev.catananti.entity.EmailOutboxMessage;
+import dev.catananti.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxDispatcher")
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    private FakeSmtpServer smtp;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "false");
+        props.put("mail.smtp.starttls.enable", "false");
+        props.put("mail.smtp.connectiontimeout", "2000");
+        props.put("mail.smtp.timeout", "2000");
+        mailSender.setJavaMailProperties(props);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    private EmailOutboxDispatcher dispatcher(int connections, int messagesPerConnection) {
+        return new EmailOutboxDispatcher(outboxRepository, mailSender, new SimpleMeterRegistry(),
+                connections, messagesPerConnection);
+    }
+
+    private void stubClaim(List<EmailOutboxMessage> batch) {
+        when(outboxRepository.claimDue(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyInt()))
+                .thenReturn(Mono.just(batch.size()));
+        when(outboxRepository.findClaimed(anyString())).thenReturn(Flux.fromIterable(batch));
+    }
+
+    private static EmailOutboxMessage queued(long id, String recipient, int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .newRecord(false)
+                .recipient(recipient)
+                .subject("Subject " + id)
+                .body("<p>Body " + id + "</p>")
+                .html(true)
+                .status("SENDING")
+                .attempts(attempts)
+                .build();
+    }
+
+    private static List<EmailOutboxMessage> batch(int size) {
+        return LongStream.rangeClosed(1, size).mapToObj(id -> queued(id, "user" + id + "@test.com", 1)).toList();
+    }
+
+    @Test
+    @DisplayName("Should send a whole session over one SMTP connection")
+    void shouldReuseConnectionWithinSession() throws Exception {
+        stubClaim(batch(5));
+        when(outboxRepository.markSent(anyLong(), anyString(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+
+        assertThat(dispatcher(1, 5).dispatchBatch()).isEqualTo(5);
+
+        assertThat(smtp.connections()).isEqualTo(1);
+        assertThat(smtp.delivered()).hasSize(5);
+        verify(outboxRepository, times(5)).markSent(anyLong(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should split a batch into sessions, one connection each")
+    void shouldOpenOneConnectionPerSession() throws Exception {
+        stubClaim(batch(4));
+        when(outboxRepository.markSent(anyLong(), anyString(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+
+        dispatcher(2, 2).dispatchBatch();
+
+        assertThat(smtp.connections()).isEqualTo(2);
+        assertThat(smtp.delivered()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a rejected recipient and still send the rest of the session")
+    void shouldDeadLetterPermanentRejection() throws Exception {
+        stubClaim(List.of(queued(1, "ok@test.com", 1), queued(2, "bounce@test.com", 1), queued(3, "ok2@test.com", 1)));
+        when(outboxRepository.markSent(anyLong(), anyString(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+        when(outboxRepository.markDead(eq(2L), anyString(), anyString())).thenReturn(Mono.just(1));
+
+        dispatcher(1, 10).dispatchBatch();
+
+        assertThat(smtp.connections()).isEqualTo(1);
+        assertThat(smtp.delivered()).containsExactly("ok@test.com", "ok2@test.com");
+        verify(outboxRepository).markSent(eq(1L), anyString(), any(LocalDateTime.class));
+        verify(outboxRepository).markSent(eq(3L), anyString(), any(LocalDateTime.class));
+        verify(outboxRepository, never()).markRetry(anyLong(), anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should retry a temporary rejection later")
+    void shouldRetryTemporaryRejection() throws Exception {
+        stubClaim(List.of(queued(1, "later@test.com", 1)));
+        when(outboxRepository.markRetry(eq(1L), anyString(), any(LocalDateTime.class), anyString())).thenReturn(Mono.just(1));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher(1, 10).dispatchBatch();
+
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).markRetry(eq(1L), anyString(), retryAt.capture(), anyString());
+        assertThat(retryAt.getValue()).isAfter(before.plusSeconds(14));
+        verify(outboxRepository, never()).markDead(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a temporary failure once attempts are exhausted")
+    void shouldDeadLetterAfterMaxAttempts() throws Exception {
+        stubClaim(List.of(queued(1, "later@test.com", 8)));
+        when(outboxRepository.markDead(eq(1L), anyString(), anyString())).thenReturn(Mono.just(1));
+
+        dispatcher(1, 10).dispatchBatch();
+
+        verify(outboxRepository).markDead(eq(1L), anyString(), anyString());
+        verify(outboxRepository, never()).markRetry(anyLong(), anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should retry every message of a session when the server is unreachable")
+    void shouldRetryWhenServerDown() throws Exception {
+        smtp.close();
+        stubClaim(batch(3));
+        when(outboxRepository.markRetry(anyLong(), anyString(), any(LocalDateTime.class), anyString())).thenReturn(Mono.just(1));
+
+        dispatcher(1, 10).dispatchBatch();
+
+        verify(outboxRepository, times(3)).markRetry(anyLong(), anyString(), any(LocalDateTime.class), anyString());
+        verify(outboxRepository, never()).markSent(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should renew the lease while a slow session is sending")
+    void shouldRenewLeaseDuringSlowSession() throws Exception {
+        mailSender = new JavaMailSenderImpl() {
+            @Override
+            public void send(jakarta.mail.internet.MimeMessage... messages) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(messages);
+            }
+        };
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+        stubClaim(batch(1));
+        when(outboxRepository.markSent(anyLong(), anyString(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+        when(outboxRepository.renewLease(anyString(), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+        EmailOutboxDispatcher dispatcher = dispatcher(1, 10);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 150L);
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository, atLeastOnce()).renewLease(anyString(), any(LocalDateTime.class));
+        assertThat(smtp.delivered()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should count a message whose lease lapsed before it was marked sent")
+    void shouldCountLostLease() throws Exception {
+        stubClaim(batch(1));
+        when(outboxRepository.markSent(anyLong(), anyString(), any(LocalDateTime.class))).thenReturn(Mono.just(0));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new EmailOutboxDispatcher(outboxRepository, mailSender, registry, 1, 10).dispatchBatch();
+
+        assertThat(registry.get("blog.email.outbox.lease.lost").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no message is due")
+    void shouldSkipEmptyClaim() throws Exception {
+        stubClaim(List.of());
+
+        assertThat(dispatcher(1, 10).dispatchBatch()).isZero();
+        assertThat(smtp.connections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should back off exponentially with jitter, capped at the maximum")
+    void shouldBackOffExponentially() {
+        EmailOutboxDispatcher dispatcher = dispatcher(1, 1);
+        ReflectionTestUtils.setField(dispatcher, "backoffInitialMs", 1_000L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMs", 60_000L);
+
+        assertThat(dispatcher.backoff(1)).isBetween(Duration.ofMillis(500), Duration.ofMillis(1_000));
+        assertThat(dispatcher.backoff(3)).isBetween(Duration.ofMillis(2_000), Duration.ofMillis(4_000));
+        assertThat(dispatcher.backoff(30)).isBetween(Duration.ofMillis(30_000), Duration.ofMillis(60_000));
+    }
+
+    @Test
+    @DisplayName("Should treat only invalid addresses and unbuildable messages as permanent")
+    void shouldClassifyPermanentFailures() {
+        assertThat(EmailOutboxDispatcher.isPermanent(new MailSendException("connection refused"))).isFalse();
+        assertThat(EmailOutboxDispatcher.isPermanent(new MailParseException("bad address"))).isTrue();
+    }
+
+    /**
+     * Just enough SMTP for JavaMail without auth or TLS. Recipients containing {@code bounce} get a 550,
+     * those containing {@code later} a 451; every accepted message is recorded by recipient.
+     */
+    private static final class FakeSmtpServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final AtomicInteger connections = new AtomicInteger();
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        FakeSmtpServer() throws IOException {
+            Thread.ofVirtual().start(this::acceptLoop);
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        List<String> delivered() {
+            return delivered;
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread.ofVirtual().start(() -> serve(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                reply(out, "220 fake ESMTP");
+                String recipient = null;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("RCPT TO")) {
+                        if (command.contains("BOUNCE")) {
+                            reply(out, "550 5.1.1 No such user");
+                        } else if (command.contains("LATER")) {
+                            reply(out, "451 4.3.0 Try again later");
+                        } else {
+                            recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                            reply(out, "250 OK");
+                        }
+                    } else if (command.startsWith("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // message body is not inspected
+                        }
+                        delivered.add(recipient);
+                        reply(out, "250 OK queued");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                        reply(out, "250 fake");
+                    } else {
+                        // MAIL FROM, RSET, NOOP
+                        recipient = command.startsWith("RSET") ? null : recipient;
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // client went away
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dev.catananti.security;
 
 import dev.catananti.entity.User;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.CacheInvalidationBus;
 import dev.catananti.service.TokenBlacklistService;
 import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,8 +10,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpCookie;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
@@ -23,6 +24,7 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Date;
 import java.util.Optional;
 import org.springframework.http.HttpStatus;
 
@@ -43,7 +45,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private TokenBlacklistService tokenBlacklistService;
 
-    @InjectMocks
+    @Spy
+    private CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null);
+
     private JwtAuthenticationFilter filter;
 
     private static final String VALID_JWT = "valid.jwt.token";
@@ -56,6 +60,8 @@ class JwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
+        filter = new JwtAuthenticationFilter(tokenProvider, userRepository, tokenBlacklistService, invalidationBus, 100);
+
         activeUser = new User();
         activeUser.setId(1L);
         activeUser.setEmail(TEST_EMAIL);
@@ -629,4 +635,135 @@ class JwtAuthenticationFilterTest {
             assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
         }
     }
+
+    @Nested
+    @DisplayName("User Cache")
+    class UserCacheTests {
+
+        private MockServerWebExchange authenticatedExchange() {
+            return MockServerWebExchange.from(MockServerHttpRequest.get("/api/test")
+                    .header("Authorization", "Bearer " + VALID_JWT)
+                    .build());
+        }
+
+        @Test
+        @DisplayName("Should serve repeated requests from the user cache")
+        void shouldCacheUserLookup() {
+            Claims claims = validClaims(TEST_EMAIL, TEST_ROLE);
+            when(tokenProvider.validateAndParseClaims(VALID_JWT)).thenReturn(JwtTokenProvider.TokenValidationResult.success(claims));
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Mono.just(activeUser));
+
+            StepVerifier.create(filter.filter(authenticatedExchange(), passThroughChain())).verifyComplete();
+            StepVerifier.create(filter.filter(authenticatedExchange(), passThroughChain())).verifyComplete();
+
+            verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
+        }
+
+        @Test
+        @DisplayName("Should publish eviction and reload user after evictUserFromCache")
+        void shouldReloadAfterEviction() {
+            Claims claims = validClaims(TEST_EMAIL, TEST_ROLE);
+            when(tokenProvider.validateAndParseClaims(VALID_JWT)).thenReturn(JwtTokenProvider.TokenValidationResult.success(claims));
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Mono.just(activeUser), Mono.just(inactiveUser));
+
+            StepVerifier.create(filter.filter(authenticatedExchange(), passThroughChain())).verifyComplete();
+
+            filter.evictUserFromCache(TEST_EMAIL);
+
+            MockServerWebExchange exchange = authenticatedExchange();
+            StepVerifier.create(filter.filter(exchange, passThroughChain())).verifyComplete();
+
+            verify(invalidationBus).publish(CacheInvalidationBus.AUTH_USERS, TEST_EMAIL);
+            verify(userRepository, times(2)).findByEmail(TEST_EMAIL);
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Verified token cache")
+    class VerifiedTokenCacheTests {
+
+        private MockServerWebExchange bearerRequest() {
+            return MockServerWebExchange.from(MockServerHttpRequest.get("/api/test")
+                    .header("Authorization", "Bearer " + VALID_JWT)
+                    .build());
+        }
+
+        private Claims expiringClaims(long expiresInMs) {
+            Claims claims = validClaimsWithJti(TEST_EMAIL, TEST_ROLE, "jti-cached");
+            doReturn(new Date(System.currentTimeMillis() + expiresInMs)).when(claims).getExpiration();
+            return claims;
+        }
+
+        @Test
+        @DisplayName("Should verify a token once and reuse its claims on later requests")
+        void shouldReuseVerifiedClaims() {
+            Claims claims = expiringClaims(60_000);
+            when(tokenProvider.validateAndParseClaims(VALID_JWT))
+                    .thenReturn(JwtTokenProvider.TokenValidationResult.success(claims));
+            when(tokenBlacklistService.isBlacklisted("jti-cached")).thenReturn(Mono.just(false));
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Mono.just(activeUser));
+
+            for (int i = 0; i < 3; i++) {
+                SecurityContext[] captured = new SecurityContext[1];
+                StepVerifier.create(filter.filter(bearerRequest(), capturingChain(captured))).verifyComplete();
+                assertThat(captured[0].getAuthentication().getName()).isEqualTo(TEST_EMAIL);
+            }
+
+            verify(tokenProvider, times(1)).validateAndParseClaims(VALID_JWT);
+        }
+
+        @Test
+        @DisplayName("Should still reject a cached token once it is blacklisted")
+        void shouldCheckBlacklistOnCachedToken() {
+            Claims claims = expiringClaims(60_000);
+            when(tokenProvider.validateAndParseClaims(VALID_JWT))
+                    .thenReturn(JwtTokenProvider.TokenValidationResult.success(claims));
+            when(tokenBlacklistService.isBlacklisted("jti-cached")).thenReturn(Mono.just(false), Mono.just(true));
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Mono.just(activeUser));
+
+            StepVerifier.create(filter.filter(bearerRequest(), passThroughChain())).verifyComplete();
+            MockServerWebExchange afterLogout = bearerRequest();
+            StepVerifier.create(filter.filter(afterLogout, passThroughChain())).verifyComplete();
+
+            assertThat(afterLogout.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+            verify(tokenProvider, times(1)).validateAndParseClaims(VALID_JWT);
+        }
+
+        @Test
+        @DisplayName("Should re-validate a cached token past its expiry")
+        void shouldRevalidateExpiredToken() throws InterruptedException {
+            Claims claims = expiringClaims(1);
+            when(tokenProvider.validateAndParseClaims(VALID_JWT))
+                    .thenReturn(JwtTokenProvider.TokenValidationResult.success(claims))
+                    .thenReturn(JwtTokenProvider.TokenValidationResult.expired("Token expired"));
+            when(tokenBlacklistService.isBlacklisted("jti-cached")).thenReturn(Mono.just(false));
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Mono.just(activeUser));
+
+            StepVerifier.create(filter.filter(bearerRequest(), passThroughChain())).verifyComplete();
+            Thread.sleep(5);
+            MockServerWebExchange expired = bearerRequest();
+            StepVerifier.create(filter.filter(expired, passThroughChain())).verifyComplete();
+
+            assertThat(expired.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+            verify(tokenProvider, times(2)).validateAndParseClaims(VALID_JWT);
+        }
+
+        @Test
+        @DisplayName("Should verify every request when the cache is disabled")
+        void shouldVerifyEveryRequestWhenDisabled() {
+            JwtAuthenticationFilter uncached = new JwtAuthenticationFilter(
+                    tokenProvider, userRepository, tokenBlacklistService, invalidationBus, 0);
+            Claims claims = expiringClaims(60_000);
+            when(tokenProvider.validateAndParseClaims(VALID_JWT))
+                    .thenReturn(JwtTokenProvider.TokenValidationResult.success(claims));
+            when(tokenBlacklistService.isBlacklisted("jti-cached")).thenReturn(Mono.just(false));
+            when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Mono.just(activeUser));
+
+            StepVerifier.create(uncached.filter(bearerRequest(), passThroughChain())).verifyComplete();
+            StepVerifier.create(uncached.filter(bearerRequest(), passThroughChain())).verifyComplete();
+
+            verify(tokenProvider, times(2)).validateAndParseClaims(VALID_JWT);
+        }
+    }
 }
@@ -0,0 +1,184 @@
+package dev.catananti.service;
+
+import dev.catananti.entity.AnalyticsEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsIngestionServiceTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    @Mock
+    private RowsFetchSpec<Object> rowsFetchSpec;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        lenient().when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        lenient().when(executeSpec.bindNull(anyString(), any(Class.class))).thenReturn(executeSpec);
+        lenient().when(executeSpec.fetch()).thenReturn(fetchSpec);
+        lenient().when(executeSpec.map(any(BiFunction.class))).thenReturn(rowsFetchSpec);
+    }
+
+    private AnalyticsIngestionService service(int capacity, int batchSize) {
+        return new AnalyticsIngestionService(databaseClient, meterRegistry, capacity, batchSize);
+    }
+
+    private static AnalyticsEvent event(long id) {
+        return AnalyticsEvent.builder()
+                .id(id)
+                .articleId(42L)
+                .eventType("VIEW")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("analytics.ingest.dropped").tag("reason", reason).counter().count();
+    }
+
+    @Nested
+    @DisplayName("batching")
+    class Batching {
+
+        @Test
+        @DisplayName("should insert queued events with one multi-row statement")
+        void shouldInsertInOneStatement() {
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(3L));
+            AnalyticsIngestionService service = service(100, 50);
+
+            for (long i = 1; i <= 3; i++) {
+                assertThat(service.enqueue(event(i))).isTrue();
+            }
+            verifyNoInteractions(databaseClient);
+
+            StepVerifier.create(service.drain())
+                    .assertNext(rows -> assertThat(rows).isEqualTo(3L))
+                    .verifyComplete();
+
+            verify(databaseClient, times(1)).sql(argThat(sql ->
+                    sql.startsWith("INSERT INTO analytics_events") && sql.contains(":id0") && sql.contains(":id2")));
+            verify(executeSpec).bindNull("userIp0", String.class);
+            assertThat(service.queueDepth()).isZero();
+            assertThat(meterRegistry.get("analytics.ingest.flush").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should flush as soon as a full batch is queued")
+        void shouldFlushFullBatches() {
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(2L));
+            AnalyticsIngestionService service = service(100, 2);
+
+            for (long i = 1; i <= 5; i++) {
+                service.enqueue(event(i));
+            }
+
+            verify(databaseClient, times(2)).sql(startsWith("INSERT INTO analytics_events"));
+            assertThat(service.queueDepth()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should skip the database when the queue is empty")
+        void shouldSkipEmptyFlush() {
+            service(100, 50).scheduledFlush();
+
+            verifyNoInteractions(databaseClient);
+        }
+    }
+
+    @Nested
+    @DisplayName("backpressure")
+    class Backpressure {
+
+        @Test
+        @DisplayName("should drop and count events when the queue is full")
+        void shouldDropWhenFull() {
+            AnalyticsIngestionService service = service(2, 10);
+
+            assertThat(service.enqueue(event(1))).isTrue();
+            assertThat(service.enqueue(event(2))).isTrue();
+            assertThat(service.enqueue(event(3))).isFalse();
+
+            assertThat(service.queueDepth()).isEqualTo(2);
+            assertThat(dropped("queue_full")).isEqualTo(1.0);
+            assertThat(meterRegistry.get("analytics.ingest.queue.depth").gauge().value()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("should count a failed batch as dropped and keep draining")
+        void shouldCountFailedBatch() {
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.error(new RuntimeException("DB down")));
+            AnalyticsIngestionService service = service(100, 50);
+            service.enqueue(event(1));
+            service.enqueue(event(2));
+
+            StepVerifier.create(service.drain())
+                    .assertNext(rows -> assertThat(rows).isZero())
+                    .verifyComplete();
+
+            assertThat(dropped("flush_failed")).isEqualTo(2.0);
+            assertThat(service.queueDepth()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("article validation")
+    class ArticleValidation {
+
+        @Test
+        @DisplayName("should validate IDs and slugs from one cached snapshot")
+        void shouldUseCachedSnapshot() {
+            when(rowsFetchSpec.all()).thenReturn(Flux.just(Map.entry("spring-tips", 42L)));
+            AnalyticsIngestionService service = service(100, 50);
+
+            StepVerifier.create(service.isKnownArticle(42L)).expectNext(true).verifyComplete();
+            StepVerifier.create(service.resolveArticleId("spring-tips")).expectNext(42L).verifyComplete();
+            StepVerifier.create(service.isKnownArticle(7L)).expectNext(false).verifyComplete();
+            StepVerifier.create(service.resolveArticleId("missing")).verifyComplete();
+
+            // Misses within the refresh interval do not go back to the database
+            verify(databaseClient, times(1)).sql("SELECT id, slug FROM articles");
+        }
+
+        @Test
+        @DisplayName("should treat every article as unknown when the snapshot cannot load")
+        void shouldSurviveLoadFailure() {
+            when(rowsFetchSpec.all()).thenReturn(Flux.error(new RuntimeException("DB down")));
+            AnalyticsIngestionService service = service(100, 50);
+
+            StepVerifier.create(service.isKnownArticle(42L)).expectNext(false).verifyComplete();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dev.catananti.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsPartitionServiceTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private RowsFetchSpec<Object> rowsFetchSpec;
+
+    @InjectMocks
+    private AnalyticsPartitionService partitionService;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        lenient().when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        lenient().when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        lenient().when(executeSpec.map(any(BiFunction.class))).thenReturn(rowsFetchSpec);
+        lenient().when(executeSpec.then()).thenReturn(Mono.empty());
+    }
+
+    @Nested
+    @DisplayName("partition naming")
+    class Naming {
+
+        @Test
+        @DisplayName("should build monthly partition DDL")
+        void shouldBuildMonthlyDdl() {
+            assertThat(partitionService.createPartitionSql(LocalDate.of(2026, 12, 1))).isEqualTo(
+                    "CREATE TABLE IF NOT EXISTS analytics_events_p202612 PARTITION OF analytics_events "
+                            + "FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+        }
+
+        @Test
+        @DisplayName("should build daily partition DDL")
+        void shouldBuildDailyDdl() {
+            ReflectionTestUtils.setField(partitionService, "granularity", AnalyticsPartitionService.Granularity.DAY);
+
+            assertThat(partitionService.createPartitionSql(LocalDate.of(2026, 10, 31))).isEqualTo(
+                    "CREATE TABLE IF NOT EXISTS analytics_events_p20261031 PARTITION OF analytics_events "
+                            + "FOR VALUES FROM ('2026-10-31') TO ('2026-11-01')");
+        }
+
+        @Test
+        @DisplayName("should create the current and upcoming partitions")
+        void shouldCreateUpcoming() {
+            StepVerifier.create(partitionService.createUpcomingPartitions())
+                    .assertNext(count -> assertThat(count).isEqualTo(4L))
+                    .verifyComplete();
+
+            verify(databaseClient, times(4)).sql(startsWith("CREATE TABLE IF NOT EXISTS analytics_events_p"));
+        }
+    }
+
+    @Nested
+    @DisplayName("retention")
+    class Retention {
+
+        private final LocalDateTime cutoff = LocalDateTime.of(2026, 7, 18, 3, 0);
+
+        @Test
+        @DisplayName("should expire only partitions entirely before the cutoff")
+        void shouldDetectExpiredBounds() {
+            assertThat(AnalyticsPartitionService.isExpired(
+                    "FOR VALUES FROM ('2026-06-01 00:00:00') TO ('2026-07-01 00:00:00')", cutoff)).isTrue();
+            assertThat(AnalyticsPartitionService.isExpired(
+                    "FOR VALUES FROM (MINVALUE) TO ('2026-05-01 00:00:00')", cutoff)).isTrue();
+            assertThat(AnalyticsPartitionService.isExpired(
+                    "FOR VALUES FROM ('2026-07-01 00:00:00') TO ('2026-08-01 00:00:00')", cutoff)).isFalse();
+            assertThat(AnalyticsPartitionService.isExpired("DEFAULT", cutoff)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should detach and drop expired partitions")
+        void shouldDropExpiredPartitions() {
+            when(rowsFetchSpec.all()).thenReturn(Flux.just(
+                    new String[]{"analytics_events_p202606", "FOR VALUES FROM ('2026-06-01 00:00:00') TO ('2026-07-01 00:00:00')"},
+                    new String[]{"analytics_events_p202607", "FOR VALUES FROM ('2026-07-01 00:00:00') TO ('2026-08-01 00:00:00')"},
+                    new String[]{"analytics_events_default", "DEFAULT"}));
+
+            StepVerifier.create(partitionService.dropPartitionsBefore(cutoff))
+                    .assertNext(count -> assertThat(count).isEqualTo(1L))
+                    .verifyComplete();
+
+            verify(databaseClient).sql("ALTER TABLE analytics_events DETACH PARTITION analytics_events_p202606");
+            verify(databaseClient).sql("DROP TABLE analytics_events_p202606");
+            verify(databaseClient, never()).sql("DROP TABLE analytics_events_p202607");
+            // The default partition is not dropped, but its expired rows are deleted
+            verify(databaseClient, never()).sql("DROP TABLE analytics_events_default");
+            verify(databaseClient).sql("DELETE FROM analytics_events_default WHERE created_at < :cutoff");
+            verify(executeSpec).bind("cutoff", cutoff);
+        }
+
+        @Test
+        @DisplayName("should report unpartitioned when the catalog query fails")
+        void shouldFallBackOnH2() {
+            when(rowsFetchSpec.one()).thenReturn(Mono.error(new RuntimeException("Table PG_PARTITIONED_TABLE not found")));
+
+            StepVerifier.create(partitionService.isPartitioned()).expectNext(false).verifyComplete();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package dev.catananti.service;
+
+import dev.catananti.service.AnalyticsRollupService.Window;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRollupServiceTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    @Mock
+    private RowsFetchSpec<Object> rowsFetchSpec;
+
+    @InjectMocks
+    private AnalyticsRollupService rollupService;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        lenient().when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        lenient().when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        lenient().when(executeSpec.fetch()).thenReturn(fetchSpec);
+        lenient().when(executeSpec.map(any(BiFunction.class))).thenReturn(rowsFetchSpec);
+    }
+
+    @Nested
+    @DisplayName("nextWindow")
+    class NextWindow {
+
+        @Test
+        @DisplayName("should start at the watermark and stop short of the settle horizon")
+        void shouldStartAtWatermark() {
+            LocalDateTime watermark = LocalDateTime.now().minusHours(3);
+            when(rowsFetchSpec.one()).thenReturn(Mono.just(watermark));
+
+            StepVerifier.create(rollupService.nextWindow())
+                    .assertNext(window -> {
+                        assertThat(window.from()).isEqualTo(watermark);
+                        assertThat(window.to()).isBefore(LocalDateTime.now().minusSeconds(119));
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should cap the window length while catching up")
+        void shouldCapWindow() {
+            LocalDateTime watermark = LocalDateTime.now().minusDays(3);
+            when(rowsFetchSpec.one()).thenReturn(Mono.just(watermark));
+
+            StepVerifier.create(rollupService.nextWindow())
+                    .assertNext(window -> assertThat(window.to()).isEqualTo(watermark.plusHours(24)))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should be empty when the rollups are caught up")
+        void shouldBeEmptyWhenCaughtUp() {
+            when(rowsFetchSpec.one()).thenReturn(Mono.just(LocalDateTime.now()));
+
+            StepVerifier.create(rollupService.nextWindow()).verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should seed the watermark from the oldest raw event")
+        void shouldSeedWatermark() {
+            LocalDateTime firstEvent = LocalDateTime.now().minusDays(2).withMinute(37);
+            when(rowsFetchSpec.one()).thenReturn(Mono.empty(), Mono.just(Optional.of(firstEvent)));
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
+
+            StepVerifier.create(rollupService.nextWindow())
+                    .assertNext(window -> assertThat(window.from())
+                            .isEqualTo(firstEvent.truncatedTo(ChronoUnit.HOURS)))
+                    .verifyComplete();
+
+            verify(databaseClient).sql(startsWith("INSERT INTO analytics_rollup_state"));
+        }
+    }
+
+    @Nested
+    @DisplayName("rollUp")
+    class RollUp {
+
+        private final Window window = new Window(
+                LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+
+        @Test
+        @DisplayName("should advance the watermark and merge hourly, daily and referrer rollups")
+        void shouldMergeAllRollups() {
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L), Mono.just(4L), Mono.just(2L), Mono.just(1L));
+
+            StepVerifier.create(rollupService.rollUp(window))
+                    .assertNext(rows -> assertThat(rows).isEqualTo(4L))
+                    .verifyComplete();
+
+            verify(databaseClient).sql(contains("UPDATE analytics_rollup_state"));
+            verify(databaseClient).sql(contains("MERGE INTO analytics_hourly_rollup"));
+            verify(databaseClient).sql(contains("MERGE INTO analytics_daily_rollup"));
+            verify(databaseClient).sql(contains("MERGE INTO analytics_referrer_daily_rollup"));
+        }
+
+        @Test
+        @DisplayName("should abort when another node already moved the watermark")
+        void shouldAbortOnConcurrentAdvance() {
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(0L));
+
+            StepVerifier.create(rollupService.rollUp(window))
+                    .expectError(IllegalStateException.class)
+                    .verify();
+
+            verify(databaseClient, never()).sql(contains("MERGE INTO"));
+        }
+    }
+}
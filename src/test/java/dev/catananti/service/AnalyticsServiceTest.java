@@ -21,6 +21,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -36,6 +37,8 @@ class AnalyticsServiceTest {
     @Mock private ArticleRepository articleRepository;
     @Mock private IdService idService;
     @Mock private DatabaseClient databaseClient;
+    @Mock private AnalyticsIngestionService ingestionService;
+    @Mock private AnalyticsPartitionService partitionService;
     @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
     @SuppressWarnings("rawtypes")
     @Mock private RowsFetchSpec rowsFetchSpec;
@@ -45,7 +48,7 @@ class AnalyticsServiceTest {
 
     @BeforeEach
     void setUp() {
-        analyticsService = new AnalyticsService(analyticsRepository, articleRepository, objectMapper, idService, databaseClient);
+        analyticsService = new AnalyticsService(analyticsRepository, articleRepository, objectMapper, idService, databaseClient, ingestionService, partitionService);
     }
 
     @Nested
@@ -67,13 +70,12 @@ class AnalyticsServiceTest {
                     .build();
 
             when(idService.nextId()).thenReturn(1001L);
-            when(analyticsRepository.save(any(AnalyticsEvent.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+            when(ingestionService.enqueue(any(AnalyticsEvent.class))).thenReturn(true);
 
             StepVerifier.create(analyticsService.trackEvent(request, httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository).save(argThat(event -> {
+            verify(ingestionService).enqueue(argThat(event -> {
                 assertThat(event.getEventType()).isEqualTo("VIEW");
                 assertThat(event.getUserIp()).isEqualTo("203.0.113.0"); // SEC-08: anonymized
                 assertThat(event.getUserAgent()).isEqualTo("Mozilla/5.0");
@@ -94,15 +96,14 @@ class AnalyticsServiceTest {
                     .header("X-Forwarded-For", "10.0.0.1")
                     .build();
 
-            when(articleRepository.existsById(42L)).thenReturn(Mono.just(true));
+            when(ingestionService.isKnownArticle(42L)).thenReturn(Mono.just(true));
             when(idService.nextId()).thenReturn(1002L);
-            when(analyticsRepository.save(any(AnalyticsEvent.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+            when(ingestionService.enqueue(any(AnalyticsEvent.class))).thenReturn(true);
 
             StepVerifier.create(analyticsService.trackEvent(request, httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository).save(argThat(event -> {
+            verify(ingestionService).enqueue(argThat(event -> {
                 assertThat(event.getEventType()).isEqualTo("LIKE");
                 assertThat(event.getArticleId()).isEqualTo(42L);
                 return true;
@@ -119,12 +120,12 @@ class AnalyticsServiceTest {
 
             MockServerHttpRequest httpRequest = MockServerHttpRequest.get("/").build();
 
-            when(articleRepository.existsById(999L)).thenReturn(Mono.just(false));
+            when(ingestionService.isKnownArticle(999L)).thenReturn(Mono.just(false));
 
             StepVerifier.create(analyticsService.trackEvent(request, httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository, never()).save(any());
+            verify(ingestionService, never()).enqueue(any());
         }
 
         @Test
@@ -138,13 +139,12 @@ class AnalyticsServiceTest {
             MockServerHttpRequest httpRequest = MockServerHttpRequest.get("/").build();
 
             when(idService.nextId()).thenReturn(1003L);
-            when(analyticsRepository.save(any(AnalyticsEvent.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+            when(ingestionService.enqueue(any(AnalyticsEvent.class))).thenReturn(true);
 
             StepVerifier.create(analyticsService.trackEvent(request, httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository).save(argThat(event -> {
+            verify(ingestionService).enqueue(argThat(event -> {
                 assertThat(event.getMetadata()).isNotNull();
                 assertThat(event.getMetadata()).contains("depth");
                 return true;
@@ -170,16 +170,15 @@ class AnalyticsServiceTest {
                     .header("X-Forwarded-For", "1.2.3.4")
                     .build();
 
-            when(articleRepository.findBySlug("spring-boot-tips")).thenReturn(Mono.just(article));
-            when(articleRepository.existsById(42L)).thenReturn(Mono.just(true));
+            when(ingestionService.resolveArticleId("spring-boot-tips")).thenReturn(Mono.just(article.getId()));
+            when(ingestionService.isKnownArticle(42L)).thenReturn(Mono.just(true));
             when(idService.nextId()).thenReturn(1004L);
-            when(analyticsRepository.save(any(AnalyticsEvent.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+            when(ingestionService.enqueue(any(AnalyticsEvent.class))).thenReturn(true);
 
             StepVerifier.create(analyticsService.trackArticleView("spring-boot-tips", httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository).save(argThat(event -> {
+            verify(ingestionService).enqueue(argThat(event -> {
                 assertThat(event.getEventType()).isEqualTo("VIEW");
                 assertThat(event.getArticleId()).isEqualTo(42L);
                 return true;
@@ -191,12 +190,12 @@ class AnalyticsServiceTest {
         void shouldIgnoreNonExistentSlug() {
             MockServerHttpRequest httpRequest = MockServerHttpRequest.get("/").build();
 
-            when(articleRepository.findBySlug("nonexistent")).thenReturn(Mono.empty());
+            when(ingestionService.resolveArticleId("nonexistent")).thenReturn(Mono.empty());
 
             StepVerifier.create(analyticsService.trackArticleView("nonexistent", httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository, never()).save(any());
+            verify(ingestionService, never()).enqueue(any());
         }
     }
 
@@ -208,11 +207,11 @@ class AnalyticsServiceTest {
         @DisplayName("Should return summary with all metrics")
         @SuppressWarnings("unchecked")
         void shouldReturnSummary() {
-            when(analyticsRepository.countByEventTypeSince(eq("VIEW"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("VIEW"), any(LocalDate.class)))
                     .thenReturn(Mono.just(150L));
-            when(analyticsRepository.countByEventTypeSince(eq("LIKE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("LIKE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(25L));
-            when(analyticsRepository.countByEventTypeSince(eq("SHARE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("SHARE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(10L));
 
             // BUG-12: getDailyViews, getTopArticles, getTopReferrers now use DatabaseClient
@@ -269,12 +268,12 @@ class AnalyticsServiceTest {
         @DisplayName("Should fallback to article table when VIEW count is zero")
         @SuppressWarnings("unchecked")
         void shouldFallbackForViewCount() {
-            when(analyticsRepository.countByEventTypeSince(eq("VIEW"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("VIEW"), any(LocalDate.class)))
                     .thenReturn(Mono.just(0L));
             when(articleRepository.sumViewsCount()).thenReturn(Mono.just(500L));
-            when(analyticsRepository.countByEventTypeSince(eq("LIKE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("LIKE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(10L));
-            when(analyticsRepository.countByEventTypeSince(eq("SHARE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("SHARE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(5L));
 
             when(databaseClient.sql(anyString())).thenReturn(executeSpec);
@@ -297,12 +296,12 @@ class AnalyticsServiceTest {
         @DisplayName("Should fallback to article table when LIKE count is zero")
         @SuppressWarnings("unchecked")
         void shouldFallbackForLikeCount() {
-            when(analyticsRepository.countByEventTypeSince(eq("VIEW"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("VIEW"), any(LocalDate.class)))
                     .thenReturn(Mono.just(100L));
-            when(analyticsRepository.countByEventTypeSince(eq("LIKE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("LIKE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(0L));
             when(articleRepository.sumLikesCount()).thenReturn(Mono.just(200L));
-            when(analyticsRepository.countByEventTypeSince(eq("SHARE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("SHARE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(3L));
 
             when(databaseClient.sql(anyString())).thenReturn(executeSpec);
@@ -325,13 +324,13 @@ class AnalyticsServiceTest {
         @DisplayName("Should fallback both views and likes when both are zero")
         @SuppressWarnings("unchecked")
         void shouldFallbackBothViewsAndLikes() {
-            when(analyticsRepository.countByEventTypeSince(eq("VIEW"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("VIEW"), any(LocalDate.class)))
                     .thenReturn(Mono.just(0L));
             when(articleRepository.sumViewsCount()).thenReturn(Mono.just(1000L));
-            when(analyticsRepository.countByEventTypeSince(eq("LIKE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("LIKE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(0L));
             when(articleRepository.sumLikesCount()).thenReturn(Mono.just(300L));
-            when(analyticsRepository.countByEventTypeSince(eq("SHARE"), any(LocalDateTime.class)))
+            when(analyticsRepository.sumRollupByEventTypeSince(eq("SHARE"), any(LocalDate.class)))
                     .thenReturn(Mono.just(0L));
 
             when(databaseClient.sql(anyString())).thenReturn(executeSpec);
@@ -366,13 +365,12 @@ class AnalyticsServiceTest {
                     .build();
 
             when(idService.nextId()).thenReturn(2001L);
-            when(analyticsRepository.save(any(AnalyticsEvent.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+            when(ingestionService.enqueue(any(AnalyticsEvent.class))).thenReturn(true);
 
             StepVerifier.create(analyticsService.trackEvent(request, httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository).save(argThat(event -> {
+            verify(ingestionService).enqueue(argThat(event -> {
                 assertThat(event.getEventType()).isEqualTo("CLICK");
                 assertThat(event.getMetadata()).isNull();
                 return true;
@@ -390,17 +388,45 @@ class AnalyticsServiceTest {
             MockServerHttpRequest httpRequest = MockServerHttpRequest.get("/").build();
 
             when(idService.nextId()).thenReturn(2002L);
-            when(analyticsRepository.save(any(AnalyticsEvent.class)))
-                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+            when(ingestionService.enqueue(any(AnalyticsEvent.class))).thenReturn(true);
 
             StepVerifier.create(analyticsService.trackEvent(request, httpRequest))
                     .verifyComplete();
 
-            verify(analyticsRepository).save(argThat(event -> {
+            verify(ingestionService).enqueue(argThat(event -> {
                 assertThat(event.getEventType()).isEqualTo("SHARE");
                 assertThat(event.getReferrer()).isNull();
                 return true;
             }));
         }
     }
+
+    @Nested
+    @DisplayName("cleanupOldEvents")
+    class CleanupOldEvents {
+
+        @Test
+        @DisplayName("Should drop expired partitions when the table is partitioned")
+        void shouldDropPartitions() {
+            when(partitionService.isPartitioned()).thenReturn(Mono.just(true));
+            when(partitionService.dropPartitionsBefore(any(LocalDateTime.class))).thenReturn(Mono.just(2L));
+
+            analyticsService.cleanupOldEvents();
+
+            verify(partitionService).dropPartitionsBefore(any(LocalDateTime.class));
+            verify(analyticsRepository, never()).deleteByCreatedAtBefore(any());
+        }
+
+        @Test
+        @DisplayName("Should delete expired rows when the table is not partitioned")
+        void shouldDeleteRows() {
+            when(partitionService.isPartitioned()).thenReturn(Mono.just(false));
+            when(analyticsRepository.deleteByCreatedAtBefore(any(LocalDateTime.class))).thenReturn(Mono.empty());
+
+            analyticsService.cleanupOldEvents();
+
+            verify(analyticsRepository).deleteByCreatedAtBefore(any(LocalDateTime.class));
+            verify(partitionService, never()).dropPartitionsBefore(any());
+        }
+    }
 }
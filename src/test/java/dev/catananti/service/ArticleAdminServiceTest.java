@@ -9,9 +9,10 @@ import dev.catananti.entity.User;
 import dev.catananti.exception.DuplicateResourceException;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.repository.ArticleRepository;
-import dev.catananti.repository.SubscriberRepository;
 import dev.catananti.repository.TagRepository;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.search.RelatedArticlesService;
+import dev.catananti.service.search.SearchResultCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -49,10 +50,7 @@ class ArticleAdminServiceTest {
     private R2dbcEntityTemplate r2dbcTemplate;
 
     @Mock
-    private SubscriberRepository subscriberRepository;
-
-    @Mock
-    private EmailService emailService;
+    private NewsletterCampaignService newsletterCampaignService;
 
     @Mock
     private ArticleVersionService articleVersionService;
@@ -75,6 +73,15 @@ class ArticleAdminServiceTest {
     @Mock
     private ArticleService articleService;
 
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private RelatedArticlesService relatedArticlesService;
+
     @InjectMocks
     private ArticleAdminService articleAdminService;
 
@@ -115,6 +122,11 @@ class ArticleAdminServiceTest {
                 .title("Test Article")
                 .status("DRAFT")
                 .build();
+
+        // Write paths invalidate feed and article read caches
+        lenient().when(cacheService.delete(anyString())).thenReturn(Mono.just(true));
+        lenient().when(cacheService.invalidateArticle(anyLong(), anyBoolean())).thenReturn(Mono.just(0L));
+        lenient().when(cacheService.invalidateAllTags()).thenReturn(Mono.just(0L));
     }
 
     // ==================== getAllArticles ====================
@@ -196,6 +208,8 @@ class ArticleAdminServiceTest {
         void shouldReturnArticleWhenFound() {
             // Given
             when(articleRepository.findById(articleId)).thenReturn(Mono.just(testArticle));
+            when(articleService.withPendingCounts(testArticle))
+                    .thenReturn(Mono.just(testArticle));
             when(articleService.enrichArticleWithMetadata(testArticle))
                     .thenReturn(Mono.just(testArticle));
             when(articleService.mapToResponse(testArticle))
@@ -367,6 +381,10 @@ class ArticleAdminServiceTest {
                         assertThat(response.getSlug()).isEqualTo("test-article");
                     })
                     .verifyComplete();
+
+            // Same status, tags untouched: only entries embedding this article are dropped
+            verify(cacheService).invalidateArticle(articleId, false);
+            verify(cacheService, never()).invalidateAllTags();
         }
 
         @Test
@@ -453,7 +471,7 @@ class ArticleAdminServiceTest {
             when(articleRepository.findById(articleId)).thenReturn(Mono.just(draftArticle));
             when(articleRepository.save(any(Article.class))).thenReturn(Mono.just(publishedArticle));
             when(cacheService.delete(anyString())).thenReturn(Mono.just(true));
-            when(subscriberRepository.findAllConfirmed()).thenReturn(Flux.empty());
+            when(newsletterCampaignService.startArticleCampaign(any(Article.class))).thenReturn(Mono.empty());
             when(articleService.enrichArticleWithMetadata(any(Article.class)))
                     .thenReturn(Mono.just(publishedArticle));
             when(articleService.mapToResponse(any(Article.class)))
@@ -0,0 +1,259 @@
+package dev.catananti.service;
+
+import dev.catananti.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleCounterServiceTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private R2dbcEntityTemplate r2dbcTemplate;
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private RowsFetchSpec<Object> rowsFetchSpec;
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ReactiveHashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private ArticleCounterService service;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        service = new ArticleCounterService(articleRepository, r2dbcTemplate, redisTemplate);
+
+        lenient().when(r2dbcTemplate.getDatabaseClient()).thenReturn(databaseClient);
+        lenient().when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        lenient().when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        lenient().when(executeSpec.map(any(BiFunction.class))).thenReturn(rowsFetchSpec);
+        lenient().doReturn(hashOperations).when(redisTemplate).opsForHash();
+    }
+
+    @Nested
+    @DisplayName("local buffering")
+    class LocalBuffering {
+
+        @Test
+        @DisplayName("should fold hits into one batched update per flush")
+        void shouldFlushInOneStatement() {
+            when(rowsFetchSpec.all()).thenReturn(Flux.just("hot-post", "other-post"));
+
+            for (int i = 0; i < 3; i++) {
+                StepVerifier.create(service.recordView("hot-post")).verifyComplete();
+            }
+            StepVerifier.create(service.recordLike("hot-post")).verifyComplete();
+            StepVerifier.create(service.recordView("other-post")).verifyComplete();
+
+            StepVerifier.create(service.pending("hot-post"))
+                    .assertNext(p -> assertThat(p).isEqualTo(new ArticleCounterService.PendingCounts(3, 1)))
+                    .verifyComplete();
+
+            assertThat(service.flushPending()).isEqualTo(2);
+
+            verify(databaseClient, times(1)).sql(contains("FROM unnest("));
+            ArgumentCaptor<Object> views = ArgumentCaptor.forClass(Object.class);
+            verify(executeSpec).bind(eq("views"), views.capture());
+            assertThat((Long[]) views.getValue()).containsExactlyInAnyOrder(3L, 1L);
+            verify(articleRepository, never()).incrementViewsBySlug(anyString());
+
+            StepVerifier.create(service.pending("hot-post"))
+                    .assertNext(p -> assertThat(p.isEmpty()).isTrue())
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should skip the database when nothing is buffered")
+        void shouldSkipEmptyFlush() {
+            assertThat(service.flushPending()).isZero();
+
+            verifyNoInteractions(databaseClient);
+        }
+
+        @Test
+        @DisplayName("should keep deltas buffered when the flush fails")
+        void shouldRestoreDeltasOnFailure() {
+            when(rowsFetchSpec.all()).thenReturn(Flux.error(new RuntimeException("DB down")));
+
+            StepVerifier.create(service.recordView("hot-post")).verifyComplete();
+            StepVerifier.create(service.recordView("hot-post")).verifyComplete();
+
+            assertThat(service.flushPending()).isZero();
+
+            StepVerifier.create(service.pending("hot-post"))
+                    .assertNext(p -> assertThat(p.views()).isEqualTo(2))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should flush buffered hits on shutdown")
+        void shouldFlushOnShutdown() {
+            when(rowsFetchSpec.all()).thenReturn(Flux.just("hot-post"));
+            StepVerifier.create(service.recordLike("hot-post")).verifyComplete();
+
+            service.flushOnShutdown();
+
+            verify(databaseClient).sql(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("write-through mode")
+    class WriteThrough {
+
+        @Test
+        @DisplayName("should update the row directly when write-behind is disabled")
+        void shouldWriteThroughWhenDisabled() {
+            ReflectionTestUtils.setField(service, "enabled", false);
+            when(articleRepository.incrementViewsBySlug("post")).thenReturn(Mono.empty());
+
+            StepVerifier.create(service.recordView("post")).verifyComplete();
+
+            verify(articleRepository).incrementViewsBySlug("post");
+            verifyNoInteractions(databaseClient);
+        }
+    }
+
+    @Nested
+    @DisplayName("redis mode")
+    class RedisMode {
+
+        @BeforeEach
+        void enableRedis() {
+            ReflectionTestUtils.setField(service, "redisMode", true);
+        }
+
+        @Test
+        @DisplayName("should accumulate hits with HINCRBY")
+        void shouldIncrementSharedHash() {
+            when(hashOperations.increment(ArticleCounterService.PENDING_KEY, "views:post", 1L)).thenReturn(Mono.just(1L));
+
+            StepVerifier.create(service.recordView("post")).verifyComplete();
+
+            verify(hashOperations).increment(ArticleCounterService.PENDING_KEY, "views:post", 1L);
+        }
+
+        @Test
+        @DisplayName("should buffer locally when Redis is down")
+        void shouldFallBackToLocal() {
+            when(hashOperations.increment(anyString(), any(), anyLong()))
+                    .thenReturn(Mono.error(new RuntimeException("Connection refused")));
+            when(hashOperations.multiGet(anyString(), anyCollection()))
+                    .thenReturn(Mono.error(new RuntimeException("Connection refused")));
+
+            StepVerifier.create(service.recordLike("post")).verifyComplete();
+
+            StepVerifier.create(service.pending("post"))
+                    .assertNext(p -> assertThat(p.likes()).isEqualTo(1))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should count deltas of the batch being flushed as pending")
+        void shouldIncludeFlushingHash() {
+            when(hashOperations.multiGet(ArticleCounterService.PENDING_KEY, List.<Object>of("views:post", "likes:post")))
+                    .thenReturn(Mono.just(Arrays.<Object>asList("2", null)));
+            when(hashOperations.multiGet(ArticleCounterService.FLUSHING_KEY, List.<Object>of("views:post", "likes:post")))
+                    .thenReturn(Mono.just(Arrays.<Object>asList("5", "1")));
+
+            StepVerifier.create(service.pending("post"))
+                    .assertNext(p -> assertThat(p).isEqualTo(new ArticleCounterService.PendingCounts(7, 1)))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should release only the flush lock it acquired")
+        void shouldReleaseLockWithToken() {
+            doReturn(valueOperations).when(redisTemplate).opsForValue();
+            when(valueOperations.setIfAbsent(eq(ArticleCounterService.FLUSH_LOCK_KEY), anyString(), any(Duration.class)))
+                    .thenReturn(Mono.just(true));
+            // Nothing recorded since the last flush
+            when(redisTemplate.execute(eq(ArticleCounterService.CLAIM_SCRIPT), anyList(), anyList()))
+                    .thenReturn(Flux.just(List.of()));
+            when(redisTemplate.execute(eq(ArticleCounterService.RELEASE_LOCK_SCRIPT), anyList(), anyList()))
+                    .thenReturn(Flux.just(1L));
+
+            assertThat(service.flushPending()).isZero();
+
+            ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+            verify(valueOperations).setIfAbsent(eq(ArticleCounterService.FLUSH_LOCK_KEY), token.capture(), any(Duration.class));
+            verify(redisTemplate).execute(ArticleCounterService.RELEASE_LOCK_SCRIPT,
+                    List.of(ArticleCounterService.FLUSH_LOCK_KEY), List.of(token.getValue()));
+            verify(redisTemplate, never()).delete(ArticleCounterService.FLUSH_LOCK_KEY);
+        }
+
+        @Test
+        @DisplayName("should apply a leftover batch at most once")
+        void shouldReplayLeftoverBatchIdempotently() {
+            doReturn(valueOperations).when(redisTemplate).opsForValue();
+            when(valueOperations.setIfAbsent(eq(ArticleCounterService.FLUSH_LOCK_KEY), anyString(), any(Duration.class)))
+                    .thenReturn(Mono.just(true));
+            when(redisTemplate.execute(eq(ArticleCounterService.CLAIM_SCRIPT),
+                    eq(List.of(ArticleCounterService.PENDING_KEY, ArticleCounterService.FLUSHING_KEY)), anyList()))
+                    .thenReturn(Flux.just(List.of(ArticleCounterService.BATCH_ID_FIELD, "batch-1", "views:post", "3")));
+            when(redisTemplate.execute(eq(ArticleCounterService.RELEASE_LOCK_SCRIPT), anyList(), anyList()))
+                    .thenReturn(Flux.just(1L));
+            // The previous leader applied this batch but failed to delete it: the database matches nothing
+            when(rowsFetchSpec.all()).thenReturn(Flux.empty());
+            when(redisTemplate.delete(ArticleCounterService.FLUSHING_KEY)).thenReturn(Mono.just(1L));
+
+            assertThat(service.flushPending()).isZero();
+
+            verify(databaseClient).sql(contains("ON CONFLICT (batch_id) DO NOTHING"));
+            verify(executeSpec).bind("batchId", "batch-1");
+            verify(redisTemplate).delete(ArticleCounterService.FLUSHING_KEY);
+        }
+
+        @Test
+        @DisplayName("should parse shared hash fields into per-slug deltas")
+        void shouldParseHashFields() {
+            Map<String, ArticleCounterService.PendingCounts> deltas = ArticleCounterService.toDeltas(Map.of(
+                    "views:a", "4", "likes:a", "1", "views:b", "2", "bogus", "9"));
+
+            assertThat(deltas).containsOnly(
+                    Map.entry("a", new ArticleCounterService.PendingCounts(4, 1)),
+                    Map.entry("b", new ArticleCounterService.PendingCounts(2, 0)));
+        }
+    }
+}
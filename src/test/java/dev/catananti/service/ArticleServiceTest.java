@@ -2,15 +2,17 @@ package dev.catananti.service;
 
 import dev.catananti.config.ResilienceConfig;
 import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
+import dev.catananti.dto.PageCursor;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.entity.Article;
 import dev.catananti.entity.User;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.metrics.BlogMetrics;
 import dev.catananti.repository.ArticleRepository;
-import dev.catananti.repository.CommentRepository;
 import dev.catananti.repository.TagRepository;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.search.RelatedArticlesService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,7 +28,10 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -50,15 +55,21 @@ class ArticleServiceTest {
     @Mock
     private ArticleTranslationService articleTranslationService;
 
-    @Mock
-    private CommentRepository commentRepository;
-
     @Mock
     private BlogMetrics blogMetrics;
 
     @Mock
     private ResilienceConfig resilience;
 
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private ArticleCounterService articleCounterService;
+
+    @Mock
+    private RelatedArticlesService relatedArticlesService;
+
     @InjectMocks
     private ArticleService articleService;
 
@@ -88,8 +99,14 @@ class ArticleServiceTest {
         // Mock resilience config
         lenient().when(resilience.getDatabaseTimeout()).thenReturn(java.time.Duration.ofSeconds(10));
 
-        // Mock CommentRepository
-        lenient().when(commentRepository.countApprovedByArticleId(anyLong())).thenReturn(Mono.just(0L));
+        // Read-through cache: behave as a permanent miss so every call reaches the loader
+        lenient().when(cacheService.getOrLoad(anyString(), any(), any(), any(), any()))
+                .thenAnswer(inv -> ((Supplier<Mono<?>>) inv.getArgument(4)).get());
+
+        // Write-behind counters: nothing buffered unless a test says otherwise
+        lenient().when(articleCounterService.pending(anyString()))
+                .thenReturn(Mono.just(ArticleCounterService.PendingCounts.NONE));
+        lenient().when(articleCounterService.pending(anyCollection())).thenReturn(Mono.just(Map.of()));
 
         // Mock R2dbcEntityTemplate -> DatabaseClient chain for batch operations
         DatabaseClient databaseClient = mock(DatabaseClient.class);
@@ -112,7 +129,7 @@ class ArticleServiceTest {
                 .thenReturn(Mono.just(1L));
 
         // When
-        Mono<PageResponse<ArticleResponse>> result = articleService.getPublishedArticles(0, 10);
+        Mono<PageResponse<ArticleSummary>> result = articleService.getPublishedArticles(0, 10);
 
         // Then
         StepVerifier.create(result)
@@ -170,7 +187,7 @@ class ArticleServiceTest {
     @DisplayName("Should increment views count")
     void incrementViews_ShouldIncrementViewsCount() {
         // Given
-        when(articleRepository.incrementViewsBySlug("test-article"))
+        when(articleCounterService.recordView("test-article"))
                 .thenReturn(Mono.empty());
 
         // When
@@ -180,14 +197,15 @@ class ArticleServiceTest {
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(articleRepository).incrementViewsBySlug("test-article");
+        verify(articleCounterService).recordView("test-article");
+        verify(articleRepository, never()).incrementViewsBySlug(anyString());
     }
 
     @Test
     @DisplayName("Should increment likes count")
     void likeArticle_ShouldIncrementLikesCount() {
         // Given
-        when(articleRepository.incrementLikesBySlug("test-article"))
+        when(articleCounterService.recordLike("test-article"))
                 .thenReturn(Mono.empty());
 
         // When
@@ -197,7 +215,7 @@ class ArticleServiceTest {
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(articleRepository).incrementLikesBySlug("test-article");
+        verify(articleCounterService).recordLike("test-article");
     }
 
     // ==================== ADDED TESTS ====================
@@ -288,6 +306,61 @@ class ArticleServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should add unflushed likes to like count")
+    void getLikeCount_ShouldIncludePendingLikes() {
+        when(articleRepository.findBySlug("test-article")).thenReturn(Mono.just(testArticle));
+        when(articleCounterService.pending("test-article"))
+                .thenReturn(Mono.just(new ArticleCounterService.PendingCounts(7, 2)));
+
+        StepVerifier.create(articleService.getLikeCount("test-article"))
+                .assertNext(count -> assertThat(count).isEqualTo(7))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should add unflushed counts to a cached article without changing the cached copy")
+    void getPublishedArticleBySlug_ShouldAddPendingCountsAfterCacheRead() {
+        ArticleResponse cached = ArticleResponse.builder().slug("test-article").viewCount(10).likeCount(5).build();
+        doReturn(Mono.just(cached)).when(cacheService)
+                .getOrLoad(eq(CacheService.articleSlugKey("test-article", null)), any(), any(), any(), any());
+        when(articleCounterService.pending("test-article"))
+                .thenReturn(Mono.just(new ArticleCounterService.PendingCounts(3, 1)));
+
+        StepVerifier.create(articleService.getPublishedArticleBySlug("test-article"))
+                .assertNext(response -> {
+                    assertThat(response.getViewCount()).isEqualTo(13);
+                    assertThat(response.getLikeCount()).isEqualTo(6);
+                })
+                .verifyComplete();
+
+        assertThat(cached.getViewCount()).isEqualTo(10);
+        assertThat(cached.getLikeCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should add unflushed counts to cached listing pages in one lookup")
+    void getPublishedArticles_ShouldAddPendingCountsAfterCacheRead() {
+        ArticleSummary hot = ArticleSummary.builder().slug("hot").viewCount(100).likeCount(1).build();
+        ArticleSummary quiet = ArticleSummary.builder().slug("quiet").viewCount(4).likeCount(0).build();
+        PageResponse<ArticleSummary> cached = PageResponse.of(List.of(hot, quiet), 0, 10, 2);
+        doReturn(Mono.just(cached)).when(cacheService)
+                .getOrLoad(eq(CacheService.publishedPageKey(0, 10, null, "date")), any(), any(), any(), any());
+        when(articleCounterService.pending(List.of("hot", "quiet")))
+                .thenReturn(Mono.just(Map.of("hot", new ArticleCounterService.PendingCounts(20, 2))));
+
+        StepVerifier.create(articleService.getPublishedArticles(0, 10))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).extracting(ArticleSummary::getViewCount).containsExactly(120, 4);
+                    assertThat(page.getContent()).extracting(ArticleSummary::getLikeCount).containsExactly(3, 0);
+                    assertThat(page.getTotalElements()).isEqualTo(2);
+                })
+                .verifyComplete();
+
+        assertThat(hot.getViewCount()).isEqualTo(100);
+        assertThat(cached.getContent()).containsExactly(hot, quiet);
+    }
+
     @Test
     @DisplayName("Should return 0 like count when article not found")
     void getLikeCount_ShouldReturnZero_WhenNotFound() {
@@ -370,6 +443,30 @@ class ArticleServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should page published articles by cursor without counting")
+    void getPublishedArticlesAfter_ShouldSeekAndSkipCount() {
+        Article older = Article.builder()
+                .id(11L).slug("older").title("Older").status("PUBLISHED")
+                .publishedAt(testArticle.getPublishedAt().minusDays(1))
+                .build();
+        PageCursor cursor = new PageCursor(testArticle.getPublishedAt().plusDays(1), 99L);
+        when(articleRepository.findByStatusPublishedBefore("PUBLISHED", cursor.at(), 99L, 2))
+                .thenReturn(Flux.just(testArticle, older));
+
+        StepVerifier.create(articleService.getPublishedArticlesAfter(cursor.encode(), 1, null))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).extracting(ArticleSummary::getSlug).containsExactly("test-article");
+                    assertThat(page.isFirst()).isFalse();
+                    assertThat(page.isLast()).isFalse();
+                    assertThat(PageCursor.decode(page.getNextCursor()))
+                            .isEqualTo(new PageCursor(testArticle.getPublishedAt(), articleId));
+                })
+                .verifyComplete();
+
+        verify(articleRepository, never()).countByStatus(anyString());
+    }
+
     @Test
     @DisplayName("Should get related articles by slug")
     void getRelatedArticles_ShouldReturnResults() {
@@ -382,14 +479,11 @@ class ArticleServiceTest {
 
         when(articleRepository.findBySlugAndStatus("test-article", "PUBLISHED"))
                 .thenReturn(Mono.just(testArticle));
+        when(relatedArticlesService.findNeighbourIds(articleId)).thenReturn(Mono.just(List.of()));
         when(articleRepository.findRelatedArticles(articleId, 3))
                 .thenReturn(Flux.just(related));
         when(articleRepository.findRecentPublishedExcluding(articleId, 3))
                 .thenReturn(Flux.empty());
-        when(tagRepository.findByArticleId(2L))
-                .thenReturn(Flux.empty());
-        when(commentRepository.countApprovedByArticleId(2L))
-                .thenReturn(Mono.just(0L));
 
         StepVerifier.create(articleService.getRelatedArticles("test-article", 3).collectList())
                 .assertNext(list -> {
@@ -399,6 +493,43 @@ class ArticleServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should serve related articles from the precomputed list in similarity order")
+    void getRelatedArticles_ShouldUsePrecomputedNeighbours() {
+        Article second = Article.builder().id(2L).slug("second").title("Second").status("PUBLISHED")
+                .viewsCount(0).likesCount(0).publishedAt(LocalDateTime.now()).build();
+        Article third = Article.builder().id(3L).slug("third").title("Third").status("PUBLISHED")
+                .viewsCount(0).likesCount(0).publishedAt(LocalDateTime.now()).build();
+
+        when(articleRepository.findBySlugAndStatus("test-article", "PUBLISHED"))
+                .thenReturn(Mono.just(testArticle));
+        // 9 was unpublished since the list was computed
+        when(relatedArticlesService.findNeighbourIds(articleId)).thenReturn(Mono.just(List.of(3L, 9L, 2L)));
+        when(articleRepository.findPublishedSummariesByIds(List.of(3L, 9L, 2L)))
+                .thenReturn(Flux.just(second, third));
+
+        StepVerifier.create(articleService.getRelatedArticles("test-article", 2).collectList())
+                .assertNext(list -> assertThat(list).extracting(ArticleSummary::getSlug)
+                        .containsExactly("third", "second"))
+                .verifyComplete();
+
+        verify(articleRepository, never()).findRelatedArticles(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should serve article by slug from cache without hitting the repository")
+    void getPublishedArticleBySlug_ShouldUseCachedResponse() {
+        ArticleResponse cached = ArticleResponse.builder().id("1").slug("test-article").title("Cached").build();
+        doReturn(Mono.just(cached)).when(cacheService)
+                .getOrLoad(eq("articles::slug_test-article:en"), any(), any(), any(), any());
+
+        StepVerifier.create(articleService.getPublishedArticleBySlug("test-article"))
+                .assertNext(response -> assertThat(response.getTitle()).isEqualTo("Cached"))
+                .verifyComplete();
+
+        verifyNoInteractions(articleRepository);
+    }
+
     @Test
     @DisplayName("Should throw when getting related articles for non-existent slug")
     void getRelatedArticles_ShouldThrow_WhenNotFound() {
@@ -432,7 +563,7 @@ class ArticleServiceTest {
 
         when(tagRepository.findByArticleId(articleId)).thenReturn(Flux.empty());
         when(userRepository.findById(100L)).thenReturn(Mono.just(author));
-        when(commentRepository.countApprovedByArticleId(articleId)).thenReturn(Mono.just(5L));
+        testArticle.setCommentCount(5);
 
         StepVerifier.create(articleService.enrichArticleWithMetadata(testArticle))
                 .assertNext(article -> {
@@ -448,7 +579,6 @@ class ArticleServiceTest {
         testArticle.setAuthorId(null);
 
         when(tagRepository.findByArticleId(articleId)).thenReturn(Flux.empty());
-        when(commentRepository.countApprovedByArticleId(articleId)).thenReturn(Mono.just(0L));
 
         StepVerifier.create(articleService.enrichArticleWithMetadata(testArticle))
                 .assertNext(article -> assertThat(article.getAuthorName()).isEqualTo("Unknown"))
@@ -480,6 +610,22 @@ class ArticleServiceTest {
         assertThat(response.getLikeCount()).isEqualTo(5);
     }
 
+    @Test
+    @DisplayName("Should map article to summary without body or SEO fields")
+    void mapToSummary_ShouldOmitBody() {
+        testArticle.setTags(java.util.Set.of());
+        testArticle.setAuthorName("Test Author");
+        testArticle.setSeoTitle("SEO title");
+
+        ArticleSummary summary = articleService.mapToSummary(testArticle);
+
+        assertThat(summary.getSlug()).isEqualTo("test-article");
+        assertThat(summary.getExcerpt()).isEqualTo("Test excerpt");
+        assertThat(summary.getAuthor().getName()).isEqualTo("Test Author");
+        assertThat(summary.getReadingTimeMinutes()).isEqualTo(3);
+        assertThat(summary).hasNoNullFieldsOrPropertiesExcept("coverImageUrl");
+    }
+
     @Test
     @DisplayName("Should return empty page for published articles with no results")
     void getPublishedArticles_ShouldReturnEmptyPage() {
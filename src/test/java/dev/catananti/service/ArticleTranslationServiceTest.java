@@ -5,6 +5,7 @@ import dev.catananti.entity.ArticleI18n;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.repository.ArticleI18nRepository;
 import dev.catananti.repository.ArticleRepository;
+import dev.catananti.service.search.SearchResultCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -36,6 +38,15 @@ class ArticleTranslationServiceTest {
     @Mock
     private TranslationService translationService;
 
+    @Spy
+    private CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null);
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private CacheService cacheService;
+
     @InjectMocks
     private ArticleTranslationService articleTranslationService;
 
@@ -44,6 +55,7 @@ class ArticleTranslationServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(cacheService.invalidateArticle(anyLong(), anyBoolean())).thenReturn(Mono.just(1L));
         testArticle = Article.builder()
                 .id(1L)
                 .slug("test-article")
@@ -263,6 +275,28 @@ class ArticleTranslationServiceTest {
                     .verifyComplete();
 
             verify(articleI18nRepository).deleteByArticleIdAndLocale(1L, "pt-br");
+            // Localized detail and listing pages embed the translation
+            verify(cacheService).invalidateArticle(1L, true);
+        }
+
+        @Test
+        @DisplayName("should evict cached translation on every node")
+        void shouldEvictCachedTranslation() {
+            when(articleI18nRepository.findByArticleIdAndLocale(1L, "pt-br"))
+                    .thenReturn(Mono.just(testI18n), Mono.empty());
+            when(articleI18nRepository.deleteByArticleIdAndLocale(1L, "pt-br"))
+                    .thenReturn(Mono.empty());
+
+            StepVerifier.create(articleTranslationService.getTranslation(1L, "pt-br"))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            StepVerifier.create(articleTranslationService.deleteTranslation(1L, "pt-br"))
+                    .verifyComplete();
+            StepVerifier.create(articleTranslationService.getTranslation(1L, "pt-br"))
+                    .verifyComplete();
+
+            verify(invalidationBus).publish(CacheInvalidationBus.ARTICLE_TRANSLATIONS, "1:pt-br");
+            verify(articleI18nRepository, times(2)).findByArticleIdAndLocale(1L, "pt-br");
         }
     }
 }
@@ -1,5 +1,7 @@
 package dev.catananti.service;
 
+import dev.catananti.dto.PageCursor;
+import dev.catananti.dto.PageResponse;
 import dev.catananti.entity.AuditLog;
 import dev.catananti.repository.AuditLogRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -439,4 +441,56 @@ class AuditServiceTest {
             assertThat(captor.getValue().getIpAddress()).isEqualTo("192.168.1.1");
         }
     }
+
+    // ==================== cursor pagination ====================
+
+    @Nested
+    @DisplayName("getLogsPage")
+    class GetLogsPage {
+
+        private AuditLog entry(long id) {
+            return AuditLog.builder().id(id).action("UPDATE").entityType("ARTICLE").createdAt(LocalDateTime.now()).build();
+        }
+
+        @Test
+        @DisplayName("Should return a next cursor when more rows exist and skip counting")
+        void shouldReturnNextCursor() {
+            when(auditLogRepository.findPageBeforeId(Long.MAX_VALUE, 3))
+                    .thenReturn(Flux.just(entry(30L), entry(20L), entry(10L)));
+
+            StepVerifier.create(auditService.getLogsPage(null, 2))
+                    .assertNext(page -> {
+                        assertThat(page.getContent()).extracting(AuditLog::getId).containsExactly(30L, 20L);
+                        assertThat(page.isFirst()).isTrue();
+                        assertThat(page.isLast()).isFalse();
+                        assertThat(page.getTotalElements()).isEqualTo(PageResponse.UNKNOWN_TOTAL);
+                        assertThat(PageCursor.decode(page.getNextCursor()).id()).isEqualTo(20L);
+                    })
+                    .verifyComplete();
+
+            verify(auditLogRepository, never()).count();
+        }
+
+        @Test
+        @DisplayName("Should seek past the cursor id and end on a short page")
+        void shouldSeekPastCursor() {
+            when(auditLogRepository.findPageBeforeId(20L, 3)).thenReturn(Flux.just(entry(10L)));
+
+            StepVerifier.create(auditService.getLogsPage(PageCursor.ofId(20L).encode(), 2))
+                    .assertNext(page -> {
+                        assertThat(page.getContent()).hasSize(1);
+                        assertThat(page.isFirst()).isFalse();
+                        assertThat(page.isLast()).isTrue();
+                        assertThat(page.getNextCursor()).isNull();
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject a cursor it did not issue")
+        void shouldRejectForgedCursor() {
+            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> auditService.getLogsPage("not-a-cursor!", 20));
+        }
+    }
 }
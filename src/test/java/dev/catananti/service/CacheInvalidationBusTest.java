@@ -0,0 +1,111 @@
+package dev.catananti.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    private CacheInvalidationBus bus;
+    private Cache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(redisTemplate);
+        cache = Caffeine.newBuilder().build();
+        cache.put("a@example.com", "A");
+        cache.put("b@example.com", "B");
+        bus.register(CacheInvalidationBus.AUTH_USERS, CacheInvalidationBus.Evictor.of(cache));
+    }
+
+    @Nested
+    @DisplayName("publish")
+    class Publish {
+
+        @Test
+        @DisplayName("should evict locally and broadcast node-tagged message")
+        void shouldEvictLocallyAndBroadcast() {
+            when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(2L));
+
+            bus.publish(CacheInvalidationBus.AUTH_USERS, "a@example.com");
+
+            assertThat(cache.getIfPresent("a@example.com")).isNull();
+            assertThat(cache.getIfPresent("b@example.com")).isEqualTo("B");
+            verify(redisTemplate).convertAndSend("cache:invalidate",
+                    bus.getNodeId() + "|" + CacheInvalidationBus.AUTH_USERS + "|a@example.com");
+        }
+
+        @Test
+        @DisplayName("should keep local eviction when Redis is down")
+        void shouldFallBackToLocalWhenRedisFails() {
+            when(redisTemplate.convertAndSend(anyString(), anyString()))
+                    .thenReturn(Mono.error(new RuntimeException("Connection refused")));
+
+            bus.publishAll(CacheInvalidationBus.AUTH_USERS);
+
+            assertThat(cache.estimatedSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("should evict locally without Redis")
+        void shouldEvictWithoutRedis() {
+            CacheInvalidationBus localBus = new CacheInvalidationBus(null);
+            localBus.register(CacheInvalidationBus.AUTH_USERS, CacheInvalidationBus.Evictor.of(cache));
+
+            localBus.publish(CacheInvalidationBus.AUTH_USERS, "b@example.com");
+
+            assertThat(cache.getIfPresent("b@example.com")).isNull();
+            verifyNoInteractions(redisTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("handleMessage")
+    class HandleMessage {
+
+        @Test
+        @DisplayName("should apply evictions published by other nodes")
+        void shouldApplyRemoteEviction() {
+            bus.handleMessage("other-node|" + CacheInvalidationBus.AUTH_USERS + "|a@example.com");
+
+            assertThat(cache.getIfPresent("a@example.com")).isNull();
+            assertThat(cache.getIfPresent("b@example.com")).isEqualTo("B");
+        }
+
+        @Test
+        @DisplayName("should clear the whole cache on wildcard key")
+        void shouldClearOnWildcard() {
+            bus.handleMessage("other-node|" + CacheInvalidationBus.AUTH_USERS + "|*");
+
+            assertThat(cache.estimatedSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("should ignore its own messages, unknown caches and malformed payloads")
+        void shouldIgnoreIrrelevantMessages() {
+            bus.handleMessage(bus.getNodeId() + "|" + CacheInvalidationBus.AUTH_USERS + "|a@example.com");
+            bus.handleMessage("other-node|unknown-cache|a@example.com");
+            bus.handleMessage("garbage");
+
+            assertThat(cache.estimatedSize()).isEqualTo(2);
+            verify(redisTemplate, never()).convertAndSend(eq("cache:invalidate"), anyString());
+        }
+    }
+}
@@ -1,20 +1,29 @@
 package dev.catananti.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveSetOperations;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,14 +38,30 @@ class CacheServiceTest {
     @Mock
     private ReactiveValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private ReactiveSetOperations<String, Object> setOperations;
+
     private ObjectMapper objectMapper;
 
+    private RequestCoalescer coalescer;
+
     private CacheService cacheService;
 
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        cacheService = new CacheService(redisTemplate, objectMapper);
+        coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        cacheService = new CacheService(redisTemplate, objectMapper, coalescer);
+    }
+
+    private void stubRemoteWrites() {
+        when(redisTemplate.execute(eq(CacheService.WRITE_SCRIPT), anyList(), anyList())).thenReturn(Flux.just(1L));
+    }
+
+    private void verifyRemoteWrite(String key, String json, Duration ttl) {
+        verify(redisTemplate).execute(CacheService.WRITE_SCRIPT,
+                List.of(key, "cachedep:registry", "cachedep::group:articles"),
+                List.of(json, ttl.toMillis(), key, "group:articles"));
     }
 
     // ==================== Generic operations ====================
@@ -74,7 +99,7 @@ class CacheServiceTest {
         @DisplayName("Should return empty when Redis is unavailable")
         void shouldReturnEmptyWhenRedisUnavailable() {
             // Given — null redisTemplate
-            CacheService noRedisService = new CacheService(null, objectMapper);
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
 
             // When & Then
             StepVerifier.create(noRedisService.get("any-key", String.class))
@@ -103,7 +128,7 @@ class CacheServiceTest {
         @Test
         @DisplayName("Should return false when Redis is unavailable")
         void shouldReturnFalseWhenRedisUnavailable() {
-            CacheService noRedisService = new CacheService(null, objectMapper);
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
 
             StepVerifier.create(noRedisService.set("key", "value", Duration.ofMinutes(5)))
                     .expectNext(false)
@@ -142,7 +167,7 @@ class CacheServiceTest {
         @Test
         @DisplayName("Should return false when Redis is unavailable")
         void shouldReturnFalseWhenRedisUnavailable() {
-            CacheService noRedisService = new CacheService(null, objectMapper);
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
 
             StepVerifier.create(noRedisService.delete("key"))
                     .expectNext(false)
@@ -150,6 +175,290 @@ class CacheServiceTest {
         }
     }
 
+    // ==================== Read-through (L1 + L2) ====================
+
+    @Nested
+    @DisplayName("getOrLoad")
+    class GetOrLoad {
+
+        private final TypeReference<List<String>> listType = new TypeReference<>() {};
+
+        @Test
+        @DisplayName("Should serve repeated reads from L1 after a single load")
+        void shouldServeFromLocalCacheAfterFirstLoad() {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            AtomicInteger loads = new AtomicInteger();
+
+            for (int i = 0; i < 3; i++) {
+                StepVerifier.create(noRedisService.getOrLoad("articles::k", listType, Duration.ofMinutes(1),
+                                () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()))))
+                        .expectNext(List.of("v1"))
+                        .verifyComplete();
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(noRedisService.getHitMissStats().localHits()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should share one in-flight load between concurrent callers")
+        void shouldCoalesceConcurrentLoads() {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            AtomicInteger loads = new AtomicInteger();
+            Sinks.One<List<String>> pending = Sinks.one();
+
+            Mono<List<String>> first = noRedisService.getOrLoad("articles::k", listType, Duration.ofMinutes(1),
+                    () -> { loads.incrementAndGet(); return pending.asMono(); });
+            Mono<List<String>> second = noRedisService.getOrLoad("articles::k", listType, Duration.ofMinutes(1),
+                    () -> { loads.incrementAndGet(); return pending.asMono(); });
+            pending.tryEmitValue(List.of("shared"));
+
+            StepVerifier.create(Mono.zip(first, second))
+                    .assertNext(tuple -> {
+                        assertThat(tuple.getT1()).containsExactly("shared");
+                        assertThat(tuple.getT2()).containsExactly("shared");
+                    })
+                    .verifyComplete();
+            assertThat(loads.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should deserialize L2 JSON without calling the loader")
+        void shouldReadFromRedisOnLocalMiss() {
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.get("articles::k")).thenReturn(Mono.just("[\"from-redis\"]"));
+
+            StepVerifier.create(cacheService.getOrLoad("articles::k", listType, Duration.ofMinutes(1),
+                            () -> Mono.error(new IllegalStateException("loader must not run"))))
+                    .expectNext(List.of("from-redis"))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should write loaded value to Redis as JSON on L2 miss")
+        void shouldWriteThroughToRedisOnMiss() {
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.get("articles::k")).thenReturn(Mono.empty());
+            stubRemoteWrites();
+
+            StepVerifier.create(cacheService.getOrLoad("articles::k", listType, Duration.ofMinutes(1),
+                            () -> Mono.just(List.of("loaded"))))
+                    .expectNext(List.of("loaded"))
+                    .verifyComplete();
+
+            verifyRemoteWrite("articles::k", "[\"loaded\"]", Duration.ofMinutes(1));
+        }
+
+        @Test
+        @DisplayName("Should register the key under its dependencies and prefix group")
+        void shouldIndexKeyUnderDependencies() {
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.get("articles::k")).thenReturn(Mono.empty());
+            stubRemoteWrites();
+
+            cacheService.getOrLoad("articles::k", listType, Duration.ofMinutes(1),
+                    value -> List.of(CacheService.articleDependency("42"), CacheService.tagDependency("java")),
+                    () -> Mono.just(List.of("loaded"))).block();
+
+            // Index sets and registry are written in the same script call as the value
+            verify(redisTemplate).execute(eq(CacheService.WRITE_SCRIPT),
+                    argThat((List<String> keys) -> keys.subList(0, 2).equals(List.of("articles::k", "cachedep:registry"))
+                            && keys.size() == 5
+                            && keys.containsAll(List.of("cachedep::article:42", "cachedep::tag:java", "cachedep::group:articles"))),
+                    argThat((List<?> args) -> args.size() == 6
+                            && args.containsAll(List.of("article:42", "tag:java", "group:articles"))));
+            // Writes must not keep renewing the lifetime of shared dependency sets
+            verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+            verify(redisTemplate, never()).opsForSet();
+        }
+
+        @Test
+        @DisplayName("Should reload after the article entry is invalidated")
+        void shouldReloadAfterInvalidation() {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            AtomicInteger loads = new AtomicInteger();
+            String key = CacheService.articleSlugKey("my-slug", null);
+
+            noRedisService.getOrLoad(key, listType, Duration.ofMinutes(1),
+                    value -> List.of(CacheService.slugDependency("my-slug")),
+                    () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()))).block();
+            noRedisService.invalidateArticle("my-slug").block();
+
+            StepVerifier.create(noRedisService.getOrLoad(key, listType, Duration.ofMinutes(1),
+                            () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()))))
+                    .expectNext(List.of("v2"))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should broadcast dependency evictions and apply those of other nodes to L1")
+        void shouldEvictL1OnEveryNode() {
+            CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+            CacheService node = new CacheService(null, objectMapper, coalescer, bus, 100, 30);
+            ArgumentCaptor<CacheInvalidationBus.Evictor> evictor = ArgumentCaptor.forClass(CacheInvalidationBus.Evictor.class);
+            verify(bus).register(eq(CacheInvalidationBus.CACHE_DEPENDENCIES), evictor.capture());
+            AtomicInteger loads = new AtomicInteger();
+            String key = CacheService.articleSlugKey("my-slug", null);
+
+            node.invalidateArticle("my-slug").block();
+            verify(bus).publish(CacheInvalidationBus.CACHE_DEPENDENCIES, CacheService.slugDependency("my-slug"));
+
+            node.getOrLoad(key, listType, Duration.ofMinutes(1),
+                    value -> List.of(CacheService.slugDependency("my-slug")),
+                    () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()))).block();
+            // Another node invalidated the slug
+            evictor.getValue().evict(CacheService.slugDependency("my-slug"));
+
+            StepVerifier.create(node.getOrLoad(key, listType, Duration.ofMinutes(1),
+                            () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()))))
+                    .expectNext(List.of("v2"))
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("refreshExpiring")
+    class RefreshExpiring {
+
+        private final TypeReference<List<String>> listType = new TypeReference<>() {};
+
+        @Test
+        @DisplayName("Should reload recently read entries that expire within the window")
+        void shouldReloadEntriesNearExpiry() {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            AtomicInteger loads = new AtomicInteger();
+            Supplier<Mono<List<String>>> loader = () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()));
+
+            noRedisService.getOrLoad("articles::k", listType, Duration.ofMinutes(1), loader).block();
+
+            StepVerifier.create(noRedisService.refreshExpiring(Duration.ofMinutes(5), Duration.ofMinutes(1)))
+                    .expectNext(1L)
+                    .verifyComplete();
+
+            // Refreshed value replaces L1 without another load on read
+            StepVerifier.create(noRedisService.getOrLoad("articles::k", listType, Duration.ofMinutes(1), loader))
+                    .expectNext(List.of("v2"))
+                    .verifyComplete();
+            assertThat(loads.get()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should leave entries alone when they are far from expiry")
+        void shouldSkipEntriesFarFromExpiry() {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            AtomicInteger loads = new AtomicInteger();
+
+            noRedisService.getOrLoad("articles::k", listType, Duration.ofMinutes(30),
+                    () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()))).block();
+
+            StepVerifier.create(noRedisService.refreshExpiring(Duration.ofMinutes(5), Duration.ofMinutes(1)))
+                    .expectNext(0L)
+                    .verifyComplete();
+            assertThat(loads.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should use the Redis TTL to decide which entries to refresh")
+        void shouldUseRedisTtl() {
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.get("articles::k")).thenReturn(Mono.just("[\"cached\"]"));
+            when(redisTemplate.getExpire("articles::k")).thenReturn(Mono.just(Duration.ofSeconds(20)));
+            stubRemoteWrites();
+
+            cacheService.getOrLoad("articles::k", listType, Duration.ofMinutes(10),
+                    () -> Mono.just(List.of("fresh"))).block();
+
+            StepVerifier.create(cacheService.refreshExpiring(Duration.ofMinutes(1), Duration.ofMinutes(1)))
+                    .expectNext(1L)
+                    .verifyComplete();
+
+            verifyRemoteWrite("articles::k", "[\"fresh\"]", Duration.ofMinutes(10));
+        }
+    }
+
+    @Nested
+    @DisplayName("early refresh")
+    class EarlyRefresh {
+
+        private final TypeReference<List<String>> listType = new TypeReference<>() {};
+
+        @Test
+        @DisplayName("Should rebuild an expiring entry in the background while serving the cached value")
+        void shouldRefreshExpiredEntryOnRead() throws InterruptedException {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            AtomicInteger loads = new AtomicInteger();
+            Supplier<Mono<List<String>>> loader = () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()));
+
+            noRedisService.getOrLoad("feed::rss", listType, Duration.ofMillis(1), loader).block();
+            Thread.sleep(5);
+
+            // The read past expiry still gets the L1 value; the refresh replaces it for the next one
+            StepVerifier.create(noRedisService.getOrLoad("feed::rss", listType, Duration.ofMillis(1), loader))
+                    .expectNext(List.of("v1"))
+                    .verifyComplete();
+            StepVerifier.create(noRedisService.getOrLoad("feed::rss", listType, Duration.ofMillis(1), loader))
+                    .expectNext(List.of("v2"))
+                    .verifyComplete();
+            assertThat(noRedisService.getHitMissStats().earlyRefreshes()).isGreaterThanOrEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not hand a miss the empty result of a refresh another node already did")
+        @SuppressWarnings("unchecked")
+        void shouldNotJoinMissToRefreshFlight() throws InterruptedException {
+            stubRemoteWrites();
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.get("articles::k")).thenReturn(Mono.empty(), Mono.just("[\"remote\"]"));
+            // The expiry check of the early refresh stays pending until the miss below is in flight,
+            // then reports an entry rewritten by another node (expiry a full TTL out)
+            Sinks.One<Duration> remoteTtl = Sinks.one();
+            when(redisTemplate.getExpire("articles::k")).thenReturn(remoteTtl.asMono());
+            Supplier<Mono<List<String>>> loader = () -> Mono.just(List.of("local"));
+
+            cacheService.getOrLoad("articles::k", listType, Duration.ofMillis(1), loader).block();
+            Thread.sleep(5);
+            // L1 hit past expiry starts the early refresh
+            cacheService.getOrLoad("articles::k", listType, Duration.ofMillis(1), loader).block();
+            assertThat(cacheService.getHitMissStats().earlyRefreshes()).isEqualTo(1);
+
+            ((com.github.benmanes.caffeine.cache.Cache<String, Object>) ReflectionTestUtils.getField(cacheService, "localCache"))
+                    .invalidateAll();
+            StepVerifier.create(cacheService.getOrLoad("articles::k", listType, Duration.ofMillis(1), loader))
+                    .then(() -> remoteTtl.tryEmitValue(Duration.ofMinutes(10)))
+                    .expectNext(List.of("remote"))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should leave entries far from expiry alone")
+        void shouldNotRefreshFreshEntries() {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            AtomicInteger loads = new AtomicInteger();
+            Supplier<Mono<List<String>>> loader = () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()));
+
+            for (int i = 0; i < 50; i++) {
+                noRedisService.getOrLoad("feed::rss", listType, Duration.ofHours(1), loader).block();
+            }
+
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(noRedisService.getHitMissStats().earlyRefreshes()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not refresh early when disabled")
+        void shouldHonourDisabledBeta() throws InterruptedException {
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
+            ReflectionTestUtils.setField(noRedisService, "earlyRefreshBeta", 0.0);
+            AtomicInteger loads = new AtomicInteger();
+            Supplier<Mono<List<String>>> loader = () -> Mono.fromSupplier(() -> List.of("v" + loads.incrementAndGet()));
+
+            noRedisService.getOrLoad("feed::rss", listType, Duration.ofMillis(1), loader).block();
+            Thread.sleep(5);
+            noRedisService.getOrLoad("feed::rss", listType, Duration.ofMillis(1), loader).block();
+
+            assertThat(loads.get()).isEqualTo(1);
+        }
+    }
+
     // ==================== Domain-specific operations ====================
 
     @Nested
@@ -157,31 +466,89 @@ class CacheServiceTest {
     class DomainInvalidation {
 
         @BeforeEach
-        void setUpScan() {
-            // Default: SCAN returns empty list
-            when(redisTemplate.scan(any())).thenReturn(Flux.empty());
+        void setUpIndex() {
+            // Default: every dependency set is empty
+            lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+            lenient().when(setOperations.members(anyString())).thenReturn(Flux.empty());
+            lenient().when(setOperations.remove(anyString(), any(Object[].class))).thenReturn(Mono.just(1L));
         }
 
         @Test
-        @DisplayName("invalidateAllArticles should scan and delete article keys")
+        @DisplayName("invalidateAllArticles should unlink the members of the articles group")
         void invalidateAllArticles() {
-            when(redisTemplate.scan(any())).thenReturn(Flux.just("articles::page_1", "articles::slug_test"));
-            when(redisTemplate.delete(any(String[].class))).thenReturn(Mono.just(2L));
+            when(setOperations.members("cachedep::group:articles"))
+                    .thenReturn(Flux.just("articles::page_1", "articles::slug_test"));
+            when(redisTemplate.execute(CacheService.UNLINK_SCRIPT,
+                    List.of("cachedep::group:articles", "articles::page_1", "articles::slug_test"),
+                    List.of("articles::page_1", "articles::slug_test"))).thenReturn(Flux.just(2L));
 
             StepVerifier.create(cacheService.invalidateAllArticles())
                     .assertNext(count -> assertThat(count).isEqualTo(2L))
                     .verifyComplete();
+
+            // Only the members read are SREMed; a key indexed meanwhile keeps its membership
+            verify(redisTemplate, never()).unlink(any(String[].class));
+            verify(redisTemplate, never()).scan(any());
         }
 
         @Test
-        @DisplayName("invalidateArticle should scan and delete specific article keys")
-        void invalidateArticle() {
-            // Each of the 3 deleteByPattern calls scans independently
-            when(redisTemplate.scan(any())).thenReturn(Flux.empty());
+        @DisplayName("invalidateArticle(id) should only touch the article's set unless listings changed")
+        void invalidateArticleById() {
+            when(setOperations.members("cachedep::article:7")).thenReturn(Flux.just("articles::slug_a:en"));
+            when(redisTemplate.execute(CacheService.UNLINK_SCRIPT,
+                    List.of("cachedep::article:7", "articles::slug_a:en"),
+                    List.of("articles::slug_a:en"))).thenReturn(Flux.just(1L));
+
+            StepVerifier.create(cacheService.invalidateArticle(7L, false))
+                    .assertNext(count -> assertThat(count).isEqualTo(1L))
+                    .verifyComplete();
 
+            verify(setOperations, never()).members("cachedep::" + CacheService.ARTICLE_LISTINGS_DEPENDENCY);
+            // The unlinked entry leaves its group set too, so SCARD stats stop counting it
+            verify(setOperations).remove("cachedep::group:articles", "articles::slug_a:en");
+        }
+
+        @Test
+        @DisplayName("trimDependencyIndex should check the sets in the registry with the trim script")
+        void trimDependencyIndex() {
+            when(setOperations.scan("cachedep:registry")).thenReturn(Flux.just("tag:java"));
+            when(setOperations.scan("cachedep::tag:java")).thenReturn(Flux.just("articles::live", "articles::gone"));
+            when(redisTemplate.execute(CacheService.TRIM_SCRIPT,
+                    List.of("cachedep::tag:java", "cachedep:registry", "articles::live", "articles::gone"),
+                    List.of("tag:java", "articles::live", "articles::gone"))).thenReturn(Flux.just(1L));
+            when(redisTemplate.execute(CacheService.TRIM_SCRIPT,
+                    List.of("cachedep::tag:java", "cachedep:registry"),
+                    List.of("tag:java"))).thenReturn(Flux.just(0L));
+
+            StepVerifier.create(cacheService.trimDependencyIndex())
+                    .assertNext(count -> assertThat(count).isEqualTo(1L))
+                    .verifyComplete();
+
+            // No keyspace SCAN, no per-member EXISTS round trips, no lifetime changes
+            verify(redisTemplate, never()).scan(any());
+            verify(redisTemplate, never()).hasKey(anyString());
+            verify(redisTemplate, never()).persist(anyString());
+        }
+
+        @Test
+        @DisplayName("invalidateArticle(slug) should drop the slug and listing sets")
+        void invalidateArticle() {
             StepVerifier.create(cacheService.invalidateArticle("my-slug"))
                     .assertNext(count -> assertThat(count).isZero())
                     .verifyComplete();
+
+            verify(setOperations).members("cachedep::slug:my-slug");
+            verify(setOperations).members("cachedep::" + CacheService.ARTICLE_LISTINGS_DEPENDENCY);
+        }
+
+        @Test
+        @DisplayName("invalidateArticlesByTag should use the tag's dependency set")
+        void invalidateArticlesByTag() {
+            StepVerifier.create(cacheService.invalidateArticlesByTag("java"))
+                    .assertNext(count -> assertThat(count).isZero())
+                    .verifyComplete();
+
+            verify(setOperations).members("cachedep::tag:java");
         }
 
         @Test
@@ -232,15 +599,15 @@ class CacheServiceTest {
     class GetCacheStats {
 
         @Test
-        @DisplayName("Should return cache statistics")
+        @DisplayName("Should return cache statistics from the group index sizes")
         void shouldReturnCacheStats() {
-            // Given — scan returns different counts for each prefix
-            when(redisTemplate.scan(any()))
-                    .thenReturn(Flux.just("articles::1", "articles::2")) // articles: 2
-                    .thenReturn(Flux.just("tags::1"))                    // tags: 1
-                    .thenReturn(Flux.empty())                            // comments: 0
-                    .thenReturn(Flux.just("search::q1"))                 // search: 1
-                    .thenReturn(Flux.empty());                           // feed: 0
+            // Given — SCARD of each group's dependency set
+            when(redisTemplate.opsForSet()).thenReturn(setOperations);
+            when(setOperations.size("cachedep::group:articles")).thenReturn(Mono.just(2L));
+            when(setOperations.size("cachedep::group:tags")).thenReturn(Mono.just(1L));
+            when(setOperations.size("cachedep::group:comments")).thenReturn(Mono.just(0L));
+            when(setOperations.size("cachedep::group:search")).thenReturn(Mono.just(1L));
+            when(setOperations.size("cachedep::group:feed")).thenReturn(Mono.empty());
 
             // When & Then
             StepVerifier.create(cacheService.getCacheStats())
@@ -258,7 +625,7 @@ class CacheServiceTest {
         @Test
         @DisplayName("Should return zeroed stats when Redis is unavailable")
         void shouldReturnZeroStatsWhenRedisUnavailable() {
-            CacheService noRedisService = new CacheService(null, objectMapper);
+            CacheService noRedisService = new CacheService(null, objectMapper, coalescer);
 
             StepVerifier.create(noRedisService.getCacheStats())
                     .assertNext(stats -> {
@@ -279,7 +646,7 @@ class CacheServiceTest {
 
         @BeforeEach
         void setUp() {
-            noRedisService = new CacheService(null, objectMapper);
+            noRedisService = new CacheService(null, objectMapper, coalescer);
         }
 
         @Test
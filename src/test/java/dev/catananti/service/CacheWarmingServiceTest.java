@@ -1,7 +1,9 @@
 package dev.catananti.service;
 
 import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
 import dev.catananti.dto.PageResponse;
+import dev.catananti.dto.TagResponse;
 import dev.catananti.entity.Article;
 import dev.catananti.repository.ArticleRepository;
 import dev.catananti.repository.TagRepository;
@@ -18,8 +20,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,12 +51,28 @@ class CacheWarmingServiceTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private FeedService feedService;
+
     @BeforeEach
     void setUp() {
         // Set default configuration values
         ReflectionTestUtils.setField(cacheWarmingService, "warmingEnabled", true);
         ReflectionTestUtils.setField(cacheWarmingService, "startupPages", 3);
         ReflectionTestUtils.setField(cacheWarmingService, "prefetchDelayMs", 10L);
+        ReflectionTestUtils.setField(cacheWarmingService, "warmingLocales", List.of("en"));
+        ReflectionTestUtils.setField(cacheWarmingService, "startupTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(cacheWarmingService, "refreshWindowMs", 300000L);
+        ReflectionTestUtils.setField(cacheWarmingService, "refreshAccessedWithinMs", 900000L);
+    }
+
+    private void stubStartupWarming(PageResponse<ArticleSummary> articlePage) {
+        PageResponse<TagResponse> tagPage = PageResponse.of(List.of(), 0, 50, 0);
+        when(articleService.getPublishedArticles(anyInt(), eq(10), eq("en"))).thenReturn(Mono.just(articlePage));
+        when(tagService.getAllTagsPaginated("en", 0, 50)).thenReturn(Mono.just(tagPage));
+        when(articleRepository.findTopByViewsCount(anyInt())).thenReturn(Flux.empty());
+        when(feedService.getRssFeed()).thenReturn(Mono.just("<rss/>"));
+        when(feedService.getSitemap()).thenReturn(Mono.just("<urlset/>"));
     }
 
     @Test
@@ -123,7 +143,7 @@ class CacheWarmingServiceTest {
         // Given
         when(cacheService.invalidateAllCaches()).thenReturn(Mono.empty());
         // Setup for warmOnStartup (called asynchronously)
-        PageResponse<ArticleResponse> emptyPage = PageResponse.<ArticleResponse>builder()
+        PageResponse<ArticleSummary> emptyPage = PageResponse.<ArticleSummary>builder()
                 .content(List.of())
                 .page(0)
                 .size(10)
@@ -132,10 +152,7 @@ class CacheWarmingServiceTest {
                 .first(true)
                 .last(true)
                 .build();
-        when(articleService.getPublishedArticles(anyInt(), anyInt()))
-                .thenReturn(Mono.just(emptyPage));
-        when(tagService.getAllTags("en")).thenReturn(Flux.empty());
-        when(articleRepository.findTopByViewsCount(anyInt())).thenReturn(Flux.empty());
+        stubStartupWarming(emptyPage);
 
         // When
         Mono<Void> result = cacheWarmingService.clearAndRewarm();
@@ -220,21 +237,55 @@ class CacheWarmingServiceTest {
         @Test
         @DisplayName("Should warm published articles, tags, and popular articles on startup")
         void shouldWarmOnStartup() throws InterruptedException {
-            PageResponse<ArticleResponse> page = PageResponse.<ArticleResponse>builder()
+            PageResponse<ArticleSummary> page = PageResponse.<ArticleSummary>builder()
                     .content(List.of()).page(0).size(10)
                     .totalElements(0).totalPages(0).first(true).last(true).build();
 
-            when(articleService.getPublishedArticles(anyInt(), anyInt())).thenReturn(Mono.just(page));
-            when(tagService.getAllTags("en")).thenReturn(Flux.empty());
-            when(articleRepository.findTopByViewsCount(anyInt())).thenReturn(Flux.empty());
+            stubStartupWarming(page);
 
             cacheWarmingService.warmOnStartup();
 
             // Allow async operations to complete
             Thread.sleep(500);
 
-            verify(articleService, atLeastOnce()).getPublishedArticles(anyInt(), anyInt());
-            verify(tagService).getAllTags("en");
+            verify(articleService, times(3)).getPublishedArticles(anyInt(), eq(10), eq("en"));
+            verify(tagService).getAllTagsPaginated("en", 0, 50);
+            verify(feedService).getRssFeed();
+            verify(feedService).getSitemap();
+        }
+
+        @Test
+        @DisplayName("Should report full progress and complete startup after warming")
+        void shouldReportProgress() throws InterruptedException {
+            PageResponse<ArticleSummary> page = PageResponse.of(List.of(), 0, 10, 0);
+            stubStartupWarming(page);
+
+            cacheWarmingService.warmOnStartup();
+            Thread.sleep(500);
+
+            CacheWarmingService.WarmingStatus status = cacheWarmingService.getStatus();
+            assertThat(status.startupComplete()).isTrue();
+            assertThat(status.progress()).isEqualTo(1.0);
+            // 3 article pages + tags + RSS + sitemap
+            assertThat(status.entriesWarmed()).isEqualTo(6);
+            assertThat(cacheWarmingService.isWarmed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should complete startup even when a warming task fails")
+        void shouldCompleteStartupOnFailure() throws InterruptedException {
+            when(articleService.getPublishedArticles(anyInt(), eq(10), eq("en")))
+                    .thenReturn(Mono.just(PageResponse.of(List.of(), 0, 10, 0)));
+            when(tagService.getAllTagsPaginated("en", 0, 50)).thenReturn(Mono.just(PageResponse.of(List.of(), 0, 50, 0)));
+            when(articleRepository.findTopByViewsCount(anyInt())).thenReturn(Flux.empty());
+            when(feedService.getRssFeed()).thenReturn(Mono.just("<rss/>"));
+            when(feedService.getSitemap()).thenReturn(Mono.error(new RuntimeException("DB down")));
+
+            cacheWarmingService.warmOnStartup();
+            Thread.sleep(500);
+
+            assertThat(cacheWarmingService.isStartupWarmingComplete()).isTrue();
+            assertThat(cacheWarmingService.getProgress()).isEqualTo(1.0);
         }
     }
 
@@ -261,6 +312,20 @@ class CacheWarmingServiceTest {
 
             verifyNoInteractions(cacheService);
         }
+
+        @Test
+        @DisplayName("Should refresh hot entries ahead of expiry without invalidating them")
+        void shouldRefreshExpiringEntries() {
+            ((AtomicBoolean) ReflectionTestUtils.getField(cacheWarmingService, "startupWarmingComplete")).set(true);
+            when(cacheService.refreshExpiring(Duration.ofMinutes(5), Duration.ofMinutes(15)))
+                    .thenReturn(Mono.just(4L));
+
+            cacheWarmingService.refreshPopularContent();
+
+            verify(cacheService).refreshExpiring(Duration.ofMinutes(5), Duration.ofMinutes(15));
+            verify(cacheService, never()).invalidateArticle(anyString());
+            verifyNoInteractions(articleService);
+        }
     }
 
     @Nested
@@ -15,6 +15,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -23,6 +25,8 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -55,6 +59,12 @@ class CommentServiceTest {
     @Mock
     private BlogMetrics blogMetrics;
 
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private CacheService cacheService;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -85,6 +95,9 @@ class CommentServiceTest {
                 .status("APPROVED")
                 .createdAt(LocalDateTime.now())
                 .build();
+
+        lenient().when(articleRepository.adjustApprovedCommentCount(anyLong(), anyInt())).thenReturn(Mono.just(1));
+        lenient().when(cacheService.invalidateArticle(anyLong(), anyBoolean())).thenReturn(Mono.just(1L));
     }
 
     @Test
@@ -93,10 +106,8 @@ class CommentServiceTest {
         // Given
         when(articleRepository.findBySlug("test-article"))
                 .thenReturn(Mono.just(testArticle));
-        when(commentRepository.findApprovedByArticleId(articleId))
+        when(commentRepository.findApprovedThreadsByArticleId(articleId))
                 .thenReturn(Flux.just(testComment));
-        when(commentRepository.findApprovedRepliesByParentId(commentId))
-                .thenReturn(Flux.empty());
 
         // When
         Flux<CommentResponse> result = commentService.getApprovedCommentsByArticleSlug("test-article");
@@ -127,6 +138,63 @@ class CommentServiceTest {
                 .verify();
     }
 
+    @Test
+    @DisplayName("Should nest replies at every depth from one thread query")
+    void getApprovedCommentsByArticleSlug_ShouldAssembleNestedThreads() {
+        LocalDateTime t = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Comment olderRoot = Comment.builder().id(1L).articleId(articleId).status("APPROVED").createdAt(t).build();
+        Comment newerRoot = Comment.builder().id(2L).articleId(articleId).status("APPROVED").createdAt(t.plusMinutes(1)).build();
+        Comment reply = Comment.builder().id(3L).articleId(articleId).status("APPROVED").parentId(1L)
+                .path("1/3").createdAt(t.plusMinutes(2)).build();
+        // No stored path: written before the column existed
+        Comment nestedReply = Comment.builder().id(4L).articleId(articleId).status("APPROVED").parentId(3L)
+                .createdAt(t.plusMinutes(3)).build();
+        Comment secondReply = Comment.builder().id(5L).articleId(articleId).status("APPROVED").parentId(1L)
+                .path("1/5").createdAt(t.plusMinutes(4)).build();
+
+        when(articleRepository.findBySlug("test-article")).thenReturn(Mono.just(testArticle));
+        when(commentRepository.findApprovedThreadsByArticleId(articleId))
+                .thenReturn(Flux.just(olderRoot, newerRoot, reply, nestedReply, secondReply));
+
+        StepVerifier.create(commentService.getApprovedCommentsByArticleSlug("test-article").collectList())
+                .assertNext(threads -> {
+                    assertThat(threads).extracting(CommentResponse::getId).containsExactly("2", "1");
+                    CommentResponse thread = threads.get(1);
+                    assertThat(thread.getReplies()).extracting(CommentResponse::getId).containsExactly("3", "5");
+                    CommentResponse nested = thread.getReplies().getFirst().getReplies().getFirst();
+                    assertThat(nested.getId()).isEqualTo("4");
+                    assertThat(nested.getPath()).isEqualTo("1/3/4");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should serve cached threads until a moderation action evicts the article")
+    void getApprovedCommentsByArticleSlug_ShouldCacheUntilEvicted() {
+        commentService.registerThreadCacheEvictor();
+        var evictor = ArgumentCaptor.forClass(CacheInvalidationBus.Evictor.class);
+        verify(invalidationBus).register(eq(CacheInvalidationBus.COMMENT_THREADS), evictor.capture());
+        doAnswer(inv -> {
+            evictor.getValue().evict(inv.getArgument(1));
+            return null;
+        }).when(invalidationBus).publish(eq(CacheInvalidationBus.COMMENT_THREADS), anyString());
+
+        when(articleRepository.findBySlug("test-article")).thenReturn(Mono.just(testArticle));
+        when(commentRepository.findApprovedThreadsByArticleId(articleId)).thenReturn(Flux.just(testComment));
+        when(commentRepository.findById(commentId)).thenReturn(Mono.just(testComment));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier.create(commentService.getApprovedCommentsByArticleSlug("test-article")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(commentService.getApprovedCommentsByArticleSlug("test-article")).expectNextCount(1).verifyComplete();
+        verify(commentRepository, times(1)).findApprovedThreadsByArticleId(articleId);
+
+        StepVerifier.create(commentService.rejectComment(commentId)).expectNextCount(1).verifyComplete();
+        verify(invalidationBus).publish(CacheInvalidationBus.COMMENT_THREADS, String.valueOf(articleId));
+
+        StepVerifier.create(commentService.getApprovedCommentsByArticleSlug("test-article")).expectNextCount(1).verifyComplete();
+        verify(commentRepository, times(2)).findApprovedThreadsByArticleId(articleId);
+    }
+
     @Test
     @DisplayName("Should create comment with PENDING status")
     void createComment_ShouldCreateWithPendingStatus() {
@@ -204,6 +272,10 @@ class CommentServiceTest {
                     assertThat(comment.getStatus()).isEqualTo("APPROVED");
                 })
                 .verifyComplete();
+
+        verify(articleRepository).adjustApprovedCommentCount(articleId, 1);
+        // The cached detail and listings embed the approved count
+        verify(cacheService).invalidateArticle(articleId, true);
     }
 
     @Test
@@ -229,17 +301,23 @@ class CommentServiceTest {
                     assertThat(comment.getStatus()).isEqualTo("REJECTED");
                 })
                 .verifyComplete();
+
+        verify(articleRepository).adjustApprovedCommentCount(articleId, -1);
+        verify(cacheService).invalidateArticle(articleId, true);
     }
 
     @Test
     @DisplayName("Should delete comment")
     void deleteComment_ShouldDeleteComment() {
-        // Given — deleteComment uses findById, then deleteByParentId, then deleteById
+        // Given — the comment has an approved reply with an approved reply of its own, and a pending reply
+        Comment reply = Comment.builder().id(11L).articleId(articleId).parentId(commentId).status("APPROVED").build();
+        Comment nested = Comment.builder().id(12L).articleId(articleId).parentId(11L).status("APPROVED").build();
+        Comment pending = Comment.builder().id(13L).articleId(articleId).parentId(commentId).status("PENDING").build();
         when(commentRepository.findById(commentId))
                 .thenReturn(Mono.just(testComment));
-        when(commentRepository.deleteByParentId(commentId))
-                .thenReturn(Mono.empty());
-        when(commentRepository.deleteById(commentId))
+        when(commentRepository.findSubtreeDeepestFirst(commentId))
+                .thenReturn(Flux.just(nested, reply, pending, testComment));
+        when(commentRepository.deleteById(anyLong()))
                 .thenReturn(Mono.empty());
 
         // When
@@ -249,7 +327,16 @@ class CommentServiceTest {
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(commentRepository).deleteById(commentId);
+        // Leaves go before their parents
+        InOrder order = inOrder(commentRepository);
+        order.verify(commentRepository).deleteById(12L);
+        order.verify(commentRepository).deleteById(11L);
+        order.verify(commentRepository).deleteById(13L);
+        order.verify(commentRepository).deleteById(commentId);
+        // The comment and the two approved replies below it leave the article's count
+        verify(articleRepository).adjustApprovedCommentCount(articleId, -3);
+        verify(cacheService).invalidateArticle(articleId, true);
+        verify(invalidationBus).publish(CacheInvalidationBus.COMMENT_THREADS, String.valueOf(articleId));
     }
 
     // ==================== ADDED TESTS ====================
@@ -302,7 +389,7 @@ class CommentServiceTest {
     @DisplayName("Should get comment count by article slug")
     void getCommentCountByArticleSlug_ShouldReturnCount() {
         when(articleRepository.findBySlug("test-article")).thenReturn(Mono.just(testArticle));
-        when(commentRepository.countApprovedByArticleId(articleId)).thenReturn(Mono.just(7L));
+        testArticle.setCommentCount(7);
 
         StepVerifier.create(commentService.getCommentCountByArticleSlug("test-article"))
                 .assertNext(count -> assertThat(count).isEqualTo(7L))
@@ -383,10 +470,9 @@ class CommentServiceTest {
     @DisplayName("Should get approved comments paginated by article slug")
     void getApprovedCommentsByArticleSlugPaginated_ShouldReturn() {
         when(articleRepository.findBySlug("test-article")).thenReturn(Mono.just(testArticle));
-        when(commentRepository.findApprovedByArticleIdPaginated(articleId, 10, 0))
+        when(commentRepository.findApprovedThreadsByArticleIdPaginated(articleId, 10, 0))
                 .thenReturn(Flux.just(testComment));
-        when(commentRepository.countApprovedByArticleId(articleId)).thenReturn(Mono.just(1L));
-        when(commentRepository.findApprovedRepliesByParentId(commentId)).thenReturn(Flux.empty());
+        testArticle.setCommentCount(1);
 
         StepVerifier.create(commentService.getApprovedCommentsByArticleSlugPaginated("test-article", 0, 10))
                 .assertNext(page -> {
@@ -435,6 +521,34 @@ class CommentServiceTest {
                     assertThat(comment.getStatus()).isEqualTo("PENDING");
                 })
                 .verifyComplete();
+
+        var saved = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).save(saved.capture());
+        assertThat(saved.getValue().getPath()).isEqualTo("100/" + saved.getValue().getId());
+    }
+
+    @Test
+    @DisplayName("Should reject reply nested deeper than the maximum reply depth")
+    void createComment_AsReply_ShouldThrow_WhenTooDeep() {
+        // Parent sits at the deepest allowed level, so a reply to it would go one past
+        long parentId = CommentService.MAX_REPLY_DEPTH + 1L;
+        String path = LongStream.rangeClosed(1, parentId).mapToObj(String::valueOf).collect(Collectors.joining("/"));
+        Comment parentComment = Comment.builder()
+                .id(parentId).articleId(articleId).parentId(parentId - 1)
+                .path(path).status("APPROVED").createdAt(LocalDateTime.now()).build();
+
+        CommentRequest request = CommentRequest.builder()
+                .authorName("Reply Author").authorEmail("reply@example.com")
+                .content("Reply").parentId(parentComment.getId()).build();
+
+        when(articleRepository.findBySlug("test-article")).thenReturn(Mono.just(testArticle));
+        when(commentRepository.findById(parentComment.getId())).thenReturn(Mono.just(parentComment));
+
+        StepVerifier.create(commentService.createComment("test-article", request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(commentRepository, never()).save(any(Comment.class));
     }
 
     @Test
@@ -1,51 +1,51 @@
 package dev.catananti.service;
 
 import dev.catananti.config.ResilienceConfig;
-import jakarta.mail.internet.MimeMessage;
+import dev.catananti.entity.EmailOutboxMessage;
+import dev.catananti.repository.EmailOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
-import org.springframework.mail.javamail.JavaMailSender;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
 import java.util.Locale;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class EmailServiceTest {
 
-    @Mock private JavaMailSender mailSender;
+    @Mock private EmailOutboxRepository outboxRepository;
+    @Mock private IdService idService;
     @Mock private ResilienceConfig resilience;
     @Mock private MessageSource messageSource;
     @Mock private EmailTemplateService templateService;
     @Mock private ReactiveRedisTemplate<String, String> redisTemplate;
     @Mock private ReactiveValueOperations<String, String> valueOps;
-    @Mock private MimeMessage mimeMessage;
 
     private EmailService emailService;
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailService(mailSender, resilience, messageSource, templateService, redisTemplate);
+        emailService = new EmailService(outboxRepository, idService, resilience, messageSource, templateService, redisTemplate);
 
         // Stub template rendering – return a minimal HTML for all templates
         lenient().when(templateService.render(anyString(), anyMap()))
                 .thenReturn("<html><body>rendered</body></html>");
 
         // Set @Value fields via reflection
-        setField(emailService, "fromEmail", "noreply@test.com");
-        setField(emailService, "fromName", "Test Blog");
         setField(emailService, "appUrl", "http://localhost:8080");
         setField(emailService, "siteUrl", "http://localhost:4200");
         setField(emailService, "supportEmail", "support@test.com");
@@ -74,8 +74,8 @@ class EmailServiceTest {
             when(valueOps.increment("email_rate:user@test.com")).thenReturn(Mono.just(1L));
             when(redisTemplate.expire(eq("email_rate:user@test.com"), any(Duration.class)))
                     .thenReturn(Mono.just(true));
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
 
             StepVerifier.create(emailService.sendTextEmail("user@test.com", "Test", "Body"))
                     .verifyComplete();
@@ -94,7 +94,7 @@ class EmailServiceTest {
                             && e.getMessage().contains("Email rate limit exceeded"))
                     .verify();
 
-            verify(mailSender, never()).createMimeMessage();
+            verify(outboxRepository, never()).save(any(EmailOutboxMessage.class));
         }
 
         @Test
@@ -114,8 +114,8 @@ class EmailServiceTest {
             when(redisTemplate.opsForValue()).thenReturn(valueOps);
             when(valueOps.increment(anyString()))
                     .thenReturn(Mono.error(new RuntimeException("Redis connection failed")));
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
 
             StepVerifier.create(emailService.sendTextEmail("user@test.com", "Test", "Body"))
                     .verifyComplete();
@@ -130,8 +130,8 @@ class EmailServiceTest {
         @DisplayName("should send newsletter confirmation with i18n subject")
         void shouldSendConfirmationWithI18nSubject() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             when(messageSource.getMessage(eq("email.newsletter.confirm.subject"), any(), any(Locale.class)))
                     .thenReturn("Confirm your Newsletter");
             when(messageSource.getMessage(eq("email.default.subscriber"), any(), any(Locale.class)))
@@ -166,8 +166,9 @@ class EmailServiceTest {
         @DisplayName("should send lockout notification and not propagate email errors")
         void shouldNotPropagateEmailErrors() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenThrow(new RuntimeException("SMTP down"));
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                    .thenReturn(Mono.error(new RuntimeException("Outbox unavailable")));
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllLockoutMessages();
 
             // sendAccountLockoutNotification has .onErrorResume, so it should complete
@@ -185,8 +186,8 @@ class EmailServiceTest {
         @DisplayName("should use default user name when name is null")
         void shouldUseDefaultUserWhenNameNull() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllPasswordResetMessages();
 
             StepVerifier.create(emailService.sendPasswordResetEmail("user@test.com", null, "reset-token"))
@@ -196,6 +197,33 @@ class EmailServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Outbox")
+    class Outbox {
+
+        @Test
+        @DisplayName("should queue the email as a pending outbox row instead of sending it")
+        void shouldQueuePendingRow() {
+            setupRateLimitAllow();
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
+            when(idService.nextId()).thenReturn(42L);
+
+            StepVerifier.create(emailService.sendHtmlEmail("user@test.com", "Subject", "<p>Body</p>"))
+                    .verifyComplete();
+
+            ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+            verify(outboxRepository).save(captor.capture());
+            EmailOutboxMessage queued = captor.getValue();
+            assertThat(queued.getId()).isEqualTo(42L);
+            assertThat(queued.getRecipient()).isEqualTo("user@test.com");
+            assertThat(queued.getSubject()).isEqualTo("Subject");
+            assertThat(queued.isHtml()).isTrue();
+            assertThat(queued.getStatus()).isEqualTo("PENDING");
+            assertThat(queued.getNextAttemptAt()).isNotNull();
+        }
+    }
+
     // ===== Helpers =====
 
     private void setupRateLimitAllow() {
@@ -204,6 +232,11 @@ class EmailServiceTest {
         when(redisTemplate.expire(anyString(), any(Duration.class))).thenReturn(Mono.just(true));
     }
 
+    private void stubOutbox() {
+        when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
     private void stubAllLockoutMessages() {
         // Stub all message keys used in sendAccountLockoutNotification
         lenient().when(messageSource.getMessage(anyString(), any(), any(Locale.class)))
@@ -228,22 +261,22 @@ class EmailServiceTest {
         @DisplayName("should send newsletter welcome email with name")
         void shouldSendWelcomeWithName() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendNewsletterWelcome("user@test.com", "John"))
                     .verifyComplete();
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(outboxRepository).save(any(EmailOutboxMessage.class));
         }
 
         @Test
         @DisplayName("should use default subscriber name when name is null")
         void shouldUseDefaultNameWhenNull() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendNewsletterWelcome("user@test.com", null))
@@ -261,29 +294,50 @@ class EmailServiceTest {
         @DisplayName("should send new article notification")
         void shouldSendArticleNotification() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendNewArticleNotification(
                     "sub@test.com", "John", "New Article", "new-article", "Excerpt text", "unsub-token"))
                     .verifyComplete();
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(outboxRepository).save(any(EmailOutboxMessage.class));
         }
 
         @Test
         @DisplayName("should handle null subscriber name and null excerpt")
         void shouldHandleNullSubscriberNameAndExcerpt() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendNewArticleNotification(
                     "sub@test.com", null, "Title", "slug", null, "token"))
                     .verifyComplete();
         }
+
+        @Test
+        @DisplayName("should render the campaign once and personalize it per subscriber")
+        void shouldPersonalizeRenderedCampaign() {
+            stubAllMessages();
+            lenient().when(messageSource.getMessage(eq("email.greeting"), any(), any(Locale.class)))
+                    .thenAnswer(inv -> "Hello " + ((Object[]) inv.getArgument(1))[0]);
+            when(templateService.render(eq("new-article-notification"), anyMap()))
+                    .thenAnswer(inv -> "<p>" + ((java.util.Map<?, ?>) inv.getArgument(1)).get("greeting") + "</p>"
+                            + ((java.util.Map<?, ?>) inv.getArgument(1)).get("extraFooter"));
+
+            EmailService.NewArticleCampaign campaign = emailService.renderNewArticleCampaign("Title", "slug", null);
+            String body = emailService.personalize(campaign.bodyTemplate(), "<Ann>", "a b");
+
+            assertThat(campaign.subject()).isEqualTo("email.article.notification.subject");
+            assertThat(campaign.locale()).isEqualTo("en");
+            assertThat(body).doesNotContain("%%")
+                    .contains("<p>Hello &lt;Ann&gt;</p>")
+                    .contains("token=a+b");
+            verify(templateService, times(1)).render(eq("new-article-notification"), anyMap());
+        }
     }
 
     @Nested
@@ -294,23 +348,23 @@ class EmailServiceTest {
         @DisplayName("should send comment notification with escaped HTML")
         void shouldSendCommentNotification() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendCommentNotification(
                     "author@test.com", "Author", "Commenter", "Article Title", "article-slug", "Nice article!"))
                     .verifyComplete();
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(outboxRepository).save(any(EmailOutboxMessage.class));
         }
 
         @Test
         @DisplayName("should escape XSS content in comment notification")
         void shouldEscapeXssContent() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendCommentNotification(
@@ -328,22 +382,22 @@ class EmailServiceTest {
         @DisplayName("should send password changed notification")
         void shouldSendPasswordChanged() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendPasswordChangedNotification("user@test.com", "User"))
                     .verifyComplete();
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(outboxRepository).save(any(EmailOutboxMessage.class));
         }
 
         @Test
         @DisplayName("should use default user when name is null")
         void shouldUseDefaultUserWhenNameNull() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendPasswordChangedNotification("user@test.com", null))
@@ -359,22 +413,22 @@ class EmailServiceTest {
         @DisplayName("should send registration welcome email")
         void shouldSendRegistrationWelcome() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendRegistrationWelcome("new@test.com", "New User"))
                     .verifyComplete();
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(outboxRepository).save(any(EmailOutboxMessage.class));
         }
 
         @Test
         @DisplayName("should handle null name in registration welcome")
         void shouldHandleNullName() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendRegistrationWelcome("new@test.com", null))
@@ -389,22 +443,20 @@ class EmailServiceTest {
         @Test
         @DisplayName("should allow email when Redis template is null (rate limiting disabled)")
         void shouldAllowWithoutRedis() {
-            EmailService noRedisService = new EmailService(mailSender, resilience, messageSource, templateService, null);
-            setField(noRedisService, "fromEmail", "noreply@test.com");
-            setField(noRedisService, "fromName", "Test Blog");
+            EmailService noRedisService = new EmailService(outboxRepository, idService, resilience, messageSource, templateService, null);
             setField(noRedisService, "appUrl", "http://localhost:8080");
             setField(noRedisService, "siteUrl", "http://localhost:4200");
             setField(noRedisService, "supportEmail", "support@test.com");
             setField(noRedisService, "emailRateLimitPerHour", 10);
             setField(noRedisService, "defaultLocaleTag", "en");
 
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
 
             StepVerifier.create(noRedisService.sendTextEmail("user@test.com", "Test", "Body"))
                     .verifyComplete();
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(outboxRepository).save(any(EmailOutboxMessage.class));
         }
     }
 
@@ -413,11 +465,12 @@ class EmailServiceTest {
     class HtmlEmailErrors {
 
         @Test
-        @DisplayName("should propagate error when mail sender fails on HTML email")
+        @DisplayName("should propagate error when the HTML email cannot be queued")
         void shouldPropagateHtmlEmailError() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenThrow(new RuntimeException("SMTP error"));
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                    .thenReturn(Mono.error(new RuntimeException("Outbox unavailable")));
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
 
             StepVerifier.create(emailService.sendHtmlEmail("user@test.com", "Subject", "<p>Body</p>"))
                     .expectError(RuntimeException.class)
@@ -433,8 +486,8 @@ class EmailServiceTest {
         @DisplayName("should handle null name in lockout notification")
         void shouldHandleNullNameInLockout() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendAccountLockoutNotification(
@@ -446,8 +499,8 @@ class EmailServiceTest {
         @DisplayName("should handle null IP in lockout notification")
         void shouldHandleNullIpInLockout() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendAccountLockoutNotification(
@@ -464,14 +517,14 @@ class EmailServiceTest {
         @DisplayName("should send password reset with actual name")
         void shouldSendWithActualName() {
             setupRateLimitAllow();
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            when(resilience.getExternalTimeout()).thenReturn(Duration.ofSeconds(30));
+            stubOutbox();
+            when(resilience.getDatabaseTimeout()).thenReturn(Duration.ofSeconds(30));
             stubAllMessages();
 
             StepVerifier.create(emailService.sendPasswordResetEmail("user@test.com", "John", "token-123"))
                     .verifyComplete();
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(outboxRepository).save(any(EmailOutboxMessage.class));
         }
     }
 }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -350,4 +351,55 @@ class EmailTemplateServiceTest {
  templateName + " should contain icon " + entry.getValue());
  }
  }
+
+ // ── Compiled templates ───────────────────────────────────────────────────
+
+ private static EmailTemplateService thymeleafOnly() {
+ var plain = new EmailTemplateService();
+ ReflectionTestUtils.setField(plain, "precompiled", false);
+ return plain;
+ }
+
+ /** Same keys, different values, with characters that need escaping. */
+ private static Map<String, Object> otherRecipient(Map<String, Object> vars) {
+ var other = new HashMap<String, Object>();
+ vars.forEach((key, value) -> other.put(key, value + " <b>O'Brien & \"Co\"</b>"));
+ return other;
+ }
+
+ @ParameterizedTest(name = "Template: {0}")
+ @MethodSource("allTemplates")
+ @DisplayName("Compiled templates render exactly what Thymeleaf renders")
+ void compiledTemplatesMatchThymeleaf(String templateName, Map<String, Object> vars) {
+ var compiled = new EmailTemplateService();
+ var plain = thymeleafOnly();
+
+ assertEquals(plain.render(templateName, vars), compiled.render(templateName, vars));
+ // Second render of the same shape comes from the compiled template
+ Map<String, Object> other = otherRecipient(vars);
+ assertEquals(plain.render(templateName, other), compiled.render(templateName, other));
+ }
+
+ @Test
+ @DisplayName("Variables that switch th:if blocks get their own compiled template")
+ void compiledTemplatesFollowConditionals() {
+ var compiled = new EmailTemplateService();
+ var plain = thymeleafOnly();
+ Map<String, Object> withExcerpt = merge(baseVars("#3b82f6 0%, #1d4ed8 100%", "New Article", "<p>footer</p>"), Map.of(
+ "greeting", "Hello Reader,",
+ "introText", "A new article has been published.",
+ "articleTitle", "Title",
+ "articleExcerpt", "An excerpt",
+ "articleUrl", "http://localhost/blog/title",
+ "buttonText", "Read"
+ ));
+ Map<String, Object> withoutExcerpt = new HashMap<>(withExcerpt);
+ withoutExcerpt.put("articleExcerpt", "");
+ withoutExcerpt.remove("extraFooter");
+
+ for (int i = 0; i < 2; i++) {
+ assertEquals(plain.render("new-article-notification", withExcerpt), compiled.render("new-article-notification", withExcerpt));
+ assertEquals(plain.render("new-article-notification", withoutExcerpt), compiled.render("new-article-notification", withoutExcerpt));
+ }
+ }
 }
@@ -0,0 +1,236 @@
+package dev.catananti.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import dev.catananti.entity.Article;
+import dev.catananti.entity.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+
+    @Mock private ArticleService articleService;
+    @Mock private TagService tagService;
+    @Mock private CacheService cacheService;
+
+    @InjectMocks
+    private FeedService feedService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(feedService, "siteUrl", "https://catananti.dev");
+        ReflectionTestUtils.setField(feedService, "siteName", "Portfolio Blog");
+        ReflectionTestUtils.setField(feedService, "siteDescription", "Developer blog");
+        // Cache miss: run the loader
+        lenient().when(cacheService.getOrLoad(anyString(), any(), any(), any()))
+                .thenAnswer(inv -> ((Supplier<Mono<?>>) inv.getArgument(3)).get());
+    }
+
+    private Article buildArticle(String slug, String title) {
+        return Article.builder()
+                .id(1L)
+                .slug(slug)
+                .title(title)
+                .excerpt("Test excerpt")
+                .publishedAt(LocalDateTime.of(2026, 1, 15, 10, 0))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("getRssFeed")
+    class GetRssFeed {
+
+        @Test
+        @DisplayName("Should return RSS feed from cache if available")
+        @SuppressWarnings("unchecked")
+        void shouldReturnRssFeedFromCache() {
+            doReturn(Mono.just("<rss>cached</rss>")).when(cacheService)
+                    .getOrLoad(eq(CacheService.RSS_FEED_KEY), any(TypeReference.class), any(), any());
+
+            StepVerifier.create(feedService.getRssFeed())
+                    .assertNext(result -> assertThat(result).isEqualTo("<rss>cached</rss>"))
+                    .verifyComplete();
+
+            verifyNoInteractions(articleService);
+        }
+
+        @Test
+        @DisplayName("Should generate RSS feed when cache is empty")
+        void shouldGenerateRssFeedWhenCacheEmpty() {
+            Article article = buildArticle("test-article", "Test Article");
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.just(article));
+
+            StepVerifier.create(feedService.getRssFeed())
+                    .assertNext(body -> {
+                        assertThat(body).contains("<?xml version=\"1.0\"");
+                        assertThat(body).contains("<rss version=\"2.0\"");
+                        assertThat(body).contains("<title>Portfolio Blog</title>");
+                        assertThat(body).contains("<title>Test Article</title>");
+                        assertThat(body).contains("/blog/test-article");
+                        assertThat(body).contains("Test excerpt");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should handle empty article list")
+        void shouldHandleEmptyArticleList() {
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.empty());
+
+            StepVerifier.create(feedService.getRssFeed())
+                    .assertNext(body -> {
+                        assertThat(body).contains("<rss version=\"2.0\"");
+                        assertThat(body).contains("</rss>");
+                        assertThat(body).doesNotContain("<item>");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should include site URL and description in feed")
+        void shouldIncludeSiteUrlAndDescription() {
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.empty());
+
+            StepVerifier.create(feedService.getRssFeed())
+                    .assertNext(body -> {
+                        assertThat(body).contains("<link>https://catananti.dev</link>");
+                        assertThat(body).contains("<description>Developer blog</description>");
+                        assertThat(body).contains("<language>en-us</language>");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should include lastBuildDate when articles have publishedAt")
+        void shouldIncludeLastBuildDate() {
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.just(buildArticle("article", "Article")));
+
+            StepVerifier.create(feedService.getRssFeed())
+                    .assertNext(body -> assertThat(body).contains("<lastBuildDate>"))
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("getSitemap")
+    class GetSitemap {
+
+        @Test
+        @DisplayName("Should return cached sitemap if available")
+        @SuppressWarnings("unchecked")
+        void shouldReturnCachedSitemap() {
+            doReturn(Mono.just("<urlset>cached</urlset>")).when(cacheService)
+                    .getOrLoad(eq(CacheService.SITEMAP_KEY), any(TypeReference.class), any(), any());
+
+            StepVerifier.create(feedService.getSitemap())
+                    .assertNext(result -> assertThat(result).isEqualTo("<urlset>cached</urlset>"))
+                    .verifyComplete();
+
+            verifyNoInteractions(articleService, tagService);
+        }
+
+        @Test
+        @DisplayName("Should generate sitemap when cache is empty")
+        void shouldGenerateSitemapWhenCacheEmpty() {
+            Article article = Article.builder()
+                    .id(1L)
+                    .slug("test-article")
+                    .publishedAt(LocalDateTime.of(2026, 1, 15, 10, 0))
+                    .updatedAt(LocalDateTime.of(2026, 1, 20, 12, 0))
+                    .build();
+            Tag tag = Tag.builder().id(1L).slug("java").build();
+
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.just(article));
+            when(tagService.findAllTagEntities()).thenReturn(Flux.just(tag));
+
+            StepVerifier.create(feedService.getSitemap())
+                    .assertNext(result -> {
+                        assertThat(result).contains("<?xml version=\"1.0\"");
+                        assertThat(result).contains("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
+                        assertThat(result).contains("https://catananti.dev/</loc>");
+                        assertThat(result).contains("https://catananti.dev/blog</loc>");
+                        assertThat(result).contains("https://catananti.dev/about</loc>");
+                        assertThat(result).contains("/blog/test-article</loc>");
+                        assertThat(result).contains("<lastmod>2026-01-20</lastmod>");
+                        assertThat(result).contains("/tags/java</loc>");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should include static pages (homepage, blog, about)")
+        void shouldIncludeStaticPages() {
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.empty());
+            when(tagService.findAllTagEntities()).thenReturn(Flux.empty());
+
+            StepVerifier.create(feedService.getSitemap())
+                    .assertNext(result -> {
+                        assertThat(result).contains("<priority>1.0</priority>"); // homepage
+                        assertThat(result).contains("<priority>0.9</priority>"); // blog
+                        assertThat(result).contains("<priority>0.7</priority>"); // about
+                        assertThat(result).contains("<changefreq>daily</changefreq>");
+                        assertThat(result).contains("<changefreq>monthly</changefreq>");
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should use publishedAt as lastmod when updatedAt is null")
+        void shouldUsePublishedAtWhenUpdatedAtIsNull() {
+            Article article = Article.builder()
+                    .id(1L)
+                    .slug("old-article")
+                    .publishedAt(LocalDateTime.of(2025, 6, 1, 8, 0))
+                    .updatedAt(null)
+                    .build();
+
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.just(article));
+            when(tagService.findAllTagEntities()).thenReturn(Flux.empty());
+
+            StepVerifier.create(feedService.getSitemap())
+                    .assertNext(result -> assertThat(result).contains("<lastmod>2025-06-01</lastmod>"))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should handle multiple articles and tags")
+        void shouldHandleMultipleArticlesAndTags() {
+            Article a1 = Article.builder().id(1L).slug("article-1")
+                    .publishedAt(LocalDateTime.of(2026, 1, 10, 9, 0)).build();
+            Article a2 = Article.builder().id(2L).slug("article-2")
+                    .publishedAt(LocalDateTime.of(2026, 1, 15, 10, 0)).build();
+            Tag t1 = Tag.builder().id(1L).slug("java").build();
+            Tag t2 = Tag.builder().id(2L).slug("spring").build();
+
+            when(articleService.findAllPublishedForFeed()).thenReturn(Flux.just(a1, a2));
+            when(tagService.findAllTagEntities()).thenReturn(Flux.just(t1, t2));
+
+            StepVerifier.create(feedService.getSitemap())
+                    .assertNext(result -> {
+                        assertThat(result).contains("/blog/article-1");
+                        assertThat(result).contains("/blog/article-2");
+                        assertThat(result).contains("/tags/java");
+                        assertThat(result).contains("/tags/spring");
+                    })
+                    .verifyComplete();
+        }
+    }
+}
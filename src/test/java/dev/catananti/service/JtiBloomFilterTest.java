@@ -0,0 +1,54 @@
+package dev.catananti.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JtiBloomFilter")
+class JtiBloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added id as absent")
+    void shouldHaveNoFalseNegatives() {
+        JtiBloomFilter filter = new JtiBloomFilter(1_000, 0.01);
+        String[] ids = new String[1_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.add(ids[i]);
+        }
+
+        for (String id : ids) {
+            assertThat(filter.mightContain(id)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate when full")
+    void shouldStayNearTargetFalsePositiveRate() {
+        JtiBloomFilter filter = new JtiBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("live-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("Should report everything absent while empty")
+    void shouldStartEmpty() {
+        JtiBloomFilter filter = new JtiBloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain("anything")).isFalse();
+        assertThat(filter.bitCount()).isPositive();
+    }
+}
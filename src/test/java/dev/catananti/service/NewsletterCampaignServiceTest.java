@@ -0,0 +1,199 @@
+package dev.catananti.service;
+
+import dev.catananti.entity.Article;
+import dev.catananti.entity.EmailOutboxMessage;
+import dev.catananti.entity.NewsletterCampaign;
+import dev.catananti.entity.Subscriber;
+import dev.catananti.repository.EmailOutboxRepository;
+import dev.catananti.repository.NewsletterCampaignRepository;
+import dev.catananti.repository.SubscriberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NewsletterCampaignService")
+class NewsletterCampaignServiceTest {
+
+    private static final String NODE = "node-1";
+
+    @Mock private NewsletterCampaignRepository campaignRepository;
+    @Mock private SubscriberRepository subscriberRepository;
+    @Mock private EmailOutboxRepository outboxRepository;
+    @Mock private EmailService emailService;
+    @Mock private IdService idService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NewsletterCampaignService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new NewsletterCampaignService(campaignRepository, subscriberRepository, outboxRepository,
+                emailService, idService, meterRegistry);
+    }
+
+    private static NewsletterCampaign campaign(long lastSubscriberId) {
+        return NewsletterCampaign.builder()
+                .id(7L)
+                .newRecord(false)
+                .articleId(1L)
+                .subject("New article")
+                .bodyTemplate("<p>Hi %%SUBSCRIBER_NAME%%</p>")
+                .locale("en")
+                .lastSubscriberId(lastSubscriberId)
+                .build();
+    }
+
+    private static Subscriber subscriber(long id) {
+        return Subscriber.builder().id(id).email("s" + id + "@test.com").name("S" + id).unsubscribeToken("t" + id).build();
+    }
+
+    @Nested
+    @DisplayName("startArticleCampaign")
+    class Start {
+
+        private final Article article = Article.builder().id(1L).slug("post").title("Post").excerpt("Excerpt").build();
+
+        @Test
+        @DisplayName("Should render the notification once and record the campaign")
+        void shouldRecordCampaign() {
+            when(campaignRepository.existsByArticleId(1L)).thenReturn(Mono.just(false));
+            when(emailService.renderNewArticleCampaign("Post", "post", "Excerpt"))
+                    .thenReturn(new EmailService.NewArticleCampaign("Subject", "<p>body</p>", "en"));
+            when(idService.nextId()).thenReturn(7L);
+            when(campaignRepository.save(any(NewsletterCampaign.class)))
+                    .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+            StepVerifier.create(service.startArticleCampaign(article)).verifyComplete();
+
+            ArgumentCaptor<NewsletterCampaign> captor = ArgumentCaptor.forClass(NewsletterCampaign.class);
+            verify(campaignRepository).save(captor.capture());
+            assertThat(captor.getValue().getArticleId()).isEqualTo(1L);
+            assertThat(captor.getValue().getBodyTemplate()).isEqualTo("<p>body</p>");
+            assertThat(captor.getValue().getStatus()).isEqualTo("RUNNING");
+            assertThat(captor.getValue().getLastSubscriberId()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not start a second campaign for the same article")
+        void shouldSkipExistingCampaign() {
+            when(campaignRepository.existsByArticleId(1L)).thenReturn(Mono.just(true));
+
+            StepVerifier.create(service.startArticleCampaign(article)).verifyComplete();
+
+            verify(campaignRepository, never()).save(any());
+            verifyNoInteractions(emailService);
+        }
+
+        @Test
+        @DisplayName("Should treat a concurrent start as already started")
+        void shouldIgnoreConcurrentStart() {
+            when(campaignRepository.existsByArticleId(1L)).thenReturn(Mono.just(false));
+            when(emailService.renderNewArticleCampaign(any(), any(), any()))
+                    .thenReturn(new EmailService.NewArticleCampaign("Subject", "<p>body</p>", "en"));
+            when(campaignRepository.save(any(NewsletterCampaign.class)))
+                    .thenReturn(Mono.error(new DuplicateKeyException("article_id")));
+
+            StepVerifier.create(service.startArticleCampaign(article)).verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("queueNextPage")
+    class QueueNextPage {
+
+        @Test
+        @DisplayName("Should queue one personalised email per subscriber and move the checkpoint")
+        void shouldQueuePageAndAdvance() {
+            NewsletterCampaign campaign = campaign(10L);
+            when(subscriberRepository.findConfirmedAfter(eq(10L), anyInt()))
+                    .thenReturn(Flux.just(subscriber(11), subscriber(15)));
+            when(emailService.personalize(anyString(), anyString(), anyString()))
+                    .thenAnswer(inv -> "<p>Hi " + inv.getArgument(1) + "</p>");
+            when(idService.nextId()).thenReturn(100L, 101L);
+            when(outboxRepository.saveAll(anyList())).thenAnswer(inv -> Flux.fromIterable(inv.<List<EmailOutboxMessage>>getArgument(0)));
+            when(campaignRepository.advance(7L, NODE, 15L, 2)).thenReturn(Mono.just(1));
+
+            StepVerifier.create(service.queueNextPage(campaign, NODE))
+                    .expectNext(2)
+                    .verifyComplete();
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<EmailOutboxMessage>> captor = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).saveAll(captor.capture());
+            assertThat(captor.getValue()).extracting(EmailOutboxMessage::getRecipient)
+                    .containsExactly("s11@test.com", "s15@test.com");
+            assertThat(captor.getValue()).extracting(EmailOutboxMessage::getBody)
+                    .containsExactly("<p>Hi S11</p>", "<p>Hi S15</p>");
+            assertThat(captor.getValue()).allMatch(email -> email.getCampaignId() == 7L && email.isHtml());
+            assertThat(campaign.getLastSubscriberId()).isEqualTo(15L);
+            assertThat(meterRegistry.get(NewsletterCampaignService.RECIPIENTS_METRIC)
+                    .tag("campaign", "7").tag("result", "queued").counter().count()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should fail the page when another node took over the campaign")
+        void shouldFailWhenLeaseLost() {
+            NewsletterCampaign campaign = campaign(10L);
+            when(subscriberRepository.findConfirmedAfter(eq(10L), anyInt())).thenReturn(Flux.just(subscriber(11)));
+            when(emailService.personalize(anyString(), anyString(), anyString())).thenReturn("<p>Hi</p>");
+            when(outboxRepository.saveAll(anyList())).thenAnswer(inv -> Flux.fromIterable(inv.<List<EmailOutboxMessage>>getArgument(0)));
+            when(campaignRepository.advance(7L, NODE, 11L, 1)).thenReturn(Mono.just(0));
+
+            StepVerifier.create(service.queueNextPage(campaign, NODE))
+                    .expectError(IllegalStateException.class)
+                    .verify();
+
+            assertThat(campaign.getLastSubscriberId()).isEqualTo(10L);
+        }
+
+        @Test
+        @DisplayName("Should complete the campaign when no subscriber is left")
+        void shouldCompleteWhenExhausted() {
+            NewsletterCampaign campaign = campaign(15L);
+            when(subscriberRepository.findConfirmedAfter(eq(15L), anyInt())).thenReturn(Flux.empty());
+            when(campaignRepository.complete(eq(7L), eq(NODE), any(LocalDateTime.class))).thenReturn(Mono.just(1));
+
+            StepVerifier.create(service.queueNextPage(campaign, NODE))
+                    .expectNext(0)
+                    .verifyComplete();
+
+            assertThat(campaign.getStatus()).isEqualTo("COMPLETED");
+            verify(outboxRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Test
+    @DisplayName("claimNext should lease the claimable campaign")
+    void shouldClaimCampaign() {
+        NewsletterCampaign campaign = campaign(0L);
+        when(campaignRepository.findClaimable(eq(NODE), any(LocalDateTime.class))).thenReturn(Mono.just(campaign));
+        when(campaignRepository.claim(eq(7L), eq(NODE), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(1));
+
+        StepVerifier.create(service.claimNext(NODE))
+                .assertNext(claimed -> {
+                    assertThat(claimed.getClaimedBy()).isEqualTo(NODE);
+                    assertThat(claimed.getLeaseUntil()).isAfter(LocalDateTime.now());
+                })
+                .verifyComplete();
+    }
+}
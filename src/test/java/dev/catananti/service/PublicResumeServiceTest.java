@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -41,6 +42,9 @@ class PublicResumeServiceTest {
     @Mock
     private HtmlSanitizerService htmlSanitizerService;
 
+    @Spy
+    private CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null);
+
     @InjectMocks
     private PublicResumeService publicResumeService;
 
@@ -62,6 +66,8 @@ class PublicResumeServiceTest {
                 .ownerId(ownerId)
                 .build();
 
+        publicResumeService.registerPdfCacheEvictor();
+
         // HtmlSanitizerService passes through content in tests
         lenient().when(htmlSanitizerService.sanitize(anyString())).thenAnswer(inv -> inv.getArgument(0));
     }
@@ -263,6 +269,28 @@ class PublicResumeServiceTest {
         void clearAll() {
             publicResumeService.clearPdfCache(null);
         }
+
+        @Test
+        @DisplayName("should broadcast the eviction and regenerate the PDF afterwards")
+        void clearBroadcastsAndRegenerates() {
+            byte[] pdfBytes = new byte[]{10, 20, 30};
+            when(resumeTemplateRepository.findByAlias("john-doe")).thenReturn(Mono.just(activeTemplate));
+            when(pdfGenerationService.generatePdf(anyString(), eq("A4"), eq(false)))
+                    .thenReturn(Mono.just(pdfBytes));
+
+            StepVerifier.create(publicResumeService.generateResumePdf("john-doe", "en"))
+                    .expectNext(pdfBytes)
+                    .verifyComplete();
+
+            publicResumeService.clearPdfCache(null);
+
+            StepVerifier.create(publicResumeService.generateResumePdf("john-doe", "en"))
+                    .expectNext(pdfBytes)
+                    .verifyComplete();
+
+            verify(invalidationBus).publishAll(CacheInvalidationBus.RESUME_PDFS);
+            verify(pdfGenerationService, times(2)).generatePdf(anyString(), eq("A4"), eq(false));
+        }
     }
 
     // ============================
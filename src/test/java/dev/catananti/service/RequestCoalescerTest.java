@@ -0,0 +1,101 @@
+package dev.catananti.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestCoalescer")
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    private Mono<String> load(String key, Sinks.One<String> result) {
+        return coalescer.coalesce(key, () -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        });
+    }
+
+    private double requests(String resource, String result) {
+        return meterRegistry.get("blog.coalescer.requests").tag("resource", resource).tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Should run one load for concurrent subscribers of the same key and count the joiners")
+    void shouldShareInFlightLoad() {
+        Sinks.One<String> pending = Sinks.one();
+        Mono<String> first = load("feed::rss", pending);
+        Mono<String> second = load("feed::rss", pending);
+        Mono<String> third = load("feed::rss", pending);
+
+        StepVerifier.create(Mono.zip(first, second, third))
+                .then(() -> pending.tryEmitValue("<rss/>"))
+                .assertNext(tuple -> assertThat(tuple.toList()).containsOnly("<rss/>"))
+                .verifyComplete();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(requests("feed", "loaded")).isEqualTo(1);
+        assertThat(requests("feed", "coalesced")).isEqualTo(2);
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load again once the previous flight has finished")
+    void shouldNotCacheResults() {
+        StepVerifier.create(coalescer.coalesce("feed::sitemap", () -> Mono.fromSupplier(() -> "v" + loads.incrementAndGet())))
+                .expectNext("v1")
+                .verifyComplete();
+        StepVerifier.create(coalescer.coalesce("feed::sitemap", () -> Mono.fromSupplier(() -> "v" + loads.incrementAndGet())))
+                .expectNext("v2")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should propagate a failure to every subscriber and retry on the next call")
+    void shouldShareAndForgetFailures() {
+        Sinks.One<String> failing = Sinks.one();
+        Mono<String> first = load("articles::slug_a:en", failing);
+        Mono<String> second = load("articles::slug_a:en", failing);
+
+        StepVerifier.create(Mono.zipDelayError(first.onErrorReturn("failed"), second.onErrorReturn("failed")))
+                .then(() -> failing.tryEmitError(new IllegalStateException("db down")))
+                .assertNext(tuple -> assertThat(tuple.toList()).containsOnly("failed"))
+                .verifyComplete();
+
+        Sinks.One<String> recovered = Sinks.one();
+        recovered.tryEmitValue("ok");
+        StepVerifier.create(load("articles::slug_a:en", recovered)).expectNext("ok").verifyComplete();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep loading for the others when one subscriber cancels")
+    void shouldSurviveCancellation() {
+        Sinks.One<String> pending = Sinks.one();
+        load("articles::slug_b:en", pending).subscribe().dispose();
+
+        StepVerifier.create(load("articles::slug_b:en", pending))
+                .then(() -> pending.tryEmitValue("shared"))
+                .expectNext("shared")
+                .verifyComplete();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+}
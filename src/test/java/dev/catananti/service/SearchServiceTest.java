@@ -1,25 +1,30 @@
 package dev.catananti.service;
 
-import dev.catananti.dto.ArticleResponse;
+import dev.catananti.dto.ArticleSummary;
 import dev.catananti.dto.PageResponse;
 import dev.catananti.dto.SearchRequest;
 import dev.catananti.entity.Article;
 import dev.catananti.entity.User;
 import dev.catananti.repository.ArticleRepository;
-import dev.catananti.repository.CommentRepository;
 import dev.catananti.repository.TagRepository;
 import dev.catananti.repository.UserRepository;
+import dev.catananti.service.search.ArticleSearchIndex;
+import dev.catananti.service.search.InMemorySearchEngine;
+import dev.catananti.service.search.SearchResultCache;
+import dev.catananti.service.search.TypeaheadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -27,6 +32,7 @@ import reactor.test.StepVerifier;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,9 +50,6 @@ class SearchServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private CommentRepository commentRepository;
-
     @Mock
     private R2dbcEntityTemplate r2dbcTemplate;
 
@@ -60,6 +63,12 @@ class SearchServiceTest {
     @Mock
     private RowsFetchSpec tagsFetchSpec;
 
+    @Mock
+    private TypeaheadService typeaheadService;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
     @InjectMocks
     private SearchService searchService;
 
@@ -74,6 +83,9 @@ class SearchServiceTest {
         lenient().when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
         lenient().when(executeSpec.map(any(BiFunction.class))).thenReturn(tagsFetchSpec);
         lenient().when(tagsFetchSpec.all()).thenReturn(Flux.empty());
+        // Search result cache: always a miss
+        lenient().when(searchResultCache.getOrSearch(any(), any()))
+                .thenAnswer(inv -> inv.<Supplier<Mono<?>>>getArgument(1).get());
         lenient().when(tagsFetchSpec.one()).thenReturn(Mono.empty());
 
         publishedArticle = Article.builder()
@@ -145,7 +157,7 @@ class SearchServiceTest {
             StepVerifier.create(searchService.searchArticles(request))
                     .assertNext(page -> {
                         assertThat(page.getContent()).hasSize(1);
-                        ArticleResponse article = page.getContent().getFirst();
+                        ArticleSummary article = page.getContent().getFirst();
                         assertThat(article.getTitle()).isEqualTo("Test Article");
                         assertThat(article.getSlug()).isEqualTo("test-article");
                     })
@@ -240,6 +252,32 @@ class SearchServiceTest {
             StepVerifier.create(searchService.getSuggestions("a"))
                     .verifyComplete();
         }
+
+        @Test
+        @DisplayName("Should serve completions from the typeahead trie without SQL")
+        void shouldServeFromTrie() {
+            when(typeaheadService.suggest("rea", 5)).thenReturn(List.of("Reactive streams", "reactor"));
+
+            StepVerifier.create(searchService.getSuggestions("rea"))
+                    .expectNext("Reactive streams", "reactor")
+                    .verifyComplete();
+
+            verify(databaseClient, never()).sql(anyString());
+        }
+
+        @Test
+        @DisplayName("Should query titles while the trie is not built yet")
+        @SuppressWarnings("unchecked")
+        void shouldFallBackToSqlBeforeTrieIsReady() {
+            when(typeaheadService.suggest("rea", 5)).thenReturn(null);
+            when(tagsFetchSpec.all()).thenReturn(Flux.just("Reactive streams"));
+
+            StepVerifier.create(searchService.getSuggestions("rea"))
+                    .expectNext("Reactive streams")
+                    .verifyComplete();
+
+            verify(executeSpec).bind("$1", "rea%");
+        }
     }
 
     // ==================== ADDED TESTS ====================
@@ -476,4 +514,128 @@ class SearchServiceTest {
                     .verifyComplete();
         }
     }
+
+    @Nested
+    @DisplayName("full-text search")
+    class FullTextSearch {
+
+        @BeforeEach
+        void enableFts() {
+            ReflectionTestUtils.setField(searchService, "useFts", true);
+        }
+
+        @Test
+        @DisplayName("Should match the stored vector and rank by relevance")
+        void shouldRankByStoredVector() {
+            SearchRequest request = SearchRequest.builder().query("reactive streams").page(0).size(10).build();
+
+            StepVerifier.create(searchService.searchArticles(request))
+                    .assertNext(page -> assertThat(page.getContent()).isEmpty())
+                    .verifyComplete();
+
+            ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+            verify(databaseClient, atLeastOnce()).sql(sql.capture());
+            assertThat(sql.getAllValues())
+                    .anySatisfy(s -> assertThat(s)
+                            .contains("a.search_vector @@ plainto_tsquery('english'::regconfig, $1)")
+                            .contains("ORDER BY ts_rank(a.search_vector, plainto_tsquery('english'::regconfig, $1)) DESC")
+                            .doesNotContain("to_tsvector"));
+            verify(executeSpec, atLeastOnce()).bind("$1", "reactive streams");
+            verify(articleRepository, never()).searchByStatusAndQuery(anyString(), anyString(), anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should also match translations under the locale's configuration")
+        void shouldSearchTranslations() {
+            SearchRequest request = SearchRequest.builder().query("programação").locale("pt-BR").page(0).size(10).build();
+
+            StepVerifier.create(searchService.searchArticles(request))
+                    .assertNext(page -> assertThat(page.getContent()).isEmpty())
+                    .verifyComplete();
+
+            ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+            verify(databaseClient, atLeastOnce()).sql(sql.capture());
+            assertThat(sql.getAllValues())
+                    .anySatisfy(s -> assertThat(s)
+                            .contains("i.locale = 'pt-br' AND i.search_vector @@ plainto_tsquery('portuguese'::regconfig, $1)"));
+        }
+
+        @Test
+        @DisplayName("Should order cursor pages by date, not rank")
+        void shouldOrderCursorPagesByDate() {
+            SearchRequest request = SearchRequest.builder().query("java").cursor("").page(0).size(10).build();
+
+            StepVerifier.create(searchService.searchArticles(request))
+                    .assertNext(page -> assertThat(page.getContent()).isEmpty())
+                    .verifyComplete();
+
+            ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+            verify(databaseClient, atLeastOnce()).sql(sql.capture());
+            assertThat(sql.getAllValues())
+                    .anySatisfy(s -> assertThat(s)
+                            .contains("a.search_vector @@")
+                            .contains("ORDER BY a.published_at DESC, a.id DESC"))
+                    .noneSatisfy(s -> assertThat(s).contains("ts_rank"));
+        }
+
+        @Test
+        @DisplayName("Should map locales to text-search configurations")
+        void shouldMapSearchConfig() {
+            assertThat(SearchService.searchConfig("pt-BR")).isEqualTo("portuguese");
+            assertThat(SearchService.searchConfig("es")).isEqualTo("spanish");
+            assertThat(SearchService.searchConfig("ja")).isEqualTo("english");
+            assertThat(SearchService.searchConfig(null)).isEqualTo("english");
+            assertThat(SearchService.translationLocale("en")).isNull();
+            assertThat(SearchService.translationLocale("xx'--")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("in-memory engine")
+    class InMemoryEngine {
+
+        @Mock
+        private InMemorySearchEngine searchEngine;
+
+        @BeforeEach
+        void enableEngine() {
+            ReflectionTestUtils.setField(searchService, "searchEngine", searchEngine);
+        }
+
+        @Test
+        @DisplayName("Should hydrate index hits in rank order with highlights")
+        @SuppressWarnings("unchecked")
+        void shouldServeFromIndex() {
+            SearchRequest request = SearchRequest.builder().query("java").page(0).size(10).build();
+            when(searchEngine.search(request)).thenReturn(new ArticleSearchIndex.Result(
+                    List.of(new ArticleSearchIndex.Hit(1L, 2.5, "about <mark>Java</mark>")), 7));
+            when(articleRepository.findPublishedSummariesByIds(List.of(1L))).thenReturn(Flux.just(publishedArticle));
+            when(userRepository.findAllById(any(Iterable.class)))
+                    .thenReturn(Flux.just(User.builder().id(100L).name("Author").build()));
+
+            StepVerifier.create(searchService.searchArticles(request))
+                    .assertNext(page -> {
+                        assertThat(page.getContent()).hasSize(1);
+                        assertThat(page.getContent().getFirst().getHighlight()).isEqualTo("about <mark>Java</mark>");
+                        assertThat(page.getTotalElements()).isEqualTo(7);
+                    })
+                    .verifyComplete();
+
+            verify(articleRepository, never()).searchByStatusAndQuery(anyString(), anyString(), anyInt(), anyInt());
+            verify(typeaheadService).recordQuery("java");
+        }
+
+        @Test
+        @DisplayName("Should fall back to SQL when the engine declines the request")
+        void shouldFallBackToSql() {
+            SearchRequest request = SearchRequest.builder().query("java").sortBy("views").page(0).size(10).build();
+            when(searchEngine.search(request)).thenReturn(null);
+            when(articleRepository.searchByStatusAndQuery("PUBLISHED", "java", 10, 0)).thenReturn(Flux.empty());
+            when(articleRepository.countSearchByStatusAndQuery("PUBLISHED", "java")).thenReturn(Mono.just(0L));
+
+            StepVerifier.create(searchService.searchArticles(request))
+                    .assertNext(page -> assertThat(page.getContent()).isEmpty())
+                    .verifyComplete();
+        }
+    }
 }
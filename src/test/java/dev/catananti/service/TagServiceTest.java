@@ -1,5 +1,6 @@
 package dev.catananti.service;
 
+import dev.catananti.dto.PageResponse;
 import dev.catananti.dto.TagRequest;
 import dev.catananti.dto.TagResponse;
 import dev.catananti.entity.LocalizedText;
@@ -7,6 +8,7 @@ import dev.catananti.entity.Tag;
 import dev.catananti.exception.DuplicateResourceException;
 import dev.catananti.exception.ResourceNotFoundException;
 import dev.catananti.repository.TagRepository;
+import dev.catananti.service.search.SearchResultCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,7 +24,9 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +39,9 @@ class TagServiceTest {
     @Mock private IdService idService;
     @Mock private DatabaseClient databaseClient;
     @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
+    @Mock private CacheService cacheService;
+    @Mock private CacheInvalidationBus invalidationBus;
+    @Mock private SearchResultCache searchResultCache;
 
     @InjectMocks
     private TagService tagService;
@@ -43,7 +50,14 @@ class TagServiceTest {
     private Tag springTag;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     void setUp() {
+        lenient().when(cacheService.getOrLoad(anyString(), any(), any(), any()))
+                .thenAnswer(inv -> ((Supplier<Mono<?>>) inv.getArgument(3)).get());
+        lenient().when(cacheService.invalidateAllTags()).thenReturn(Mono.just(0L));
+        lenient().when(cacheService.invalidateArticlesByTag(anyString())).thenReturn(Mono.just(0L));
+        lenient().when(cacheService.delete(anyString())).thenReturn(Mono.just(true));
+
         javaTag = Tag.builder()
                 .id(101L)
                 .name(LocalizedText.ofEnglish("Java"))
@@ -188,6 +202,26 @@ class TagServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getAllTagsPaginated")
+    class GetAllTagsPaginated {
+
+        @Test
+        @DisplayName("Should serve cached page without querying the database")
+        void shouldServeCachedPage() {
+            PageResponse<TagResponse> cached = PageResponse.of(
+                    List.of(TagResponse.builder().slug("java").build()), 0, 50, 1);
+            doReturn(Mono.just(cached)).when(cacheService)
+                    .getOrLoad(eq(CacheService.tagsPageKey(0, 50, "en")), any(), any(), any());
+
+            StepVerifier.create(tagService.getAllTagsPaginated("en", 0, 50))
+                    .assertNext(page -> assertThat(page.getContent()).extracting(TagResponse::getSlug).containsExactly("java"))
+                    .verifyComplete();
+
+            verifyNoInteractions(tagRepository);
+        }
+    }
+
     @Nested
     @DisplayName("createTag")
     class CreateTag {
@@ -288,6 +322,9 @@ class TagServiceTest {
                     .verifyComplete();
 
             verify(tagRepository).deleteById(101L);
+            verify(cacheService).invalidateAllTags();
+            verify(cacheService).delete(CacheService.SITEMAP_KEY);
+            verify(cacheService).invalidateArticlesByTag("java");
         }
 
         @Test
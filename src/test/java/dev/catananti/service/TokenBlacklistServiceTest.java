@@ -1,20 +1,27 @@
 package dev.catananti.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.doubleThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -28,9 +35,18 @@ class TokenBlacklistServiceTest {
     @Mock
     private ReactiveValueOperations<String, String> valueOperations;
 
-    @InjectMocks
+    @Mock
+    private ReactiveZSetOperations<String, String> zSetOperations;
+
+    private CacheInvalidationBus invalidationBus;
     private TokenBlacklistService tokenBlacklistService;
 
+    @BeforeEach
+    void setUp() {
+        invalidationBus = new CacheInvalidationBus(null);
+        tokenBlacklistService = new TokenBlacklistService(redisTemplate, invalidationBus, new SimpleMeterRegistry());
+    }
+
     // ──────────────────────────────────────────────
     // blacklist(jti, remainingMs)
     // ──────────────────────────────────────────────
@@ -45,6 +61,9 @@ class TokenBlacklistServiceTest {
             when(redisTemplate.opsForValue()).thenReturn(valueOperations);
             when(valueOperations.set(eq("jwt:blacklist:abc-123"), eq("1"), eq(Duration.ofMillis(60000))))
                     .thenReturn(Mono.just(true));
+            when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+            when(zSetOperations.add(eq("jwt:revoked-by-expiry"), eq("abc-123"), anyDouble())).thenReturn(Mono.just(true));
+            long before = System.currentTimeMillis();
 
             // When / Then
             StepVerifier.create(tokenBlacklistService.blacklist("abc-123", 60000))
@@ -52,6 +71,9 @@ class TokenBlacklistServiceTest {
                     .verifyComplete();
 
             verify(valueOperations).set("jwt:blacklist:abc-123", "1", Duration.ofMillis(60000));
+            // Indexed by expiry, which is what the snapshot reads instead of scanning keys
+            verify(zSetOperations).add(eq("jwt:revoked-by-expiry"), eq("abc-123"),
+                    doubleThat(score -> score >= before + 60000 && score <= System.currentTimeMillis() + 60000));
         }
 
         @Test
@@ -173,4 +195,84 @@ class TokenBlacklistServiceTest {
                     .verifyComplete();
         }
     }
+
+    // ──────────────────────────────────────────────
+    // Local filter
+    // ──────────────────────────────────────────────
+    @Nested
+    @DisplayName("Local filter")
+    class LocalFilter {
+
+        @BeforeEach
+        void loadSnapshot() {
+            when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+            when(zSetOperations.removeRangeByScore(eq("jwt:revoked-by-expiry"), any())).thenReturn(Mono.just(3L));
+            when(zSetOperations.rangeByScore(eq("jwt:revoked-by-expiry"), any())).thenReturn(Flux.just("revoked-1"));
+            StepVerifier.create(tokenBlacklistService.loadSnapshot()).verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should read only unexpired revocations and never scan the keyspace")
+        void snapshot_shouldUseExpiryIndex() {
+            verify(zSetOperations).removeRangeByScore(eq("jwt:revoked-by-expiry"),
+                    argThat(range -> !range.getLowerBound().isBounded() && range.getUpperBound().isInclusive()));
+            verify(zSetOperations).rangeByScore(eq("jwt:revoked-by-expiry"),
+                    argThat(range -> !range.getLowerBound().isInclusive() && !range.getUpperBound().isBounded()));
+            verify(redisTemplate, never()).scan(any(ScanOptions.class));
+        }
+
+        @Test
+        @DisplayName("should answer a token absent from the snapshot without calling Redis")
+        void absentToken_shouldSkipRedis() {
+            StepVerifier.create(tokenBlacklistService.isBlacklisted("live-token"))
+                    .expectNext(false)
+                    .verifyComplete();
+
+            verify(redisTemplate, never()).hasKey(anyString());
+            assertThat(tokenBlacklistService.skipRatio()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should confirm a possible hit with Redis")
+        void snapshotToken_shouldBeConfirmedRemotely() {
+            when(redisTemplate.hasKey("jwt:blacklist:revoked-1")).thenReturn(Mono.just(true));
+
+            StepVerifier.create(tokenBlacklistService.isBlacklisted("revoked-1"))
+                    .expectNext(true)
+                    .verifyComplete();
+
+            assertThat(tokenBlacklistService.skipRatio()).isZero();
+        }
+
+        @Test
+        @DisplayName("should pick up revocations made on this node and broadcast by others")
+        void newRevocations_shouldEnterFilter() {
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+            when(zSetOperations.add(anyString(), anyString(), anyDouble())).thenReturn(Mono.just(true));
+            when(redisTemplate.hasKey(anyString())).thenReturn(Mono.just(true));
+            long expiresAt = System.currentTimeMillis() + 60_000;
+
+            StepVerifier.create(tokenBlacklistService.blacklist("logout-here", 60_000)).expectNext(true).verifyComplete();
+            invalidationBus.handleMessage("other-node|" + CacheInvalidationBus.TOKEN_BLACKLIST + "|" + expiresAt + ":logout-there");
+
+            StepVerifier.create(tokenBlacklistService.isBlacklisted("logout-here")).expectNext(true).verifyComplete();
+            StepVerifier.create(tokenBlacklistService.isBlacklisted("logout-there")).expectNext(true).verifyComplete();
+            verify(redisTemplate).hasKey("jwt:blacklist:logout-there");
+        }
+
+        @Test
+        @DisplayName("should fall back to Redis for every lookup after the channel is re-subscribed")
+        void resubscription_shouldCheckRedisUntilNextSnapshot() {
+            when(zSetOperations.removeRangeByScore(eq("jwt:revoked-by-expiry"), any())).thenReturn(Mono.never());
+            when(redisTemplate.hasKey("jwt:blacklist:live-token")).thenReturn(Mono.just(false));
+
+            invalidationBus.handleMessage("other-node|" + CacheInvalidationBus.TOKEN_BLACKLIST + "|*");
+
+            StepVerifier.create(tokenBlacklistService.isBlacklisted("live-token"))
+                    .expectNext(false)
+                    .verifyComplete();
+            verify(redisTemplate).hasKey("jwt:blacklist:live-token");
+        }
+    }
 }
@@ -0,0 +1,198 @@
+package dev.catananti.service.search;
+
+import dev.catananti.service.search.ArticleSearchIndex.Entry;
+import dev.catananti.service.search.ArticleSearchIndex.Order;
+import dev.catananti.service.search.ArticleSearchIndex.Query;
+import dev.catananti.service.search.ArticleSearchIndex.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSearchIndexTest {
+
+    private static final LocalDateTime JAN = LocalDateTime.of(2026, 1, 15, 10, 0);
+    private static final LocalDateTime MAR = LocalDateTime.of(2026, 3, 15, 10, 0);
+    private static final LocalDateTime JUN = LocalDateTime.of(2026, 6, 15, 10, 0);
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ArticleSearchIndex();
+        index.replace(1L, List.of(
+                base(1L, "Reactive streams with Project Reactor", "Backpressure explained",
+                        "Reactor implements reactive streams. Backpressure keeps consumers safe.", Set.of("java", "reactive"), JAN),
+                new Entry(1L, "pt-br", true, "Streams reativos com Project Reactor", "Contrapressão explicada",
+                        "O Reactor implementa streams reativos e programação assíncrona.", Set.of("java", "reactive"), JAN)));
+        index.replace(2L, List.of(base(2L, "Java records in practice", "Immutable data carriers",
+                "Records reduce boilerplate. Reactive code benefits from immutable records.", Set.of("java"), MAR)));
+        index.replace(3L, List.of(base(3L, "Kubernetes probes", "Liveness and readiness",
+                "Probes tell the kubelet when a pod is ready.", Set.of("devops"), JUN)));
+    }
+
+    private static Entry base(long id, String title, String excerpt, String content, Set<String> tags, LocalDateTime at) {
+        return new Entry(id, "en", false, title, excerpt, content, tags, at);
+    }
+
+    private Result search(String text) {
+        return index.search(new Query(text, "en", List.of(), null, null, Order.RELEVANCE, 0, 10));
+    }
+
+    private static List<Long> ids(Result result) {
+        return result.hits().stream().map(ArticleSearchIndex.Hit::articleId).toList();
+    }
+
+    @Nested
+    @DisplayName("ranking")
+    class Ranking {
+
+        @Test
+        @DisplayName("should rank a title match above a body-only match")
+        void shouldWeightTitleAboveContent() {
+            Result result = search("reactive");
+
+            assertThat(ids(result)).containsExactly(1L, 2L);
+            assertThat(result.total()).isEqualTo(2);
+            assertThat(result.hits().get(0).score()).isGreaterThan(result.hits().get(1).score());
+        }
+
+        @Test
+        @DisplayName("should require every query term and match plural forms")
+        void shouldRequireAllTerms() {
+            assertThat(ids(search("immutable record"))).containsExactly(2L);
+            assertThat(ids(search("immutable kubernetes"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should order by date when asked, newest first")
+        void shouldOrderByDate() {
+            Result result = index.search(new Query("reactive", "en", List.of(), null, null, Order.DATE, 0, 10));
+
+            assertThat(ids(result)).containsExactly(2L, 1L);
+        }
+
+        @Test
+        @DisplayName("should page through matches and keep the total")
+        void shouldPage() {
+            Result result = index.search(new Query("reactive", "en", List.of(), null, null, Order.RELEVANCE, 1, 1));
+
+            assertThat(ids(result)).containsExactly(2L);
+            assertThat(result.total()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("filters")
+    class Filters {
+
+        @Test
+        @DisplayName("should intersect tag and date filters")
+        void shouldFilterByTagAndDate() {
+            Result tagged = index.search(new Query("", "en", List.of("devops", "reactive"), null, null, Order.DATE, 0, 10));
+            assertThat(ids(tagged)).containsExactly(3L, 1L);
+
+            Result dated = index.search(new Query("", "en", List.of("java"), MAR.minusDays(1), null, Order.DATE, 0, 10));
+            assertThat(ids(dated)).containsExactly(2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("translations")
+    class Translations {
+
+        @Test
+        @DisplayName("should search the translation in its locale with accent folding")
+        void shouldSearchTranslation() {
+            Result result = index.search(new Query("programacao reativos", "pt-BR", List.of(), null, null, Order.RELEVANCE, 0, 10));
+
+            assertThat(ids(result)).containsExactly(1L);
+            assertThat(result.hits().getFirst().snippet()).contains("<mark>reativos</mark>").contains("<mark>programação</mark>");
+        }
+
+        @Test
+        @DisplayName("should fall back to the base text for untranslated articles")
+        void shouldFallBackToBase() {
+            Result result = index.search(new Query("kubernetes", "pt-br", List.of(), null, null, Order.RELEVANCE, 0, 10));
+
+            assertThat(ids(result)).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("should not return the base text of an article shown translated")
+        void shouldHideShadowedBase() {
+            Result result = index.search(new Query("backpressure", "pt-br", List.of(), null, null, Order.RELEVANCE, 0, 10));
+
+            assertThat(ids(result)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("updates")
+    class Updates {
+
+        @Test
+        @DisplayName("should drop old terms when an article is replaced or removed")
+        void shouldReplaceAndRemove() {
+            index.replace(3L, List.of(base(3L, "Helm charts", "Packaging", "Charts template manifests.", Set.of("devops"), JUN)));
+
+            assertThat(ids(search("kubernetes"))).isEmpty();
+            assertThat(ids(search("chart"))).containsExactly(3L);
+
+            index.remove(3L);
+
+            assertThat(ids(search("chart"))).isEmpty();
+            assertThat(index.size()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("snippets")
+    class Snippets {
+
+        @Test
+        @DisplayName("should escape HTML and mark matches")
+        void shouldEscapeAndMark() {
+            index.replace(4L, List.of(base(4L, "Sanitizing", "XSS",
+                    "Check a < b && c, then sanitize the output.", Set.of(), JUN)));
+
+            String snippet = search("sanitize").hits().getFirst().snippet();
+
+            assertThat(snippet).contains("a &lt; b &amp;&amp; c").contains("<mark>sanitize</mark>");
+        }
+
+        @Test
+        @DisplayName("should strip markdown from the snippet source")
+        void shouldStripMarkdown() {
+            assertThat(ArticleSearchIndex.plainText("## Intro\n**Bold** [link](https://x.dev) `code`"))
+                    .isEqualTo("Intro Bold link code");
+        }
+    }
+
+    @Nested
+    @DisplayName("SearchAnalyzer")
+    class Analyzer {
+
+        @Test
+        @DisplayName("should fold accents, drop stop words and strip plurals")
+        void shouldAnalyze() {
+            assertThat(SearchAnalyzer.forLocale("en").terms("The Libraries of Queries")).containsExactly("library", "query");
+            assertThat(SearchAnalyzer.forLocale("pt-br").terms("Programação e Programações"))
+                    .containsExactly("programaca", "programaca");
+            assertThat(SearchAnalyzer.forLocale("es").terms("lenguaje lenguajes")).containsExactly("lenguaj", "lenguaj");
+        }
+
+        @Test
+        @DisplayName("should map unknown locales to English")
+        void shouldDefaultToEnglish() {
+            assertThat(SearchAnalyzer.forLocale("ja").language()).isEqualTo("english");
+            assertThat(SearchAnalyzer.forLocale(null).language()).isEqualTo("english");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package dev.catananti.service.search;
+
+import dev.catananti.service.search.ArticleSimilarity.Analyzed;
+import dev.catananti.service.search.ArticleSimilarity.Document;
+import dev.catananti.service.search.ArticleSimilarity.Frequencies;
+import dev.catananti.service.search.ArticleSimilarity.Neighbour;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ArticleSimilarityTest {
+
+    private static Document tagged(long id, Long... tags) {
+        return new Document(id, Set.of(tags), "en", "");
+    }
+
+    private static Document text(long id, String text) {
+        return new Document(id, Set.of(), "en", text);
+    }
+
+    @Nested
+    @DisplayName("neighbours")
+    class Neighbours {
+
+        @Test
+        @DisplayName("should rank a shared rare tag above a shared common one")
+        void shouldWeightTagsByRarity() {
+            // Tag 10 is on three of the four articles, tag 50 on two
+            ArticleSimilarity model = new ArticleSimilarity(List.of(
+                    tagged(1, 10L, 50L), tagged(2, 10L), tagged(3, 50L), tagged(4, 10L)), 0);
+
+            assertThat(model.neighbours(1, 3)).extracting(Neighbour::articleId).containsExactly(3L, 4L, 2L);
+            assertThat(model.similarity(1, 3)).isGreaterThan(model.similarity(1, 2));
+        }
+
+        @Test
+        @DisplayName("should compare content and leave out unrelated articles")
+        void shouldUseContentSimilarity() {
+            ArticleSimilarity model = new ArticleSimilarity(List.of(
+                    text(1, "Postgres vacuum tuning and index maintenance"),
+                    text(2, "Why postgres vacuum falls behind"),
+                    text(3, "Kafka consumer lag explained"),
+                    text(4, "Kafka producer batching")), 1);
+
+            assertThat(model.neighbours(1, 5)).extracting(Neighbour::articleId).containsExactly(2L);
+            assertThat(model.neighbours(3, 5)).extracting(Neighbour::articleId).containsExactly(4L);
+        }
+
+        @Test
+        @DisplayName("should keep the k best and prefer newer articles on ties")
+        void shouldLimitAndBreakTies() {
+            ArticleSimilarity model = new ArticleSimilarity(List.of(
+                    tagged(1, 10L), tagged(2, 10L), tagged(3, 10L), tagged(4, 10L)), 0);
+
+            assertThat(model.neighbours(1, 2)).extracting(Neighbour::articleId).containsExactly(4L, 3L);
+            assertThat(model.neighbours(99, 2)).isEmpty();
+            assertThat(model.allNeighbours(1)).containsOnlyKeys(1L, 2L, 3L, 4L);
+        }
+
+        @Test
+        @DisplayName("should score an incrementally maintained corpus like a fresh one")
+        void shouldMatchFreshModelAfterIncrementalChanges() {
+            List<Document> fresh = List.of(
+                    new Document(1, Set.of(10L, 50L), "en", "Postgres vacuum tuning"),
+                    new Document(2, Set.of(10L), "en", "Kafka consumer lag explained"),
+                    new Document(3, Set.of(50L), "en", "Kafka producer batching"));
+
+            List<Analyzed> analyzed = new ArrayList<>(fresh.stream().map(d -> Analyzed.of(d, true)).toList());
+            Frequencies frequencies = Frequencies.of(analyzed);
+            // Article 2 used to be about vacuum, and article 4 has since been unpublished
+            Analyzed before = Analyzed.of(new Document(2, Set.of(60L), "en", "Why postgres vacuum falls behind"), true);
+            Analyzed unpublished = Analyzed.of(new Document(4, Set.of(10L), "en", "Kafka lag"), true);
+            frequencies.remove(analyzed.get(1));
+            frequencies.add(before);
+            frequencies.add(unpublished);
+            frequencies.remove(unpublished);
+            frequencies.remove(before);
+            frequencies.add(analyzed.get(1));
+
+            ArticleSimilarity incremental = new ArticleSimilarity(analyzed, frequencies, 0.5);
+            ArticleSimilarity rebuilt = new ArticleSimilarity(fresh, 0.5);
+
+            assertThat(incremental.neighbours(2, 5)).extracting(Neighbour::articleId)
+                    .isEqualTo(rebuilt.neighbours(2, 5).stream().map(Neighbour::articleId).toList());
+            assertThat(incremental.similarity(2, 3)).isCloseTo(rebuilt.similarity(2, 3), within(1e-9));
+            assertThat(incremental.similarity(1, 3)).isCloseTo(rebuilt.similarity(1, 3), within(1e-9));
+        }
+    }
+
+    @Nested
+    @DisplayName("stored lists")
+    class StoredLists {
+
+        @Test
+        @DisplayName("should round-trip the compact encoding")
+        void shouldEncodeAndDecode() {
+            List<Neighbour> neighbours = List.of(new Neighbour(42, 0.61803), new Neighbour(7, 0.25));
+
+            String encoded = RelatedArticlesService.encode(neighbours);
+
+            assertThat(encoded).isEqualTo("42:0.6180,7:0.2500");
+            assertThat(RelatedArticlesService.decode(encoded)).extracting(Neighbour::articleId).containsExactly(42L, 7L);
+            assertThat(RelatedArticlesService.decode("")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should recompute only lists a changed article can enter or leave")
+        void shouldDetectAffectedLists() {
+            ArticleSimilarity model = new ArticleSimilarity(List.of(
+                    tagged(1, 10L, 50L), tagged(2, 10L), tagged(3, 50L), tagged(4, 60L)), 0);
+            List<Neighbour> full = Collections.nCopies(RelatedArticlesService.STORED_NEIGHBOURS, new Neighbour(3, 0.99));
+
+            assertThat(RelatedArticlesService.isAffected(model, 1, full, Set.of(3L))).isTrue();
+            assertThat(RelatedArticlesService.isAffected(model, 1, full, Set.of(2L))).isFalse();
+            assertThat(RelatedArticlesService.isAffected(model, 1, List.of(), Set.of(2L))).isTrue();
+            assertThat(RelatedArticlesService.isAffected(model, 1, List.of(), Set.of(4L))).isFalse();
+        }
+    }
+}
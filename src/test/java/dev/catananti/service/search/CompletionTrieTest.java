@@ -0,0 +1,108 @@
+package dev.catananti.service.search;
+
+import dev.catananti.service.search.CompletionTrie.Suggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTest {
+
+    private CompletionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = CompletionTrie.build(List.of(
+                new Suggestion("Reactive streams with Project Reactor", 5.0),
+                new Suggestion("Spring WebFlux and Reactor", 3.0),
+                new Suggestion("React hooks", 4.0),
+                new Suggestion("Programação reativa", 2.0),
+                new Suggestion("Spring Boot", 1.0),
+                new Suggestion("Springfield", 6.0)));
+    }
+
+    @Nested
+    @DisplayName("complete")
+    class Complete {
+
+        @Test
+        @DisplayName("should rank completions by weight")
+        void shouldRankByWeight() {
+            assertThat(trie.complete("rea", 10)).containsExactly(
+                    "Reactive streams with Project Reactor", "React hooks", "Spring WebFlux and Reactor", "Programação reativa");
+        }
+
+        @Test
+        @DisplayName("should match at any word start, but not inside words")
+        void shouldMatchWordStarts() {
+            assertThat(trie.complete("reactor", 10))
+                    .containsExactly("Reactive streams with Project Reactor", "Spring WebFlux and Reactor");
+            assertThat(trie.complete("flux", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should ignore case and accents")
+        void shouldFoldCaseAndAccents() {
+            assertThat(trie.complete("PROGRAMACAO", 10)).containsExactly("Programação reativa");
+            assertThat(trie.complete("reati", 10)).containsExactly("Programação reativa");
+        }
+
+        @Test
+        @DisplayName("should treat a trailing space as a word boundary")
+        void shouldHonourTrailingSpace() {
+            assertThat(trie.complete("spring", 10)).containsExactly("Springfield", "Spring WebFlux and Reactor", "Spring Boot");
+            assertThat(trie.complete("spring ", 10)).containsExactly("Spring WebFlux and Reactor", "Spring Boot");
+        }
+
+        @Test
+        @DisplayName("should honour the limit and return nothing for blank prefixes")
+        void shouldLimit() {
+            assertThat(trie.complete("rea", 1)).containsExactly("Reactive streams with Project Reactor");
+            assertThat(trie.complete("  ", 10)).isEmpty();
+            assertThat(trie.complete("kotlin", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should check prefixes longer than the stored key depth against the phrase")
+        void shouldMatchLongPrefixes() {
+            String title = "An unusually long title about observability in reactive microservices on kubernetes";
+            CompletionTrie longTrie = CompletionTrie.build(List.of(new Suggestion(title, 1.0)));
+
+            assertThat(longTrie.complete(title.substring(0, 70), 10)).containsExactly(title);
+            assertThat(longTrie.complete(title.substring(0, 60) + "xyz", 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("build")
+    class Build {
+
+        @Test
+        @DisplayName("should merge phrases differing only in case or punctuation, keeping the heaviest")
+        void shouldMergeDuplicates() {
+            CompletionTrie merged = CompletionTrie.build(List.of(
+                    new Suggestion("spring boot", 1.0),
+                    new Suggestion("Spring Boot!", 2.0)));
+
+            assertThat(merged.size()).isEqualTo(1);
+            assertThat(merged.complete("spr", 10)).containsExactly("Spring Boot!");
+        }
+
+        @Test
+        @DisplayName("should keep only the best completions per node")
+        void shouldKeepTopK() {
+            List<Suggestion> suggestions = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                suggestions.add(new Suggestion("java topic " + i, i));
+            }
+            List<String> completions = CompletionTrie.build(suggestions).complete("java", 50);
+
+            assertThat(completions).hasSize(CompletionTrie.TOP_K).first().isEqualTo("java topic 49");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dev.catananti.service.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.catananti.dto.ArticleSummary;
+import dev.catananti.dto.PageResponse;
+import dev.catananti.dto.SearchRequest;
+import dev.catananti.service.CacheInvalidationBus;
+import dev.catananti.service.CacheService;
+import dev.catananti.service.RequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus invalidationBus;
+    private SearchResultCache cache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        invalidationBus = new CacheInvalidationBus(null);
+        CacheService cacheService = new CacheService(null, new ObjectMapper(), new RequestCoalescer(meterRegistry));
+        cache = new SearchResultCache(cacheService, invalidationBus, meterRegistry, null);
+        searches = new AtomicInteger();
+    }
+
+    private PageResponse<ArticleSummary> search(SearchRequest request) {
+        return cache.getOrSearch(request, () -> Mono.fromSupplier(() -> {
+            searches.incrementAndGet();
+            return PageResponse.<ArticleSummary>of(List.of(), request.getPage(), request.getSize(), 0);
+        })).block();
+    }
+
+    private static SearchRequest request(String query, List<String> tags) {
+        return SearchRequest.builder().query(query).tags(tags).page(0).size(10).build();
+    }
+
+    @Nested
+    @DisplayName("getOrSearch")
+    class GetOrSearch {
+
+        @Test
+        @DisplayName("should share one entry between requests that normalize alike")
+        void shouldServeEquivalentRequestsFromCache() {
+            search(request("Spring  Boot", List.of("java", "spring")));
+            search(request(" spring boot ", List.of("spring", "java")));
+
+            assertThat(searches).hasValue(1);
+            assertThat(meterRegistry.get("blog.search.cache.requests")
+                    .tags("shape", "text+tags:relevance", "result", "hit").functionCounter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("blog.search.cache.hit.ratio")
+                    .tag("shape", "text+tags:relevance").gauge().value()).isEqualTo(0.5);
+        }
+
+        @Test
+        @DisplayName("should make older entries unreachable when the content version is bumped")
+        void shouldMissAfterVersionBump() {
+            search(request("reactor", null));
+            cache.bumpVersion();
+            search(request("reactor", null));
+
+            assertThat(searches).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("should adopt a newer version announced by another node")
+        void shouldFollowBroadcastVersion() {
+            search(request("reactor", null));
+            invalidationBus.publish(CacheInvalidationBus.SEARCH_RESULTS, "42");
+            search(request("reactor", null));
+            search(request("reactor", null));
+
+            assertThat(searches).hasValue(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("request keys")
+    class Keys {
+
+        @Test
+        @DisplayName("should keep filters, paging and locale apart")
+        void shouldDistinguishRequests() {
+            SearchRequest base = request("reactor", List.of("java"));
+            SearchRequest pt = SearchRequest.builder().query("reactor").tags(List.of("java")).locale("pt-BR").page(0).size(10).build();
+            SearchRequest dated = SearchRequest.builder().query("reactor").tags(List.of("java"))
+                    .dateFrom(LocalDate.of(2026, 1, 1)).page(0).size(10).build();
+            SearchRequest secondPage = SearchRequest.builder().query("reactor").tags(List.of("java")).page(1).size(10).build();
+
+            assertThat(List.of(base, pt, dated, secondPage)).extracting(SearchResultCache::normalize).doesNotHaveDuplicates();
+            assertThat(SearchResultCache.normalize(SearchRequest.builder().query("reactor").tags(List.of("java"))
+                    .locale("en").page(0).size(10).build())).isEqualTo(SearchResultCache.normalize(base));
+        }
+
+        @Test
+        @DisplayName("should label query shapes with bounded values")
+        void shouldDescribeShape() {
+            assertThat(SearchResultCache.shape(SearchRequest.builder().page(0).size(10).build())).isEqualTo("browse:relevance");
+            assertThat(SearchResultCache.shape(SearchRequest.builder().query("x").dateTo(LocalDate.now())
+                    .sortBy("DATE").page(0).size(10).build())).isEqualTo("text+dates:date");
+            assertThat(SearchResultCache.shape(SearchRequest.builder().sortBy("'; drop").page(0).size(10).build()))
+                    .isEqualTo("browse:other");
+        }
+    }
+
+    @Test
+    @DisplayName("should record misses in the hit ratio")
+    void shouldStartAtZeroHitRatio() {
+        StepVerifier.create(cache.getOrSearch(request("kotlin", null),
+                        () -> Mono.just(PageResponse.<ArticleSummary>of(List.of(), 0, 10, 0))))
+                .assertNext(page -> assertThat(page.getTotalElements()).isZero())
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("blog.search.cache.hit.ratio").tag("shape", "text:relevance").gauge().value())
+                .isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package dev.catananti.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionCallbacksTest {
+
+    /** Transaction manager without a resource: only drives the synchronization lifecycle. */
+    private static final class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                     TransactionDefinition definition) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+                                      GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+                                        GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+
+    private final TransactionalOperator operator = TransactionalOperator.create(new NoOpTransactionManager());
+
+    @Test
+    void afterCommit_runsImmediatelyWithoutTransaction() {
+        AtomicInteger runs = new AtomicInteger();
+
+        StepVerifier.create(TransactionCallbacks.afterCommit(Mono.fromRunnable(runs::incrementAndGet)))
+                .verifyComplete();
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void afterCommit_waitsForCommit() {
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger seenBeforeCommit = new AtomicInteger(-1);
+
+        Mono<Void> write = TransactionCallbacks.afterCommit(Mono.fromRunnable(runs::incrementAndGet))
+                .then(Mono.fromRunnable(() -> seenBeforeCommit.set(runs.get())));
+
+        StepVerifier.create(operator.transactional(write)).verifyComplete();
+
+        assertThat(seenBeforeCommit).hasValue(0);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void afterCommit_skippedOnRollback() {
+        AtomicInteger runs = new AtomicInteger();
+
+        Mono<Void> write = TransactionCallbacks.afterCommit(Mono.fromRunnable(runs::incrementAndGet))
+                .then(Mono.error(new IllegalStateException("write failed")));
+
+        StepVerifier.create(operator.transactional(write)).verifyError(IllegalStateException.class);
+
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void afterCommit_failureDoesNotFailCommittedWrite() {
+        Mono<Void> write = TransactionCallbacks.afterCommit(Mono.error(new IllegalStateException("bus down")));
+
+        StepVerifier.create(operator.transactional(write)).verifyComplete();
+    }
+}